@@ -1,6 +1,9 @@
 package ecostruxure.rate.calculator;
 
 import atlantafx.base.theme.*;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
+import ecostruxure.rate.calculator.dal.db.DBConnector;
+import ecostruxure.rate.calculator.dal.db.ReadIsolation;
 import ecostruxure.rate.calculator.gui.component.main.MainController;
 import ecostruxure.rate.calculator.gui.util.constants.LocalizedText;
 import ecostruxure.rate.calculator.gui.widget.world.WorldWidget;
@@ -9,6 +12,7 @@ import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressIndicator;
 import javafx.scene.image.Image;
@@ -18,15 +22,76 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Properties;
 
 public class Launcher extends Application {
+    private static final String REBUILD_TEAM_METRICS = "--rebuild-team-metrics";
+    private static final System.Logger LOGGER = System.getLogger(Launcher.class.getName());
+
+    private ApplicationContext context;
+    private Exception migrationError;
+
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains(REBUILD_TEAM_METRICS)) {
+            rebuildTeamMetrics();
+            return;
+        }
+
         Application.launch();
     }
 
+    /**
+     * Repairs the materialized team metrics without starting the UI, run with --rebuild-team-metrics.
+     */
+    private static void rebuildTeamMetrics() {
+        ApplicationContext context = new ApplicationContext();
+        try {
+            context.migrationRunner().migrate();
+            int rebuilt = context.teamService().rebuildTeamMetrics();
+            LOGGER.log(System.Logger.Level.INFO, "Rebuilt metrics of {0} teams", rebuilt);
+        } catch (Exception e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Could not rebuild the team metrics", e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Brings the database schema up to date on the launcher thread, before the UI is created, so no page reads from
+     * an unmigrated schema.
+     */
+    @Override
+    public void init() {
+        context = new ApplicationContext();
+        try {
+            context.migrationRunner().migrate();
+        } catch (Exception e) {
+            migrationError = e;
+            return;
+        }
+
+        reportReadIsolation();
+    }
+
+    /**
+     * The list screens still work when snapshot isolation is configured but not enabled on the database, they just
+     * read with READ_COMMITTED and may wait on writers, so this is only logged.
+     */
+    private void reportReadIsolation() {
+        try {
+            DBConnector dbConnector = context.dbConnector();
+            ReadIsolation configured = dbConnector.configuredReadIsolation();
+            ReadIsolation used = dbConnector.readIsolation();
+            if (used != configured) {
+                LOGGER.log(System.Logger.Level.WARNING, "{0} isolation is not enabled on the database, reading with {1}", configured, used);
+            }
+        } catch (Exception e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not check the read isolation level", e);
+        }
+    }
+
     @Override
     public void start(Stage stage) {
         try {
@@ -41,6 +106,12 @@ public class Launcher extends Application {
             LocalizedText.CURRENT_LOCALE.set(Locale.ENGLISH);
         }
         Application.setUserAgentStylesheet(new PrimerLight().getUserAgentStylesheet());
+
+        if (migrationError != null) {
+            showMigrationError(migrationError);
+            return;
+        }
+
         var scene = new Scene(new VBox(), 1340, 940);
 
 
@@ -49,10 +120,26 @@ public class Launcher extends Application {
         stage.setTitle("EcoStruxure - Rate Calculator");
         stage.setScene(scene);
 
-        MainController mainController = new MainController(stage);
+        MainController mainController = new MainController(stage, context);
         scene.setRoot(mainController.view());
         stage.show();
     }
+
+    /**
+     * The application cannot run against an outdated schema, so the error is shown and the application closed.
+     * The migrations are retried on next startup.
+     */
+    private void showMigrationError(Exception e) {
+        LOGGER.log(System.Logger.Level.ERROR, "Could not migrate the database", e);
+
+        var alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("EcoStruxure - Rate Calculator");
+        alert.setHeaderText(LocalizedText.ERROR_MIGRATION.get());
+        alert.setContentText(e.getMessage());
+        alert.showAndWait();
+
+        Platform.exit();
+    }
 }
 
 //public class Launcher extends Application {
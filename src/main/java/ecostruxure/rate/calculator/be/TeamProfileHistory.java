@@ -5,7 +5,9 @@ import java.time.LocalDateTime;
 
 public class TeamProfileHistory {
     private int profileId;
-    private int profileHistoryId;
+    // Null when the profile had no history yet when the row was written
+    private Integer profileHistoryId;
+    private String profileName;
     private BigDecimal utilizationRate;
     private BigDecimal utilizationHours;
     private BigDecimal hourlyRate;
@@ -22,14 +24,22 @@ public class TeamProfileHistory {
         this.profileId = profileId;
     }
 
-    public int profileHistoryId() {
+    public Integer profileHistoryId() {
         return profileHistoryId;
     }
 
-    public void profileHistoryId(int profileHistoryId) {
+    public void profileHistoryId(Integer profileHistoryId) {
         this.profileHistoryId = profileHistoryId;
     }
 
+    public String profileName() {
+        return profileName;
+    }
+
+    public void profileName(String profileName) {
+        this.profileName = profileName;
+    }
+
     public BigDecimal utilizationRate() {
         return utilizationRate;
     }
@@ -91,6 +101,7 @@ public class TeamProfileHistory {
         return "TeamProfileHistory{" +
                 "profileId=" + profileId +
                 ", profileHistoryId=" + profileHistoryId +
+                ", profileName='" + profileName + '\'' +
                 ", utilizationRate=" + utilizationRate +
                 ", utilizationHours=" + utilizationHours +
                 ", hourlyRate=" + hourlyRate +
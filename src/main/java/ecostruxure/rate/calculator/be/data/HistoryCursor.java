@@ -0,0 +1,14 @@
+package ecostruxure.rate.calculator.be.data;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Position in a history ordered by newest first. The next page starts with the entries strictly older than
+ * this (updated_at, id) pair, so pages stay stable while new history is being written.
+ */
+public record HistoryCursor(LocalDateTime updatedAt, int id) {
+    public HistoryCursor {
+        Objects.requireNonNull(updatedAt, "Updated at cannot be null");
+    }
+}
@@ -0,0 +1,18 @@
+package ecostruxure.rate.calculator.be.data;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * @param items the history entries of this page, newest first.
+ * @param next  cursor to pass when fetching the following page, or null if this is the last page.
+ */
+public record HistoryPage<T>(List<T> items, HistoryCursor next) {
+    public HistoryPage {
+        Objects.requireNonNull(items, "Items cannot be null");
+    }
+
+    public boolean hasMore() {
+        return next != null;
+    }
+}
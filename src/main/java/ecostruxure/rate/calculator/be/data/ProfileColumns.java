@@ -0,0 +1,235 @@
+package ecostruxure.rate.calculator.be.data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Profiles and their team allocations stored column by column in primitive arrays instead of one object per profile.
+ * <br>
+ * Decimals are stored as whole units at the scale of their database column: salary and fixed annual amount with
+ * {@value #AMOUNT_SCALE} decimals, overhead multiplier, hours and utilization with {@value #GENERAL_SCALE}.
+ * Currencies are stored as an index into the distinct currency codes. The allocations of a row are the entries from
+ * {@link #allocationStart(int)} up to {@link #allocationEnd(int)}, so allocations have to be added right after their
+ * profile.<br>
+ * A profile with a value that does not fit its column, e.g. a salary above {@link Long#MAX_VALUE} units, keeps its
+ * values as {@link ExactValues} instead, and its decimal columns read as 0.
+ */
+public class ProfileColumns {
+    public static final int AMOUNT_SCALE = 4;
+    public static final int GENERAL_SCALE = 2;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int size;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] geographies = new int[INITIAL_CAPACITY];
+    private short[] currencies = new short[INITIAL_CAPACITY];
+    private boolean[] overheads = new boolean[INITIAL_CAPACITY];
+    private long[] annualSalaries = new long[INITIAL_CAPACITY];
+    private long[] fixedAnnualAmounts = new long[INITIAL_CAPACITY];
+    private int[] overheadMultipliers = new int[INITIAL_CAPACITY];
+    private int[] effectiveWorkHours = new int[INITIAL_CAPACITY];
+    private int[] hoursPerDay = new int[INITIAL_CAPACITY];
+    private int[] allocationStarts = new int[INITIAL_CAPACITY];
+
+    private int allocationCount;
+    private int[] allocationTeams = new int[INITIAL_CAPACITY];
+    private int[] allocationRates = new int[INITIAL_CAPACITY];
+    private int[] allocationHours = new int[INITIAL_CAPACITY];
+
+    private final Map<Integer, ExactValues> exactValues = new HashMap<>();
+    private int skippedProfiles;
+
+    private final List<String> currencyCodes = new ArrayList<>();
+    private final Map<String, Short> currencyIndexes = new HashMap<>();
+
+    public record ExactValues(BigDecimal annualSalary, BigDecimal fixedAnnualAmount, BigDecimal overheadMultiplier,
+                              BigDecimal effectiveWorkHours, BigDecimal hoursPerDay) {
+    }
+
+    /**
+     * Adds a profile as the last row.
+     *
+     * @return the row of the profile.
+     */
+    public int addProfile(int id, int geography, String currency, boolean overhead, BigDecimal annualSalary,
+                          BigDecimal fixedAnnualAmount, BigDecimal overheadMultiplier, BigDecimal effectiveWorkHours,
+                          BigDecimal hoursPerDay) {
+        Objects.requireNonNull(currency, "Currency cannot be null");
+        Objects.requireNonNull(annualSalary, "Annual salary cannot be null");
+        Objects.requireNonNull(fixedAnnualAmount, "Fixed annual amount cannot be null");
+        Objects.requireNonNull(overheadMultiplier, "Overhead multiplier cannot be null");
+        Objects.requireNonNull(effectiveWorkHours, "Effective work hours cannot be null");
+        Objects.requireNonNull(hoursPerDay, "Hours per day cannot be null");
+
+        if (size == ids.length) growProfiles();
+
+        int row = size;
+        ids[row] = id;
+        geographies[row] = geography;
+        currencies[row] = currencyIndex(currency);
+        overheads[row] = overhead;
+        try {
+            long salary = annualSalary.movePointRight(AMOUNT_SCALE).longValueExact();
+            long fixedAmount = fixedAnnualAmount.movePointRight(AMOUNT_SCALE).longValueExact();
+            int multiplier = overheadMultiplier.movePointRight(GENERAL_SCALE).intValueExact();
+            int workHours = effectiveWorkHours.movePointRight(GENERAL_SCALE).intValueExact();
+            int dayHours = hoursPerDay.movePointRight(GENERAL_SCALE).intValueExact();
+
+            annualSalaries[row] = salary;
+            fixedAnnualAmounts[row] = fixedAmount;
+            overheadMultipliers[row] = multiplier;
+            this.effectiveWorkHours[row] = workHours;
+            this.hoursPerDay[row] = dayHours;
+        } catch (ArithmeticException e) {
+            annualSalaries[row] = 0;
+            fixedAnnualAmounts[row] = 0;
+            overheadMultipliers[row] = 0;
+            this.effectiveWorkHours[row] = 0;
+            this.hoursPerDay[row] = 0;
+            exactValues.put(row, new ExactValues(annualSalary, fixedAnnualAmount, overheadMultiplier, effectiveWorkHours, hoursPerDay));
+        }
+        allocationStarts[row] = allocationCount;
+
+        size++;
+        return row;
+    }
+
+    /**
+     * Adds a team allocation to the last added profile.
+     *
+     * @throws IllegalStateException if no profile has been added yet.
+     * @throws ArithmeticException   if a utilization has more than {@value #GENERAL_SCALE} decimals.
+     */
+    public void addAllocation(int teamId, BigDecimal utilizationRate, BigDecimal utilizationHours) {
+        if (size == 0) throw new IllegalStateException("An allocation must be added after its profile");
+        Objects.requireNonNull(utilizationRate, "Utilization rate cannot be null");
+        Objects.requireNonNull(utilizationHours, "Utilization hours cannot be null");
+
+        if (allocationCount == allocationTeams.length) growAllocations();
+
+        allocationTeams[allocationCount] = teamId;
+        allocationRates[allocationCount] = utilizationRate.movePointRight(GENERAL_SCALE).intValueExact();
+        allocationHours[allocationCount] = utilizationHours.movePointRight(GENERAL_SCALE).intValueExact();
+        allocationCount++;
+    }
+
+    /**
+     * Counts a profile that was left out, e.g. because it is missing a value its rates are calculated from.
+     */
+    public void skipProfile() {
+        skippedProfiles++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int skippedProfiles() {
+        return skippedProfiles;
+    }
+
+    /**
+     * @return the values of the row if they do not fit the columns, otherwise null.
+     */
+    public ExactValues exactValues(int row) {
+        return exactValues.get(row);
+    }
+
+    public int id(int row) {
+        return ids[row];
+    }
+
+    public int geography(int row) {
+        return geographies[row];
+    }
+
+    public String currency(int row) {
+        return currencyCodes.get(currencies[row]);
+    }
+
+    public boolean overhead(int row) {
+        return overheads[row];
+    }
+
+    public long annualSalary(int row) {
+        return annualSalaries[row];
+    }
+
+    public long fixedAnnualAmount(int row) {
+        return fixedAnnualAmounts[row];
+    }
+
+    public int overheadMultiplier(int row) {
+        return overheadMultipliers[row];
+    }
+
+    public int effectiveWorkHours(int row) {
+        return effectiveWorkHours[row];
+    }
+
+    public int hoursPerDay(int row) {
+        return hoursPerDay[row];
+    }
+
+    public int allocationStart(int row) {
+        return allocationStarts[row];
+    }
+
+    public int allocationEnd(int row) {
+        return row + 1 < size ? allocationStarts[row + 1] : allocationCount;
+    }
+
+    public int allocationCount() {
+        return allocationCount;
+    }
+
+    public int allocationTeam(int allocation) {
+        return allocationTeams[allocation];
+    }
+
+    public int allocationRate(int allocation) {
+        return allocationRates[allocation];
+    }
+
+    public int allocationHours(int allocation) {
+        return allocationHours[allocation];
+    }
+
+    private short currencyIndex(String currency) {
+        Short index = currencyIndexes.get(currency);
+        if (index != null) return index;
+
+        if (currencyCodes.size() > Short.MAX_VALUE) throw new IllegalStateException("Too many distinct currencies");
+        short added = (short) currencyCodes.size();
+        currencyCodes.add(currency);
+        currencyIndexes.put(currency, added);
+        return added;
+    }
+
+    private void growProfiles() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        geographies = Arrays.copyOf(geographies, capacity);
+        currencies = Arrays.copyOf(currencies, capacity);
+        overheads = Arrays.copyOf(overheads, capacity);
+        annualSalaries = Arrays.copyOf(annualSalaries, capacity);
+        fixedAnnualAmounts = Arrays.copyOf(fixedAnnualAmounts, capacity);
+        overheadMultipliers = Arrays.copyOf(overheadMultipliers, capacity);
+        effectiveWorkHours = Arrays.copyOf(effectiveWorkHours, capacity);
+        hoursPerDay = Arrays.copyOf(hoursPerDay, capacity);
+        allocationStarts = Arrays.copyOf(allocationStarts, capacity);
+    }
+
+    private void growAllocations() {
+        int capacity = allocationTeams.length * 2;
+        allocationTeams = Arrays.copyOf(allocationTeams, capacity);
+        allocationRates = Arrays.copyOf(allocationRates, capacity);
+        allocationHours = Arrays.copyOf(allocationHours, capacity);
+    }
+}
@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.util.Objects;
 
 public record ProfileMetrics(BigDecimal hourlyRate, BigDecimal dayRate, BigDecimal annualCost, BigDecimal totalHours, BigDecimal utilizationRate, BigDecimal utilizationHours) {
+    public static final ProfileMetrics ZERO = new ProfileMetrics(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
     public ProfileMetrics {
         Objects.requireNonNull(hourlyRate, "Hourly rate cannot be null");
         Objects.requireNonNull(dayRate, "Day rate cannot be null");
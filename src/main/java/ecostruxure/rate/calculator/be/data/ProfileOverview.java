@@ -0,0 +1,15 @@
+package ecostruxure.rate.calculator.be.data;
+
+import ecostruxure.rate.calculator.be.Profile;
+
+import java.util.Objects;
+
+/**
+ * Read model for the profiles list. The profile carries its total utilization rate and hours across
+ * non-archived team assignments.
+ */
+public record ProfileOverview(Profile profile, int teamCount, String geographyName) {
+    public ProfileOverview {
+        Objects.requireNonNull(profile, "Profile cannot be null");
+    }
+}
@@ -0,0 +1,70 @@
+package ecostruxure.rate.calculator.be.data;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.Team;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The difference between a what-if scenario and the data it was created from. Each change carries the value it was
+ * made against, so applying it can check that the data has not changed since.
+ *
+ * @param salaries annual salaries that changed.
+ * @param teams    teams whose multipliers or members changed.
+ */
+public record ScenarioChanges(List<SalaryChange> salaries, List<TeamChanges> teams) {
+    public ScenarioChanges {
+        salaries = List.copyOf(Objects.requireNonNull(salaries, "Salaries cannot be null"));
+        teams = List.copyOf(Objects.requireNonNull(teams, "Teams cannot be null"));
+    }
+
+    /**
+     * @param profileId            the profile whose annual salary changed.
+     * @param originalAnnualSalary the annual salary the scenario was created with.
+     * @param annualSalary         the annual salary of the scenario.
+     */
+    public record SalaryChange(int profileId, BigDecimal originalAnnualSalary, BigDecimal annualSalary) {
+        public SalaryChange {
+            Objects.requireNonNull(originalAnnualSalary, "Original annual salary cannot be null");
+            Objects.requireNonNull(annualSalary, "Annual salary cannot be null");
+        }
+    }
+
+    /**
+     * @param team                 the team with its markup and gross margin of the scenario.
+     * @param originalMarkup       the markup the scenario was created with.
+     * @param originalGrossMargin  the gross margin the scenario was created with.
+     * @param assigned             profiles added to the team, with their utilization set.
+     * @param updated              members whose utilization changed, with their new utilization set.
+     * @param removed              profiles removed from the team.
+     * @param originalUtilizations the utilization the scenario was created with of every updated and removed member,
+     *                             by profile id.
+     */
+    public record TeamChanges(Team team, BigDecimal originalMarkup, BigDecimal originalGrossMargin, List<Profile> assigned,
+                              List<Profile> updated, List<Profile> removed, Map<Integer, TeamUtilization> originalUtilizations) {
+        public TeamChanges {
+            Objects.requireNonNull(team, "Team cannot be null");
+            Objects.requireNonNull(originalMarkup, "Original markup cannot be null");
+            Objects.requireNonNull(originalGrossMargin, "Original gross margin cannot be null");
+            assigned = List.copyOf(Objects.requireNonNull(assigned, "Assigned profiles cannot be null"));
+            updated = List.copyOf(Objects.requireNonNull(updated, "Updated profiles cannot be null"));
+            removed = List.copyOf(Objects.requireNonNull(removed, "Removed profiles cannot be null"));
+            originalUtilizations = Map.copyOf(Objects.requireNonNull(originalUtilizations, "Original utilizations cannot be null"));
+        }
+
+        public boolean multipliersChanged() {
+            return team.markup().compareTo(originalMarkup) != 0 || team.grossMargin().compareTo(originalGrossMargin) != 0;
+        }
+
+        public boolean membersChanged() {
+            return !assigned.isEmpty() || !updated.isEmpty() || !removed.isEmpty();
+        }
+    }
+
+    public boolean isEmpty() {
+        return salaries.isEmpty() && teams.isEmpty();
+    }
+}
@@ -0,0 +1,19 @@
+package ecostruxure.rate.calculator.be.data;
+
+import java.util.Objects;
+
+/**
+ * One team member's row in a team history entry.
+ *
+ * @param profileHistoryId the profile history the row refers to, or null if the profile has no history yet.
+ * @param removed          true if the row records the member leaving the team.
+ */
+public record TeamMemberHistory(int profileId, Integer profileHistoryId, ProfileMetrics profileMetrics, boolean removed) {
+    public TeamMemberHistory {
+        Objects.requireNonNull(profileMetrics, "Profile metrics cannot be null");
+    }
+
+    public TeamMemberHistory(int profileId, Integer profileHistoryId, ProfileMetrics profileMetrics) {
+        this(profileId, profileHistoryId, profileMetrics, false);
+    }
+}
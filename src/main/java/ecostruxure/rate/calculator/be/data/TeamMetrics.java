@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Objects;
 
 public record TeamMetrics(BigDecimal hourlyRate, BigDecimal dayRate, BigDecimal annualCost, BigDecimal totalHours) {
+    public static final TeamMetrics ZERO = new TeamMetrics(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
     public TeamMetrics {
         Objects.requireNonNull(hourlyRate, "Hourly rate cannot be null");
         Objects.requireNonNull(dayRate, "Day rate cannot be null");
@@ -0,0 +1,24 @@
+package ecostruxure.rate.calculator.be.data;
+
+import ecostruxure.rate.calculator.be.enums.RateType;
+
+import java.util.Objects;
+
+/**
+ * The hourly, day and annual rates of a team with its markup and gross margin applied.
+ */
+public record TeamRates(Rates hourly, Rates day, Rates annual) {
+    public TeamRates {
+        Objects.requireNonNull(hourly, "Hourly rates cannot be null");
+        Objects.requireNonNull(day, "Day rates cannot be null");
+        Objects.requireNonNull(annual, "Annual rates cannot be null");
+    }
+
+    public Rates of(RateType rateType) {
+        return switch (rateType) {
+            case HOURLY -> hourly;
+            case DAY -> day;
+            case ANNUAL -> annual;
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package ecostruxure.rate.calculator.be.data;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+public record TeamUtilization(BigDecimal utilizationRate, BigDecimal utilizationHours) {
+    public static final TeamUtilization NONE = new TeamUtilization(BigDecimal.ZERO, BigDecimal.ZERO);
+
+    public TeamUtilization {
+        Objects.requireNonNull(utilizationRate, "Utilization rate cannot be null");
+        Objects.requireNonNull(utilizationHours, "Utilization hours cannot be null");
+    }
+}
@@ -0,0 +1,138 @@
+package ecostruxure.rate.calculator.bll;
+
+import ecostruxure.rate.calculator.bll.service.*;
+import ecostruxure.rate.calculator.dal.db.*;
+import ecostruxure.rate.calculator.dal.migration.MigrationRunner;
+import ecostruxure.rate.calculator.dal.transaction.TransactionManager;
+import ecostruxure.rate.calculator.util.AppConfig;
+
+/**
+ * Composition root of the application.<br>
+ * Creates the DB connector, DAOs and services once and hands out the same instances to every controller and
+ * interactor. Everything is created on first use, so a missing or broken database configuration surfaces as an
+ * exception from the accessor, where the caller can report it, instead of when the context is created.
+ */
+public class ApplicationContext {
+    private final String configFile;
+
+    private DBConnector dbConnector;
+    private TransactionManager transactionManager;
+    private MigrationRunner migrationRunner;
+
+    private ProfileDAO profileDAO;
+    private TeamDAO teamDAO;
+    private HistoryDAO historyDAO;
+    private GeographyDAO geographyDAO;
+    private CountryDAO countryDAO;
+    private CurrencyDAO currencyDAO;
+
+    private TeamProfileManagementService teamProfileManagementService;
+    private ProfileService profileService;
+    private TeamService teamService;
+    private RateService rateService;
+    private HistoryService historyService;
+    private GeographyService geographyService;
+    private CountryService countryService;
+    private CurrencyService currencyService;
+    private ScenarioService scenarioService;
+
+    public ApplicationContext() {
+        this(AppConfig.CONFIG_FILE);
+    }
+
+    public ApplicationContext(String configFile) {
+        this.configFile = configFile;
+    }
+
+    public synchronized DBConnector dbConnector() throws Exception {
+        if (dbConnector == null) dbConnector = new DBConnector(configFile);
+        return dbConnector;
+    }
+
+    public synchronized TransactionManager transactionManager() throws Exception {
+        if (transactionManager == null) transactionManager = new DbTransactionManager(dbConnector());
+        return transactionManager;
+    }
+
+    public synchronized MigrationRunner migrationRunner() throws Exception {
+        if (migrationRunner == null) migrationRunner = new MigrationRunner(dbConnector());
+        return migrationRunner;
+    }
+
+    public synchronized ProfileDAO profileDAO() throws Exception {
+        if (profileDAO == null) profileDAO = new ProfileDAO(dbConnector());
+        return profileDAO;
+    }
+
+    public synchronized TeamDAO teamDAO() throws Exception {
+        if (teamDAO == null) teamDAO = new TeamDAO(dbConnector());
+        return teamDAO;
+    }
+
+    public synchronized HistoryDAO historyDAO() throws Exception {
+        if (historyDAO == null) historyDAO = new HistoryDAO(dbConnector());
+        return historyDAO;
+    }
+
+    public synchronized GeographyDAO geographyDAO() throws Exception {
+        if (geographyDAO == null) geographyDAO = new GeographyDAO(dbConnector());
+        return geographyDAO;
+    }
+
+    public synchronized CountryDAO countryDAO() throws Exception {
+        if (countryDAO == null) countryDAO = new CountryDAO(dbConnector());
+        return countryDAO;
+    }
+
+    public synchronized CurrencyDAO currencyDAO() throws Exception {
+        if (currencyDAO == null) currencyDAO = new CurrencyDAO(dbConnector());
+        return currencyDAO;
+    }
+
+    public synchronized TeamProfileManagementService teamProfileManagementService() throws Exception {
+        if (teamProfileManagementService == null) {
+            teamProfileManagementService = new TeamProfileManagementService(historyDAO(), profileDAO(), teamDAO(), transactionManager());
+        }
+        return teamProfileManagementService;
+    }
+
+    public synchronized ProfileService profileService() throws Exception {
+        if (profileService == null) profileService = new ProfileService(teamProfileManagementService(), profileDAO());
+        return profileService;
+    }
+
+    public synchronized TeamService teamService() throws Exception {
+        if (teamService == null) teamService = new TeamService(teamDAO(), teamProfileManagementService());
+        return teamService;
+    }
+
+    public synchronized RateService rateService() throws Exception {
+        if (rateService == null) rateService = new RateService(profileService(), teamService());
+        return rateService;
+    }
+
+    public synchronized ScenarioService scenarioService() throws Exception {
+        if (scenarioService == null) scenarioService = new ScenarioService(teamService(), rateService(), teamProfileManagementService());
+        return scenarioService;
+    }
+
+    public synchronized HistoryService historyService() throws Exception {
+        if (historyService == null) historyService = new HistoryService(historyDAO());
+        return historyService;
+    }
+
+    public synchronized GeographyService geographyService() throws Exception {
+        if (geographyService == null) geographyService = new GeographyService(geographyDAO(), countryService());
+        return geographyService;
+    }
+
+    public synchronized CountryService countryService() throws Exception {
+        if (countryService == null) countryService = new CountryService(countryDAO());
+        return countryService;
+    }
+
+    public synchronized CurrencyService currencyService() throws Exception {
+        if (currencyService == null) currencyService = new CurrencyService(currencyDAO());
+        return currencyService;
+    }
+}
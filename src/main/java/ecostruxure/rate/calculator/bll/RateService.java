@@ -5,15 +5,18 @@ import ecostruxure.rate.calculator.be.Team;
 import ecostruxure.rate.calculator.be.enums.AdjustmentType;
 import ecostruxure.rate.calculator.be.enums.RateType;
 import ecostruxure.rate.calculator.be.data.Rates;
+import ecostruxure.rate.calculator.be.data.TeamRates;
 import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
 import ecostruxure.rate.calculator.bll.service.ProfileService;
 import ecostruxure.rate.calculator.bll.service.TeamService;
-import ecostruxure.rate.calculator.bll.utils.RateUtils;
+import ecostruxure.rate.calculator.bll.utils.ParallelTasks;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.Map;
 
 public class RateService {
     private static final int SCALE = 2;
@@ -27,10 +30,13 @@ public class RateService {
         this.teamService = new TeamService();
     }
 
+    public RateService(ProfileService profileService, TeamService teamService) {
+        this.profileService = profileService;
+        this.teamService = teamService;
+    }
+
     public Rates calculateRates(Team team, RateType rateType) throws Exception {
         var rawRate = BigDecimal.ZERO;
-        var markup = team.markup();
-        var grossMargin = team.grossMargin();
 
         switch (rateType) {
             case HOURLY -> rawRate = utilizedHourlyRate(team);
@@ -38,8 +44,52 @@ public class RateService {
             case ANNUAL -> rawRate = utilizedAnnualCost(team);
         }
 
-        var markupRate = applyMarkup(rawRate, markup);
-        var grossMarginRate = applyGrossMargin(markupRate, grossMargin);
+        return applyMultipliers(team, rawRate);
+    }
+
+    /**
+     * Calculates rates from already calculated team metrics, e.g. from {@link TeamService#allTeamMetrics()},
+     * applying the team's markup and gross margin.
+     */
+    public Rates calculateRates(Team team, TeamMetrics metrics, RateType rateType) {
+        var rawRate = switch (rateType) {
+            case HOURLY -> metrics.hourlyRate();
+            case DAY -> metrics.dayRate();
+            case ANNUAL -> metrics.annualCost();
+        };
+
+        return applyMultipliers(team, rawRate);
+    }
+
+    /**
+     * Calculates all rate types of a team from its metrics, or from its members if metrics is null.
+     */
+    public TeamRates calculateRates(Team team, TeamMetrics metrics) throws Exception {
+        TeamMetrics teamMetrics = metrics != null ? metrics : calculateMetrics(team);
+
+        return new TeamRates(
+                calculateRates(team, teamMetrics, RateType.HOURLY),
+                calculateRates(team, teamMetrics, RateType.DAY),
+                calculateRates(team, teamMetrics, RateType.ANNUAL)
+        );
+    }
+
+    /**
+     * Calculates the rates of many teams in parallel on virtual threads, see {@link ParallelTasks}.
+     *
+     * @param metrics        already calculated metrics by team id, teams missing from it are calculated from their
+     *                       members, which queries the database.
+     * @param maxConcurrency the maximum number of teams calculated at the same time, at most the connection pool size.
+     * @return the rates in the order of the teams.
+     * @throws InterruptedException if the calling thread is interrupted, the remaining calculations are cancelled.
+     */
+    public List<TeamRates> calculateRates(List<Team> teams, Map<Integer, TeamMetrics> metrics, int maxConcurrency) throws Exception {
+        return ParallelTasks.map(teams, maxConcurrency, team -> calculateRates(team, metrics.get(team.id())));
+    }
+
+    private Rates applyMultipliers(Team team, BigDecimal rawRate) {
+        var markupRate = applyMarkup(rawRate, team.markup());
+        var grossMarginRate = applyGrossMargin(markupRate, team.grossMargin());
 
         return new Rates(rawRate, markupRate, grossMarginRate);
     }
@@ -48,9 +98,10 @@ public class RateService {
         var total = BigDecimal.ZERO;
 
         var profiles = teamService.getTeamProfiles(team);
+        var utilizations = profileService.getTeamUtilizations(team.id());
         for (Profile profile : profiles) {
-            var utilizationRate = profileService.getProfileRateUtilizationForTeam(profile.id(), team.id());
-            total = total.add(RateUtils.hourlyRate(profile, utilizationRate));
+            var utilizationRate = utilizations.getOrDefault(profile.id(), TeamUtilization.NONE).utilizationRate();
+            total = total.add(profileService.hourlyRate(profile, utilizationRate));
         }
 
         return total;
@@ -60,9 +111,10 @@ public class RateService {
         var total = BigDecimal.ZERO;
 
         var profiles = teamService.getTeamProfiles(team);
+        var utilizations = profileService.getTeamUtilizations(team.id());
         for (Profile profile : profiles) {
-            var utilizationRate = profileService.getProfileRateUtilizationForTeam(profile.id(), team.id());
-            total = total.add(RateUtils.dayRate(profile, utilizationRate));
+            var utilizationRate = utilizations.getOrDefault(profile.id(), TeamUtilization.NONE).utilizationRate();
+            total = total.add(profileService.dayRate(profile, utilizationRate));
         }
 
         return total;
@@ -72,9 +124,10 @@ public class RateService {
         var total = BigDecimal.ZERO;
 
         var profiles = teamService.getTeamProfiles(team);
+        var utilizations = profileService.getTeamUtilizations(team.id());
         for (Profile profile : profiles) {
-            var utilizationRate = profileService.getProfileRateUtilizationForTeam(profile.id(), team.id());
-            total = total.add(RateUtils.annualCost(profile, utilizationRate));
+            var utilizationRate = utilizations.getOrDefault(profile.id(), TeamUtilization.NONE).utilizationRate();
+            total = total.add(profileService.annualCost(profile, utilizationRate));
         }
 
         return total;
@@ -103,6 +156,15 @@ public class RateService {
         return totalAdjustedRate;
     }
 
+    /**
+     * Gets the raw metrics of a team from the materialized snapshot, calculating them from the team's members if the
+     * team is missing from it.
+     */
+    public TeamMetrics teamMetrics(Team team) throws Exception {
+        TeamMetrics metrics = teamService.getTeamMetrics(team.id());
+        return metrics != null ? metrics : calculateMetrics(team);
+    }
+
     public TeamMetrics calculateMetrics(Team team) throws Exception {
         return calculateMetrics(team.id(), teamService.getTeamProfiles(team));
     }
@@ -113,9 +175,11 @@ public class RateService {
         BigDecimal annualCost = BigDecimal.ZERO;
         BigDecimal totalHours = BigDecimal.ZERO;
 
+        Map<Integer, TeamUtilization> utilizations = profileService.getTeamUtilizations(teamId);
         for (Profile profile : profiles) {
-            BigDecimal utilizationRate = profileService.getProfileRateUtilizationForTeam(profile.id(), teamId);
-            BigDecimal utilizationHours = profileService.getProfileHourUtilizationForTeam(profile.id(), teamId);
+            TeamUtilization utilization = utilizations.getOrDefault(profile.id(), TeamUtilization.NONE);
+            BigDecimal utilizationRate = utilization.utilizationRate();
+            BigDecimal utilizationHours = utilization.utilizationHours();
 
             hourlyRate = hourlyRate.add(profileService.hourlyRate(profile, utilizationRate));
             dayRate = dayRate.add(profileService.dayRate(profile, utilizationRate));
@@ -0,0 +1,7 @@
+package ecostruxure.rate.calculator.bll;
+
+public class ScenarioConflictException extends Exception {
+    public ScenarioConflictException(String message) {
+        super(message);
+    }
+}
@@ -2,25 +2,99 @@ package ecostruxure.rate.calculator.bll.service;
 
 import ecostruxure.rate.calculator.be.Country;
 import ecostruxure.rate.calculator.be.Geography;
+import ecostruxure.rate.calculator.bll.utils.CacheStats;
 import ecostruxure.rate.calculator.dal.db.CountryDAO;
 import ecostruxure.rate.calculator.dal.dao.ICountryDAO;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public class CountryService {
     private final ICountryDAO countryDAO;
 
+    // Countries are static reference data, only the geography memberships change when a geography is created
+    private volatile List<Country> all;
+    private final Map<Integer, List<Country>> byGeography = new ConcurrentHashMap<>();
+    private volatile boolean allGeographiesLoaded;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
     public CountryService() throws IOException {
-        countryDAO = new CountryDAO();
+        this(new CountryDAO());
+    }
+
+    public CountryService(ICountryDAO countryDAO) {
+        this.countryDAO = countryDAO;
     }
 
     public List<Country> all() throws Exception {
-        return countryDAO.all();
+        List<Country> current = all;
+        if (current != null) {
+            hits.increment();
+            return new ArrayList<>(current);
+        }
+
+        misses.increment();
+        current = List.copyOf(countryDAO.all());
+        all = current;
+        return new ArrayList<>(current);
     }
 
     public List<Country> allByGeography(Geography geography) throws Exception {
-        return countryDAO.allByGeography(geography);
+        List<Country> countries = byGeography.get(geography.id());
+        if (countries == null && allGeographiesLoaded) countries = List.of();
+        if (countries != null) {
+            hits.increment();
+            return new ArrayList<>(countries);
+        }
+
+        misses.increment();
+        countries = List.copyOf(countryDAO.allByGeography(geography));
+        byGeography.put(geography.id(), countries);
+        return new ArrayList<>(countries);
+    }
+
+    /**
+     * Gets the countries of every geography, loading all of them in one query if they are not cached yet.
+     *
+     * @return A map from geography id to its countries. Geographies without countries are not included.
+     * @throws Exception If the countries could not be retrieved.
+     */
+    public Map<Integer, List<Country>> allGroupedByGeography() throws Exception {
+        if (allGeographiesLoaded) {
+            hits.increment();
+        } else {
+            misses.increment();
+            Map<Integer, List<Country>> grouped = countryDAO.allGroupedByGeography();
+            byGeography.clear();
+            grouped.forEach((geographyId, countries) -> byGeography.put(geographyId, List.copyOf(countries)));
+            allGeographiesLoaded = true;
+        }
+
+        Map<Integer, List<Country>> copy = new HashMap<>();
+        byGeography.forEach((geographyId, countries) -> {
+            if (!countries.isEmpty()) copy.put(geographyId, new ArrayList<>(countries));
+        });
+        return copy;
+    }
+
+    /**
+     * Clears the cached countries, next lookup reads them from the data source again.
+     */
+    public void invalidate() {
+        all = null;
+        allGeographiesLoaded = false;
+        byGeography.clear();
+        invalidations.increment();
+    }
+
+    public CacheStats cacheStats() {
+        return new CacheStats(hits.sum(), misses.sum(), invalidations.sum());
     }
 }
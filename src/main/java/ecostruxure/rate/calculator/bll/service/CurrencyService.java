@@ -22,6 +22,10 @@ public class CurrencyService {
         this.currencyDAO = new CurrencyDAO();
     }
 
+    public CurrencyService(ICurrencyDAO currencyDAO) {
+        this.currencyDAO = currencyDAO;
+    }
+
     public List<Currency> all() throws Exception {
         return currencyDAO.all();
     }
@@ -2,32 +2,136 @@ package ecostruxure.rate.calculator.bll.service;
 
 import ecostruxure.rate.calculator.be.Country;
 import ecostruxure.rate.calculator.be.Geography;
+import ecostruxure.rate.calculator.bll.utils.CacheStats;
 import ecostruxure.rate.calculator.dal.db.GeographyDAO;
 import ecostruxure.rate.calculator.dal.dao.IGeographyDAO;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 public class GeographyService {
     private final IGeographyDAO geographyDAO;
+    private final CountryService countryService;
+
+    // Geographies almost never change, so they are read once and served from memory until one is created
+    private volatile GeographySnapshot snapshot;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record GeographySnapshot(List<Geography> all, List<Geography> exceptCountries,
+                                     Map<Integer, Geography> byId, Map<String, Geography> byName) {
+    }
 
     public GeographyService() throws IOException {
-        this.geographyDAO = new GeographyDAO();
+        this(new GeographyDAO(), null);
+    }
+
+    public GeographyService(IGeographyDAO geographyDAO) {
+        this(geographyDAO, null);
+    }
+
+    /**
+     * @param countryService optional, its country cache is invalidated together with the geography cache.
+     */
+    public GeographyService(IGeographyDAO geographyDAO, CountryService countryService) {
+        this.geographyDAO = geographyDAO;
+        this.countryService = countryService;
     }
 
     public ArrayList<Geography> all() throws Exception {
-        return geographyDAO.all();
+        return copyOf(snapshot().all());
     }
 
     public List<Geography> allExceptCountries() throws Exception {
-        return geographyDAO.allExceptCountries();
+        return copyOf(snapshot().exceptCountries());
     }
 
     public Geography get(int id) throws Exception {
-        return geographyDAO.get(id);
+        Geography geography = snapshot().byId().get(id);
+        if (geography == null) {
+            // Might have been created elsewhere since the cache was loaded
+            invalidate();
+            geography = snapshot().byId().get(id);
+        }
+
+        if (geography == null) return geographyDAO.get(id);
+        return copyOf(geography);
+    }
+
+    /**
+     * Gets a geography by its name, ignoring case.
+     *
+     * @param name the name of the geography.
+     * @return the geography, or null if no geography has that name.
+     * @throws Exception if the geographies could not be loaded.
+     */
+    public Geography get(String name) throws Exception {
+        Objects.requireNonNull(name, "Name must not be null.");
+
+        Geography geography = snapshot().byName().get(name.toLowerCase(Locale.ROOT));
+        return geography != null ? copyOf(geography) : null;
+    }
+
+    /**
+     * Clears the cached geographies, next lookup reads them from the data source again.
+     */
+    public void invalidate() {
+        snapshot = null;
+        invalidations.increment();
+        if (countryService != null) countryService.invalidate();
+    }
+
+    public CacheStats cacheStats() {
+        return new CacheStats(hits.sum(), misses.sum(), invalidations.sum());
+    }
+
+    private GeographySnapshot snapshot() throws Exception {
+        GeographySnapshot current = snapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+
+        synchronized (this) {
+            if (snapshot != null) {
+                hits.increment();
+                return snapshot;
+            }
+
+            misses.increment();
+            List<Geography> all = geographyDAO.all();
+            List<Geography> exceptCountries = geographyDAO.allExceptCountries();
+
+            Map<Integer, Geography> byId = new HashMap<>();
+            Map<String, Geography> byName = new HashMap<>();
+            for (Geography geography : all) {
+                byId.put(geography.id(), geography);
+                if (geography.name() != null) byName.putIfAbsent(geography.name().toLowerCase(Locale.ROOT), geography);
+            }
+
+            snapshot = new GeographySnapshot(List.copyOf(all), List.copyOf(exceptCountries), byId, byName);
+            return snapshot;
+        }
+    }
+
+    private static Geography copyOf(Geography geography) {
+        return new Geography(geography.id(), geography.name(), geography.predefined());
+    }
+
+    private static ArrayList<Geography> copyOf(List<Geography> geographies) {
+        ArrayList<Geography> copies = new ArrayList<>(geographies.size());
+        for (Geography geography : geographies) {
+            copies.add(copyOf(geography));
+        }
+        return copies;
     }
 
     /**
@@ -56,7 +160,9 @@ public class GeographyService {
         var countriesWithoutDuplicates = removeDuplicates(countriesWithoutEmpty);
         if (countriesWithoutDuplicates.size() < 2) throw new IllegalArgumentException("Countries must at least contain two countries.");
 
-        return geographyDAO.create(geography, countriesWithoutDuplicates);
+        Geography created = geographyDAO.create(geography, countriesWithoutDuplicates);
+        invalidate();
+        return created;
     }
 
     private List<Country> removeEmpty(List<Country> countries) {
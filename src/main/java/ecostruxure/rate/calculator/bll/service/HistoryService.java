@@ -1,6 +1,8 @@
 package ecostruxure.rate.calculator.bll.service;
 
 import ecostruxure.rate.calculator.be.*;
+import ecostruxure.rate.calculator.be.data.HistoryCursor;
+import ecostruxure.rate.calculator.be.data.HistoryPage;
 import ecostruxure.rate.calculator.dal.dao.*;
 import ecostruxure.rate.calculator.dal.db.HistoryDAO;
 
@@ -12,6 +14,10 @@ public class HistoryService {
         this.historyDAO = new HistoryDAO();
     }
 
+    public HistoryService(IHistoryDAO historyDAO) {
+        this.historyDAO = historyDAO;
+    }
+
     public List<ProfileHistory> getProfileHistory(int profileId) throws Exception {
         return historyDAO.getProfileHistory(profileId);
     }
@@ -19,4 +25,12 @@ public class HistoryService {
     public List<TeamHistory> getTeamHistory(int teamId) throws Exception {
         return historyDAO.getTeamHistory(teamId);
     }
+
+    public HistoryPage<ProfileHistory> getProfileHistory(int profileId, HistoryCursor after, int limit) throws Exception {
+        return historyDAO.getProfileHistory(profileId, after, limit);
+    }
+
+    public HistoryPage<TeamHistory> getTeamHistory(int teamId, HistoryCursor after, int limit) throws Exception {
+        return historyDAO.getTeamHistory(teamId, after, limit);
+    }
 }
@@ -3,12 +3,18 @@ package ecostruxure.rate.calculator.bll.service;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.ProfileHistory;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.be.data.ProfileOverview;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
+import ecostruxure.rate.calculator.bll.utils.CacheStats;
+import ecostruxure.rate.calculator.bll.utils.ProfileRateCache;
+import ecostruxure.rate.calculator.bll.utils.ProfileStore;
 import ecostruxure.rate.calculator.dal.dao.*;
 import ecostruxure.rate.calculator.dal.db.ProfileDAO;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class ProfileService {
@@ -20,11 +26,19 @@ public class ProfileService {
 
     private final TeamProfileManagementService teamProfileManagementService;
     private final IProfileDAO profileDAO;
+    private final ProfileRateCache rateCache;
 
 
     public ProfileService() throws Exception {
         this.teamProfileManagementService = new TeamProfileManagementService();
         this.profileDAO = new ProfileDAO();
+        this.rateCache = teamProfileManagementService.rateCache();
+    }
+
+    public ProfileService(TeamProfileManagementService teamProfileManagementService, IProfileDAO profileDAO) {
+        this.teamProfileManagementService = teamProfileManagementService;
+        this.profileDAO = profileDAO;
+        this.rateCache = teamProfileManagementService.rateCache();
     }
 
     public Profile create(Profile profile) throws Exception {
@@ -43,6 +57,35 @@ public class ProfileService {
         return profileDAO.allWithUtilization();
     }
 
+    /**
+     * Loads all active profiles and their team allocations into a columnar store for reports.
+     *
+     * @throws Exception if the profiles could not be retrieved.
+     */
+    public ProfileStore profileStore() throws Exception {
+        return new ProfileStore(profileDAO.activeProfileColumns());
+    }
+
+    /**
+     * Gets the active profiles with at least the given utilization rate still unallocated.
+     *
+     * @param minFreeRate the minimum free utilization rate in percent, between 0 and 100.
+     * @return the profiles, with their total allocated utilization rate and hours set.
+     * @throws Exception if the profiles could not be retrieved.
+     */
+    public List<Profile> allWithFreeCapacity(BigDecimal minFreeRate) throws Exception {
+        Objects.requireNonNull(minFreeRate, "Free capacity cannot be null");
+        if (minFreeRate.signum() < 0 || minFreeRate.compareTo(new BigDecimal("100")) > 0) {
+            throw new IllegalArgumentException("Free capacity must be between 0 and 100");
+        }
+
+        return profileDAO.allWithFreeCapacity(minFreeRate);
+    }
+
+    public List<ProfileOverview> allOverviews() throws Exception {
+        return profileDAO.allOverviews();
+    }
+
     public List<Profile> allWithUtilizationByTeam(Team team) throws Exception {
         Objects.requireNonNull(team, "Team cannot be null");
 
@@ -68,7 +111,7 @@ public class ProfileService {
     public BigDecimal hourlyRate(Profile profile) {
         Objects.requireNonNull(profile, "Profile cannot be null");
 
-        return annualCost(profile).divide(profile.effectiveWorkHours(), GENERAL_SCALE, ROUNDING_MODE);
+        return rateCache.get(profile).hourlyRate();
     }
 
     public BigDecimal hourlyRate(ProfileHistory profile) {
@@ -80,8 +123,7 @@ public class ProfileService {
     public BigDecimal hourlyRate(Profile profile, BigDecimal utilizationPercentage) {
         Objects.requireNonNull(profile, "Profile cannot be null");
 
-        BigDecimal percentageAsDecimal = utilizationPercentage.divide(new BigDecimal("100.00"), GENERAL_SCALE, ROUNDING_MODE);
-        return hourlyRate(profile).multiply(percentageAsDecimal);
+        return rateCache.hourlyRate(profile, utilizationPercentage);
     }
 
     public BigDecimal hourlyRate(List<Profile> profiles) {
@@ -113,7 +155,7 @@ public class ProfileService {
     public BigDecimal dayRate(Profile profile) {
         Objects.requireNonNull(profile, "Profile cannot be null");
 
-        return hourlyRate(profile).multiply(profile.hoursPerDay());
+        return rateCache.get(profile).dayRate();
     }
 
     public BigDecimal dayRate(ProfileHistory profile) {
@@ -125,8 +167,7 @@ public class ProfileService {
     public BigDecimal dayRate(Profile profile, BigDecimal utilizationPercentage) {
         Objects.requireNonNull(profile, "Profile cannot be null");
 
-        BigDecimal percentageAsDecimal = utilizationPercentage.divide(new BigDecimal("100.00"), GENERAL_SCALE, ROUNDING_MODE);
-        return dayRate(profile).multiply(percentageAsDecimal);
+        return rateCache.dayRate(profile, utilizationPercentage);
     }
 
     public BigDecimal dayRate(List<Profile> profiles) {
@@ -158,14 +199,13 @@ public class ProfileService {
     public BigDecimal annualCost(Profile profile) {
         Objects.requireNonNull(profile, "Profile cannot be null");
 
-        return profile.annualSalary().multiply(profile.overheadMultiplier()).add(profile.fixedAnnualAmount());
+        return rateCache.get(profile).annualCost();
     }
 
     public BigDecimal annualCost(Profile profile, BigDecimal utilizationPercentage) {
         Objects.requireNonNull(profile, "Profile cannot be null");
 
-        BigDecimal percentageAsDecimal = utilizationPercentage.divide(new BigDecimal("100.00"), GENERAL_SCALE, ROUNDING_MODE);
-        return annualCost(profile).multiply(percentageAsDecimal);
+        return rateCache.annualCost(profile, utilizationPercentage);
     }
 
     public BigDecimal annualCost(ProfileHistory profile) {
@@ -260,6 +300,10 @@ public class ProfileService {
         return profileDAO.getProfileHourUtilizationForTeam(id, teamId);
     }
 
+    public Map<Integer, TeamUtilization> getTeamUtilizations(int teamId) throws Exception {
+        return profileDAO.getTeamUtilizations(teamId);
+    }
+
     public BigDecimal getProfileRateUtilizationForArchivedTeam(int id, int teamId) throws Exception {
         return profileDAO.getProfileRateUtilizationForTeam(id, teamId);
     }
@@ -282,9 +326,16 @@ public class ProfileService {
         if (updated.id() <= 0) throw new IllegalArgumentException("Profile ID must be greater than 0");
         if (updated.profileData().archived()) throw new IllegalArgumentException("Profile cannot be archived upon update");
 
-        if (original.equals(updated)) return profileDAO.update(updated);
+        boolean result = original.equals(updated)
+                ? profileDAO.update(updated)
+                : teamProfileManagementService.updateProfile(updated);
+
+        rateCache.invalidate(updated.id());
+        return result;
+    }
 
-        return teamProfileManagementService.updateProfile(updated);
+    public CacheStats rateCacheStats() {
+        return rateCache.cacheStats();
     }
 
     public boolean archive(Profile profile, boolean shouldArchive) throws Exception {
@@ -0,0 +1,62 @@
+package ecostruxure.rate.calculator.bll.service;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.bll.RateService;
+import ecostruxure.rate.calculator.bll.ScenarioConflictException;
+import ecostruxure.rate.calculator.bll.utils.Scenario;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Creates what-if scenarios from the current teams and applies finished ones, see {@link Scenario}.
+ */
+public class ScenarioService {
+    private final TeamService teamService;
+    private final RateService rateService;
+    private final TeamProfileManagementService teamProfileManagementService;
+
+    public ScenarioService(TeamService teamService, RateService rateService, TeamProfileManagementService teamProfileManagementService) {
+        this.teamService = teamService;
+        this.rateService = rateService;
+        this.teamProfileManagementService = teamProfileManagementService;
+    }
+
+    /**
+     * Creates a scenario of all teams that are not archived.
+     *
+     * @throws Exception if the teams or their members could not be retrieved.
+     */
+    public Scenario create() throws Exception {
+        return create(teamService.all().stream().filter(team -> !team.archived()).toList());
+    }
+
+    /**
+     * Creates a scenario of the given teams, their members are read in one transaction.
+     *
+     * @throws Exception if the members could not be retrieved.
+     */
+    public Scenario create(List<Team> teams) throws Exception {
+        Objects.requireNonNull(teams, "Teams cannot be null");
+
+        Map<Integer, List<Profile>> members = teamProfileManagementService.getTeamMembers(teams.stream().map(Team::id).toList());
+        return new Scenario(rateService, teams, members);
+    }
+
+    /**
+     * Writes every change of the scenario in one transaction, either all of them are applied or none. Only the values
+     * the scenario changed are written, see {@link TeamProfileManagementService#applyScenario}.
+     *
+     * @return false if the scenario has no changes.
+     * @throws ScenarioConflictException if the data changed since the scenario was created, or a profile would be
+     *                                   allocated more than 100%.
+     * @throws Exception                 if the changes could not be applied.
+     */
+    public boolean apply(Scenario scenario) throws Exception {
+        Objects.requireNonNull(scenario, "Scenario cannot be null");
+
+        return teamProfileManagementService.applyScenario(scenario.changes());
+    }
+}
@@ -4,8 +4,18 @@ import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.Team;
 import ecostruxure.rate.calculator.be.TeamHistory.Reason;
 import ecostruxure.rate.calculator.be.data.ProfileMetrics;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges.SalaryChange;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges.TeamChanges;
+import ecostruxure.rate.calculator.be.data.TeamMemberHistory;
+import ecostruxure.rate.calculator.bll.ScenarioConflictException;
+import ecostruxure.rate.calculator.bll.utils.ProfileRateCache;
 import ecostruxure.rate.calculator.bll.utils.RateUtils;
 import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
+import ecostruxure.rate.calculator.dal.dao.IHistoryDAO;
+import ecostruxure.rate.calculator.dal.dao.IProfileDAO;
+import ecostruxure.rate.calculator.dal.dao.ITeamDAO;
 import ecostruxure.rate.calculator.dal.db.DbTransactionManager;
 import ecostruxure.rate.calculator.dal.transaction.TransactionContext;
 import ecostruxure.rate.calculator.dal.transaction.TransactionManager;
@@ -15,14 +25,36 @@ import ecostruxure.rate.calculator.dal.db.TeamDAO;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public class TeamProfileManagementService {
-    private final HistoryDAO historyDAO;
-    private final ProfileDAO profileDAO;
-    private final TeamDAO teamDAO;
+    private final IHistoryDAO historyDAO;
+    private final IProfileDAO profileDAO;
+    private final ITeamDAO teamDAO;
     private final TransactionManager transactionManager;
 
+    static final int CONSISTENCY_CHECK_INTERVAL = 20;
+    static final int FULL_SNAPSHOT_INTERVAL = 50;
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    // History stores team totals with two decimals, so each incremental update between checks may drift by half a cent
+    private static final BigDecimal METRICS_TOLERANCE = new BigDecimal("0.005").multiply(BigDecimal.valueOf(CONSISTENCY_CHECK_INTERVAL));
+
+    private final Map<Integer, Integer> incrementalUpdates = new ConcurrentHashMap<>();
+    private final LongAdder metricsMismatches = new LongAdder();
+
+    // Shared with ProfileService, which invalidates a profile's rates when it is updated
+    private final ProfileRateCache rateCache = new ProfileRateCache();
+
     public TeamProfileManagementService() throws Exception {
         this.historyDAO = new HistoryDAO();
         this.profileDAO = new ProfileDAO();
@@ -30,11 +62,21 @@ public class TeamProfileManagementService {
         this.transactionManager = new DbTransactionManager();
     }
 
+    public TeamProfileManagementService(IHistoryDAO historyDAO, IProfileDAO profileDAO, ITeamDAO teamDAO, TransactionManager transactionManager) {
+        this.historyDAO = historyDAO;
+        this.profileDAO = profileDAO;
+        this.teamDAO = teamDAO;
+        this.transactionManager = transactionManager;
+    }
+
     public Team createTeam(Team team) throws Exception {
         return transactionManager.executeTransaction(context -> {
+            LocalDateTime now = LocalDateTime.now();
+
             Team createdTeam = teamDAO.create(context, team);
             TeamMetrics metrics = calculateMetrics(createdTeam.id(), teamDAO.getTeamProfiles(context, createdTeam.id()), context);
-            historyDAO.insertEmptyTeamProfileHistory(context, createdTeam.id(), metrics, Reason.TEAM_CREATED);
+            insertTeamHistory(context, createdTeam.id(), metrics, Reason.TEAM_CREATED, List.of(), List.of(), now);
+            teamDAO.refreshTeamMetrics(context, createdTeam.id());
             return createdTeam;
         });
     }
@@ -46,14 +88,13 @@ public class TeamProfileManagementService {
             Team createdTeam = teamDAO.create(context, team);
             teamDAO.assignProfiles(context, createdTeam, profiles);
             List<Profile> assignedProfiles = teamDAO.getTeamProfiles(context, createdTeam.id());
-            TeamMetrics metrics = calculateMetrics(createdTeam.id(), assignedProfiles, context);
-            for (Profile profile : assignedProfiles) {
-                Integer profileHistoryId = historyDAO.getLatestProfileHistoryId(context, profile.id());
-                ProfileMetrics profileMetrics = calculateMetrics(profile, team, context);
-                historyDAO.insertTeamProfileHistory(context, createdTeam.id(), profile.id(), profileHistoryId, metrics, Reason.TEAM_CREATED, profileMetrics, now);
-            }
+            Map<Integer, TeamUtilization> utilizations = profileDAO.getTeamUtilizations(context, createdTeam.id());
+            TeamMetrics metrics = calculateMetrics(assignedProfiles, utilizations);
 
-            historyDAO.insertEmptyTeamProfileHistory(context, createdTeam.id(), metrics, Reason.TEAM_CREATED, now);
+            Map<Integer, Integer> profileHistoryIds = historyDAO.getLatestProfileHistoryIds(context, profileIds(assignedProfiles));
+            List<TeamMemberHistory> members = memberHistories(assignedProfiles, profileHistoryIds, utilizations);
+            insertTeamHistory(context, createdTeam.id(), metrics, Reason.TEAM_CREATED, members, members, now);
+            teamDAO.refreshTeamMetrics(context, createdTeam.id());
             return createdTeam;
         });
     }
@@ -66,12 +107,13 @@ public class TeamProfileManagementService {
             if (!assigned) return false;
 
             List<Profile> assignedProfiles = teamDAO.getTeamProfiles(context, team.id());
-            TeamMetrics metrics = calculateMetrics(team.id(), assignedProfiles, context);
-            for (Profile profile : assignedProfiles) {
-                Integer profileHistoryId = historyDAO.getLatestProfileHistoryId(context, profile.id());
-                ProfileMetrics profileMetrics = calculateMetrics(profile, team, context);
-                historyDAO.insertTeamProfileHistory(context, team.id(), profile.id(), profileHistoryId, metrics, Reason.ASSIGNED_PROFILE, profileMetrics, now);
-            }
+            Map<Integer, TeamUtilization> utilizations = profileDAO.getTeamUtilizations(context, team.id());
+            TeamMetrics metrics = calculateMetrics(assignedProfiles, utilizations);
+
+            Map<Integer, Integer> profileHistoryIds = historyDAO.getLatestProfileHistoryIds(context, profileIds(assignedProfiles));
+            List<TeamMemberHistory> members = memberHistories(assignedProfiles, profileHistoryIds, utilizations);
+            insertTeamHistory(context, team.id(), metrics, Reason.ASSIGNED_PROFILE, onlyProfiles(members, profiles), members, now);
+            teamDAO.refreshTeamMetrics(context, team.id());
             return true;
         });
     }
@@ -84,17 +126,21 @@ public class TeamProfileManagementService {
             if (!removed) return false;
 
             List<Profile> assignedProfiles = teamDAO.getTeamProfiles(context, team.id());
-            TeamMetrics metrics = calculateMetrics(team.id(), assignedProfiles, context);
-            for (Profile profile : assignedProfiles) {
-                Integer profileHistoryId = historyDAO.getLatestProfileHistoryId(context, profile.id());
-                ProfileMetrics profileMetrics = calculateMetrics(profile, team, context);
-                historyDAO.insertTeamProfileHistory(context, team.id(), profile.id(), profileHistoryId, metrics, Reason.REMOVED_PROFILE, profileMetrics, now);
-            }
+            Map<Integer, TeamUtilization> utilizations = profileDAO.getTeamUtilizations(context, team.id());
+            TeamMetrics metrics = calculateMetrics(assignedProfiles, utilizations);
 
-            if (assignedProfiles.isEmpty()) {
-                historyDAO.insertEmptyTeamProfileHistory(context, team.id(), metrics, Reason.REMOVED_PROFILE, now);
+            List<Integer> changedIds = new ArrayList<>(profileIds(assignedProfiles));
+            changedIds.addAll(profileIds(profiles));
+            Map<Integer, Integer> profileHistoryIds = historyDAO.getLatestProfileHistoryIds(context, changedIds);
+
+            List<TeamMemberHistory> members = memberHistories(assignedProfiles, profileHistoryIds, utilizations);
+            List<TeamMemberHistory> removedMembers = new ArrayList<>(profiles.size());
+            for (Profile profile : profiles) {
+                removedMembers.add(new TeamMemberHistory(profile.id(), profileHistoryIds.get(profile.id()), ProfileMetrics.ZERO, true));
             }
 
+            insertTeamHistory(context, team.id(), metrics, Reason.REMOVED_PROFILE, removedMembers, members, now);
+            teamDAO.refreshTeamMetrics(context, team.id());
             return true;
         });
     }
@@ -106,36 +152,75 @@ public class TeamProfileManagementService {
             boolean removed = teamDAO.removeProfileFromTeam(context, teamId, profileId);
             if (!removed) return false;
 
-            Profile removedProfile = profileDAO.get(context, profileId);
-            ProfileMetrics removedProfileMetrics = calculateMetrics(removedProfile, teamId, context);
-
             List<Profile> remainingProfiles = teamDAO.getTeamProfiles(context, teamId);
             TeamMetrics updatedTeamMetrics = calculateMetrics(teamId, remainingProfiles, context);
 
             Integer profileHistoryId = historyDAO.getLatestProfileHistoryId(context, profileId);
 
-            historyDAO.insertTeamProfileHistory(context, teamId, profileId, profileHistoryId, updatedTeamMetrics, Reason.REMOVED_PROFILE, removedProfileMetrics, now);
+            TeamMemberHistory removedMember = new TeamMemberHistory(profileId, profileHistoryId, ProfileMetrics.ZERO, true);
+            insertTeamHistory(context, teamId, updatedTeamMetrics, Reason.REMOVED_PROFILE, List.of(removedMember), null, now);
+            teamDAO.refreshTeamMetrics(context, teamId);
 
             return true;
         });
     }
 
+    /**
+     * Changes the utilization of one member of a team.<br>
+     * The new team totals are derived from the totals of the latest team history entry by swapping the member's old
+     * contribution for its new one, so the cost does not grow with the size of the team. Teams without history fall
+     * back to a full recompute, and every {@value #CONSISTENCY_CHECK_INTERVAL}th incremental update of a team is
+     * verified against one. The team is locked before its latest totals are read, so concurrent updates of different
+     * members each build on the totals of the one before.
+     *
+     * @return false if the profile is not assigned to the team, nothing is written then.
+     */
     public boolean updateTeamProfile(int teamId, Profile profile) throws Exception {
         return transactionManager.executeTransaction(context -> {
             LocalDateTime now = LocalDateTime.now();
-            int profileHistoryId = historyDAO.insertProfileHistory(context, profile);
-            boolean updated = teamDAO.updateProfile(context, teamId, profile);
-            if (!updated) return false;
+            teamDAO.lockTeamMetrics(context, teamId);
+            TeamUtilization previousUtilization = teamDAO.updateProfileUtilization(context, teamId, profile);
+            if (previousUtilization == null) return false;
 
-            List<Profile> teamProfiles = teamDAO.getTeamProfiles(context, teamId);
-            TeamMetrics teamMetrics = calculateMetrics(teamId, teamProfiles, context);
-            ProfileMetrics profileMetrics = calculateMetrics(profile, teamId, context);
+            int profileHistoryId = historyDAO.insertProfileHistory(context, profile);
+            TeamMetrics previousMetrics = historyDAO.getLatestTeamMetrics(context, teamId);
+
+            Profile storedProfile = profileDAO.get(context, profile.id());
+            if (storedProfile == null) storedProfile = profile;
+
+            ProfileMetrics profileMetrics = calculateMetrics(storedProfile, new TeamUtilization(profile.utilizationRate(), profile.utilizationHours()));
+            ProfileMetrics previousProfileMetrics = calculateMetrics(storedProfile, previousUtilization);
+            TeamMetrics teamMetrics;
+            if (previousMetrics == null) {
+                teamMetrics = calculateMetrics(teamId, teamDAO.getTeamProfiles(context, teamId), context);
+            } else {
+                teamMetrics = applyDelta(previousMetrics, previousProfileMetrics, profileMetrics);
+                if (incrementalUpdates.merge(teamId, 1, Integer::sum) % CONSISTENCY_CHECK_INTERVAL == 0) {
+                    teamMetrics = verifyMetrics(teamId, teamMetrics, context);
+                }
+            }
 
-            historyDAO.insertTeamProfileHistory(context, teamId, profile.id(), profileHistoryId, teamMetrics, Reason.UTILIZATION_CHANGE, profileMetrics, now);
+            TeamMemberHistory member = new TeamMemberHistory(profile.id(), profileHistoryId, profileMetrics);
+            insertTeamHistory(context, teamId, teamMetrics, Reason.UTILIZATION_CHANGE, List.of(member), null, now);
+            adjustTeamMetricsSnapshot(context, teamId, storedProfile, previousProfileMetrics, profileMetrics);
             return true;
         });
     }
 
+    /**
+     * Number of incremental team metric updates found to differ from a full recompute by more than the tolerance.
+     */
+    public long metricsMismatches() {
+        return metricsMismatches.sum();
+    }
+
+    /**
+     * The base rates of profiles memoized across team metric calculations.
+     */
+    public ProfileRateCache rateCache() {
+        return rateCache;
+    }
+
     public boolean updateTeamProfiles(Team team, List<Profile> profiles) throws Exception {
         return transactionManager.executeTransaction(context -> {
             LocalDateTime now = LocalDateTime.now();
@@ -144,50 +229,303 @@ public class TeamProfileManagementService {
             if (!updated) return false;
 
             List<Profile> updatedProfiles = teamDAO.getTeamProfiles(context, team.id());
-            TeamMetrics updatedTeamMetrics = calculateMetrics(team.id(), updatedProfiles, context);
+            Map<Integer, TeamUtilization> utilizations = profileDAO.getTeamUtilizations(context, team.id());
+            TeamMetrics updatedTeamMetrics = calculateMetrics(updatedProfiles, utilizations);
 
-            for (Profile profile : updatedProfiles) {
-                Integer profileHistoryId = historyDAO.insertProfileHistory(context, profile);
-                ProfileMetrics profileMetrics = calculateMetrics(profile, team.id(), context);
-                historyDAO.insertTeamProfileHistory(context, team.id(), profile.id(), profileHistoryId, updatedTeamMetrics, Reason.UTILIZATION_CHANGE, profileMetrics, now);
-            }
+            Map<Integer, Integer> profileHistoryIds = historyDAO.insertProfileHistories(context, profileIds(updatedProfiles));
+            List<TeamMemberHistory> members = memberHistories(updatedProfiles, profileHistoryIds, utilizations);
+            insertTeamHistory(context, team.id(), updatedTeamMetrics, Reason.UTILIZATION_CHANGE, onlyProfiles(members, profiles), members, now);
+            teamDAO.refreshTeamMetrics(context, team.id());
             return true;
         });
     }
 
     public boolean updateProfile(Profile toUpdate) throws Exception {
         return transactionManager.executeTransaction(context -> {
+            LocalDateTime now = LocalDateTime.now();
+
             int profileHistoryId = historyDAO.insertProfileHistory(context, toUpdate);
             profileDAO.update(context, toUpdate);
             List<Team> teams = profileDAO.getTeams(context, toUpdate);
             for (Team team : teams) {
                 TeamMetrics metrics = calculateMetrics(team.id(), teamDAO.getTeamProfiles(context, team.id()), context);
                 ProfileMetrics profileMetrics = calculateMetrics(toUpdate, team, context);
-                historyDAO.insertTeamProfileHistory(context, team.id(), toUpdate.id(), profileHistoryId, metrics, Reason.UPDATED_PROFILE, profileMetrics);
+                TeamMemberHistory member = new TeamMemberHistory(toUpdate.id(), profileHistoryId, profileMetrics);
+                insertTeamHistory(context, team.id(), metrics, Reason.UPDATED_PROFILE, List.of(member), null, now);
+                teamDAO.refreshTeamMetrics(context, team.id());
             }
             return true;
         });
     }
 
+    /**
+     * Reads the members of the given teams with their utilization on each team set, in one read-only transaction so
+     * all teams are read from the same state.
+     *
+     * @return the members by team id.
+     */
+    public Map<Integer, List<Profile>> getTeamMembers(List<Integer> teamIds) throws Exception {
+        return transactionManager.executeReadOnly(context -> {
+            Map<Integer, List<Profile>> members = new LinkedHashMap<>();
+            for (int teamId : teamIds) {
+                Map<Integer, TeamUtilization> utilizations = profileDAO.getTeamUtilizations(context, teamId);
+                List<Profile> profiles = new ArrayList<>();
+                for (Profile profile : teamDAO.getTeamProfiles(context, teamId)) {
+                    TeamUtilization utilization = utilizations.getOrDefault(profile.id(), TeamUtilization.NONE);
+                    profiles.add(new Profile(profile.id(), profile.profileData().name(), profile.profileData().currency(),
+                                             profile.annualSalary(), profile.fixedAnnualAmount(), profile.overheadMultiplier(),
+                                             profile.profileData().geography(), profile.effectiveWorkHours(),
+                                             utilization.utilizationRate(), utilization.utilizationHours(),
+                                             profile.profileData().overhead(), profile.hoursPerDay(), profile.profileData().archived()));
+                }
+                members.put(teamId, profiles);
+            }
+            return members;
+        });
+    }
+
+    /**
+     * Writes all changes of a what-if scenario in one transaction: the changed salaries, team multipliers and
+     * memberships, followed by one history entry and a refreshed metrics snapshot for every team whose members or
+     * member profiles changed.<br>
+     * Every value is only written if the database still holds the value the scenario was created with, and no profile
+     * may end up allocated more than 100% over its teams. Otherwise nothing is written.
+     *
+     * @throws ScenarioConflictException if the data changed since the scenario was created, or a profile would be
+     *                                   allocated more than 100%.
+     */
+    public boolean applyScenario(ScenarioChanges changes) throws Exception {
+        if (changes.isEmpty()) return false;
+
+        boolean applied;
+        try {
+            applied = transactionManager.executeTransaction(context -> writeScenario(context, changes));
+        } catch (Exception e) {
+            // Rolled back by now, a conflict is rethrown as is so it can be told apart from a failed write
+            if (e.getCause() instanceof ScenarioConflictException conflict) throw conflict;
+            throw e;
+        }
+
+        for (SalaryChange salary : changes.salaries()) {
+            rateCache.invalidate(salary.profileId());
+        }
+        return applied;
+    }
+
+    private boolean writeScenario(TransactionContext context, ScenarioChanges changes) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        // Team id to the profiles that changed on it, and to the reason of its history entry
+        Map<Integer, Set<Integer>> changedProfiles = new LinkedHashMap<>();
+        Map<Integer, Reason> reasons = new HashMap<>();
+        Map<Integer, List<Profile>> removedProfiles = new HashMap<>();
+        Set<Integer> allocatedProfiles = new HashSet<>();
+
+        for (SalaryChange salary : changes.salaries()) {
+            if (!profileDAO.updateAnnualSalary(context, salary.profileId(), salary.originalAnnualSalary(), salary.annualSalary())) {
+                throw new ScenarioConflictException("Profile " + salary.profileId() + " changed since the scenario was created");
+            }
+
+            Profile profile = profileDAO.get(context, salary.profileId());
+            historyDAO.insertProfileHistory(context, profile);
+            for (Team team : profileDAO.getTeams(context, profile)) {
+                changedProfiles.computeIfAbsent(team.id(), id -> new HashSet<>()).add(profile.id());
+                reasons.putIfAbsent(team.id(), Reason.UPDATED_PROFILE);
+            }
+        }
+
+        for (TeamChanges teamChanges : changes.teams()) {
+            Team team = teamChanges.team();
+            if (teamChanges.multipliersChanged()
+                    && !teamDAO.updateMultipliers(context, team, teamChanges.originalMarkup(), teamChanges.originalGrossMargin())) {
+                throw new ScenarioConflictException("Team " + team.id() + " changed since the scenario was created");
+            }
+            if (!teamChanges.membersChanged()) continue;
+
+            requireOriginalMembers(teamChanges, profileDAO.lockTeamUtilizations(context, team.id()));
+            allocatedProfiles.addAll(profileIds(teamChanges.assigned()));
+            allocatedProfiles.addAll(profileIds(teamChanges.updated()));
+
+            if (!teamChanges.removed().isEmpty()) teamDAO.removeAssignedProfiles(context, team, teamChanges.removed());
+            if (!teamChanges.assigned().isEmpty()) teamDAO.assignProfiles(context, team, teamChanges.assigned());
+            if (!teamChanges.updated().isEmpty()) teamDAO.updateProfiles(context, team, teamChanges.updated());
+
+            Set<Integer> changed = changedProfiles.computeIfAbsent(team.id(), id -> new HashSet<>());
+            changed.addAll(profileIds(teamChanges.assigned()));
+            changed.addAll(profileIds(teamChanges.updated()));
+            removedProfiles.put(team.id(), teamChanges.removed());
+
+            if (!teamChanges.removed().isEmpty()) reasons.put(team.id(), Reason.REMOVED_PROFILE);
+            else if (!teamChanges.assigned().isEmpty()) reasons.put(team.id(), Reason.ASSIGNED_PROFILE);
+            else reasons.put(team.id(), Reason.UTILIZATION_CHANGE);
+        }
+
+        // Checked after all memberships are written, as a scenario may free up a profile on one team to use it on another
+        if (!allocatedProfiles.isEmpty()) {
+            for (Map.Entry<Integer, TeamUtilization> total : profileDAO.getTotalUtilizations(context, allocatedProfiles).entrySet()) {
+                if (total.getValue().utilizationRate().compareTo(HUNDRED) > 0 || total.getValue().utilizationHours().compareTo(HUNDRED) > 0) {
+                    throw new ScenarioConflictException("Profile " + total.getKey() + " would be allocated more than 100%");
+                }
+            }
+        }
+
+        for (Map.Entry<Integer, Set<Integer>> entry : changedProfiles.entrySet()) {
+            int teamId = entry.getKey();
+            List<Profile> removed = removedProfiles.getOrDefault(teamId, List.of());
+
+            List<Profile> profiles = teamDAO.getTeamProfiles(context, teamId);
+            Map<Integer, TeamUtilization> utilizations = profileDAO.getTeamUtilizations(context, teamId);
+            TeamMetrics metrics = calculateMetrics(profiles, utilizations);
+
+            List<Integer> historyProfileIds = new ArrayList<>(profileIds(profiles));
+            historyProfileIds.addAll(profileIds(removed));
+            Map<Integer, Integer> profileHistoryIds = historyDAO.getLatestProfileHistoryIds(context, historyProfileIds);
+
+            List<TeamMemberHistory> members = memberHistories(profiles, profileHistoryIds, utilizations);
+            List<TeamMemberHistory> changedMembers = new ArrayList<>();
+            for (TeamMemberHistory member : members) {
+                if (entry.getValue().contains(member.profileId())) changedMembers.add(member);
+            }
+            for (Profile profile : removed) {
+                changedMembers.add(new TeamMemberHistory(profile.id(), profileHistoryIds.get(profile.id()), ProfileMetrics.ZERO, true));
+            }
+
+            insertTeamHistory(context, teamId, metrics, reasons.get(teamId), changedMembers, members, now);
+            teamDAO.refreshTeamMetrics(context, teamId);
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the members a scenario updates or removes still have the utilization it was created with, and
+     * that the profiles it assigns are not members yet.
+     */
+    private static void requireOriginalMembers(TeamChanges teamChanges, Map<Integer, TeamUtilization> current) throws ScenarioConflictException {
+        for (Profile profile : teamChanges.assigned()) {
+            if (current.containsKey(profile.id())) throw staleMembers(teamChanges.team());
+        }
+
+        for (Map.Entry<Integer, TeamUtilization> original : teamChanges.originalUtilizations().entrySet()) {
+            TeamUtilization utilization = current.get(original.getKey());
+            if (utilization == null
+                    || utilization.utilizationRate().compareTo(original.getValue().utilizationRate()) != 0
+                    || utilization.utilizationHours().compareTo(original.getValue().utilizationHours()) != 0) {
+                throw staleMembers(teamChanges.team());
+            }
+        }
+    }
+
+    private static ScenarioConflictException staleMembers(Team team) {
+        return new ScenarioConflictException("Members of team " + team.id() + " changed since the scenario was created");
+    }
+
+    /**
+     * Writes a team history entry holding only the members that changed. The first entry of a team, and then every
+     * {@value #FULL_SNAPSHOT_INTERVAL}th, is a full snapshot of all members instead, which bounds how many entries
+     * reading the history has to replay.
+     *
+     * @param members all members of the team after the change, or null to load them when a full snapshot is due.
+     */
+    private void insertTeamHistory(TransactionContext context, int teamId, TeamMetrics metrics, Reason reason, List<TeamMemberHistory> changed, List<TeamMemberHistory> members, LocalDateTime now) throws Exception {
+        int changes = historyDAO.changesSinceFullSnapshot(context, teamId);
+        boolean fullSnapshot = changes < 0 || changes + 1 >= FULL_SNAPSHOT_INTERVAL;
+
+        if (!fullSnapshot) {
+            historyDAO.insertTeamHistory(context, teamId, metrics, reason, false, changed, now);
+            return;
+        }
+
+        if (members == null) {
+            List<Profile> profiles = teamDAO.getTeamProfiles(context, teamId);
+            Map<Integer, Integer> profileHistoryIds = historyDAO.getLatestProfileHistoryIds(context, profileIds(profiles));
+            members = memberHistories(profiles, profileHistoryIds, profileDAO.getTeamUtilizations(context, teamId));
+        }
+
+        historyDAO.insertTeamHistory(context, teamId, metrics, reason, true, members, now);
+    }
+
+    /**
+     * Moves the Team_metrics snapshot by the member's change in contribution instead of recalculating the team.
+     * Archived profiles are not part of the snapshot, and teams missing from it are refreshed in full.
+     */
+    private void adjustTeamMetricsSnapshot(TransactionContext context, int teamId, Profile profile, ProfileMetrics previous, ProfileMetrics updated) throws Exception {
+        if (profile.profileData() != null && profile.profileData().archived()) return;
+
+        if (!teamDAO.adjustTeamMetrics(context, teamId, applyDelta(TeamMetrics.ZERO, previous, updated))) {
+            teamDAO.refreshTeamMetrics(context, teamId);
+        }
+    }
+
+    private static TeamMetrics applyDelta(TeamMetrics previous, ProfileMetrics removed, ProfileMetrics added) {
+        return new TeamMetrics(
+                previous.hourlyRate().subtract(removed.hourlyRate()).add(added.hourlyRate()),
+                previous.dayRate().subtract(removed.dayRate()).add(added.dayRate()),
+                previous.annualCost().subtract(removed.annualCost()).add(added.annualCost()),
+                previous.totalHours().subtract(removed.totalHours()).add(added.totalHours())
+        );
+    }
+
+    /**
+     * Recomputes the team metrics from all members and compares them to the incrementally updated metrics.
+     * The recomputed metrics are always returned, so any drift is corrected in the history row being written.
+     */
+    private TeamMetrics verifyMetrics(int teamId, TeamMetrics incremental, TransactionContext context) throws Exception {
+        TeamMetrics recomputed = calculateMetrics(teamId, teamDAO.getTeamProfiles(context, teamId), context);
+        if (!withinTolerance(incremental.hourlyRate(), recomputed.hourlyRate())
+                || !withinTolerance(incremental.dayRate(), recomputed.dayRate())
+                || !withinTolerance(incremental.annualCost(), recomputed.annualCost())
+                || !withinTolerance(incremental.totalHours(), recomputed.totalHours())) {
+            metricsMismatches.increment();
+        }
+        return recomputed;
+    }
+
+    private static boolean withinTolerance(BigDecimal incremental, BigDecimal recomputed) {
+        return incremental.subtract(recomputed).abs().compareTo(METRICS_TOLERANCE) <= 0;
+    }
+
     private TeamMetrics calculateMetrics(int teamId, List<Profile> profiles, TransactionContext context) throws Exception {
+        return calculateMetrics(profiles, profileDAO.getTeamUtilizations(context, teamId));
+    }
+
+    private TeamMetrics calculateMetrics(List<Profile> profiles, Map<Integer, TeamUtilization> utilizations) {
         BigDecimal hourlyRate = BigDecimal.ZERO;
         BigDecimal dayRate = BigDecimal.ZERO;
         BigDecimal annualCost = BigDecimal.ZERO;
         BigDecimal totalHours = BigDecimal.ZERO;
 
         for (Profile profile : profiles) {
-            BigDecimal utilizationRate = profileDAO.getProfileRateUtilizationForTeam(context, profile.id(), teamId);
-            BigDecimal utilizationHours = profileDAO.getProfileHourUtilizationForTeam(context, profile.id(), teamId);
+            TeamUtilization utilization = utilizations.getOrDefault(profile.id(), TeamUtilization.NONE);
+            BigDecimal utilizationRate = utilization.utilizationRate();
+            BigDecimal utilizationHours = utilization.utilizationHours();
 
-            hourlyRate = hourlyRate.add(RateUtils.hourlyRate(profile, utilizationRate));
-            dayRate = dayRate.add(RateUtils.dayRate(profile, utilizationRate));
-            annualCost = annualCost.add(RateUtils.annualCost(profile, utilizationRate));
+            hourlyRate = hourlyRate.add(rateCache.hourlyRate(profile, utilizationRate));
+            dayRate = dayRate.add(rateCache.dayRate(profile, utilizationRate));
+            annualCost = annualCost.add(rateCache.annualCost(profile, utilizationRate));
             totalHours = totalHours.add(RateUtils.utilizedHours(profile, utilizationHours));
         }
 
         return new TeamMetrics(hourlyRate, dayRate, annualCost, totalHours);
     }
 
+    private List<TeamMemberHistory> memberHistories(List<Profile> profiles, Map<Integer, Integer> profileHistoryIds, Map<Integer, TeamUtilization> utilizations) {
+        List<TeamMemberHistory> members = new ArrayList<>(profiles.size());
+        for (Profile profile : profiles) {
+            TeamUtilization utilization = utilizations.getOrDefault(profile.id(), TeamUtilization.NONE);
+            members.add(new TeamMemberHistory(profile.id(), profileHistoryIds.get(profile.id()), calculateMetrics(profile, utilization)));
+        }
+        return members;
+    }
+
+    private static List<TeamMemberHistory> onlyProfiles(List<TeamMemberHistory> members, List<Profile> profiles) {
+        Set<Integer> ids = new HashSet<>(profileIds(profiles));
+        return members.stream().filter(member -> ids.contains(member.profileId())).toList();
+    }
+
+    private static List<Integer> profileIds(List<Profile> profiles) {
+        return profiles.stream().map(Profile::id).toList();
+    }
+
     private ProfileMetrics calculateMetrics(Profile profile, Team team, TransactionContext context) throws Exception {
         return calculateMetrics(profile, team.id(), context);
     }
@@ -196,12 +534,17 @@ public class TeamProfileManagementService {
         BigDecimal utilizationRate = profileDAO.getProfileRateUtilizationForTeam(context, profile.id(), teamid);
         BigDecimal utilizationHours = profileDAO.getProfileHourUtilizationForTeam(context, profile.id(), teamid);
 
-        profileDAO.get(context, profile.id());
+        return calculateMetrics(profile, new TeamUtilization(utilizationRate, utilizationHours));
+    }
+
+    private ProfileMetrics calculateMetrics(Profile profile, TeamUtilization utilization) {
+        BigDecimal utilizationRate = utilization.utilizationRate();
+        BigDecimal utilizationHours = utilization.utilizationHours();
 
         return new ProfileMetrics(
-                RateUtils.hourlyRate(profile, utilizationRate),
-                RateUtils.dayRate(profile, utilizationRate),
-                RateUtils.annualCost(profile, utilizationRate),
+                rateCache.hourlyRate(profile, utilizationRate),
+                rateCache.dayRate(profile, utilizationRate),
+                rateCache.annualCost(profile, utilizationRate),
                 RateUtils.utilizedHours(profile, utilizationHours),
                 utilizationRate,
                 utilizationHours
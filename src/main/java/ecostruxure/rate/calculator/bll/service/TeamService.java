@@ -2,6 +2,7 @@ package ecostruxure.rate.calculator.bll.service;
 
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
 import ecostruxure.rate.calculator.bll.service.TeamProfileManagementService;
 import ecostruxure.rate.calculator.dal.dao.ITeamDAO;
 import ecostruxure.rate.calculator.dal.db.TeamDAO;
@@ -10,6 +11,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class TeamService {
@@ -21,10 +23,36 @@ public class TeamService {
         this.teamProfileManagementService = new TeamProfileManagementService();
     }
 
+    public TeamService(ITeamDAO teamDAO, TeamProfileManagementService teamProfileManagementService) {
+        this.teamDAO = teamDAO;
+        this.teamProfileManagementService = teamProfileManagementService;
+    }
+
     public List<Team> all() throws Exception {
         return teamDAO.all();
     }
 
+    public Map<Integer, TeamMetrics> allTeamMetrics() throws Exception {
+        return teamDAO.allTeamMetrics();
+    }
+
+    public TeamMetrics getTeamMetrics(int teamId) throws Exception {
+        if (teamId <= 0) throw new IllegalArgumentException("Team ID must be greater than 0");
+
+        return teamDAO.getTeamMetrics(teamId);
+    }
+
+    /**
+     * Rebuilds the materialized metrics of every team from the team memberships and profiles.<br>
+     * Used to repair the snapshot if it has drifted, e.g. after the database was edited by hand.
+     *
+     * @return the number of teams rebuilt.
+     * @throws Exception if the metrics could not be rebuilt.
+     */
+    public int rebuildTeamMetrics() throws Exception {
+        return teamDAO.rebuildTeamMetrics();
+    }
+
     public Team get(int id) throws Exception {
         return teamDAO.get(id);
     }
@@ -202,12 +230,31 @@ public class TeamService {
         return teamDAO.archive(teams);
     }
 
+    public boolean archive(List<Team> teams, boolean archive) throws Exception {
+        Objects.requireNonNull(teams, "Teams cannot be null");
+
+        return teamDAO.archive(teams, archive);
+    }
+
     public List<Profile> canUnarchive(Team team) throws Exception {
         Objects.requireNonNull(team, "Team cannot be null");
 
         return teamDAO.canUnarchive(team.id());
     }
 
+    /**
+     * Checks which profiles would be over-allocated if all the given teams were unarchived together.
+     *
+     * @param teams the teams to unarchive. Must not be null.
+     * @return team id mapped to the profiles that would exceed 100% utilization, teams without conflicts are left out.
+     * @throws Exception if the check failed.
+     */
+    public Map<Integer, List<Profile>> canUnarchive(List<Team> teams) throws Exception {
+        Objects.requireNonNull(teams, "Teams cannot be null");
+
+        return teamDAO.canUnarchive(teams.stream().map(Team::id).toList());
+    }
+
     public boolean removeProfileFromTeam(int teamId, int profileId) throws Exception {
         if (teamId <= 0) throw new IllegalArgumentException("Team ID must be greater than 0");
         if (profileId <= 0) throw new IllegalArgumentException("Profile ID must be greater than 0");
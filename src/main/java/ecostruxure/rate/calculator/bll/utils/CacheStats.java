@@ -0,0 +1,15 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+/**
+ * Hit/miss counters of an in-memory cache.
+ *
+ * @param hits          lookups answered from memory.
+ * @param misses        lookups that had to go to the data source.
+ * @param invalidations times the cache was cleared because the underlying data changed.
+ */
+public record CacheStats(long hits, long misses, long invalidations) {
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,262 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import ecostruxure.rate.calculator.be.Profile;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate calculations of {@link RateUtils} on scaled {@code long} values instead of {@link BigDecimal}s.<br>
+ * Amounts are read with the financial scale of 4 decimals and multipliers, hours and utilization with the general
+ * scale of 2, like the database columns they come from. Every intermediate result keeps the exact scale
+ * {@link RateUtils} would give it, the only rounding is the HALF_UP division of the hourly rate and of the
+ * utilization percentage, so the results are equal to those of {@link RateUtils} by {@code compareTo}.<br>
+ * A profile with more decimals than these scales, or values that overflow a {@code long}, is calculated with
+ * {@link RateUtils} instead.
+ */
+public class FixedPointRateUtils {
+    public static final int FINANCIAL_SCALE = 4;
+    public static final int GENERAL_SCALE = 2;
+
+    public static final int ANNUAL_COST_SCALE = FINANCIAL_SCALE + GENERAL_SCALE;
+    public static final int HOURLY_RATE_SCALE = GENERAL_SCALE;
+    public static final int DAY_RATE_SCALE = HOURLY_RATE_SCALE + GENERAL_SCALE;
+    public static final int HOURS_SCALE = GENERAL_SCALE;
+    public static final int FACTOR_SCALE = GENERAL_SCALE;
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+    private static final LongAdder fallbacks = new LongAdder();
+
+    private FixedPointRateUtils() {
+
+    }
+
+    /**
+     * The fixed-point form of a profile's rates before utilization.
+     *
+     * @param annualCost         annual cost with {@link #ANNUAL_COST_SCALE} decimals.
+     * @param hourlyRate         hourly rate with {@link #HOURLY_RATE_SCALE} decimals.
+     * @param dayRate            day rate with {@link #DAY_RATE_SCALE} decimals.
+     * @param effectiveWorkHours effective work hours with {@link #HOURS_SCALE} decimals.
+     * @param hoursPerDay        hours per day with {@link #HOURS_SCALE} decimals.
+     */
+    public record Rates(long annualCost, long hourlyRate, long dayRate, long effectiveWorkHours, long hoursPerDay) {
+        /**
+         * Converts a profile to fixed point once, so rates for many utilizations can be calculated without
+         * allocating.
+         *
+         * @throws ArithmeticException if the profile has more decimals than the fixed scales, a value overflows, or
+         *                             the effective work hours are zero.
+         */
+        public static Rates of(Profile profile) {
+            Objects.requireNonNull(profile, "Profile cannot be null");
+
+            long annualSalary = units(profile.annualSalary(), FINANCIAL_SCALE);
+            long fixedAnnualAmount = units(profile.fixedAnnualAmount(), FINANCIAL_SCALE);
+            long overheadMultiplier = units(profile.overheadMultiplier(), GENERAL_SCALE);
+            long effectiveWorkHours = units(profile.effectiveWorkHours(), HOURS_SCALE);
+            long hoursPerDay = units(profile.hoursPerDay(), HOURS_SCALE);
+
+            return of(annualSalary, fixedAnnualAmount, overheadMultiplier, effectiveWorkHours, hoursPerDay);
+        }
+
+        /**
+         * Calculates the rates from values already in fixed point, amounts with {@link #FINANCIAL_SCALE} decimals and
+         * the rest with {@link #GENERAL_SCALE}.
+         *
+         * @throws ArithmeticException if a value overflows or the effective work hours are zero.
+         */
+        public static Rates of(long annualSalary, long fixedAnnualAmount, long overheadMultiplier, long effectiveWorkHours, long hoursPerDay) {
+            long annualCost = Math.addExact(
+                    Math.multiplyExact(annualSalary, overheadMultiplier),
+                    Math.multiplyExact(fixedAnnualAmount, POWERS_OF_TEN[GENERAL_SCALE])
+            );
+
+            // annualCost / 10^6 divided by effectiveWorkHours / 10^2, with 2 decimals
+            long divisor = Math.multiplyExact(effectiveWorkHours, POWERS_OF_TEN[ANNUAL_COST_SCALE - HOURS_SCALE - HOURLY_RATE_SCALE]);
+            long hourlyRate = divideHalfUp(annualCost, divisor);
+            long dayRate = Math.multiplyExact(hourlyRate, hoursPerDay);
+
+            return new Rates(annualCost, hourlyRate, dayRate, effectiveWorkHours, hoursPerDay);
+        }
+
+        /**
+         * @return the hourly rate with {@link #HOURLY_RATE_SCALE} + {@link #FACTOR_SCALE} decimals.
+         */
+        public long hourlyRate(long factor) {
+            return Math.multiplyExact(hourlyRate, factor);
+        }
+
+        /**
+         * @return the day rate with {@link #DAY_RATE_SCALE} + {@link #FACTOR_SCALE} decimals.
+         */
+        public long dayRate(long factor) {
+            return Math.multiplyExact(dayRate, factor);
+        }
+
+        /**
+         * @return the annual cost with {@link #ANNUAL_COST_SCALE} + {@link #FACTOR_SCALE} decimals.
+         */
+        public long annualCost(long factor) {
+            return Math.multiplyExact(annualCost, factor);
+        }
+
+        /**
+         * @return the utilized hours with {@link #HOURS_SCALE} + {@link #FACTOR_SCALE} decimals.
+         */
+        public long utilizedHours(long factor) {
+            return Math.multiplyExact(effectiveWorkHours, factor);
+        }
+
+        /**
+         * @return the utilized hours per day with {@link #HOURS_SCALE} + {@link #FACTOR_SCALE} decimals.
+         */
+        public long utilizedHoursPerDay(long factor) {
+            return Math.multiplyExact(hoursPerDay, factor);
+        }
+    }
+
+    /**
+     * Converts a utilization percentage to the factor the rates are multiplied with, rounded like
+     * {@link RateUtils} to {@link #FACTOR_SCALE} decimals, e.g. 33.33 becomes 33 (0.33).
+     *
+     * @throws ArithmeticException if the percentage has more than 2 decimals or overflows.
+     */
+    public static long utilizationFactor(BigDecimal utilizationPercentage) {
+        Objects.requireNonNull(utilizationPercentage, "Utilization percentage cannot be null");
+
+        return utilizationFactor(units(utilizationPercentage, GENERAL_SCALE));
+    }
+
+    /**
+     * Converts a utilization percentage with {@link #GENERAL_SCALE} decimals to its factor.
+     *
+     * @see #utilizationFactor(BigDecimal)
+     */
+    public static long utilizationFactor(long utilizationPercentage) {
+        return divideHalfUp(utilizationPercentage, POWERS_OF_TEN[GENERAL_SCALE]);
+    }
+
+    /**
+     * Number of calculations done with {@link RateUtils} because the profile could not be represented in fixed point.
+     */
+    public static long fallbacks() {
+        return fallbacks.sum();
+    }
+
+    // Basic rate calculation methods
+
+    public static BigDecimal hourlyRate(Profile profile) {
+        try {
+            return BigDecimal.valueOf(Rates.of(profile).hourlyRate(), HOURLY_RATE_SCALE);
+        } catch (ArithmeticException e) {
+            fallbacks.increment();
+            return RateUtils.hourlyRate(profile);
+        }
+    }
+
+    public static BigDecimal dayRate(Profile profile) {
+        try {
+            return BigDecimal.valueOf(Rates.of(profile).dayRate(), DAY_RATE_SCALE);
+        } catch (ArithmeticException e) {
+            fallbacks.increment();
+            return RateUtils.dayRate(profile);
+        }
+    }
+
+    public static BigDecimal annualCost(Profile profile) {
+        try {
+            return BigDecimal.valueOf(Rates.of(profile).annualCost(), ANNUAL_COST_SCALE);
+        } catch (ArithmeticException e) {
+            fallbacks.increment();
+            return RateUtils.annualCost(profile);
+        }
+    }
+
+    // Basic rate calculations w/ utilization
+
+    public static BigDecimal hourlyRate(Profile profile, BigDecimal utilizationPercentage) {
+        try {
+            long factor = utilizationFactor(utilizationPercentage);
+            return BigDecimal.valueOf(Rates.of(profile).hourlyRate(factor), HOURLY_RATE_SCALE + FACTOR_SCALE);
+        } catch (ArithmeticException e) {
+            fallbacks.increment();
+            return RateUtils.hourlyRate(profile, utilizationPercentage);
+        }
+    }
+
+    public static BigDecimal dayRate(Profile profile, BigDecimal utilizationPercentage) {
+        try {
+            long factor = utilizationFactor(utilizationPercentage);
+            return BigDecimal.valueOf(Rates.of(profile).dayRate(factor), DAY_RATE_SCALE + FACTOR_SCALE);
+        } catch (ArithmeticException e) {
+            fallbacks.increment();
+            return RateUtils.dayRate(profile, utilizationPercentage);
+        }
+    }
+
+    public static BigDecimal annualCost(Profile profile, BigDecimal utilizationPercentage) {
+        try {
+            long factor = utilizationFactor(utilizationPercentage);
+            return BigDecimal.valueOf(Rates.of(profile).annualCost(factor), ANNUAL_COST_SCALE + FACTOR_SCALE);
+        } catch (ArithmeticException e) {
+            fallbacks.increment();
+            return RateUtils.annualCost(profile, utilizationPercentage);
+        }
+    }
+
+    public static BigDecimal utilizedHours(Profile profile, BigDecimal utilizationPercentage) {
+        Objects.requireNonNull(profile, "Profile cannot be null");
+
+        try {
+            long factor = utilizationFactor(utilizationPercentage);
+            long effectiveWorkHours = units(profile.effectiveWorkHours(), HOURS_SCALE);
+            return BigDecimal.valueOf(Math.multiplyExact(effectiveWorkHours, factor), HOURS_SCALE + FACTOR_SCALE);
+        } catch (ArithmeticException e) {
+            fallbacks.increment();
+            return RateUtils.utilizedHours(profile, utilizationPercentage);
+        }
+    }
+
+    public static BigDecimal utilizedHoursPerDay(Profile profile, BigDecimal utilizationPercentage) {
+        Objects.requireNonNull(profile, "Profile cannot be null");
+
+        try {
+            long factor = utilizationFactor(utilizationPercentage);
+            long hoursPerDay = units(profile.hoursPerDay(), HOURS_SCALE);
+            return BigDecimal.valueOf(Math.multiplyExact(hoursPerDay, factor), HOURS_SCALE + FACTOR_SCALE);
+        } catch (ArithmeticException e) {
+            fallbacks.increment();
+            return RateUtils.utilizedHoursPerDay(profile, utilizationPercentage);
+        }
+    }
+
+    /**
+     * The value as a whole number of 10^-scale units.
+     *
+     * @throws ArithmeticException if the value has more decimals than the scale or does not fit in a long.
+     */
+    static long units(BigDecimal value, int scale) {
+        return value.movePointRight(scale).longValueExact();
+    }
+
+    /**
+     * Divides and rounds like {@link java.math.RoundingMode#HALF_UP}, ties are rounded away from zero.
+     *
+     * @throws ArithmeticException if the divisor is zero.
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) return quotient;
+
+        // |remainder| >= |divisor| / 2 without overflowing on 2 * |remainder|
+        long absRemainder = Math.abs(remainder);
+        long absDivisor = Math.abs(divisor);
+        if (absRemainder >= absDivisor - absRemainder) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+}
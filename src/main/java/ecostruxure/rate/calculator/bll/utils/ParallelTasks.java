@@ -0,0 +1,80 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs a task for every item of a list on virtual threads.<br>
+ * The tasks only live within the call: it returns once every task has finished, and if a task fails or the calling
+ * thread is interrupted, the remaining tasks are interrupted and awaited before the exception is rethrown.
+ */
+public class ParallelTasks {
+    private ParallelTasks() {
+
+    }
+
+    @FunctionalInterface
+    public interface Task<T, R> {
+        R apply(T item) throws Exception;
+    }
+
+    /**
+     * Applies the task to every item with at most {@code maxConcurrency} tasks running at the same time, e.g. the size
+     * of the connection pool for tasks that query the database.
+     *
+     * @return the results in the order of the items.
+     * @throws Exception            the exception of the first task to fail, the tasks are awaited in the order they
+     *                              complete so a failure is not held up by earlier items that are still running.
+     * @throws InterruptedException if the calling thread was interrupted, the interrupt flag is kept set.
+     */
+    public static <T, R> List<R> map(List<T> items, int maxConcurrency, Task<T, R> task) throws Exception {
+        Objects.requireNonNull(items, "Items cannot be null");
+        Objects.requireNonNull(task, "Task cannot be null");
+        if (maxConcurrency < 1) throw new IllegalArgumentException("Max concurrency must be greater than 0");
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<R>> futures = new ArrayList<>(items.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<R> completion = new ExecutorCompletionService<>(executor);
+            for (T item : items) {
+                futures.add(completion.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.apply(item);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    completion.take().get();
+                }
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                if (e.getCause() instanceof Exception cause) throw cause;
+                throw e;
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+
+            List<R> results = new ArrayList<>(items.size());
+            for (Future<R> future : futures) {
+                results.add(future.resultNow());
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import ecostruxure.rate.calculator.be.Profile;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes the base annual cost, hourly rate and day rate of profiles by profile id, calculated with {@link RateUtils}.
+ * <br>
+ * An entry is stamped with the values the rates are calculated from rather than with dbo.Profiles_data.updated_at.
+ * The Profile entity does not load updated_at, and the rate inputs live in dbo.Profiles, so a write to those columns
+ * alone would not move it. A profile whose values differ from the stamp, e.g. one loaded before an update, is
+ * recalculated instead of getting stale rates.
+ * Utilized rates are a single multiply of the cached base rate, giving the same values as {@link RateUtils}.
+ */
+public class ProfileRateCache {
+    private static final int GENERAL_SCALE = 2;
+    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+    private static final BigDecimal HUNDRED = new BigDecimal("100.00");
+
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * The rates of a profile before utilization.
+     */
+    public record BaseRates(BigDecimal annualCost, BigDecimal hourlyRate, BigDecimal dayRate) {
+    }
+
+    private record Stamp(BigDecimal annualSalary, BigDecimal fixedAnnualAmount, BigDecimal overheadMultiplier,
+                         BigDecimal effectiveWorkHours, BigDecimal hoursPerDay) {
+        static Stamp of(Profile profile) {
+            return new Stamp(profile.annualSalary(), profile.fixedAnnualAmount(), profile.overheadMultiplier(),
+                             profile.effectiveWorkHours(), profile.hoursPerDay());
+        }
+    }
+
+    private record Entry(Stamp stamp, BaseRates rates) {
+    }
+
+    /**
+     * Gets the base rates of a profile, calculating them if they are not cached for its current values.<br>
+     * Profiles without an id are not cached.
+     */
+    public BaseRates get(Profile profile) {
+        Objects.requireNonNull(profile, "Profile cannot be null");
+
+        if (profile.id() <= 0) return calculate(profile);
+
+        Stamp stamp = Stamp.of(profile);
+        Entry entry = entries.get(profile.id());
+        if (entry != null && entry.stamp().equals(stamp)) {
+            hits.increment();
+            return entry.rates();
+        }
+
+        misses.increment();
+        BaseRates rates = calculate(profile);
+        entries.put(profile.id(), new Entry(stamp, rates));
+        return rates;
+    }
+
+    public BigDecimal hourlyRate(Profile profile, BigDecimal utilizationPercentage) {
+        return get(profile).hourlyRate().multiply(utilizationFactor(utilizationPercentage));
+    }
+
+    public BigDecimal dayRate(Profile profile, BigDecimal utilizationPercentage) {
+        return get(profile).dayRate().multiply(utilizationFactor(utilizationPercentage));
+    }
+
+    public BigDecimal annualCost(Profile profile, BigDecimal utilizationPercentage) {
+        return get(profile).annualCost().multiply(utilizationFactor(utilizationPercentage));
+    }
+
+    /**
+     * Removes the cached rates of a profile, next lookup calculates them again.
+     */
+    public void invalidate(int profileId) {
+        if (entries.remove(profileId) != null) invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        invalidations.increment();
+    }
+
+    public CacheStats cacheStats() {
+        return new CacheStats(hits.sum(), misses.sum(), invalidations.sum());
+    }
+
+    private static BaseRates calculate(Profile profile) {
+        BigDecimal annualCost = RateUtils.annualCost(profile);
+        BigDecimal hourlyRate = annualCost.divide(profile.effectiveWorkHours(), GENERAL_SCALE, ROUNDING_MODE);
+        BigDecimal dayRate = hourlyRate.multiply(profile.hoursPerDay());
+
+        return new BaseRates(annualCost, hourlyRate, dayRate);
+    }
+
+    private static BigDecimal utilizationFactor(BigDecimal utilizationPercentage) {
+        Objects.requireNonNull(utilizationPercentage, "Utilization percentage cannot be null");
+
+        return utilizationPercentage.divide(HUNDRED, GENERAL_SCALE, ROUNDING_MODE);
+    }
+}
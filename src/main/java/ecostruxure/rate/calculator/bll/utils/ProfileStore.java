@@ -0,0 +1,260 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.data.ProfileColumns;
+import ecostruxure.rate.calculator.be.data.ProfileColumns.ExactValues;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.bll.utils.FixedPointRateUtils.Rates;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Filter, group-by and sum queries over {@link ProfileColumns} for reports.<br>
+ * A query is a single pass over the rows. Each team allocation contributes the utilized rates of {@link RateUtils},
+ * calculated with {@link FixedPointRateUtils} and summed as {@code long}s, so the totals are equal to summing the
+ * {@link RateUtils} results of every allocation. Profiles whose values do not fit the columns, or whose rates overflow,
+ * are calculated with {@link RateUtils}. Profiles left out when loading the columns are only counted, see
+ * {@link #skippedProfiles()}.
+ */
+public class ProfileStore {
+    private static final int HOURLY_RATE_SCALE = FixedPointRateUtils.HOURLY_RATE_SCALE + FixedPointRateUtils.FACTOR_SCALE;
+    private static final int DAY_RATE_SCALE = FixedPointRateUtils.DAY_RATE_SCALE + FixedPointRateUtils.FACTOR_SCALE;
+    private static final int ANNUAL_COST_SCALE = FixedPointRateUtils.ANNUAL_COST_SCALE + FixedPointRateUtils.FACTOR_SCALE;
+    private static final int HOURS_SCALE = FixedPointRateUtils.HOURS_SCALE + FixedPointRateUtils.FACTOR_SCALE;
+
+    private final ProfileColumns columns;
+
+    public ProfileStore(ProfileColumns columns) {
+        this.columns = Objects.requireNonNull(columns, "Columns cannot be null");
+    }
+
+    @FunctionalInterface
+    public interface Filter {
+        Filter ALL = (columns, row) -> true;
+
+        boolean test(ProfileColumns columns, int row);
+
+        static Filter geography(int geography) {
+            return (columns, row) -> columns.geography(row) == geography;
+        }
+
+        static Filter currency(String currency) {
+            return (columns, row) -> columns.currency(row).equals(currency);
+        }
+
+        static Filter overhead(boolean overhead) {
+            return (columns, row) -> columns.overhead(row) == overhead;
+        }
+
+        default Filter and(Filter other) {
+            return (columns, row) -> test(columns, row) && other.test(columns, row);
+        }
+    }
+
+    /**
+     * The group a profile's allocation is summed into.
+     */
+    @FunctionalInterface
+    public interface GroupBy<K> {
+        GroupBy<Boolean> ALL = (columns, row, allocation) -> Boolean.TRUE;
+        GroupBy<Integer> GEOGRAPHY = (columns, row, allocation) -> columns.geography(row);
+        GroupBy<String> CURRENCY = (columns, row, allocation) -> columns.currency(row);
+        GroupBy<Boolean> OVERHEAD = (columns, row, allocation) -> columns.overhead(row);
+        GroupBy<Integer> TEAM = (columns, row, allocation) -> allocation < 0 ? null : columns.allocationTeam(allocation);
+
+        /**
+         * @param allocation the allocation being summed, or -1 for a profile without allocations.
+         * @return the group key, or null to leave the allocation out.
+         */
+        K key(ProfileColumns columns, int row, int allocation);
+    }
+
+    /**
+     * @param profiles the number of distinct profiles in the group.
+     * @param metrics  the summed utilized rates and hours of their allocations.
+     */
+    public record Totals(int profiles, TeamMetrics metrics) {
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * @return the number of profiles left out of the sums, as they are missing values their rates need.
+     */
+    public int skippedProfiles() {
+        return columns.skippedProfiles();
+    }
+
+    public Totals sum(Filter filter) {
+        return sum(filter, GroupBy.ALL).getOrDefault(Boolean.TRUE, new Totals(0, TeamMetrics.ZERO));
+    }
+
+    public <K> Map<K, Totals> sum(Filter filter, GroupBy<K> groupBy) {
+        Map<K, Accumulator> groups = new HashMap<>();
+
+        for (int row = 0; row < columns.size(); row++) {
+            if (!filter.test(columns, row)) continue;
+
+            int start = columns.allocationStart(row);
+            int end = columns.allocationEnd(row);
+            if (start == end) {
+                K key = groupBy.key(columns, row, -1);
+                if (key != null) groups.computeIfAbsent(key, k -> new Accumulator()).count(row);
+                continue;
+            }
+
+            Rates rates = rates(row);
+            for (int allocation = start; allocation < end; allocation++) {
+                K key = groupBy.key(columns, row, allocation);
+                if (key == null) continue;
+
+                Accumulator accumulator = groups.computeIfAbsent(key, k -> new Accumulator());
+                accumulator.count(row);
+                if (rates == null || !accumulator.add(rates, allocation)) accumulator.addExact(profile(row), allocation);
+            }
+        }
+
+        Map<K, Totals> totals = new LinkedHashMap<>();
+        groups.forEach((key, accumulator) -> totals.put(key, accumulator.totals()));
+        return totals;
+    }
+
+    private Rates rates(int row) {
+        if (columns.exactValues(row) != null) return null;
+
+        try {
+            return Rates.of(columns.annualSalary(row), columns.fixedAnnualAmount(row), columns.overheadMultiplier(row),
+                            columns.effectiveWorkHours(row), columns.hoursPerDay(row));
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private Profile profile(int row) {
+        ExactValues exact = columns.exactValues(row);
+        if (exact != null) {
+            return new Profile(columns.id(row), "", columns.currency(row), exact.annualSalary(), exact.fixedAnnualAmount(),
+                               exact.overheadMultiplier(), columns.geography(row), exact.effectiveWorkHours(),
+                               columns.overhead(row), exact.hoursPerDay(), false);
+        }
+
+        return new Profile(columns.id(row), "", columns.currency(row),
+                           BigDecimal.valueOf(columns.annualSalary(row), ProfileColumns.AMOUNT_SCALE),
+                           BigDecimal.valueOf(columns.fixedAnnualAmount(row), ProfileColumns.AMOUNT_SCALE),
+                           BigDecimal.valueOf(columns.overheadMultiplier(row), ProfileColumns.GENERAL_SCALE),
+                           columns.geography(row),
+                           BigDecimal.valueOf(columns.effectiveWorkHours(row), ProfileColumns.GENERAL_SCALE),
+                           columns.overhead(row),
+                           BigDecimal.valueOf(columns.hoursPerDay(row), ProfileColumns.GENERAL_SCALE),
+                           false);
+    }
+
+    /**
+     * Sums in fixed point and moves a sum into its {@link BigDecimal} part whenever adding to it would overflow.
+     */
+    private final class Accumulator {
+        private int profiles;
+        private int lastRow = -1;
+
+        private long hourlyRate;
+        private long dayRate;
+        private long annualCost;
+        private long totalHours;
+
+        private BigDecimal hourlyRateOverflow = BigDecimal.ZERO;
+        private BigDecimal dayRateOverflow = BigDecimal.ZERO;
+        private BigDecimal annualCostOverflow = BigDecimal.ZERO;
+        private BigDecimal totalHoursOverflow = BigDecimal.ZERO;
+
+        void count(int row) {
+            if (row == lastRow) return;
+            lastRow = row;
+            profiles++;
+        }
+
+        /**
+         * @return false if a contribution itself overflows, nothing is added then.
+         */
+        boolean add(Rates rates, int allocation) {
+            long rateFactor = FixedPointRateUtils.utilizationFactor(columns.allocationRate(allocation));
+            long hoursFactor = FixedPointRateUtils.utilizationFactor(columns.allocationHours(allocation));
+
+            long hourly, day, annual, hours;
+            try {
+                hourly = rates.hourlyRate(rateFactor);
+                day = rates.dayRate(rateFactor);
+                annual = rates.annualCost(rateFactor);
+                hours = rates.utilizedHours(hoursFactor);
+            } catch (ArithmeticException e) {
+                return false;
+            }
+
+            hourlyRate = addHourlyRate(hourly);
+            dayRate = addDayRate(day);
+            annualCost = addAnnualCost(annual);
+            totalHours = addTotalHours(hours);
+            return true;
+        }
+
+        void addExact(Profile profile, int allocation) {
+            BigDecimal utilizationRate = BigDecimal.valueOf(columns.allocationRate(allocation), ProfileColumns.GENERAL_SCALE);
+            BigDecimal utilizationHours = BigDecimal.valueOf(columns.allocationHours(allocation), ProfileColumns.GENERAL_SCALE);
+
+            hourlyRateOverflow = hourlyRateOverflow.add(RateUtils.hourlyRate(profile, utilizationRate));
+            dayRateOverflow = dayRateOverflow.add(RateUtils.dayRate(profile, utilizationRate));
+            annualCostOverflow = annualCostOverflow.add(RateUtils.annualCost(profile, utilizationRate));
+            totalHoursOverflow = totalHoursOverflow.add(RateUtils.utilizedHours(profile, utilizationHours));
+        }
+
+        private long addHourlyRate(long value) {
+            try {
+                return Math.addExact(hourlyRate, value);
+            } catch (ArithmeticException e) {
+                hourlyRateOverflow = hourlyRateOverflow.add(BigDecimal.valueOf(hourlyRate, HOURLY_RATE_SCALE));
+                return value;
+            }
+        }
+
+        private long addDayRate(long value) {
+            try {
+                return Math.addExact(dayRate, value);
+            } catch (ArithmeticException e) {
+                dayRateOverflow = dayRateOverflow.add(BigDecimal.valueOf(dayRate, DAY_RATE_SCALE));
+                return value;
+            }
+        }
+
+        private long addAnnualCost(long value) {
+            try {
+                return Math.addExact(annualCost, value);
+            } catch (ArithmeticException e) {
+                annualCostOverflow = annualCostOverflow.add(BigDecimal.valueOf(annualCost, ANNUAL_COST_SCALE));
+                return value;
+            }
+        }
+
+        private long addTotalHours(long value) {
+            try {
+                return Math.addExact(totalHours, value);
+            } catch (ArithmeticException e) {
+                totalHoursOverflow = totalHoursOverflow.add(BigDecimal.valueOf(totalHours, HOURS_SCALE));
+                return value;
+            }
+        }
+
+        Totals totals() {
+            return new Totals(profiles, new TeamMetrics(
+                    hourlyRateOverflow.add(BigDecimal.valueOf(hourlyRate, HOURLY_RATE_SCALE)),
+                    dayRateOverflow.add(BigDecimal.valueOf(dayRate, DAY_RATE_SCALE)),
+                    annualCostOverflow.add(BigDecimal.valueOf(annualCost, ANNUAL_COST_SCALE)),
+                    totalHoursOverflow.add(BigDecimal.valueOf(totalHours, HOURS_SCALE))
+            ));
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.be.data.ProfileMetrics;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges.SalaryChange;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges.TeamChanges;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.be.data.TeamRates;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
+import ecostruxure.rate.calculator.bll.RateService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An in-memory copy of teams and their members for trying out changes to markup, gross margin, utilization, salary
+ * and membership without writing them.<br>
+ * Each change moves the team totals by the changed member's old and new contribution, so it costs the same no matter
+ * the size of the team, and a salary change only touches the teams of that profile. The totals are exact sums, equal
+ * to recalculating the team with {@link RateService#calculateMetrics(int, List)}.<br>
+ * Not thread-safe, a scenario belongs to one screen.
+ */
+public class Scenario {
+    private static final int FINANCIAL_SCALE = 4;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private final RateService rateService;
+    private final ProfileRateCache rateCache = new ProfileRateCache();
+
+    private final Map<Integer, TeamState> teams = new LinkedHashMap<>();
+    private final Map<Integer, Profile> profiles = new HashMap<>();
+    private final Map<Integer, BigDecimal> originalSalaries = new HashMap<>();
+    private final Map<Integer, Set<Integer>> teamsByProfile = new HashMap<>();
+
+    private record Member(BigDecimal utilizationRate, BigDecimal utilizationHours, ProfileMetrics metrics) {
+    }
+
+    private static final class TeamState {
+        private final Team team;
+        private final BigDecimal originalMarkup;
+        private final BigDecimal originalGrossMargin;
+        private final Map<Integer, Member> originalMembers;
+        private final Map<Integer, Member> members = new LinkedHashMap<>();
+        private TeamMetrics metrics = TeamMetrics.ZERO;
+
+        private TeamState(Team team, Map<Integer, Member> members) {
+            this.team = new Team(team.id(), team.name(), team.markup(), team.grossMargin(), team.archived());
+            this.originalMarkup = team.markup();
+            this.originalGrossMargin = team.grossMargin();
+            this.originalMembers = new LinkedHashMap<>(members);
+        }
+    }
+
+    /**
+     * @param teams   the teams of the scenario.
+     * @param members the members of each team by team id, with their utilization on that team set.
+     */
+    public Scenario(RateService rateService, List<Team> teams, Map<Integer, List<Profile>> members) {
+        this.rateService = Objects.requireNonNull(rateService, "Rate service cannot be null");
+        Objects.requireNonNull(teams, "Teams cannot be null");
+        Objects.requireNonNull(members, "Members cannot be null");
+
+        for (Team team : teams) {
+            Map<Integer, Member> teamMembers = new LinkedHashMap<>();
+            for (Profile profile : members.getOrDefault(team.id(), List.of())) {
+                Profile shared = profiles.computeIfAbsent(profile.id(), id -> copyOf(profile));
+                originalSalaries.putIfAbsent(profile.id(), profile.annualSalary());
+                teamMembers.put(profile.id(), member(shared, Objects.requireNonNullElse(profile.utilizationRate(), BigDecimal.ZERO),
+                                                     Objects.requireNonNullElse(profile.utilizationHours(), BigDecimal.ZERO)));
+            }
+
+            TeamState state = new TeamState(team, teamMembers);
+            teamMembers.forEach((profileId, member) -> addMember(state, profileId, member));
+            this.teams.put(team.id(), state);
+        }
+    }
+
+    public List<Integer> teamIds() {
+        return List.copyOf(teams.keySet());
+    }
+
+    public Team team(int teamId) {
+        Team team = state(teamId).team;
+        return new Team(team.id(), team.name(), team.markup(), team.grossMargin(), team.archived());
+    }
+
+    /**
+     * @return the members of the team with their utilization on it set.
+     */
+    public List<Profile> members(int teamId) {
+        List<Profile> members = new ArrayList<>();
+        state(teamId).members.forEach((profileId, member) -> members.add(withUtilization(profiles.get(profileId), member)));
+        return members;
+    }
+
+    public TeamMetrics metrics(int teamId) {
+        return state(teamId).metrics;
+    }
+
+    public TeamRates rates(int teamId) throws Exception {
+        TeamState state = state(teamId);
+        return rateService.calculateRates(state.team, state.metrics);
+    }
+
+    // Changes
+
+    /**
+     * @throws IllegalArgumentException if the markup or gross margin is not between 0 and 100%.
+     */
+    public void setMultipliers(int teamId, BigDecimal markup, BigDecimal grossMargin) {
+        Objects.requireNonNull(markup, "Markup cannot be null");
+        Objects.requireNonNull(grossMargin, "Gross margin cannot be null");
+        requirePercentage(markup, "Markup must be between 0 and 100%");
+        requirePercentage(grossMargin, "Gross margin must be between 0 and 100%");
+
+        TeamState state = state(teamId);
+        state.team.markup(markup);
+        state.team.grossMargin(grossMargin);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the profile is not a member of the team, or a utilization is not between
+     *                                  0 and 100%.
+     */
+    public void setUtilization(int teamId, int profileId, BigDecimal utilizationRate, BigDecimal utilizationHours) {
+        TeamState state = state(teamId);
+        if (!state.members.containsKey(profileId)) throw new IllegalArgumentException("Profile " + profileId + " is not a member of team " + teamId);
+
+        Member member = member(profiles.get(profileId), utilizationRate, utilizationHours);
+        removeMember(state, profileId);
+        addMember(state, profileId, member);
+    }
+
+    /**
+     * Changes the annual salary of a profile in every team of the scenario it is a member of.
+     *
+     * @throws IllegalArgumentException if the profile is not in the scenario, or the salary is negative or has more
+     *                                  than 4 decimals.
+     */
+    public void setAnnualSalary(int profileId, BigDecimal annualSalary) {
+        Objects.requireNonNull(annualSalary, "Annual salary cannot be null");
+        if (annualSalary.compareTo(BigDecimal.ZERO) < 0) throw new IllegalArgumentException("Annual salary cannot be negative");
+        if (annualSalary.scale() > FINANCIAL_SCALE) throw new IllegalArgumentException("Annual salary scale must be less than or equal to " + FINANCIAL_SCALE);
+
+        Profile profile = profiles.get(profileId);
+        if (profile == null) throw new IllegalArgumentException("Profile " + profileId + " is not in the scenario");
+
+        profile.annualSalary(annualSalary);
+        for (int teamId : List.copyOf(teamsByProfile.getOrDefault(profileId, Set.of()))) {
+            TeamState state = teams.get(teamId);
+            Member member = removeMember(state, profileId);
+            addMember(state, profileId, member(profile, member.utilizationRate(), member.utilizationHours()));
+        }
+    }
+
+    /**
+     * Adds a profile to a team. A profile already in the scenario keeps its scenario values, e.g. a changed salary.
+     *
+     * @throws IllegalArgumentException if the profile is already a member of the team, or a utilization is not
+     *                                  between 0 and 100%.
+     */
+    public void assign(int teamId, Profile profile, BigDecimal utilizationRate, BigDecimal utilizationHours) {
+        Objects.requireNonNull(profile, "Profile cannot be null");
+        if (profile.id() <= 0) throw new IllegalArgumentException("Profile ID must be greater than 0");
+
+        TeamState state = state(teamId);
+        if (state.members.containsKey(profile.id())) throw new IllegalArgumentException("Profile " + profile.id() + " is already a member of team " + teamId);
+
+        Member member = member(profiles.getOrDefault(profile.id(), profile), utilizationRate, utilizationHours);
+        profiles.computeIfAbsent(profile.id(), id -> copyOf(profile));
+        originalSalaries.putIfAbsent(profile.id(), profile.annualSalary());
+        addMember(state, profile.id(), member);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the profile is not a member of the team.
+     */
+    public void remove(int teamId, int profileId) {
+        TeamState state = state(teamId);
+        if (!state.members.containsKey(profileId)) throw new IllegalArgumentException("Profile " + profileId + " is not a member of team " + teamId);
+
+        removeMember(state, profileId);
+    }
+
+    // Result
+
+    /**
+     * Compares the scenario to the data it was created from. Changes that were undone, e.g. a markup moved back to
+     * its original value, are not included.
+     */
+    public ScenarioChanges changes() {
+        List<SalaryChange> changedSalaries = new ArrayList<>();
+        originalSalaries.forEach((profileId, salary) -> {
+            Profile profile = profiles.get(profileId);
+            if (profile.annualSalary().compareTo(salary) != 0) changedSalaries.add(new SalaryChange(profileId, salary, profile.annualSalary()));
+        });
+
+        List<TeamChanges> changedTeams = new ArrayList<>();
+        for (TeamState state : teams.values()) {
+            List<Profile> assigned = new ArrayList<>();
+            List<Profile> updated = new ArrayList<>();
+            List<Profile> removed = new ArrayList<>();
+            Map<Integer, TeamUtilization> originalUtilizations = new HashMap<>();
+            state.members.forEach((profileId, member) -> {
+                Member original = state.originalMembers.get(profileId);
+                if (original == null) {
+                    assigned.add(withUtilization(profiles.get(profileId), member));
+                } else if (!sameUtilization(original, member)) {
+                    updated.add(withUtilization(profiles.get(profileId), member));
+                    originalUtilizations.put(profileId, utilization(original));
+                }
+            });
+            state.originalMembers.forEach((profileId, member) -> {
+                if (state.members.containsKey(profileId)) return;
+                removed.add(withUtilization(profiles.get(profileId), member));
+                originalUtilizations.put(profileId, utilization(member));
+            });
+
+            TeamChanges teamChanges = new TeamChanges(team(state.team.id()), state.originalMarkup, state.originalGrossMargin,
+                                                      assigned, updated, removed, originalUtilizations);
+            if (teamChanges.multipliersChanged() || teamChanges.membersChanged()) changedTeams.add(teamChanges);
+        }
+
+        return new ScenarioChanges(changedSalaries, changedTeams);
+    }
+
+    public boolean hasChanges() {
+        return !changes().isEmpty();
+    }
+
+    private TeamState state(int teamId) {
+        TeamState state = teams.get(teamId);
+        if (state == null) throw new IllegalArgumentException("Team " + teamId + " is not in the scenario");
+        return state;
+    }
+
+    private Member member(Profile profile, BigDecimal utilizationRate, BigDecimal utilizationHours) {
+        Objects.requireNonNull(utilizationRate, "Utilization rate cannot be null");
+        Objects.requireNonNull(utilizationHours, "Utilization hours cannot be null");
+        requirePercentage(utilizationRate, "Utilization rate must be between 0 and 100%");
+        requirePercentage(utilizationHours, "Utilization hours must be between 0 and 100%");
+
+        ProfileMetrics metrics = new ProfileMetrics(
+                rateCache.hourlyRate(profile, utilizationRate),
+                rateCache.dayRate(profile, utilizationRate),
+                rateCache.annualCost(profile, utilizationRate),
+                RateUtils.utilizedHours(profile, utilizationHours),
+                utilizationRate,
+                utilizationHours
+        );
+        return new Member(utilizationRate, utilizationHours, metrics);
+    }
+
+    private void addMember(TeamState state, int profileId, Member member) {
+        state.members.put(profileId, member);
+        teamsByProfile.computeIfAbsent(profileId, id -> new HashSet<>()).add(state.team.id());
+
+        ProfileMetrics added = member.metrics();
+        state.metrics = new TeamMetrics(
+                state.metrics.hourlyRate().add(added.hourlyRate()),
+                state.metrics.dayRate().add(added.dayRate()),
+                state.metrics.annualCost().add(added.annualCost()),
+                state.metrics.totalHours().add(added.totalHours())
+        );
+    }
+
+    private Member removeMember(TeamState state, int profileId) {
+        Member member = state.members.remove(profileId);
+        teamsByProfile.get(profileId).remove(state.team.id());
+
+        ProfileMetrics removed = member.metrics();
+        state.metrics = new TeamMetrics(
+                state.metrics.hourlyRate().subtract(removed.hourlyRate()),
+                state.metrics.dayRate().subtract(removed.dayRate()),
+                state.metrics.annualCost().subtract(removed.annualCost()),
+                state.metrics.totalHours().subtract(removed.totalHours())
+        );
+        return member;
+    }
+
+    private static TeamUtilization utilization(Member member) {
+        return new TeamUtilization(member.utilizationRate(), member.utilizationHours());
+    }
+
+    private static boolean sameUtilization(Member a, Member b) {
+        return a.utilizationRate().compareTo(b.utilizationRate()) == 0 && a.utilizationHours().compareTo(b.utilizationHours()) == 0;
+    }
+
+    private static void requirePercentage(BigDecimal value, String message) {
+        if (value.compareTo(BigDecimal.ZERO) < 0 || value.compareTo(HUNDRED) > 0) throw new IllegalArgumentException(message);
+    }
+
+    private static Profile copyOf(Profile profile) {
+        return withUtilization(profile, profile.utilizationRate(), profile.utilizationHours());
+    }
+
+    private static Profile withUtilization(Profile profile, Member member) {
+        return withUtilization(profile, member.utilizationRate(), member.utilizationHours());
+    }
+
+    private static Profile withUtilization(Profile profile, BigDecimal utilizationRate, BigDecimal utilizationHours) {
+        return new Profile(profile.id(), profile.profileData().name(), profile.profileData().currency(),
+                           profile.annualSalary(), profile.fixedAnnualAmount(), profile.overheadMultiplier(),
+                           profile.profileData().geography(), profile.effectiveWorkHours(), utilizationRate,
+                           utilizationHours, profile.profileData().overhead(), profile.hoursPerDay(),
+                           profile.profileData().archived());
+    }
+}
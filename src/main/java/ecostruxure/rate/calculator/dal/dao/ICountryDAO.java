@@ -5,6 +5,7 @@ import ecostruxure.rate.calculator.be.Geography;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public interface ICountryDAO {
     Country get(String code) throws Exception;
@@ -19,4 +20,13 @@ public interface ICountryDAO {
      * @throws Exception If the countries could not be retrieved.
      */
     List<Country> allByGeography(Geography geography) throws Exception;
+
+    /**
+     * Gets the countries of every geography in a single query.
+     *
+     * @return A map from geography id to the countries associated with that geography, ordered by country code.
+     * Geographies without countries are not included.
+     * @throws Exception If the countries could not be retrieved.
+     */
+    Map<Integer, List<Country>> allGroupedByGeography() throws Exception;
 }
@@ -4,27 +4,91 @@ import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.ProfileHistory;
 import ecostruxure.rate.calculator.be.TeamHistory;
 import ecostruxure.rate.calculator.be.TeamHistory.Reason;
-import ecostruxure.rate.calculator.be.data.ProfileMetrics;
+import ecostruxure.rate.calculator.be.data.HistoryCursor;
+import ecostruxure.rate.calculator.be.data.HistoryPage;
+import ecostruxure.rate.calculator.be.data.TeamMemberHistory;
 import ecostruxure.rate.calculator.be.data.TeamMetrics;
 import ecostruxure.rate.calculator.dal.transaction.TransactionContext;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface IHistoryDAO {
     List<ProfileHistory> getProfileHistory(int profileId) throws Exception;
 
     List<TeamHistory> getTeamHistory(int teamId) throws Exception;
 
+    /**
+     * Gets one page of a profile's history, newest first, using keyset pagination on (updated_at, history_id).
+     *
+     * @param profileId The profile to get the history for.
+     * @param after     The cursor of the previous page, or null for the first page.
+     * @param limit     The maximum number of history entries to return.
+     * @return The page, with a cursor for the next page if there are older entries.
+     * @throws Exception If the history could not be retrieved.
+     */
+    HistoryPage<ProfileHistory> getProfileHistory(int profileId, HistoryCursor after, int limit) throws Exception;
+
+    /**
+     * Gets one page of a team's history, newest first, using keyset pagination on (updated_at, id).<br>
+     * Every entry lists all members of the team at that point, rebuilt from the member rows written since the
+     * latest full snapshot before it.
+     *
+     * @param teamId The team to get the history for.
+     * @param after  The cursor of the previous page, or null for the first page.
+     * @param limit  The maximum number of team history entries to return.
+     * @return The page, with a cursor for the next page if there are older entries.
+     * @throws Exception If the history could not be retrieved.
+     */
+    HistoryPage<TeamHistory> getTeamHistory(int teamId, HistoryCursor after, int limit) throws Exception;
+
     int insertProfileHistory(TransactionContext context, Profile profile) throws Exception;
 
-    void insertEmptyTeamProfileHistory(TransactionContext context, int teamId, TeamMetrics metrics, Reason reason) throws Exception;
+    Integer getLatestProfileHistoryId(TransactionContext context, int profileId) throws Exception;
 
-    void insertEmptyTeamProfileHistory(TransactionContext context, int teamId, TeamMetrics metrics, Reason reason, LocalDateTime now) throws Exception;
+    /**
+     * Gets the team totals recorded by the latest team history entry of a team.
+     *
+     * @return The latest team metrics, or null if the team has no history or its latest entry is a legacy entry
+     *         without totals.
+     * @throws Exception If the history could not be retrieved.
+     */
+    TeamMetrics getLatestTeamMetrics(TransactionContext context, int teamId) throws Exception;
 
-    void insertTeamProfileHistory(TransactionContext context, int teamId, int profileId, Integer profileHistoryId, TeamMetrics teamMetrics, Reason reason, ProfileMetrics profileMetrics) throws Exception;
+    /**
+     * Gets the latest profile history id of each of the given profiles in one query.
+     *
+     * @return A map from profile id to its latest history id. Profiles without history are not included.
+     * @throws Exception If the history ids could not be retrieved.
+     */
+    Map<Integer, Integer> getLatestProfileHistoryIds(TransactionContext context, Collection<Integer> profileIds) throws Exception;
 
-    void insertTeamProfileHistory(TransactionContext context, int teamId, int profileId, Integer profileHistoryId, TeamMetrics teamMetrics, Reason reason, ProfileMetrics profileMetrics, LocalDateTime now) throws Exception;
+    /**
+     * Snapshots the current state of the given profiles into the profile history in one statement.
+     *
+     * @return A map from profile id to the id of its new history row.
+     * @throws Exception If the history could not be inserted.
+     */
+    Map<Integer, Integer> insertProfileHistories(TransactionContext context, Collection<Integer> profileIds) throws Exception;
 
-    Integer getLatestProfileHistoryId(TransactionContext context, int profileId) throws Exception;
+    /**
+     * Inserts a team history entry with the team totals, and one member row per given member as a single batch.<br>
+     * A full snapshot lists every member of the team. Otherwise only the members that changed are given, and
+     * the other members are carried over from the previous entry when the history is read.
+     *
+     * @return The id of the new team history entry.
+     * @throws Exception If the history could not be inserted.
+     */
+    int insertTeamHistory(TransactionContext context, int teamId, TeamMetrics teamMetrics, Reason reason, boolean fullSnapshot, List<TeamMemberHistory> members, LocalDateTime now) throws Exception;
+
+    /**
+     * Counts the team history entries written since the latest full snapshot of a team. Legacy entries, written
+     * before snapshots, are never full snapshots, so the first entry after them is written as one.
+     *
+     * @return The number of entries after the latest full snapshot, or -1 if the team has no full snapshot.
+     * @throws Exception If the history could not be retrieved.
+     */
+    int changesSinceFullSnapshot(TransactionContext context, int teamId) throws Exception;
 }
@@ -4,10 +4,15 @@ import ecostruxure.rate.calculator.be.Country;
 import ecostruxure.rate.calculator.be.Geography;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.be.data.ProfileColumns;
+import ecostruxure.rate.calculator.be.data.ProfileOverview;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
 import ecostruxure.rate.calculator.dal.transaction.TransactionContext;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface IProfileDAO {
     Profile create(Profile profile) throws Exception;
@@ -15,8 +20,27 @@ public interface IProfileDAO {
 
     List<Profile> allWithUtilization() throws Exception;
 
+    /**
+     * Gets the active profiles that have at least the given utilization rate left to allocate, with their allocated
+     * utilization totals set.
+     *
+     * @param minFreeRate The minimum unallocated utilization rate in percent.
+     * @throws Exception If the profiles could not be retrieved.
+     */
+    List<Profile> allWithFreeCapacity(BigDecimal minFreeRate) throws Exception;
+
+    /**
+     * Loads all active profiles with their active team allocations into columns, in one query. Profiles missing a
+     * value their rates are calculated from are left out and counted in {@link ProfileColumns#skippedProfiles()}.
+     *
+     * @throws Exception If the profiles could not be retrieved.
+     */
+    ProfileColumns activeProfileColumns() throws Exception;
+
     List<Profile> allWithUtilizationByTeam(int teamId) throws Exception;
 
+    List<ProfileOverview> allOverviews() throws Exception;
+
     Profile get(int id) throws Exception;
 
     Profile get(TransactionContext context, int id) throws Exception;
@@ -42,12 +66,42 @@ public interface IProfileDAO {
 
     BigDecimal getProfileHourUtilizationForTeam(TransactionContext context, int profileId, int teamId) throws Exception;
 
+    Map<Integer, TeamUtilization> getTeamUtilizations(int teamId) throws Exception;
+
+    Map<Integer, TeamUtilization> getTeamUtilizations(TransactionContext context, int teamId) throws Exception;
+
+    /**
+     * Gets the utilization of each member of a team and locks the team's memberships until the transaction ends, so
+     * they cannot change, and no profile can be added to the team, between checking them and writing.
+     *
+     * @return The utilizations by profile id.
+     * @throws Exception If the utilizations could not be retrieved.
+     */
+    Map<Integer, TeamUtilization> lockTeamUtilizations(TransactionContext context, int teamId) throws Exception;
+
+    /**
+     * Gets the total utilization of each of the given profiles over its active teams, as part of the given transaction.
+     *
+     * @return The totals by profile id. Profiles without active teams are not included.
+     * @throws Exception If the totals could not be retrieved.
+     */
+    Map<Integer, TeamUtilization> getTotalUtilizations(TransactionContext context, Collection<Integer> profileIds) throws Exception;
+
     List<Team> getTeams(Profile profile) throws Exception;
 
     boolean update(Profile profile) throws Exception;
 
     boolean update(TransactionContext context, Profile profile) throws Exception;
 
+    /**
+     * Sets the annual salary of a profile if it still is the expected salary, as part of the given transaction. No other
+     * value of the profile is written.
+     *
+     * @return true if the salary was set, false if the profile is missing or its salary is no longer the expected one.
+     * @throws Exception If the salary could not be updated.
+     */
+    boolean updateAnnualSalary(TransactionContext context, int profileId, BigDecimal expectedAnnualSalary, BigDecimal annualSalary) throws Exception;
+
     List<Team> getTeams(TransactionContext context, Profile profile) throws Exception;
 
     boolean archive(Profile profile, boolean shouldArchive) throws Exception;
@@ -2,14 +2,62 @@ package ecostruxure.rate.calculator.dal.dao;
 
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
 import ecostruxure.rate.calculator.dal.transaction.TransactionContext;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ITeamDAO {
     List<Team> all() throws Exception;
+
+    Map<Integer, TeamMetrics> allTeamMetrics() throws Exception;
+
+    /**
+     * Gets the materialized metrics of a team.
+     *
+     * @return The team metrics, or null if the team is missing from the snapshot.
+     * @throws Exception If the metrics could not be retrieved.
+     */
+    TeamMetrics getTeamMetrics(int teamId) throws Exception;
+
+    /**
+     * Recalculates the materialized metrics of a team from its current members, as part of the given transaction.
+     *
+     * @throws Exception If the metrics could not be updated.
+     */
+    void refreshTeamMetrics(TransactionContext context, int teamId) throws Exception;
+
+    /**
+     * Locks the materialized metrics row of a team until the transaction ends, also if the team has no row yet.
+     * Transactions that derive new team totals from the previous ones take it first, so they run one at a time per
+     * team and each reads the totals the one before it wrote.
+     *
+     * @throws Exception If the lock could not be taken.
+     */
+    void lockTeamMetrics(TransactionContext context, int teamId) throws Exception;
+
+    /**
+     * Adds the given change to the materialized metrics of a team, as part of the given transaction.
+     *
+     * @return true if the team had a snapshot to adjust, false if it should be refreshed instead.
+     * @throws Exception If the metrics could not be updated.
+     */
+    boolean adjustTeamMetrics(TransactionContext context, int teamId, TeamMetrics delta) throws Exception;
+
+    /**
+     * Recalculates the materialized metrics of every team from the source tables, repairing any drift.
+     *
+     * @return The number of teams rebuilt.
+     * @throws Exception If the metrics could not be rebuilt.
+     */
+    int rebuildTeamMetrics() throws Exception;
+
     Team get(int id) throws Exception;
     Team create(Team team) throws Exception;
 
@@ -19,6 +67,18 @@ public interface ITeamDAO {
 
     void updateMultipliers(Team team) throws Exception;
 
+    void updateMultipliers(TransactionContext context, Team team) throws Exception;
+
+    /**
+     * Sets the markup and gross margin of a team if they still are the expected values, as part of the given
+     * transaction.
+     *
+     * @return true if the multipliers were set, false if the team is missing or its multipliers are no longer the
+     *         expected ones.
+     * @throws Exception If the multipliers could not be updated.
+     */
+    boolean updateMultipliers(TransactionContext context, Team team, BigDecimal expectedMarkup, BigDecimal expectedGrossMargin) throws Exception;
+
     boolean assignProfiles(Team team, List<Profile> profiles) throws Exception;
 
     boolean assignProfiles(TransactionContext context, Team team, List<Profile> profiles) throws Exception;
@@ -31,6 +91,14 @@ public interface ITeamDAO {
 
     boolean updateProfile(TransactionContext context, int teamId, Profile profile) throws Exception;
 
+    /**
+     * Updates the utilization of a profile on a team and returns the utilization it had before the update.
+     *
+     * @return The previous utilization, or null if the profile is not assigned to the team.
+     * @throws Exception If the utilization could not be updated.
+     */
+    TeamUtilization updateProfileUtilization(TransactionContext context, int teamId, Profile profile) throws Exception;
+
     boolean removeAssignedProfiles(Team team, List<Profile> profiles) throws Exception;
 
     boolean removeAssignedProfiles(TransactionContext context, Team team, List<Profile> profiles) throws Exception;
@@ -43,8 +111,23 @@ public interface ITeamDAO {
 
     boolean archive(List<Team> teams) throws Exception;
 
+    /**
+     * Archives or unarchives all the given teams and their memberships in a fixed number of statements.
+     *
+     * @throws Exception If the teams could not be updated, in which case none of them are.
+     */
+    boolean archive(List<Team> teams, boolean archive) throws Exception;
+
     List<Profile> canUnarchive(int teamId) throws Exception;
 
+    /**
+     * Checks in one query which profiles would be allocated more than 100% if all the given teams were unarchived.
+     *
+     * @return A map from team id to its conflicting profiles. Teams without conflicts are not included.
+     * @throws Exception If the check could not be run.
+     */
+    Map<Integer, List<Profile>> canUnarchive(Collection<Integer> teamIds) throws Exception;
+
     boolean removeProfileFromTeam(int teamId, int profileId) throws Exception;
 
     boolean removeProfileFromTeam(TransactionContext context, int teamId, int profileId) throws Exception;
@@ -0,0 +1,319 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of physical database connections.<br>
+ * Connections handed out by {@link #borrow()} are wrappers, calling {@code close()} on them returns the
+ * physical connection to the pool instead of closing it, so existing try-with-resources code works unchanged.
+ */
+public final class ConnectionPool implements AutoCloseable {
+    private final DataSource dataSource;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<IdleConnection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledExecutorService housekeeper;
+
+    private final LongAdder borrowed = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+
+    /**
+     * Live counters of the pool, used for sizing the pool to the number of users.
+     *
+     * @param active              connections currently borrowed.
+     * @param idle                connections currently waiting in the pool.
+     * @param waiters             threads currently waiting for a connection.
+     * @param totalBorrowed       connections handed out since the pool was created.
+     * @param timeouts            borrow attempts that gave up after the acquisition timeout.
+     * @param created             physical connections opened.
+     * @param destroyed           physical connections closed (evicted, invalid or broken).
+     * @param averageAcquireMillis average time a caller waited for a connection.
+     * @param averageBorrowMillis  average time a connection was held before being returned.
+     */
+    public record Stats(int active, int idle, int waiters, long totalBorrowed, long timeouts, long created,
+                        long destroyed, double averageAcquireMillis, double averageBorrowMillis) {
+    }
+
+    public ConnectionPool(DataSource dataSource, int minSize, int maxSize, long idleTimeoutMillis,
+                          long acquireTimeoutMillis, int validationTimeoutSeconds) {
+        if (dataSource == null) throw new IllegalArgumentException("DataSource cannot be null");
+        if (minSize < 0) throw new IllegalArgumentException("Minimum pool size cannot be negative");
+        if (maxSize < 1) throw new IllegalArgumentException("Maximum pool size must be greater than 0");
+        if (minSize > maxSize) throw new IllegalArgumentException("Minimum pool size cannot exceed maximum pool size");
+
+        this.dataSource = dataSource;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new physical connection if none are idle and the pool
+     * has not reached its maximum size. Idle connections are validated before being handed out.
+     *
+     * @return a pooled connection, closing it returns it to the pool.
+     * @throws SQLException if no connection could be acquired within the acquisition timeout or opening one fails.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed.get()) throw new SQLException("Connection pool is closed.");
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException("Timed out after " + acquireTimeoutMillis + " ms waiting for a database connection. " + stats());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            Connection physical = takeValidIdle();
+            if (physical == null) physical = open();
+
+            active.incrementAndGet();
+            borrowed.increment();
+            acquireNanos.add(System.nanoTime() - start);
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public Stats stats() {
+        long borrowedCount = borrowed.sum();
+        long returnedCount = returned.sum();
+
+        double averageAcquire = borrowedCount == 0 ? 0 : acquireNanos.sum() / 1_000_000.0 / borrowedCount;
+        double averageBorrow = returnedCount == 0 ? 0 : borrowNanos.sum() / 1_000_000.0 / returnedCount;
+
+        return new Stats(active.get(), idle.size(), permits.getQueueLength(), borrowedCount, timeouts.sum(),
+                created.sum(), destroyed.sum(), averageAcquire, averageBorrow);
+    }
+
+    public int minSize() {
+        return minSize;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Closes all idle connections and stops housekeeping. Connections still borrowed are closed when returned.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+
+        housekeeper.shutdownNow();
+        IdleConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            destroy(connection.connection());
+        }
+    }
+
+    /**
+     * Closes connections that have been idle longer than the idle timeout, as long as the pool stays at or above
+     * its minimum size, and tops the pool back up to the minimum size.
+     */
+    void housekeep() {
+        if (closed.get()) return;
+
+        long now = System.currentTimeMillis();
+        Iterator<IdleConnection> iterator = idle.descendingIterator();
+        while (iterator.hasNext() && active.get() + idle.size() > minSize) {
+            IdleConnection connection = iterator.next();
+            if (now - connection.idleSince() >= idleTimeoutMillis && idle.remove(connection)) {
+                destroy(connection.connection());
+            }
+        }
+
+        while (!closed.get() && active.get() + idle.size() < minSize && permits.tryAcquire()) {
+            try {
+                idle.offerLast(new IdleConnection(open(), System.currentTimeMillis()));
+            } catch (SQLException e) {
+                break; // Database not reachable right now, try again on next run
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private Connection takeValidIdle() {
+        IdleConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (isValid(connection.connection())) return connection.connection();
+            destroy(connection.connection());
+        }
+        return null;
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        created.increment();
+        return connection;
+    }
+
+    private void destroy(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Connection is being discarded anyway
+        } finally {
+            destroyed.increment();
+        }
+    }
+
+    private void release(Connection physical, long borrowedAt, int isolation) {
+        active.decrementAndGet();
+        returned.increment();
+        borrowNanos.add(System.nanoTime() - borrowedAt);
+
+        try {
+            if (!closed.get() && reset(physical, isolation)) {
+                idle.offerFirst(new IdleConnection(physical, System.currentTimeMillis()));
+            } else {
+                destroy(physical);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Puts a returned connection back into the state a freshly opened connection would be in,
+     * so a DAO forgetting to restore auto-commit cannot leak an open transaction into the next borrower.
+     */
+    private boolean reset(Connection connection, int isolation) {
+        try {
+            if (connection.isClosed()) return false;
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (isolation != Connection.TRANSACTION_NONE && connection.getTransactionIsolation() != isolation) {
+                connection.setTransactionIsolation(isolation);
+            }
+            if (connection.isReadOnly()) connection.setReadOnly(false);
+            connection.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PooledConnectionHandler(physical, System.nanoTime()));
+    }
+
+    private record IdleConnection(Connection connection, long idleSince) {
+    }
+
+    private class PooledConnectionHandler implements InvocationHandler {
+        private final Connection physical;
+        private final long borrowedAt;
+        private final int isolation;
+        private boolean returnedToPool;
+
+        private PooledConnectionHandler(Connection physical, long borrowedAt) {
+            this.physical = physical;
+            this.borrowedAt = borrowedAt;
+            this.isolation = isolationOf(physical);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!returnedToPool) {
+                        returnedToPool = true;
+                        release(physical, borrowedAt, isolation);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returnedToPool || physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled" + physical;
+                }
+            }
+
+            if (returnedToPool) throw new SQLException("Connection has already been returned to the pool.");
+
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static int isolationOf(Connection connection) {
+            try {
+                return connection.getTransactionIsolation();
+            } catch (SQLException e) {
+                return Connection.TRANSACTION_NONE;
+            }
+        }
+    }
+}
@@ -10,13 +10,19 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CountryDAO implements ICountryDAO {
     private final DBConnector dbConnector;
 
     public CountryDAO() throws IOException {
-        this.dbConnector = new DBConnector();
+        this(new DBConnector());
+    }
+
+    public CountryDAO(DBConnector dbConnector) {
+        this.dbConnector = dbConnector;
     }
 
     @Override
@@ -50,7 +56,7 @@ public class CountryDAO implements ICountryDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Could not get Country from Database.\n" + e.getMessage());
+            throw new Exception("Could not get Country from Database.\n" + e.getMessage(), e);
         }
 
         if (country == null) throw new Exception("Country with code " + code + " not found.");
@@ -92,7 +98,7 @@ public class CountryDAO implements ICountryDAO {
 
             return countries;
         } catch (Exception e) {
-            throw new Exception("Could not get all Countries from Database.\n" + e.getMessage());
+            throw new Exception("Could not get all Countries from Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -130,4 +136,38 @@ public class CountryDAO implements ICountryDAO {
             }
         }
     }
+
+    @Override
+    public Map<Integer, List<Country>> allGroupedByGeography() throws Exception {
+        String query = """
+                       SELECT gc.geography AS geography_id, c.code, c.latitude, c.longitude, g.name AS country_name
+                       FROM dbo.Geography_countries AS gc
+                       JOIN dbo.Countries AS c ON c.code = gc.code
+                       JOIN dbo.Geography_countries AS cgc ON c.code = cgc.code
+                       JOIN dbo.Geography AS g ON cgc.geography = g.id AND g.country = 1
+                       ORDER BY gc.geography, c.code;
+                       """;
+
+        Map<Integer, List<Country>> countries = new LinkedHashMap<>();
+
+        try (Connection conn = dbConnector.connection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                int geographyId = rs.getInt("geography_id");
+                String code = rs.getString("code");
+                String name = rs.getString("country_name");
+                BigDecimal latitude = rs.getBigDecimal("latitude");
+                BigDecimal longitude = rs.getBigDecimal("longitude");
+
+                countries.computeIfAbsent(geographyId, id -> new ArrayList<>())
+                         .add(new Country(code, name, latitude, longitude));
+            }
+
+            return countries;
+        } catch (Exception e) {
+            throw new Exception("Could not get Countries grouped by Geography from Database.\n" + e.getMessage(), e);
+        }
+    }
 }
@@ -14,7 +14,11 @@ public class CurrencyDAO implements ICurrencyDAO {
     private final DBConnector dbConnector;
 
     public CurrencyDAO() throws Exception {
-        this.dbConnector = new DBConnector();
+        this(new DBConnector());
+    }
+
+    public CurrencyDAO(DBConnector dbConnector) {
+        this.dbConnector = dbConnector;
     }
 
 
@@ -5,12 +5,30 @@ import ecostruxure.rate.calculator.util.AppConfig;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DBConnector {
-    private final SQLServerDataSource dataSource;
+    private static final int DEFAULT_POOL_MIN_SIZE = 2;
+    private static final int DEFAULT_POOL_MAX_SIZE = 10;
+    private static final long DEFAULT_POOL_IDLE_TIMEOUT_MS = 300_000;
+    private static final long DEFAULT_POOL_ACQUIRE_TIMEOUT_MS = 30_000;
+    private static final int POOL_VALIDATION_TIMEOUT_SECONDS = 5;
+
+    // One pool per configuration file, shared by every DBConnector reading that file
+    private static final Map<String, ConnectionPool> POOLS = new ConcurrentHashMap<>();
+    private static final Map<String, RetryPolicy> RETRY_POLICIES = new ConcurrentHashMap<>();
+    private static final Map<String, ReadIsolation> READ_ISOLATIONS = new ConcurrentHashMap<>();
+
+    private final ConnectionPool pool;
+    private final RetryPolicy retryPolicy;
+    private final ReadIsolation configuredReadIsolation;
+    // The isolation read connections of this DBConnector run at, known after the first read connection
+    private volatile ReadIsolation readIsolation;
 
     /**
      * Constructs a DBConnector using default configuration parameters from file provided by AppConfig.CONFIG_FILE
@@ -32,15 +50,76 @@ public class DBConnector {
      *     <li>db.port= (The database server port number)</li>
      *     <li>db.use_integrated_security= (Boolean indicating whether to use integrated security, true or false)</li>
      * </ul>
+     * Optionally the connection pool can be sized with:<br>
+     * <ul>
+     *     <li>db.pool.min_size= (Connections kept open when idle, default 2)</li>
+     *     <li>db.pool.max_size= (Maximum number of open connections, default 10)</li>
+     *     <li>db.pool.idle_timeout_ms= (How long a connection above the minimum may sit idle before being closed, default 300000)</li>
+     *     <li>db.pool.acquire_timeout_ms= (How long to wait for a free connection before failing, default 30000)</li>
+     * </ul>
+     * and transactions failing on deadlocks or lock timeouts are retried according to:<br>
+     * <ul>
+     *     <li>db.retry.max_attempts= (Times a transaction is run before giving up, 1 disables retrying, default 4)</li>
+     *     <li>db.retry.base_delay_ms= (Upper bound of the random wait before the first retry, doubled per retry, default 50)</li>
+     *     <li>db.retry.max_delay_ms= (Largest upper bound of the wait, default 2000)</li>
+     * </ul>
+     * and the isolation level of read-only connections, used by the list screens, with:<br>
+     * <ul>
+     *     <li>db.read_isolation= (SNAPSHOT, READ_COMMITTED or READ_UNCOMMITTED, default READ_COMMITTED. SNAPSHOT requires
+     *     ALLOW_SNAPSHOT_ISOLATION on the database, otherwise READ_COMMITTED is used)</li>
+     * </ul>
      *
      * @param propertiesFilePath path to the properties file containing database configuration settings.
      * @throws IOException if there is an error reading the provided file.
      */
     public DBConnector(String propertiesFilePath) throws IOException {
+        String key = Path.of(propertiesFilePath).toAbsolutePath().normalize().toString();
+        ConnectionPool existing = POOLS.get(key);
+        if (existing != null) {
+            pool = existing;
+            retryPolicy = RETRY_POLICIES.getOrDefault(key, RetryPolicy.DEFAULT);
+            configuredReadIsolation = READ_ISOLATIONS.getOrDefault(key, ReadIsolation.READ_COMMITTED);
+            return;
+        }
+
         var properties = new Properties();
-        properties.load(new FileInputStream(propertiesFilePath));
+        try (var input = new FileInputStream(propertiesFilePath)) {
+            properties.load(input);
+        }
+
+        pool = POOLS.computeIfAbsent(key, k -> createPool(properties));
+        retryPolicy = RETRY_POLICIES.computeIfAbsent(key, k -> createRetryPolicy(properties));
+        configuredReadIsolation = READ_ISOLATIONS.computeIfAbsent(key, k -> parseReadIsolation(properties.getProperty(AppConfig.DB_READ_ISOLATION)));
+    }
+
+    DBConnector(ConnectionPool pool, RetryPolicy retryPolicy, ReadIsolation readIsolation) {
+        this.pool = pool;
+        this.retryPolicy = retryPolicy;
+        this.configuredReadIsolation = readIsolation;
+    }
 
-        dataSource = new SQLServerDataSource();
+    static ReadIsolation parseReadIsolation(String value) {
+        if (value == null || value.isBlank()) return ReadIsolation.READ_COMMITTED;
+
+        try {
+            return ReadIsolation.valueOf(value.strip().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for " + AppConfig.DB_READ_ISOLATION
+                                               + ", expected SNAPSHOT, READ_COMMITTED or READ_UNCOMMITTED", e);
+        }
+    }
+
+    private static RetryPolicy createRetryPolicy(Properties properties) {
+        RetryPolicy defaults = RetryPolicy.DEFAULT;
+        int maxAttempts = Integer.parseInt(properties.getProperty(AppConfig.DB_RETRY_MAX_ATTEMPTS, String.valueOf(defaults.maxAttempts())));
+        long baseDelay = Long.parseLong(properties.getProperty(AppConfig.DB_RETRY_BASE_DELAY_MS, String.valueOf(defaults.baseDelayMillis())));
+        long maxDelay = Long.parseLong(properties.getProperty(AppConfig.DB_RETRY_MAX_DELAY_MS, String.valueOf(defaults.maxDelayMillis())));
+
+        return new RetryPolicy(maxAttempts, baseDelay, maxDelay);
+    }
+
+    private static ConnectionPool createPool(Properties properties) {
+        var dataSource = new SQLServerDataSource();
         dataSource.setServerName(properties.getProperty(AppConfig.DB_SERVER));
         dataSource.setDatabaseName(properties.getProperty(AppConfig.DB_DATABASE));
 
@@ -53,17 +132,102 @@ public class DBConnector {
 
         dataSource.setPortNumber(Integer.parseInt(properties.getProperty(AppConfig.DB_PORT)));
         dataSource.setTrustServerCertificate(true);
+
+        int minSize = Integer.parseInt(properties.getProperty(AppConfig.DB_POOL_MIN_SIZE, String.valueOf(DEFAULT_POOL_MIN_SIZE)));
+        int maxSize = Integer.parseInt(properties.getProperty(AppConfig.DB_POOL_MAX_SIZE, String.valueOf(DEFAULT_POOL_MAX_SIZE)));
+        long idleTimeout = Long.parseLong(properties.getProperty(AppConfig.DB_POOL_IDLE_TIMEOUT_MS, String.valueOf(DEFAULT_POOL_IDLE_TIMEOUT_MS)));
+        long acquireTimeout = Long.parseLong(properties.getProperty(AppConfig.DB_POOL_ACQUIRE_TIMEOUT_MS, String.valueOf(DEFAULT_POOL_ACQUIRE_TIMEOUT_MS)));
+
+        return new ConnectionPool(dataSource, minSize, maxSize, idleTimeout, acquireTimeout, POOL_VALIDATION_TIMEOUT_SECONDS);
     }
 
     /**
-     * Creates and returns a new connection to the database based on the configuration paramters supplied
-     * during the instantiation of the DBConnector object.
+     * Borrows a connection from the connection pool, configured by the paramters supplied
+     * during the instantiation of the DBConnector object. Closing the connection returns it to the pool.
      *
-     * @return A new Connection object to the database.
-     * @throws SQLException if a database access error occurs or the connection parameters are incorrect.
+     * @return A pooled Connection object to the database.
+     * @throws SQLException if a database access error occurs, the connection parameters are incorrect
+     *                      or no connection became available within the acquisition timeout.
      */
     public Connection connection() throws SQLException {
-        return dataSource.getConnection();
+        return pool.borrow();
+    }
+
+    /**
+     * Borrows a read-only connection running at the configured read isolation level, for reads that should not
+     * wait on writing transactions. Closing the connection returns it to the pool with its settings restored.
+     *
+     * @return A pooled, read-only Connection object to the database.
+     * @throws SQLException if a database access error occurs or no connection became available in time.
+     */
+    public Connection readConnection() throws SQLException {
+        Connection connection = pool.borrow();
+        try {
+            connection.setReadOnly(true);
+            connection.setTransactionIsolation(readIsolation(connection).level());
+            return connection;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the isolation level read connections run at. This is the configured db.read_isolation, except when
+     * SNAPSHOT is configured but not enabled on the database, in which case READ_COMMITTED is used instead. Callers
+     * can compare it with {@link #configuredReadIsolation()} to report the fallback.
+     *
+     * @throws SQLException if checking whether snapshot isolation is enabled fails.
+     */
+    public ReadIsolation readIsolation() throws SQLException {
+        ReadIsolation known = readIsolation;
+        if (known != null) return known;
+
+        try (Connection connection = pool.borrow()) {
+            return readIsolation(connection);
+        }
+    }
+
+    /**
+     * Returns the isolation level configured for read connections by db.read_isolation.
+     */
+    public ReadIsolation configuredReadIsolation() {
+        return configuredReadIsolation;
+    }
+
+    private ReadIsolation readIsolation(Connection connection) throws SQLException {
+        ReadIsolation known = readIsolation;
+        if (known != null) return known;
+
+        known = configuredReadIsolation == ReadIsolation.SNAPSHOT && !ReadIsolation.snapshotAllowed(connection)
+                ? ReadIsolation.READ_COMMITTED
+                : configuredReadIsolation;
+        readIsolation = known;
+        return known;
+    }
+
+    /**
+     * Returns the live counters of the connection pool backing this DBConnector.
+     *
+     * @return active, idle and waiting counts along with average acquire and borrow times.
+     */
+    public ConnectionPool.Stats poolStats() {
+        return pool.stats();
+    }
+
+    /**
+     * Returns the maximum number of connections the pool backing this DBConnector opens, e.g. to cap how many
+     * queries are run in parallel.
+     */
+    public int maxPoolSize() {
+        return pool.maxSize();
+    }
+
+    /**
+     * Returns the retry policy configured for transactions on this database.
+     */
+    public RetryPolicy retryPolicy() {
+        return retryPolicy;
     }
 
     /**
@@ -5,17 +5,76 @@ import ecostruxure.rate.calculator.dal.transaction.TransactionManager;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.util.concurrent.atomic.LongAdder;
 
 public class DbTransactionManager implements TransactionManager {
     private final DBConnector dbConnector;
+    private final RetryPolicy retryPolicy;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failures = new LongAdder();
 
     public DbTransactionManager() throws IOException {
-        this.dbConnector = new DBConnector();
+        this(new DBConnector());
+    }
+
+    public DbTransactionManager(DBConnector dbConnector) {
+        this(dbConnector, dbConnector.retryPolicy());
     }
 
+    public DbTransactionManager(DBConnector dbConnector, RetryPolicy retryPolicy) {
+        this.dbConnector = dbConnector;
+        this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.DEFAULT;
+    }
+
+    /**
+     * Runs the callback in a transaction. If the transaction fails because it was chosen as deadlock victim or timed
+     * out waiting for a lock, it is rolled back and run again from the start after a short random wait, up to the
+     * maximum number of attempts of the retry policy.
+     */
     @Override
     public <T> T executeTransaction(TransactionCallback<T> callback) throws Exception {
-        try (Connection connection = dbConnector.connection()) {
+        return execute(callback, false);
+    }
+
+    @Override
+    public <T> T executeReadOnly(TransactionCallback<T> callback) throws Exception {
+        return execute(callback, true);
+    }
+
+    private <T> T execute(TransactionCallback<T> callback, boolean readOnly) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOnce(callback, readOnly);
+            } catch (Exception e) {
+                if (!retryPolicy.isRetryable(e)) throw e;
+                if (attempt >= retryPolicy.maxAttempts()) {
+                    failures.increment();
+                    throw e;
+                }
+
+                retries.increment();
+                sleep(retryPolicy.delayMillis(attempt), e);
+            }
+        }
+    }
+
+    /**
+     * Number of transactions run again after a deadlock or lock timeout.
+     */
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * Number of transactions that still failed on a deadlock or lock timeout after the last attempt.
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    private <T> T executeOnce(TransactionCallback<T> callback, boolean readOnly) throws Exception {
+        try (Connection connection = readOnly ? dbConnector.readConnection() : dbConnector.connection()) {
             SqlTransactionContext context = new SqlTransactionContext(connection);
             context.begin();
 
@@ -24,9 +83,21 @@ public class DbTransactionManager implements TransactionManager {
                 context.commit();
                 return result;
             } catch (Exception e) {
+                // Also after a lock timeout, where SQL Server aborts only the statement and keeps the transaction open
                 context.rollback();
                 throw new Exception("Transaction failed.\n" + e.getMessage(), e);
             }
         }
     }
+
+    private static void sleep(long millis, Exception failure) throws Exception {
+        if (millis <= 0) return;
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
 }
@@ -16,7 +16,11 @@ public class GeographyDAO implements IGeographyDAO {
     private final DBConnector dbConnector;
 
     public GeographyDAO() throws IOException {
-        this.dbConnector = new DBConnector();
+        this(new DBConnector());
+    }
+
+    public GeographyDAO(DBConnector dbConnector) {
+        this.dbConnector = dbConnector;
     }
 
     @Override
@@ -37,7 +41,7 @@ public class GeographyDAO implements IGeographyDAO {
 
             return geographies;
         } catch (Exception e) {
-            throw new Exception("Could not get all Geographies from Database.\n" + e.getMessage());
+            throw new Exception("Could not get all Geographies from Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -59,7 +63,7 @@ public class GeographyDAO implements IGeographyDAO {
 
             return geographies;
         } catch (Exception e) {
-            throw new Exception("Could not get all Geographies from Database.\n" + e.getMessage());
+            throw new Exception("Could not get all Geographies from Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -81,7 +85,7 @@ public class GeographyDAO implements IGeographyDAO {
 
             return geographies;
         } catch (Exception e) {
-            throw new Exception("Could not get all Geographies from Database.\n" + e.getMessage());
+            throw new Exception("Could not get all Geographies from Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -105,7 +109,7 @@ public class GeographyDAO implements IGeographyDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Could not get Geography from Database. Geography ID: " + id + "\n" + e.getMessage());
+            throw new Exception("Could not get Geography from Database. Geography ID: " + id + "\n" + e.getMessage(), e);
         }
 
         if (geography == null) throw new Exception("Geography with ID " + id + " not found.");
@@ -118,17 +122,17 @@ public class GeographyDAO implements IGeographyDAO {
         try (Connection conn = dbConnector.connection()) {
             conn.setAutoCommit(false);
             try {
-                Geography addedGeography = add(geography);
+                Geography addedGeography = add(conn, geography);
 
                 for (Country country : countries) {
-                    addGeographyCountryRelation(addedGeography, country);
+                    addGeographyCountryRelation(conn, addedGeography, country);
                 }
 
                 conn.commit();
                 return addedGeography;
             } catch (SQLException e) {
                 conn.rollback();
-                throw new Exception("Could not create Geography in Database.\n" + e.getMessage());
+                throw new Exception("Could not create Geography in Database.\n" + e.getMessage(), e);
             } finally {
                 conn.setAutoCommit(true);
             }
@@ -176,14 +180,13 @@ public class GeographyDAO implements IGeographyDAO {
         }
     }
 
-    private Geography add(Geography geography) throws SQLException {
+    private Geography add(Connection conn, Geography geography) throws SQLException {
         String query = """
                      INSERT INTO Geography (name, predefined)
                      VALUES (?, 0)
                      """; // 0 betyder den ikke er predefined
 
-        try (Connection conn = dbConnector.connection();
-             PreparedStatement stmt = conn.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement stmt = conn.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, geography.name());
             stmt.executeUpdate();
 
@@ -198,14 +201,13 @@ public class GeographyDAO implements IGeographyDAO {
         }
     }
 
-    private void addGeographyCountryRelation(Geography geography, Country country) throws SQLException {
+    private void addGeographyCountryRelation(Connection conn, Geography geography, Country country) throws SQLException {
         String query = """
                      INSERT INTO Geography_countries (geography, code)
                      VALUES (?, ?)
                      """;
 
-        try (Connection conn = dbConnector.connection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, geography.id());
             stmt.setString(2, country.code());
             stmt.executeUpdate();
@@ -5,20 +5,31 @@ import ecostruxure.rate.calculator.be.ProfileHistory;
 import ecostruxure.rate.calculator.be.TeamHistory;
 import ecostruxure.rate.calculator.be.TeamHistory.Reason;
 import ecostruxure.rate.calculator.be.TeamProfileHistory;
+import ecostruxure.rate.calculator.be.data.HistoryCursor;
+import ecostruxure.rate.calculator.be.data.HistoryPage;
 import ecostruxure.rate.calculator.be.data.ProfileMetrics;
+import ecostruxure.rate.calculator.be.data.TeamMemberHistory;
 import ecostruxure.rate.calculator.be.data.TeamMetrics;
 import ecostruxure.rate.calculator.dal.transaction.TransactionContext;
 import ecostruxure.rate.calculator.dal.dao.IHistoryDAO;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 public class HistoryDAO implements IHistoryDAO {
+    private static final int MAX_IN_PARAMETERS = 2000;
+
     private final DBConnector dbConnector;
 
     public HistoryDAO() throws Exception {
-        this.dbConnector = new DBConnector();
+        this(new DBConnector());
+    }
+
+    public HistoryDAO(DBConnector dbConnector) {
+        this.dbConnector = dbConnector;
     }
 
     @Override
@@ -31,83 +42,122 @@ public class HistoryDAO implements IHistoryDAO {
                        ORDER BY updated_at DESC
                        """;
 
-        try (Connection conn = dbConnector.connection();
+        try (Connection conn = dbConnector.readConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
             stmt.setInt(1, profileId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    ProfileHistory profile = new ProfileHistory();
-                    profile.profileId(rs.getInt("profile_id"));
-                    profile.overhead(rs.getBoolean("overhead"));
-                    profile.annualSalary(rs.getBigDecimal("annual_salary"));
-                    profile.fixedAnnualAmount(rs.getBigDecimal("fixed_annual_amount"));
-                    profile.overheadMultiplier(rs.getBigDecimal("overhead_multiplier"));
-                    profile.effectiveWorkHours(rs.getBigDecimal("effective_work_hours"));
-                    profile.hoursPerDay(rs.getBigDecimal("hours_per_day"));
-                    profile.updatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-                    profiles.add(profile);
+                    profiles.add(readProfileHistory(rs));
                 }
             }
 
             return profiles;
         } catch (Exception e) {
-            throw new Exception("Could not get Profile History from Database.\n" + e.getMessage());
+            throw new Exception("Could not get Profile History from Database.\n" + e.getMessage(), e);
         }
     }
 
     @Override
     public List<TeamHistory> getTeamHistory(int teamId) throws Exception {
-        Map<LocalDateTime, TeamHistory> historyMap = new LinkedHashMap<>();
-
         String query = """
-                        SELECT tph.team_id, tph.profile_id, tph.profile_history_id, tph.reason,
-                               tph.hourly_rate, tph.day_rate, tph.annual_cost, tph.total_hours, tph.utilization_rate, tph.utilization_hours,
-                               tph.profile_hourly_rate, tph.profile_day_rate, tph.profile_annual_cost, tph.profile_total_hours, tph.updated_at
-                        FROM dbo.Teams_profiles_history tph
-                        WHERE tph.team_id = ?
-                        ORDER BY tph.updated_at DESC;
+                        SELECT id, team_id, reason, hourly_rate, day_rate, annual_cost, total_hours, full_snapshot, legacy, updated_at
+                        FROM dbo.Teams_history
+                        WHERE team_id = ?
+                        ORDER BY updated_at DESC, id DESC;
                         """;
 
-        try (Connection conn = dbConnector.connection();
+        try (Connection conn = dbConnector.readConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, teamId);
+
+            List<TeamHistoryEntry> entries = new ArrayList<>();
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    LocalDateTime updatedAt = rs.getTimestamp("updated_at").toLocalDateTime();
-                    TeamHistory teamHistory = historyMap.get(updatedAt);
-
-                    if (teamHistory == null) {
-                        teamHistory = new TeamHistory();
-                        teamHistory.teamId(rs.getInt("team_id"));
-                        teamHistory.reason(TeamHistory.Reason.valueOf(rs.getString("reason")));
-                        teamHistory.hourlyRate(rs.getBigDecimal("hourly_rate"));
-                        teamHistory.dayRate(rs.getBigDecimal("day_rate"));
-                        teamHistory.annualCost(rs.getBigDecimal("annual_cost"));
-                        teamHistory.totalHours(rs.getBigDecimal("total_hours"));
-                        teamHistory.updatedAt(updatedAt);
-                        historyMap.put(updatedAt, teamHistory);
-                    }
+                    entries.add(readTeamHistoryEntry(rs));
+                }
+            }
+
+            readTeamMembers(conn, teamId, entries);
+            return entries.stream().map(TeamHistoryEntry::history).collect(Collectors.toCollection(ArrayList::new));
+        } catch (SQLException e) {
+            throw new Exception("Could not retrieve team history from the database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public HistoryPage<ProfileHistory> getProfileHistory(int profileId, HistoryCursor after, int limit) throws Exception {
+        if (limit < 1) throw new IllegalArgumentException("Limit must be greater than 0");
+
+        String query = """
+                       SELECT TOP (?) * FROM dbo.Profiles_history
+                       WHERE profile_id = ? %s
+                       ORDER BY updated_at DESC, history_id DESC
+                       """.formatted(after == null ? "" : "AND (updated_at < ? OR (updated_at = ? AND history_id < ?))");
+
+        try (Connection conn = dbConnector.readConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, limit + 1);
+            stmt.setInt(2, profileId);
+            if (after != null) setCursor(stmt, 3, after);
+
+            List<ProfileHistory> profiles = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    profiles.add(readProfileHistory(rs));
+                }
+            }
+
+            if (profiles.size() <= limit) return new HistoryPage<>(profiles, null);
+
+            profiles.removeLast();
+            ProfileHistory last = profiles.getLast();
+            return new HistoryPage<>(profiles, new HistoryCursor(last.updatedAt(), last.historyId()));
+        } catch (Exception e) {
+            throw new Exception("Could not get Profile History from Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public HistoryPage<TeamHistory> getTeamHistory(int teamId, HistoryCursor after, int limit) throws Exception {
+        if (limit < 1) throw new IllegalArgumentException("Limit must be greater than 0");
+
+        String query = """
+                        SELECT TOP (?) id, team_id, reason, hourly_rate, day_rate, annual_cost, total_hours, full_snapshot, legacy, updated_at
+                        FROM dbo.Teams_history
+                        WHERE team_id = ? %s
+                        ORDER BY updated_at DESC, id DESC;
+                        """.formatted(after == null ? "" : "AND (updated_at < ? OR (updated_at = ? AND id < ?))");
 
-                    TeamProfileHistory teamProfileHistory = new TeamProfileHistory();
-                    teamProfileHistory.profileId(rs.getInt("profile_id"));
-                    teamProfileHistory.profileHistoryId(rs.getInt("profile_history_id"));
-                    teamProfileHistory.hourlyRate(rs.getBigDecimal("profile_hourly_rate"));
-                    teamProfileHistory.dayRate(rs.getBigDecimal("profile_day_rate"));
-                    teamProfileHistory.annualCost(rs.getBigDecimal("profile_annual_cost"));
-                    teamProfileHistory.totalHours(rs.getBigDecimal("profile_total_hours"));
-                    teamProfileHistory.utilizationRate(rs.getBigDecimal("utilization_rate"));
-                    teamProfileHistory.utilizationHours(rs.getBigDecimal("utilization_hours"));
-                    teamProfileHistory.updatedAt(updatedAt);
-
-                    teamHistory.teamProfileHistories().add(teamProfileHistory);
+        List<TeamHistoryEntry> entries = new ArrayList<>();
+        boolean hasMore;
+
+        try (Connection conn = dbConnector.readConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, limit + 1);
+            stmt.setInt(2, teamId);
+            if (after != null) setCursor(stmt, 3, after);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(readTeamHistoryEntry(rs));
                 }
             }
 
-            return new ArrayList<>(historyMap.values());
+            hasMore = entries.size() > limit;
+            if (hasMore) entries.removeLast();
+            readTeamMembers(conn, teamId, entries);
         } catch (SQLException e) {
             throw new Exception("Could not retrieve team history from the database.\n" + e.getMessage(), e);
         }
+
+        List<TeamHistory> history = entries.stream().map(TeamHistoryEntry::history).collect(Collectors.toCollection(ArrayList::new));
+        if (!hasMore) return new HistoryPage<>(history, null);
+
+        TeamHistoryEntry last = entries.getLast();
+        return new HistoryPage<>(history, new HistoryCursor(last.history().updatedAt(), last.id()));
     }
 
     @Override
@@ -138,121 +188,374 @@ public class HistoryDAO implements IHistoryDAO {
     }
 
     @Override
-    public void insertEmptyTeamProfileHistory(TransactionContext context, int teamId, TeamMetrics metrics, Reason reason) throws Exception {
+    public Integer getLatestProfileHistoryId(TransactionContext context, int profileId) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
-        String sql = """
-                    INSERT INTO dbo.Teams_profiles_history (team_id, profile_id, profile_history_id, reason, hourly_rate, day_rate, annual_cost, total_hours, updated_at)
-                    VALUES (?, NULL, NULL, ?, ?, ?, ?, ?, GETDATE());
-                    """;
+        String sql = "SELECT TOP 1 history_id FROM dbo.Profiles_history WHERE profile_id = ? ORDER BY updated_at DESC, history_id DESC";
 
         try (PreparedStatement stmt = sqlContext.connection().prepareStatement(sql)) {
-            stmt.setInt(1, teamId);
-            stmt.setString(2, reason.name());
-            stmt.setBigDecimal(3, metrics.hourlyRate());
-            stmt.setBigDecimal(4, metrics.dayRate());
-            stmt.setBigDecimal(5, metrics.annualCost());
-            stmt.setBigDecimal(6, metrics.totalHours());
-            stmt.executeUpdate();
+            stmt.setInt(1, profileId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt("history_id");
+            } else {
+                return null;
+            }
         }
     }
 
     @Override
-    public void insertEmptyTeamProfileHistory(TransactionContext context, int teamId, TeamMetrics metrics, Reason reason, LocalDateTime now) throws Exception {
+    public TeamMetrics getLatestTeamMetrics(TransactionContext context, int teamId) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
         String sql = """
-                    INSERT INTO dbo.Teams_profiles_history (team_id, profile_id, profile_history_id, reason, hourly_rate, day_rate, annual_cost, total_hours, updated_at)
-                    VALUES (?, NULL, NULL, ?, ?, ?, ?, ?, ?);
-                    """;
+                     SELECT TOP 1 hourly_rate, day_rate, annual_cost, total_hours
+                     FROM dbo.Teams_history
+                     WHERE team_id = ?
+                     ORDER BY id DESC
+                     """;
 
+        // Ordered by id, as updated_at is stamped by the writing client and clocks may differ between clients
         try (PreparedStatement stmt = sqlContext.connection().prepareStatement(sql)) {
             stmt.setInt(1, teamId);
-            stmt.setString(2, reason.name());
-            stmt.setBigDecimal(3, metrics.hourlyRate());
-            stmt.setBigDecimal(4, metrics.dayRate());
-            stmt.setBigDecimal(5, metrics.annualCost());
-            stmt.setBigDecimal(6, metrics.totalHours());
-            stmt.setTimestamp(7, Timestamp.valueOf(now));
-            stmt.executeUpdate();
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) return null;
+
+                // Legacy entries may not have recorded their totals
+                BigDecimal hourlyRate = rs.getBigDecimal("hourly_rate");
+                BigDecimal dayRate = rs.getBigDecimal("day_rate");
+                BigDecimal annualCost = rs.getBigDecimal("annual_cost");
+                BigDecimal totalHours = rs.getBigDecimal("total_hours");
+                if (hourlyRate == null || dayRate == null || annualCost == null || totalHours == null) return null;
+
+                return new TeamMetrics(hourlyRate, dayRate, annualCost, totalHours);
+            }
+        } catch (SQLException e) {
+            throw new Exception("Could not get latest team metrics from Database.\n" + e.getMessage(), e);
         }
     }
 
     @Override
-    public void insertTeamProfileHistory(TransactionContext context, int teamId, int profileId, Integer profileHistoryId, TeamMetrics teamMetrics, Reason reason, ProfileMetrics profileMetrics) throws Exception {
+    public int changesSinceFullSnapshot(TransactionContext context, int teamId) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
         String sql = """
-                    INSERT INTO dbo.Teams_profiles_history (team_id, profile_id, profile_history_id, reason, hourly_rate, day_rate, annual_cost, total_hours, utilization_rate, utilization_hours, profile_hourly_rate, profile_day_rate, profile_annual_cost, profile_total_hours, updated_at)
-                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, GETDATE());
-                    """;
+                     SELECT latest.id AS full_snapshot_id,
+                            (SELECT COUNT(*) FROM dbo.Teams_history th WHERE th.team_id = ? AND th.id > latest.id) AS changes
+                     FROM (
+                         SELECT MAX(id) AS id FROM dbo.Teams_history WHERE team_id = ? AND full_snapshot = 1
+                     ) AS latest
+                     """;
 
         try (PreparedStatement stmt = sqlContext.connection().prepareStatement(sql)) {
             stmt.setInt(1, teamId);
-            stmt.setInt(2, profileId);
+            stmt.setInt(2, teamId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) return -1;
 
-            if (profileHistoryId == null) stmt.setNull(3, Types.INTEGER);
-            else stmt.setInt(3, profileHistoryId);
-
-            stmt.setString(4, reason.name());
-            stmt.setBigDecimal(5, teamMetrics.hourlyRate());
-            stmt.setBigDecimal(6, teamMetrics.dayRate());
-            stmt.setBigDecimal(7, teamMetrics.annualCost());
-            stmt.setBigDecimal(8, teamMetrics.totalHours());
-            stmt.setBigDecimal(9, profileMetrics.utilizationRate());
-            stmt.setBigDecimal(10, profileMetrics.utilizationHours());
-            stmt.setBigDecimal(11, profileMetrics.hourlyRate());
-            stmt.setBigDecimal(12, profileMetrics.dayRate());
-            stmt.setBigDecimal(13, profileMetrics.annualCost());
-            stmt.setBigDecimal(14, profileMetrics.totalHours());
-            stmt.executeUpdate();
+                rs.getInt("full_snapshot_id");
+                if (rs.wasNull()) return -1;
+                return rs.getInt("changes");
+            }
         } catch (SQLException e) {
-            throw new Exception("Could not insert team profile history into the database.\n" + e.getMessage(), e);
+            throw new Exception("Could not get Team History from Database.\n" + e.getMessage(), e);
         }
     }
 
     @Override
-    public void insertTeamProfileHistory(TransactionContext context, int teamId, int profileId, Integer profileHistoryId, TeamMetrics teamMetrics, Reason reason, ProfileMetrics profileMetrics, LocalDateTime now) throws Exception {
+    public Map<Integer, Integer> getLatestProfileHistoryIds(TransactionContext context, Collection<Integer> profileIds) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
-        String sql = """
-                    INSERT INTO dbo.Teams_profiles_history (team_id, profile_id, profile_history_id, reason, hourly_rate, day_rate, annual_cost, total_hours, utilization_rate, utilization_hours, profile_hourly_rate, profile_day_rate, profile_annual_cost, profile_total_hours, updated_at)
-                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);
-                    """;
-        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(sql)) {
-            stmt.setInt(1, teamId);
-            stmt.setInt(2, profileId);
+        Map<Integer, Integer> historyIds = new HashMap<>();
+
+        for (List<Integer> chunk : chunks(profileIds)) {
+            String sql = """
+                         SELECT profile_id, history_id
+                         FROM (
+                             SELECT profile_id, history_id,
+                                    ROW_NUMBER() OVER (PARTITION BY profile_id ORDER BY updated_at DESC, history_id DESC) AS row_num
+                             FROM dbo.Profiles_history
+                             WHERE profile_id IN (%s)
+                         ) AS latest
+                         WHERE row_num = 1
+                         """.formatted(placeholders(chunk.size()));
+
+            try (PreparedStatement stmt = sqlContext.connection().prepareStatement(sql)) {
+                setInts(stmt, chunk);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        historyIds.put(rs.getInt("profile_id"), rs.getInt("history_id"));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new Exception("Could not get latest Profile History from Database.\n" + e.getMessage(), e);
+            }
+        }
 
-            if (profileHistoryId == null) stmt.setNull(3, Types.INTEGER);
-            else stmt.setInt(3, profileHistoryId);
-
-            stmt.setString(4, reason.name());
-            stmt.setBigDecimal(5, teamMetrics.hourlyRate());
-            stmt.setBigDecimal(6, teamMetrics.dayRate());
-            stmt.setBigDecimal(7, teamMetrics.annualCost());
-            stmt.setBigDecimal(8, teamMetrics.totalHours());
-            stmt.setBigDecimal(9, profileMetrics.utilizationRate());
-            stmt.setBigDecimal(10, profileMetrics.utilizationHours());
-            stmt.setBigDecimal(11, profileMetrics.hourlyRate());
-            stmt.setBigDecimal(12, profileMetrics.dayRate());
-            stmt.setBigDecimal(13, profileMetrics.annualCost());
-            stmt.setBigDecimal(14, profileMetrics.totalHours());
-            stmt.setTimestamp(15, Timestamp.valueOf(now));
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new Exception("Could not insert team profile history into the database.\n" + e.getMessage(), e);
+        return historyIds;
+    }
+
+    @Override
+    public Map<Integer, Integer> insertProfileHistories(TransactionContext context, Collection<Integer> profileIds) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        Map<Integer, Integer> historyIds = new HashMap<>();
+
+        for (List<Integer> chunk : chunks(profileIds)) {
+            String sql = """
+                         INSERT INTO dbo.Profiles_history (
+                             profile_id, overhead, annual_salary, fixed_annual_amount, overhead_multiplier,
+                             effective_work_hours, hours_per_day, updated_at
+                         )
+                         OUTPUT inserted.profile_id, inserted.history_id
+                         SELECT p.id, pd.overhead, p.annual_salary, p.fixed_annual_amount, p.overhead_multiplier,
+                                p.effective_work_hours, p.hours_per_day, GETDATE()
+                         FROM dbo.Profiles p
+                         JOIN dbo.Profiles_data pd ON p.id = pd.id
+                         WHERE p.id IN (%s)
+                         """.formatted(placeholders(chunk.size()));
+
+            try (PreparedStatement stmt = sqlContext.connection().prepareStatement(sql)) {
+                setInts(stmt, chunk);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        historyIds.put(rs.getInt("profile_id"), rs.getInt("history_id"));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new Exception("Could not insert Profile History into Database.\n" + e.getMessage(), e);
+            }
         }
+
+        return historyIds;
     }
 
     @Override
-    public Integer getLatestProfileHistoryId(TransactionContext context, int profileId) throws Exception {
+    public int insertTeamHistory(TransactionContext context, int teamId, TeamMetrics teamMetrics, Reason reason, boolean fullSnapshot, List<TeamMemberHistory> members, LocalDateTime now) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
-        String sql = "SELECT TOP 1 history_id FROM dbo.Profiles_history WHERE profile_id = ? ORDER BY updated_at DESC";
+        String entrySql = """
+                          INSERT INTO dbo.Teams_history (team_id, reason, hourly_rate, day_rate, annual_cost, total_hours, full_snapshot, updated_at)
+                          OUTPUT inserted.id
+                          VALUES (?, ?, ?, ?, ?, ?, ?, ?);
+                          """;
+        String memberSql = """
+                           INSERT INTO dbo.Teams_profiles_history (team_id, team_history_id, profile_id, profile_history_id, removed, reason, utilization_rate, utilization_hours, profile_hourly_rate, profile_day_rate, profile_annual_cost, profile_total_hours, updated_at)
+                           VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);
+                           """;
+
+        Timestamp updatedAt = Timestamp.valueOf(now);
+
+        try (PreparedStatement entryStmt = sqlContext.connection().prepareStatement(entrySql)) {
+            entryStmt.setInt(1, teamId);
+            entryStmt.setString(2, reason.name());
+            entryStmt.setBigDecimal(3, teamMetrics.hourlyRate());
+            entryStmt.setBigDecimal(4, teamMetrics.dayRate());
+            entryStmt.setBigDecimal(5, teamMetrics.annualCost());
+            entryStmt.setBigDecimal(6, teamMetrics.totalHours());
+            entryStmt.setBoolean(7, fullSnapshot);
+            entryStmt.setTimestamp(8, updatedAt);
+
+            int teamHistoryId;
+            try (ResultSet rs = entryStmt.executeQuery()) {
+                if (!rs.next()) throw new SQLException("No id returned for the team history entry");
+                teamHistoryId = rs.getInt(1);
+            }
 
-        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(sql)) {
-            stmt.setInt(1, profileId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("history_id");
-            } else {
-                return null;
+            if (members.isEmpty()) return teamHistoryId;
+
+            try (PreparedStatement stmt = sqlContext.connection().prepareStatement(memberSql)) {
+                for (TeamMemberHistory member : members) {
+                    ProfileMetrics profileMetrics = member.profileMetrics();
+
+                    stmt.setInt(1, teamId);
+                    stmt.setInt(2, teamHistoryId);
+                    stmt.setInt(3, member.profileId());
+
+                    if (member.profileHistoryId() == null) stmt.setNull(4, Types.INTEGER);
+                    else stmt.setInt(4, member.profileHistoryId());
+
+                    stmt.setBoolean(5, member.removed());
+                    stmt.setString(6, reason.name());
+                    stmt.setBigDecimal(7, profileMetrics.utilizationRate());
+                    stmt.setBigDecimal(8, profileMetrics.utilizationHours());
+                    stmt.setBigDecimal(9, profileMetrics.hourlyRate());
+                    stmt.setBigDecimal(10, profileMetrics.dayRate());
+                    stmt.setBigDecimal(11, profileMetrics.annualCost());
+                    stmt.setBigDecimal(12, profileMetrics.totalHours());
+                    stmt.setTimestamp(13, updatedAt);
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+            }
+
+            return teamHistoryId;
+        } catch (SQLException e) {
+            throw new Exception("Could not insert team history into the database.\n" + e.getMessage(), e);
+        }
+    }
+
+    // SQL Server accepts at most 2100 parameters per statement
+    static List<List<Integer>> chunks(Collection<Integer> ids) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += MAX_IN_PARAMETERS) {
+            chunks.add(distinct.subList(i, Math.min(i + MAX_IN_PARAMETERS, distinct.size())));
+        }
+        return chunks;
+    }
+
+    static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    static void setInts(PreparedStatement stmt, List<Integer> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            stmt.setInt(i + 1, values.get(i));
+        }
+    }
+
+    private int setCursor(PreparedStatement stmt, int index, HistoryCursor cursor) throws SQLException {
+        Timestamp updatedAt = Timestamp.valueOf(cursor.updatedAt());
+        stmt.setTimestamp(index++, updatedAt);
+        stmt.setTimestamp(index++, updatedAt);
+        stmt.setInt(index++, cursor.id());
+        return index;
+    }
+
+    private ProfileHistory readProfileHistory(ResultSet rs) throws SQLException {
+        ProfileHistory profile = new ProfileHistory();
+        profile.historyId(rs.getInt("history_id"));
+        profile.profileId(rs.getInt("profile_id"));
+        profile.overhead(rs.getBoolean("overhead"));
+        profile.annualSalary(rs.getBigDecimal("annual_salary"));
+        profile.fixedAnnualAmount(rs.getBigDecimal("fixed_annual_amount"));
+        profile.overheadMultiplier(rs.getBigDecimal("overhead_multiplier"));
+        profile.effectiveWorkHours(rs.getBigDecimal("effective_work_hours"));
+        profile.hoursPerDay(rs.getBigDecimal("hours_per_day"));
+        profile.updatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return profile;
+    }
+
+    private TeamHistoryEntry readTeamHistoryEntry(ResultSet rs) throws SQLException {
+        TeamHistory teamHistory = new TeamHistory();
+        teamHistory.teamId(rs.getInt("team_id"));
+        teamHistory.reason(TeamHistory.Reason.valueOf(rs.getString("reason")));
+        teamHistory.hourlyRate(rs.getBigDecimal("hourly_rate"));
+        teamHistory.dayRate(rs.getBigDecimal("day_rate"));
+        teamHistory.annualCost(rs.getBigDecimal("annual_cost"));
+        teamHistory.totalHours(rs.getBigDecimal("total_hours"));
+        teamHistory.updatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return new TeamHistoryEntry(rs.getInt("id"), rs.getBoolean("full_snapshot"), rs.getBoolean("legacy"), teamHistory);
+    }
+
+    /**
+     * Reads the member rows from the latest full snapshot or legacy entry at or before the oldest entry up to the
+     * newest entry, and fills in the members of every entry.
+     */
+    private void readTeamMembers(Connection conn, int teamId, List<TeamHistoryEntry> entries) throws SQLException {
+        if (entries.isEmpty()) return;
+
+        int oldestId = entries.stream().mapToInt(TeamHistoryEntry::id).min().getAsInt();
+        int newestId = entries.stream().mapToInt(TeamHistoryEntry::id).max().getAsInt();
+
+        String query = """
+                       SELECT tph.team_history_id, th.full_snapshot, th.legacy, tph.profile_id, tph.profile_history_id, tph.removed,
+                              tph.utilization_rate, tph.utilization_hours, tph.profile_hourly_rate, tph.profile_day_rate,
+                              tph.profile_annual_cost, tph.profile_total_hours, tph.updated_at, pd.name AS profile_name
+                       FROM dbo.Teams_profiles_history tph
+                       JOIN dbo.Teams_history th ON th.id = tph.team_history_id
+                       LEFT JOIN dbo.Profiles_data pd ON pd.id = tph.profile_id
+                       WHERE tph.team_id = ? AND tph.team_history_id <= ?
+                         AND tph.team_history_id >= (
+                             SELECT ISNULL(MAX(id), 0) FROM (
+                                 SELECT MAX(id) AS id FROM dbo.Teams_history
+                                 WHERE team_id = ? AND full_snapshot = 1 AND id <= ?
+                                 UNION ALL
+                                 SELECT MAX(id) FROM dbo.Teams_history
+                                 WHERE team_id = ? AND legacy = 1 AND id <= ?
+                             ) AS starts
+                         )
+                       ORDER BY tph.team_history_id, tph.id;
+                       """;
+
+        List<MemberChange> changes = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, teamId);
+            stmt.setInt(2, newestId);
+            stmt.setInt(3, teamId);
+            stmt.setInt(4, oldestId);
+            stmt.setInt(5, teamId);
+            stmt.setInt(6, oldestId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    changes.add(readMemberChange(rs));
+                }
             }
         }
+
+        rebuildMembers(entries, changes);
+    }
+
+    private MemberChange readMemberChange(ResultSet rs) throws SQLException {
+        TeamProfileHistory teamProfileHistory = new TeamProfileHistory();
+        teamProfileHistory.profileId(rs.getInt("profile_id"));
+        teamProfileHistory.profileHistoryId(rs.getObject("profile_history_id", Integer.class));
+        teamProfileHistory.profileName(rs.getString("profile_name"));
+        teamProfileHistory.hourlyRate(rs.getBigDecimal("profile_hourly_rate"));
+        teamProfileHistory.dayRate(rs.getBigDecimal("profile_day_rate"));
+        teamProfileHistory.annualCost(rs.getBigDecimal("profile_annual_cost"));
+        teamProfileHistory.totalHours(rs.getBigDecimal("profile_total_hours"));
+        teamProfileHistory.utilizationRate(rs.getBigDecimal("utilization_rate"));
+        teamProfileHistory.utilizationHours(rs.getBigDecimal("utilization_hours"));
+        teamProfileHistory.updatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+
+        return new MemberChange(rs.getInt("team_history_id"), rs.getBoolean("full_snapshot"), rs.getBoolean("legacy"), rs.getBoolean("removed"), teamProfileHistory);
+    }
+
+    /**
+     * Replays the member rows in the order they were written and sets the members of each entry to the members
+     * of the team right after it. A full snapshot replaces all members, other entries only add, update or remove
+     * the members in their rows. Legacy entries, written before snapshots, hold a mix of full and partial member
+     * lists that cannot be told apart, so each shows just its own rows, as it did when it was written.
+     *
+     * @param entries the entries to fill in, in any order.
+     * @param changes the member rows ordered by entry id, starting at a full snapshot or legacy entry at or before the
+     *                oldest entry.
+     */
+    static void rebuildMembers(List<TeamHistoryEntry> entries, List<MemberChange> changes) {
+        List<TeamHistoryEntry> ordered = entries.stream().sorted(Comparator.comparingInt(TeamHistoryEntry::id)).toList();
+        Map<Integer, TeamProfileHistory> members = new LinkedHashMap<>();
+
+        int next = 0;
+        for (TeamHistoryEntry entry : ordered) {
+            while (next < changes.size() && changes.get(next).teamHistoryId() < entry.id()) {
+                MemberChange change = changes.get(next);
+                next = applyEntry(changes, next, change.teamHistoryId(), change.fullSnapshot() || change.legacy(), members);
+            }
+
+            next = applyEntry(changes, next, entry.id(), entry.fullSnapshot() || entry.legacy(), members);
+            entry.history().teamProfileHistories(new ArrayList<>(members.values()));
+        }
+    }
+
+    private static int applyEntry(List<MemberChange> changes, int next, int teamHistoryId, boolean replacesMembers, Map<Integer, TeamProfileHistory> members) {
+        if (replacesMembers) members.clear();
+
+        while (next < changes.size() && changes.get(next).teamHistoryId() == teamHistoryId) {
+            MemberChange change = changes.get(next++);
+            if (change.removed()) members.remove(change.member().profileId());
+            else members.put(change.member().profileId(), change.member());
+        }
+
+        return next;
+    }
+
+    /**
+     * A team history entry read from Teams_history, before its members are filled in.
+     */
+    record TeamHistoryEntry(int id, boolean fullSnapshot, boolean legacy, TeamHistory history) {
+    }
+
+    /**
+     * A member row of a team history entry.
+     */
+    record MemberChange(int teamHistoryId, boolean fullSnapshot, boolean legacy, boolean removed, TeamProfileHistory member) {
     }
 }
@@ -1,19 +1,33 @@
 package ecostruxure.rate.calculator.dal.db;
 
 import ecostruxure.rate.calculator.be.*;
+import ecostruxure.rate.calculator.be.data.ProfileColumns;
+import ecostruxure.rate.calculator.be.data.ProfileOverview;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
 import ecostruxure.rate.calculator.dal.transaction.TransactionContext;
 import ecostruxure.rate.calculator.dal.dao.IProfileDAO;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ProfileDAO implements IProfileDAO {
+    // Archiving a profile removes it from the totals of its teams, so their Team_metrics rows are refreshed with it
+    private static final String REFRESH_PROFILE_TEAM_METRICS = TeamDAO.refreshTeamMetricsQuery("t.id IN (SELECT teamId FROM Teams_profiles WHERE profileId = ?)");
+
     private final DBConnector dbConnector;
 
     public ProfileDAO() throws Exception {
-        this.dbConnector = new DBConnector();
+        this(new DBConnector());
+    }
+
+    public ProfileDAO(DBConnector dbConnector) {
+        this.dbConnector = dbConnector;
     }
 
     private Profile profileResultSet(ResultSet rs) throws SQLException {
@@ -86,7 +100,7 @@ public class ProfileDAO implements IProfileDAO {
 
             return profiles;
         } catch (Exception e) {
-            throw new Exception("Could not get all Profiles from Database.\n" + e.getMessage());
+            throw new Exception("Could not get all Profiles from Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -101,18 +115,16 @@ public class ProfileDAO implements IProfileDAO {
                         FROM dbo.Profiles p
                         INNER JOIN dbo.Profiles_data pd ON p.id = pd.id
                         LEFT JOIN (
-                            SELECT profileID,
-                                   SUM(utilization_rate) AS utilization_rate_total,
-                                   SUM(utilization_hours) AS utilization_hours_total
-                            FROM dbo.Teams_profiles
-                            WHERE archived = 0
-                            GROUP BY profileID
-                        ) tp ON p.id = tp.profileID
+                            SELECT profileId,
+                                   allocated_rate AS utilization_rate_total,
+                                   allocated_hours AS utilization_hours_total
+                            FROM dbo.Profile_allocations WITH (NOEXPAND)
+                        ) tp ON p.id = tp.profileId
                         WHERE pd.archived = 0
                         ORDER BY p.id DESC;                     
                         """;
 
-        try (Connection conn = dbConnector.connection();
+        try (Connection conn = dbConnector.readConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
@@ -125,7 +137,138 @@ public class ProfileDAO implements IProfileDAO {
 
             return profiles;
         } catch (Exception e) {
-            throw new Exception("Could not get all Profiles from Database.\n" + e.getMessage());
+            throw new Exception("Could not get all Profiles from Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Profile> allWithFreeCapacity(BigDecimal minFreeRate) throws Exception {
+        List<Profile> profiles = new ArrayList<>();
+
+        String query = """
+                        SELECT p.*, pd.*,
+                           COALESCE(pa.allocated_rate, 0) AS utilization_rate_total,
+                           COALESCE(pa.allocated_hours, 0) AS utilization_hours_total
+                        FROM dbo.Profiles p
+                        INNER JOIN dbo.Profiles_data pd ON p.id = pd.id
+                        LEFT JOIN dbo.Profile_allocations pa WITH (NOEXPAND) ON p.id = pa.profileId
+                        WHERE pd.archived = 0
+                          AND (pa.profileId IS NULL OR pa.allocated_rate <= 100 - ?)
+                        ORDER BY p.id DESC;
+                        """;
+
+        try (Connection conn = dbConnector.readConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setBigDecimal(1, minFreeRate);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Profile profile = profileResultSet(rs);
+                    profile.utilizationRate(rs.getBigDecimal("utilization_rate_total"));
+                    profile.utilizationHours(rs.getBigDecimal("utilization_hours_total"));
+                    profiles.add(profile);
+                }
+            }
+
+            return profiles;
+        } catch (Exception e) {
+            throw new Exception("Could not get Profiles with free capacity from Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ProfileColumns activeProfileColumns() throws Exception {
+        ProfileColumns columns = new ProfileColumns();
+
+        String query = """
+                        SELECT p.id, pd.geography, pd.currency, pd.overhead,
+                               p.annual_salary, p.fixed_annual_amount, p.overhead_multiplier, p.effective_work_hours, p.hours_per_day,
+                               tp.teamId, tp.utilization_rate, tp.utilization_hours
+                        FROM dbo.Profiles p
+                        INNER JOIN dbo.Profiles_data pd ON p.id = pd.id
+                        LEFT JOIN dbo.Teams_profiles tp ON tp.profileId = p.id AND tp.archived = 0
+                        WHERE pd.archived = 0
+                        ORDER BY p.id;
+                        """;
+
+        try (Connection conn = dbConnector.readConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            int lastId = -1;
+            boolean skipped = false;
+            while (rs.next()) {
+                int id = rs.getInt("id");
+                if (id != lastId) {
+                    String currency = rs.getString("currency");
+                    BigDecimal annualSalary = rs.getBigDecimal("annual_salary");
+                    BigDecimal fixedAnnualAmount = rs.getBigDecimal("fixed_annual_amount");
+                    BigDecimal overheadMultiplier = rs.getBigDecimal("overhead_multiplier");
+                    BigDecimal effectiveWorkHours = rs.getBigDecimal("effective_work_hours");
+                    BigDecimal hoursPerDay = rs.getBigDecimal("hours_per_day");
+
+                    // A profile missing a value its rates are calculated from is counted instead of failing the load
+                    skipped = currency == null || annualSalary == null || fixedAnnualAmount == null
+                              || overheadMultiplier == null || effectiveWorkHours == null || hoursPerDay == null;
+                    if (skipped) {
+                        columns.skipProfile();
+                    } else {
+                        columns.addProfile(id, rs.getInt("geography"), currency, rs.getBoolean("overhead"), annualSalary,
+                                           fixedAnnualAmount, overheadMultiplier, effectiveWorkHours, hoursPerDay);
+                    }
+                    lastId = id;
+                }
+                if (skipped) continue;
+
+                int teamId = rs.getInt("teamId");
+                if (!rs.wasNull()) {
+                    columns.addAllocation(teamId, rs.getBigDecimal("utilization_rate"), rs.getBigDecimal("utilization_hours"));
+                }
+            }
+
+            return columns;
+        } catch (Exception e) {
+            throw new Exception("Could not get Profile columns from Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<ProfileOverview> allOverviews() throws Exception {
+        List<ProfileOverview> overviews = new ArrayList<>();
+
+        String query = """
+                        SELECT p.*, pd.*,
+                           COALESCE(tp.utilization_rate_total, 0) AS utilization_rate_total,
+                           COALESCE(tp.utilization_hours_total, 0) AS utilization_hours_total,
+                           COALESCE(tp.team_count, 0) AS team_count,
+                           g.name AS geography_name
+                        FROM dbo.Profiles p
+                        INNER JOIN dbo.Profiles_data pd ON p.id = pd.id
+                        LEFT JOIN (
+                            SELECT profileId,
+                                   allocated_rate AS utilization_rate_total,
+                                   allocated_hours AS utilization_hours_total,
+                                   assignments AS team_count
+                            FROM dbo.Profile_allocations WITH (NOEXPAND)
+                        ) tp ON p.id = tp.profileId
+                        LEFT JOIN dbo.Geography g ON pd.geography = g.id
+                        ORDER BY p.id DESC;
+                        """;
+
+        try (Connection conn = dbConnector.readConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                Profile profile = profileResultSet(rs);
+                profile.utilizationRate(rs.getBigDecimal("utilization_rate_total"));
+                profile.utilizationHours(rs.getBigDecimal("utilization_hours_total"));
+                overviews.add(new ProfileOverview(profile, rs.getInt("team_count"), rs.getString("geography_name")));
+            }
+
+            return overviews;
+        } catch (Exception e) {
+            throw new Exception("Could not get all Profiles from Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -168,7 +311,7 @@ public class ProfileDAO implements IProfileDAO {
 
             return profiles;
         } catch (Exception e) {
-            throw new Exception("Could not get all Profiles from Database.\n" + e.getMessage());
+            throw new Exception("Could not get all Profiles from Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -192,7 +335,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Could not get Profile from Database. Profile ID: " + id + "\n" + e.getMessage());
+            throw new Exception("Could not get Profile from Database. Profile ID: " + id + "\n" + e.getMessage(), e);
         }
 
         if (profile == null) throw new Exception("Profile with ID " + id + " not found.");
@@ -203,7 +346,10 @@ public class ProfileDAO implements IProfileDAO {
     @Override
     public Profile get(TransactionContext context, int id) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        return sqlContext.cached("profile", id, () -> get(sqlContext.connection(), id));
+    }
 
+    private Profile get(Connection connection, int id) throws Exception {
         Profile profile = null;
 
         String query = """
@@ -212,7 +358,7 @@ public class ProfileDAO implements IProfileDAO {
                        WHERE dbo.Profiles.id = ?
                        """;
 
-        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
+        try (PreparedStatement stmt = connection.prepareStatement(query)) {
 
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -221,7 +367,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Could not get Profile from Database. Profile ID: " + id + "\n" + e.getMessage());
+            throw new Exception("Could not get Profile from Database. Profile ID: " + id + "\n" + e.getMessage(), e);
         }
 
         if (profile == null) throw new Exception("Profile with ID " + id + " not found.");
@@ -296,7 +442,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Getting profileByCountry failed\n." + e.getMessage());
+            throw new Exception("Getting profileByCountry failed\n." + e.getMessage(), e);
         }
 
         return profilesBycountry;
@@ -327,7 +473,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Getting profileByTeam failed\n." + e.getMessage());
+            throw new Exception("Getting profileByTeam failed\n." + e.getMessage(), e);
         }
 
         return profilesByTeam;
@@ -357,7 +503,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Getting profileByGeography failed\n." + e.getMessage());
+            throw new Exception("Getting profileByGeography failed\n." + e.getMessage(), e);
         }
 
         return profilesByGeography;
@@ -367,9 +513,9 @@ public class ProfileDAO implements IProfileDAO {
     public BigDecimal getTotalRateUtilization(int profileId) throws Exception {
         BigDecimal totalUtilization = BigDecimal.ZERO;
         String query = """
-                        SELECT SUM(utilization_rate) AS total_utilization
-                        FROM Teams_profiles
-                        WHERE profileId = ? AND Teams_profiles.archived = 0;
+                        SELECT allocated_rate AS total_utilization
+                        FROM dbo.Profile_allocations WITH (NOEXPAND)
+                        WHERE profileId = ?;
                         """;
 
         try (Connection conn = dbConnector.connection();
@@ -384,7 +530,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Getting total utilization rate for profile failed\n." + e.getMessage());
+            throw new Exception("Getting total utilization rate for profile failed\n." + e.getMessage(), e);
         }
 
         return totalUtilization;
@@ -394,9 +540,9 @@ public class ProfileDAO implements IProfileDAO {
     public BigDecimal getTotalHourUtilization(int profileId) throws Exception {
         BigDecimal totalUtilization = BigDecimal.ZERO;
         String query = """
-                        SELECT SUM(utilization_hours) AS total_utilization
-                        FROM Teams_profiles
-                        WHERE profileId = ? AND Teams_profiles.archived = 0;
+                        SELECT allocated_hours AS total_utilization
+                        FROM dbo.Profile_allocations WITH (NOEXPAND)
+                        WHERE profileId = ?;
                         """;
 
         try (Connection conn = dbConnector.connection();
@@ -411,7 +557,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Getting total utilization hour for profile failed\n." + e.getMessage());
+            throw new Exception("Getting total utilization hour for profile failed\n." + e.getMessage(), e);
         }
 
         return totalUtilization;
@@ -439,7 +585,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Getting profile utilization for team failed\n." + e.getMessage());
+            throw new Exception("Getting profile utilization for team failed\n." + e.getMessage(), e);
         }
 
         return utilization;
@@ -467,7 +613,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Getting profile utilization for team failed\n." + e.getMessage());
+            throw new Exception("Getting profile utilization for team failed\n." + e.getMessage(), e);
         }
 
         return utilization;
@@ -475,60 +621,107 @@ public class ProfileDAO implements IProfileDAO {
 
     @Override
     public BigDecimal getProfileRateUtilizationForTeam(TransactionContext context, int profileId, int teamId) throws Exception {
-        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
-
-        BigDecimal utilization = BigDecimal.ZERO;
-        String query = """
-                        SELECT utilization_rate AS total_utilization
-                        FROM Teams_profiles
-                        WHERE profileId = ? AND teamId = ?;
-                        """;
+        // Answered from the team's utilizations, which are read once per transaction
+        return getTeamUtilizations(context, teamId).getOrDefault(profileId, TeamUtilization.NONE).utilizationRate();
+    }
 
-        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
-            stmt.setInt(1, profileId);
-            stmt.setInt(2, teamId);
+    @Override
+    public BigDecimal getProfileHourUtilizationForTeam(TransactionContext context, int profileId, int teamId) throws Exception {
+        return getTeamUtilizations(context, teamId).getOrDefault(profileId, TeamUtilization.NONE).utilizationHours();
+    }
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    BigDecimal column = rs.getBigDecimal("total_utilization");
-                    if (column != null)
-                        utilization = rs.getBigDecimal("total_utilization");
-                }
-            }
+    @Override
+    public Map<Integer, TeamUtilization> getTeamUtilizations(int teamId) throws Exception {
+        try (Connection conn = dbConnector.connection()) {
+            return getTeamUtilizations(conn, teamId);
         } catch (Exception e) {
-            throw new Exception("Getting profile utilization for team failed\n." + e.getMessage());
+            throw new Exception("Getting profile utilizations for team failed\n." + e.getMessage(), e);
         }
+    }
 
-        return utilization;
+    @Override
+    public Map<Integer, TeamUtilization> getTeamUtilizations(TransactionContext context, int teamId) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+
+        try {
+            return sqlContext.cached("teamUtilizations", teamId, () -> Collections.unmodifiableMap(getTeamUtilizations(sqlContext.connection(), teamId)));
+        } catch (Exception e) {
+            throw new Exception("Getting profile utilizations for team failed\n." + e.getMessage(), e);
+        }
     }
 
     @Override
-    public BigDecimal getProfileHourUtilizationForTeam(TransactionContext context, int profileId, int teamId) throws Exception {
+    public Map<Integer, TeamUtilization> lockTeamUtilizations(TransactionContext context, int teamId) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
 
-        BigDecimal utilization = BigDecimal.ZERO;
+        try {
+            return getTeamUtilizations(sqlContext.connection(), teamId, true);
+        } catch (Exception e) {
+            throw new Exception("Getting profile utilizations for team failed\n." + e.getMessage(), e);
+        }
+    }
+
+    private Map<Integer, TeamUtilization> getTeamUtilizations(Connection conn, int teamId) throws SQLException {
+        return getTeamUtilizations(conn, teamId, false);
+    }
+
+    private Map<Integer, TeamUtilization> getTeamUtilizations(Connection conn, int teamId, boolean lock) throws SQLException {
+        Map<Integer, TeamUtilization> utilizations = new HashMap<>();
+        // HOLDLOCK keeps the range of the team's rows locked as well, which blocks new members until the transaction ends
         String query = """
-                        SELECT utilization_hours AS total_utilization
-                        FROM Teams_profiles
-                        WHERE profileId = ? AND teamId = ?;
-                        """;
+                        SELECT profileId, utilization_rate, utilization_hours
+                        FROM Teams_profiles %s
+                        WHERE teamId = ?;
+                        """.formatted(lock ? "WITH (UPDLOCK, HOLDLOCK)" : "");
 
-        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
-            stmt.setInt(1, profileId);
-            stmt.setInt(2, teamId);
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, teamId);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    BigDecimal column = rs.getBigDecimal("total_utilization");
-                    if (column != null)
-                        utilization = rs.getBigDecimal("total_utilization");
+                while (rs.next()) {
+                    utilizations.put(rs.getInt("profileId"), utilization(rs, "utilization_rate", "utilization_hours"));
                 }
             }
-        } catch (Exception e) {
-            throw new Exception("Getting profile utilization for team failed\n." + e.getMessage());
         }
 
-        return utilization;
+        return utilizations;
+    }
+
+    @Override
+    public Map<Integer, TeamUtilization> getTotalUtilizations(TransactionContext context, Collection<Integer> profileIds) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        Map<Integer, TeamUtilization> totals = new HashMap<>();
+
+        for (List<Integer> chunk : HistoryDAO.chunks(profileIds)) {
+            String query = """
+                            SELECT profileId, allocated_rate, allocated_hours
+                            FROM dbo.Profile_allocations WITH (NOEXPAND)
+                            WHERE profileId IN (%s);
+                            """.formatted(HistoryDAO.placeholders(chunk.size()));
+
+            try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
+                HistoryDAO.setInts(stmt, chunk);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        totals.put(rs.getInt("profileId"), utilization(rs, "allocated_rate", "allocated_hours"));
+                    }
+                }
+            } catch (Exception e) {
+                throw new Exception("Getting total utilization for profiles failed\n." + e.getMessage(), e);
+            }
+        }
+
+        return totals;
+    }
+
+    private static TeamUtilization utilization(ResultSet rs, String rateColumn, String hoursColumn) throws SQLException {
+        BigDecimal utilizationRate = rs.getBigDecimal(rateColumn);
+        BigDecimal utilizationHours = rs.getBigDecimal(hoursColumn);
+
+        return new TeamUtilization(
+                utilizationRate != null ? utilizationRate : BigDecimal.ZERO,
+                utilizationHours != null ? utilizationHours : BigDecimal.ZERO);
     }
 
     @Override
@@ -539,7 +732,7 @@ public class ProfileDAO implements IProfileDAO {
                        SELECT *
                        FROM Teams_profiles
                        INNER JOIN Teams ON Teams_profiles.teamId = Teams.id
-                       WHERE Teams_profiles.profileId = ? AND Teams.archived = 0;
+                       WHERE Teams_profiles.profileId = ? AND Teams_profiles.archived = 0 AND Teams.archived = 0;
                        """;
 
         try (Connection conn = dbConnector.connection();
@@ -559,7 +752,7 @@ public class ProfileDAO implements IProfileDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Getting teams for profile failed\n." + e.getMessage());
+            throw new Exception("Getting teams for profile failed\n." + e.getMessage(), e);
         }
 
         return teams;
@@ -614,6 +807,7 @@ public class ProfileDAO implements IProfileDAO {
     @Override
     public boolean update(TransactionContext context, Profile profile) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
 
         String updateProfileSQL = """
                                   UPDATE dbo.Profiles
@@ -646,7 +840,28 @@ public class ProfileDAO implements IProfileDAO {
             updateProfileDataStmt.executeUpdate();
             return true;
         } catch (Exception e) {
-            throw new Exception("Could not update Profile in Database.\n" + e.getMessage());
+            throw new Exception("Could not update Profile in Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean updateAnnualSalary(TransactionContext context, int profileId, BigDecimal expectedAnnualSalary, BigDecimal annualSalary) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
+
+        String query = """
+                       UPDATE dbo.Profiles
+                       SET annual_salary = ?
+                       WHERE id = ? AND annual_salary = ?;
+                       """;
+
+        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
+            stmt.setBigDecimal(1, annualSalary);
+            stmt.setInt(2, profileId);
+            stmt.setBigDecimal(3, expectedAnnualSalary);
+            return stmt.executeUpdate() > 0;
+        } catch (Exception e) {
+            throw new Exception("Could not update Profile in Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -690,14 +905,21 @@ public class ProfileDAO implements IProfileDAO {
                        """;
 
         try (Connection conn = dbConnector.connection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(query);
+             PreparedStatement refreshStmt = conn.prepareStatement(REFRESH_PROFILE_TEAM_METRICS)) {
+            conn.setAutoCommit(false);
+
             stmt.setBoolean(1, shouldArchive);
             stmt.setInt(2, profile.id());
-
             stmt.executeUpdate();
+
+            refreshStmt.setInt(1, profile.id());
+            refreshStmt.executeUpdate();
+
+            conn.commit();
             return true;
         } catch (Exception e) {
-            throw new Exception("Could not archive Profile in Database.\n" + e.getMessage());
+            throw new Exception("Could not archive Profile in Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -708,20 +930,25 @@ public class ProfileDAO implements IProfileDAO {
                        """;
 
         try (Connection conn = dbConnector.connection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(query);
+             PreparedStatement refreshStmt = conn.prepareStatement(REFRESH_PROFILE_TEAM_METRICS)) {
             conn.setAutoCommit(false);
 
             for (Profile profile : profiles) {
                 stmt.setBoolean(1, true);
                 stmt.setInt(2, profile.id());
                 stmt.addBatch();
+
+                refreshStmt.setInt(1, profile.id());
+                refreshStmt.addBatch();
             }
 
             stmt.executeBatch();
+            refreshStmt.executeBatch();
             conn.commit();
             return true;
         } catch (Exception e) {
-            throw new Exception("Could not archive Profiles in Database.\n" + e.getMessage());
+            throw new Exception("Could not archive Profiles in Database.\n" + e.getMessage(), e);
         }
     }
 }
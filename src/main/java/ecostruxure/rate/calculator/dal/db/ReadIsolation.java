@@ -0,0 +1,45 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Isolation levels read-only connections can run at.<br>
+ * SNAPSHOT reads the last committed version of each row without taking shared locks, so long reads neither wait on
+ * nor block writers. It needs ALLOW_SNAPSHOT_ISOLATION enabled on the database, see {@link DBConnector#readIsolation()}
+ * for the fallback when it is not.
+ */
+public enum ReadIsolation {
+    SNAPSHOT(SQLServerConnection.TRANSACTION_SNAPSHOT),
+    READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+    READ_UNCOMMITTED(Connection.TRANSACTION_READ_UNCOMMITTED);
+
+    private final int level;
+
+    ReadIsolation(int level) {
+        this.level = level;
+    }
+
+    /**
+     * The JDBC isolation level to set on the connection.
+     */
+    int level() {
+        return level;
+    }
+
+    /**
+     * Whether the database the connection points at allows snapshot isolation.
+     */
+    static boolean snapshotAllowed(Connection connection) throws SQLException {
+        String query = "SELECT snapshot_isolation_state FROM sys.databases WHERE name = DB_NAME()";
+
+        try (PreparedStatement stmt = connection.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() && rs.getInt("snapshot_isolation_state") == 1;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * When and how long to wait before running a failed transaction again.<br>
+ * Only failures SQL Server reports as safe to rerun are retried: being chosen as deadlock victim (1205) and
+ * exceeding the lock timeout (1222). SQL Server rolls back the whole transaction of a deadlock victim, but on a lock
+ * timeout it only aborts the statement and leaves the transaction open. Running again from the start is safe because
+ * {@link DbTransactionManager} rolls back the transaction itself on any failure before retrying.
+ *
+ * @param maxAttempts     the number of times a transaction is run before giving up, 1 disables retrying.
+ * @param baseDelayMillis the upper bound of the wait before the first retry, doubled on every further retry.
+ * @param maxDelayMillis  the largest upper bound the wait can grow to.
+ */
+public record RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+    public static final int DEADLOCK_VICTIM = 1205;
+    public static final int LOCK_TIMEOUT = 1222;
+
+    public static final RetryPolicy DEFAULT = new RetryPolicy(4, 50, 2_000);
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0);
+
+    public RetryPolicy {
+        if (maxAttempts < 1) throw new IllegalArgumentException("Maximum attempts must be greater than 0");
+        if (baseDelayMillis < 0) throw new IllegalArgumentException("Base delay cannot be negative");
+        if (maxDelayMillis < baseDelayMillis) throw new IllegalArgumentException("Maximum delay cannot be less than base delay");
+    }
+
+    /**
+     * Checks the failure and its causes for a SQL Server error that can be resolved by running the transaction again.
+     */
+    public boolean isRetryable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                int errorCode = sqlException.getErrorCode();
+                if (errorCode == DEADLOCK_VICTIM || errorCode == LOCK_TIMEOUT) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The wait before the given retry, picked at random up to an exponentially growing bound ("full jitter"),
+     * so transactions that deadlocked each other do not collide again on the next attempt.
+     *
+     * @param retry the retry about to be made, starting at 1.
+     */
+    public long delayMillis(int retry) {
+        if (baseDelayMillis == 0) return 0;
+
+        long bound = baseDelayMillis << Math.min(retry - 1, 20);
+        if (bound <= 0 || bound > maxDelayMillis) bound = maxDelayMillis;
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+}
@@ -3,10 +3,25 @@ package ecostruxure.rate.calculator.dal.db;
 import ecostruxure.rate.calculator.dal.transaction.TransactionContext;
 
 import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
 
 public class SqlTransactionContext implements TransactionContext {
     private final Connection connection;
 
+    // First level cache of the reads done in this transaction, cleared on every write, commit and rollback
+    private final Map<CacheKey, Object> cache = new HashMap<>();
+    private int cacheHits;
+    private int cacheMisses;
+
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws Exception;
+    }
+
+    private record CacheKey(String region, Object key) {
+    }
+
     public SqlTransactionContext(Connection connection) {
         this.connection = connection;
     }
@@ -15,18 +30,58 @@ public class SqlTransactionContext implements TransactionContext {
         return connection;
     }
 
+    /**
+     * Returns the value read earlier in this transaction for the region and key, or loads and remembers it.<br>
+     * Loaded values are shared between callers in the transaction, so they must not be modified.
+     *
+     * @param region the kind of read, for example the DAO method name.
+     * @param key    the arguments of the read.
+     * @param loader reads the value from the database on a miss.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V cached(String region, Object key, Loader<V> loader) throws Exception {
+        CacheKey cacheKey = new CacheKey(region, key);
+        if (cache.containsKey(cacheKey)) {
+            cacheHits++;
+            return (V) cache.get(cacheKey);
+        }
+
+        cacheMisses++;
+        V value = loader.load();
+        cache.put(cacheKey, value);
+        return value;
+    }
+
+    /**
+     * Forgets every cached read. Called by DAOs after writing, so later reads in the transaction see the change.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    public int cacheHits() {
+        return cacheHits;
+    }
+
+    public int cacheMisses() {
+        return cacheMisses;
+    }
+
     @Override
     public void begin() throws Exception {
+        clearCache();
         connection.setAutoCommit(false);
     }
 
     @Override
     public void commit() throws Exception {
+        clearCache();
         connection.commit();
     }
 
     @Override
     public void rollback() throws Exception {
+        clearCache();
         connection.rollback();
     }
 }
@@ -1,7 +1,12 @@
 package ecostruxure.rate.calculator.dal.db;
 
+import com.microsoft.sqlserver.jdbc.SQLServerDataTable;
+import com.microsoft.sqlserver.jdbc.SQLServerException;
+import com.microsoft.sqlserver.jdbc.SQLServerPreparedStatement;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
 import ecostruxure.rate.calculator.dal.transaction.TransactionContext;
 import ecostruxure.rate.calculator.dal.dao.ITeamDAO;
 
@@ -9,13 +14,23 @@ import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 public class TeamDAO implements ITeamDAO {
     private final DBConnector dbConnector;
 
     public TeamDAO() throws Exception {
-        this.dbConnector = new DBConnector();
+        this(new DBConnector());
+    }
+
+    public TeamDAO(DBConnector dbConnector) {
+        this.dbConnector = dbConnector;
     }
 
     @Override
@@ -26,7 +41,7 @@ public class TeamDAO implements ITeamDAO {
                        SELECT * FROM Teams ORDER BY id DESC
                        """;
 
-        try (Connection conn = dbConnector.connection();
+        try (Connection conn = dbConnector.readConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
@@ -42,10 +57,177 @@ public class TeamDAO implements ITeamDAO {
 
             return teams;
         } catch (Exception e) {
-            throw new Exception("Could not get all Teams from Database.\n" + e.getMessage());
+            throw new Exception("Could not get all Teams from Database.\n" + e.getMessage(), e);
         }
     }
 
+    /**
+     * Recalculates the raw utilized hourly rate, day rate, annual cost and total hours of the teams matching the filter
+     * and stores them in Team_metrics in one statement.<br>
+     * Rounding mirrors RateUtils: per profile the hourly rate and utilization percentage are rounded HALF_UP to two
+     * decimals, everything else is exact, so the sums equal what RateService calculates profile by profile.
+     *
+     * HOLDLOCK keeps the key range of a missing row locked until the insert, so two refreshes of a new team cannot both
+     * take the insert branch.
+     *
+     * @param teamFilter condition on Teams t selecting the teams to refresh.
+     */
+    static String refreshTeamMetricsQuery(String teamFilter) {
+        return """
+               MERGE dbo.Team_metrics WITH (HOLDLOCK) AS target
+               USING (
+                   SELECT t.id AS team_id,
+                          ISNULL(SUM(m.hourly_rate * m.rate_factor), 0) AS hourly_rate,
+                          ISNULL(SUM(m.hourly_rate * m.hours_per_day * m.rate_factor), 0) AS day_rate,
+                          ISNULL(SUM(m.annual_cost * m.rate_factor), 0) AS annual_cost,
+                          ISNULL(SUM(m.effective_work_hours * m.hour_factor), 0) AS total_hours
+                   FROM Teams t
+                   LEFT JOIN (
+                       SELECT tp.teamId,
+                              p.annual_salary * p.overhead_multiplier + p.fixed_annual_amount AS annual_cost,
+                              CAST(ROUND((p.annual_salary * p.overhead_multiplier + p.fixed_annual_amount) / p.effective_work_hours, 2) AS DECIMAL(38, 2)) AS hourly_rate,
+                              p.hours_per_day,
+                              p.effective_work_hours,
+                              CAST(ROUND(ISNULL(tp.utilization_rate, 0) / 100.00, 2) AS DECIMAL(5, 2)) AS rate_factor,
+                              CAST(ROUND(ISNULL(tp.utilization_hours, 0) / 100.00, 2) AS DECIMAL(5, 2)) AS hour_factor
+                       FROM Teams_profiles tp
+                       INNER JOIN Profiles p ON p.id = tp.profileId
+                       INNER JOIN Profiles_data pd ON pd.id = p.id AND pd.archived = 0
+                   ) m ON m.teamId = t.id
+                   WHERE %s
+                   GROUP BY t.id
+               ) AS source ON target.team_id = source.team_id
+               WHEN MATCHED THEN
+                   UPDATE SET hourly_rate = source.hourly_rate, day_rate = source.day_rate, annual_cost = source.annual_cost,
+                              total_hours = source.total_hours, updated_at = GETDATE()
+               WHEN NOT MATCHED THEN
+                   INSERT (team_id, hourly_rate, day_rate, annual_cost, total_hours)
+                   VALUES (source.team_id, source.hourly_rate, source.day_rate, source.annual_cost, source.total_hours);
+               """.formatted(teamFilter);
+    }
+
+    /**
+     * Reads the materialized metrics of every team from Team_metrics.
+     *
+     * @return team id mapped to its metrics, teams without active members map to zero. Teams missing from the
+     * snapshot are left out, so callers can fall back to calculating them.
+     */
+    @Override
+    public Map<Integer, TeamMetrics> allTeamMetrics() throws Exception {
+        Map<Integer, TeamMetrics> metrics = new HashMap<>();
+
+        String query = """
+                       SELECT team_id, hourly_rate, day_rate, annual_cost, total_hours FROM dbo.Team_metrics
+                       """;
+
+        try (Connection conn = dbConnector.readConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                metrics.put(rs.getInt("team_id"), teamMetricsResultSet(rs));
+            }
+
+            return metrics;
+        } catch (Exception e) {
+            throw new Exception("Could not get Team metrics from Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public TeamMetrics getTeamMetrics(int teamId) throws Exception {
+        String query = """
+                       SELECT hourly_rate, day_rate, annual_cost, total_hours FROM dbo.Team_metrics WHERE team_id = ?
+                       """;
+
+        try (Connection conn = dbConnector.connection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, teamId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? teamMetricsResultSet(rs) : null;
+            }
+        } catch (Exception e) {
+            throw new Exception("Could not get Team metrics from Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void refreshTeamMetrics(TransactionContext context, int teamId) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+
+        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(refreshTeamMetricsQuery("t.id = ?"))) {
+            stmt.setInt(1, teamId);
+            stmt.executeUpdate();
+        } catch (Exception e) {
+            throw new Exception("Could not update Team metrics in Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void lockTeamMetrics(TransactionContext context, int teamId) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+
+        // HOLDLOCK locks the key range when the team has no row, so an insert of it waits as well
+        String query = """
+                       SELECT team_id FROM dbo.Team_metrics WITH (UPDLOCK, HOLDLOCK) WHERE team_id = ?
+                       """;
+
+        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
+            stmt.setInt(1, teamId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+            }
+        } catch (Exception e) {
+            throw new Exception("Could not lock Team metrics in Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean adjustTeamMetrics(TransactionContext context, int teamId, TeamMetrics delta) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+
+        String query = """
+                       UPDATE dbo.Team_metrics
+                       SET hourly_rate = hourly_rate + ?, day_rate = day_rate + ?, annual_cost = annual_cost + ?,
+                           total_hours = total_hours + ?, updated_at = GETDATE()
+                       WHERE team_id = ?
+                       """;
+
+        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
+            stmt.setBigDecimal(1, delta.hourlyRate());
+            stmt.setBigDecimal(2, delta.dayRate());
+            stmt.setBigDecimal(3, delta.annualCost());
+            stmt.setBigDecimal(4, delta.totalHours());
+            stmt.setInt(5, teamId);
+            return stmt.executeUpdate() > 0;
+        } catch (Exception e) {
+            throw new Exception("Could not update Team metrics in Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int rebuildTeamMetrics() throws Exception {
+        try (Connection conn = dbConnector.connection();
+             PreparedStatement stmt = conn.prepareStatement(refreshTeamMetricsQuery("1 = 1"))) {
+            return stmt.executeUpdate();
+        } catch (Exception e) {
+            throw new Exception("Could not rebuild Team metrics in Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    private static TeamMetrics teamMetricsResultSet(ResultSet rs) throws SQLException {
+        return new TeamMetrics(
+                zeroIfNull(rs.getBigDecimal("hourly_rate")),
+                zeroIfNull(rs.getBigDecimal("day_rate")),
+                zeroIfNull(rs.getBigDecimal("annual_cost")),
+                zeroIfNull(rs.getBigDecimal("total_hours")));
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
     @Override
     public Team get(int id) throws Exception {
         Team team = null;
@@ -68,7 +250,7 @@ public class TeamDAO implements ITeamDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Could not get Team from Database. Team ID: " + id + "\n" + e.getMessage());
+            throw new Exception("Could not get Team from Database. Team ID: " + id + "\n" + e.getMessage(), e);
         }
 
         if (team == null) throw new Exception("Team with ID " + id + " not found.");
@@ -95,7 +277,7 @@ public class TeamDAO implements ITeamDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Could not create Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not create Team in Database.\n" + e.getMessage(), e);
         }
 
         return team;
@@ -104,6 +286,7 @@ public class TeamDAO implements ITeamDAO {
     @Override
     public Team create(TransactionContext context, Team team) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
 
         String query = """
                        INSERT INTO Teams (name, markup, gross_margin) VALUES (?, ?, ?)
@@ -121,7 +304,7 @@ public class TeamDAO implements ITeamDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Could not create Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not create Team in Database.\n" + e.getMessage(), e);
         }
 
         return team;
@@ -140,7 +323,7 @@ public class TeamDAO implements ITeamDAO {
             stmt.executeUpdate();
             return true;
         } catch (Exception e) {
-            throw new Exception("Could not update name for Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not update name for Team in Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -158,7 +341,47 @@ public class TeamDAO implements ITeamDAO {
             stmt.setInt(3, team.id());
             stmt.executeUpdate();
         } catch (Exception e) {
-            throw new Exception("Could not update markup for Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not update markup for Team in Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void updateMultipliers(TransactionContext context, Team team) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
+
+        String query = """
+                       UPDATE Teams SET markup = ?, gross_margin = ? WHERE id = ?
+                       """;
+
+        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
+            stmt.setBigDecimal(1, team.markup());
+            stmt.setBigDecimal(2, team.grossMargin());
+            stmt.setInt(3, team.id());
+            stmt.executeUpdate();
+        } catch (Exception e) {
+            throw new Exception("Could not update markup for Team in Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean updateMultipliers(TransactionContext context, Team team, BigDecimal expectedMarkup, BigDecimal expectedGrossMargin) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
+
+        String query = """
+                       UPDATE Teams SET markup = ?, gross_margin = ? WHERE id = ? AND markup = ? AND gross_margin = ?
+                       """;
+
+        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
+            stmt.setBigDecimal(1, team.markup());
+            stmt.setBigDecimal(2, team.grossMargin());
+            stmt.setInt(3, team.id());
+            stmt.setBigDecimal(4, expectedMarkup);
+            stmt.setBigDecimal(5, expectedGrossMargin);
+            return stmt.executeUpdate() > 0;
+        } catch (Exception e) {
+            throw new Exception("Could not update markup for Team in Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -182,7 +405,7 @@ public class TeamDAO implements ITeamDAO {
             stmt.executeBatch();
             conn.commit();
         } catch (Exception e) {
-            throw new Exception("Could not assign Profiles to Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not assign Profiles to Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
@@ -190,6 +413,7 @@ public class TeamDAO implements ITeamDAO {
     @Override
     public boolean assignProfiles(TransactionContext context, Team team, List<Profile> profiles) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
 
         String query = """
                        INSERT INTO Teams_profiles (teamId, profileId, utilization_rate, utilization_hours) VALUES (?, ?, ?, ?)
@@ -206,7 +430,7 @@ public class TeamDAO implements ITeamDAO {
 
             stmt.executeBatch();
         } catch (Exception e) {
-            throw new Exception("Could not assign Profiles to Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not assign Profiles to Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
@@ -232,7 +456,7 @@ public class TeamDAO implements ITeamDAO {
             stmt.executeBatch();
             conn.commit();
         } catch (Exception e) {
-            throw new Exception("Could not update update profiles for Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not update update profiles for Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
@@ -240,6 +464,7 @@ public class TeamDAO implements ITeamDAO {
     @Override
     public boolean updateProfiles(TransactionContext context, Team team, List<Profile> profiles) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
 
         String query = """
                        UPDATE Teams_profiles SET utilization_rate = ?, utilization_hours = ? WHERE teamId = ? AND profileId = ?
@@ -257,7 +482,7 @@ public class TeamDAO implements ITeamDAO {
 
             stmt.executeBatch();
         } catch (Exception e) {
-            throw new Exception("Could not update update profiles for Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not update update profiles for Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
@@ -279,7 +504,7 @@ public class TeamDAO implements ITeamDAO {
 
             stmt.executeUpdate();
         } catch (Exception e) {
-            throw new Exception("Could not update update profile for Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not update update profile for Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
@@ -287,6 +512,7 @@ public class TeamDAO implements ITeamDAO {
     @Override
     public boolean updateProfile(TransactionContext context, int teamId, Profile profile) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
 
         String query = """
                        UPDATE Teams_profiles SET utilization_rate = ?, utilization_hours = ? WHERE teamId = ? AND profileId = ?
@@ -301,11 +527,37 @@ public class TeamDAO implements ITeamDAO {
 
             stmt.executeUpdate();
         } catch (Exception e) {
-            throw new Exception("Could not update update profile for Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not update update profile for Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
 
+    @Override
+    public TeamUtilization updateProfileUtilization(TransactionContext context, int teamId, Profile profile) throws Exception {
+        SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
+
+        String query = """
+                       UPDATE Teams_profiles SET utilization_rate = ?, utilization_hours = ?
+                       OUTPUT deleted.utilization_rate, deleted.utilization_hours
+                       WHERE teamId = ? AND profileId = ?
+                       """;
+
+        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
+            stmt.setBigDecimal(1, profile.utilizationRate());
+            stmt.setBigDecimal(2, profile.utilizationHours());
+            stmt.setInt(3, teamId);
+            stmt.setInt(4, profile.id());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) return null;
+                return new TeamUtilization(rs.getBigDecimal("utilization_rate"), rs.getBigDecimal("utilization_hours"));
+            }
+        } catch (Exception e) {
+            throw new Exception("Could not update update profile for Team in Database.\n" + e.getMessage(), e);
+        }
+    }
+
 
     @Override
     public boolean removeAssignedProfiles(Team team, List<Profile> profiles) throws Exception {
@@ -326,7 +578,7 @@ public class TeamDAO implements ITeamDAO {
             stmt.executeBatch();
             conn.commit();
         } catch (Exception e) {
-            throw new Exception("Could not remove assigned profiles in Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not remove assigned profiles in Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
@@ -334,6 +586,7 @@ public class TeamDAO implements ITeamDAO {
     @Override
     public boolean removeAssignedProfiles(TransactionContext context, Team team, List<Profile> profiles) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
         String query = """
                         DELETE FROM Teams_profiles WHERE teamId = ? AND profileId = ? AND archived = 0;
                        """; //false
@@ -347,7 +600,7 @@ public class TeamDAO implements ITeamDAO {
 
             stmt.executeBatch();
         } catch (Exception e) {
-            throw new Exception("Could not remove assigned profiles in Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not remove assigned profiles in Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
@@ -402,7 +655,7 @@ public class TeamDAO implements ITeamDAO {
                     profiles.add(profile);
                 }
             } catch (Exception e) {
-                throw new Exception("Could not get Profiles for Team from Database.\n" + e.getMessage());
+                throw new Exception("Could not get Profiles for Team from Database.\n" + e.getMessage(), e);
             }
             return profiles;
         }
@@ -458,7 +711,7 @@ public class TeamDAO implements ITeamDAO {
                     );
                 }
             } catch (Exception e) {
-                throw new Exception("Could not get Profile for Team from Database.\n" + e.getMessage());
+                throw new Exception("Could not get Profile for Team from Database.\n" + e.getMessage(), e);
             }
 
             if (profile == null) throw new Exception("Profile with ID " + profileId + " not found in team ID " + teamId + ".");
@@ -468,33 +721,62 @@ public class TeamDAO implements ITeamDAO {
 
     @Override
     public boolean archive(List<Team> teams) throws Exception {
+        return archive(teams, true);
+    }
+
+    /**
+     * Archives or unarchives the teams and their memberships with two set-based UPDATEs, passing the team ids as one
+     * table-valued parameter, so the number of statements does not depend on the number of teams.
+     */
+    @Override
+    public boolean archive(List<Team> teams, boolean archive) throws Exception {
+        if (teams.isEmpty()) return true;
+
+        String teamsQuery = """
+                            UPDATE t SET archived = ?
+                            FROM Teams t
+                            INNER JOIN ? ids ON ids.id = t.id
+                            """;
+        String membersQuery = """
+                              UPDATE tp SET archived = ?
+                              FROM Teams_profiles tp
+                              INNER JOIN ? ids ON ids.id = tp.teamId
+                              """;
+
         try (Connection conn = dbConnector.connection()) {
             conn.setAutoCommit(false);
-            try {
-                for (Team team : teams)
-                    archiveTeamWithTransaction(conn, team.id(), true);
+            try (PreparedStatement teamsStmt = conn.prepareStatement(teamsQuery);
+                 PreparedStatement membersStmt = conn.prepareStatement(membersQuery)) {
+                SQLServerDataTable ids = idList(teams.stream().map(Team::id).toList());
+
+                teamsStmt.setBoolean(1, archive);
+                setIdList(teamsStmt, 2, ids);
+                teamsStmt.executeUpdate();
+
+                membersStmt.setBoolean(1, archive);
+                setIdList(membersStmt, 2, ids);
+                membersStmt.executeUpdate();
 
                 conn.commit();
                 return true;
             } catch (Exception e) {
                 conn.rollback();
-                throw new Exception("Error occurred, rolling back..\n" + e.getMessage());
+                throw new Exception("Error occurred, rolling back..\n" + e.getMessage(), e);
             }
         }
     }
 
-    private void archiveTeamWithTransaction(Connection conn, int teamId, boolean archive) throws Exception {
-        try {
-            conn.setAutoCommit(false);
-            archiveTeam(conn, teamId, archive);
-            archiveTeamMembers(conn, teamId, archive);
-            conn.commit();
-        } catch (SQLException e) {
-            conn.rollback();
-            throw e;
-        } finally {
-            conn.setAutoCommit(true);
+    private static SQLServerDataTable idList(Collection<Integer> ids) throws SQLServerException {
+        SQLServerDataTable table = new SQLServerDataTable();
+        table.addColumnMetadata("id", Types.INTEGER);
+        for (int id : new LinkedHashSet<>(ids)) {
+            table.addRow(id);
         }
+        return table;
+    }
+
+    private static void setIdList(PreparedStatement stmt, int index, SQLServerDataTable ids) throws SQLException {
+        stmt.unwrap(SQLServerPreparedStatement.class).setStructured(index, "dbo.Id_list", ids);
     }
 
     @Override
@@ -508,7 +790,7 @@ public class TeamDAO implements ITeamDAO {
                 return true;
             } catch (Exception e) {
                 conn.rollback();
-                throw new Exception("Error occured, rolling back..\n" + e.getMessage());
+                throw new Exception("Error occured, rolling back..\n" + e.getMessage(), e);
             }
         }
     }
@@ -522,7 +804,7 @@ public class TeamDAO implements ITeamDAO {
             stmt.setInt(2, teamId);
             stmt.executeUpdate();
         } catch (Exception e) {
-            throw new Exception("Could not archive Team Profiles in Database.\n" + e.getMessage());
+            throw new Exception("Could not archive Team Profiles in Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -535,7 +817,70 @@ public class TeamDAO implements ITeamDAO {
             stmt.setInt(2, teamId);
             stmt.executeUpdate();
         } catch (Exception e) {
-            throw new Exception("Could not archive Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not archive Team in Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Finds the profiles that would be allocated more than 100% if all the given teams were unarchived together.<br>
+     * A profile's total is its allocation on active teams plus its memberships in every requested team, so conflicts
+     * between two requested teams are found as well.
+     *
+     * @return team id mapped to the conflicting members of that team, with their would-be total utilization set.
+     * Teams without conflicts are left out.
+     */
+    @Override
+    public Map<Integer, List<Profile>> canUnarchive(Collection<Integer> teamIds) throws Exception {
+        Map<Integer, List<Profile>> conflicts = new LinkedHashMap<>();
+        if (teamIds.isEmpty()) return conflicts;
+
+        String query = """
+                SELECT
+                    tp.teamId AS requested_team_id,
+                    p.*,
+                    pd.*,
+                    COALESCE(pa.allocated_rate, 0) + requested.utilization_rate AS total_utilization_rate,
+                    COALESCE(pa.allocated_hours, 0) + requested.utilization_hours AS total_utilization_hours
+                FROM dbo.Teams_profiles tp
+                INNER JOIN ? ids ON ids.id = tp.teamId
+                INNER JOIN dbo.Profiles p ON p.id = tp.profileId
+                INNER JOIN dbo.Profiles_data pd ON pd.id = p.id
+                INNER JOIN
+                    (SELECT
+                        rtp.profileId,
+                        SUM(rtp.utilization_rate) AS utilization_rate,
+                        SUM(rtp.utilization_hours) AS utilization_hours
+                     FROM dbo.Teams_profiles rtp
+                     INNER JOIN ? rids ON rids.id = rtp.teamId
+                     WHERE rtp.archived = 1
+                     GROUP BY rtp.profileId
+                    ) AS requested ON requested.profileId = tp.profileId
+                LEFT JOIN dbo.Profile_allocations pa WITH (NOEXPAND) ON pa.profileId = tp.profileId
+                WHERE tp.archived = 1
+                  AND pd.archived = 0
+                  AND (COALESCE(pa.allocated_rate, 0) + requested.utilization_rate > 100
+                       OR COALESCE(pa.allocated_hours, 0) + requested.utilization_hours > 100)
+                ORDER BY tp.teamId, p.id;
+                """;
+
+        try (Connection conn = dbConnector.connection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            SQLServerDataTable ids = idList(teamIds);
+            setIdList(stmt, 1, ids);
+            setIdList(stmt, 2, ids);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Profile profile = ResultSetMappers.profileResultSet(rs);
+                    profile.utilizationRate(rs.getBigDecimal("total_utilization_rate"));
+                    profile.utilizationHours(rs.getBigDecimal("total_utilization_hours"));
+                    conflicts.computeIfAbsent(rs.getInt("requested_team_id"), id -> new ArrayList<>()).add(profile);
+                }
+            }
+
+            return conflicts;
+        } catch (Exception e) {
+            throw new Exception("Could not check if Teams can be unarchived in Database.\n" + e.getMessage(), e);
         }
     }
 
@@ -555,21 +900,17 @@ public class TeamDAO implements ITeamDAO {
                 INNER JOIN dbo.Profiles_data pd ON p.id = pd.id
                 INNER JOIN
                     (SELECT
-                        profileID,
-                        SUM(utilization_rate) AS total_utilization_rate,
-                        SUM(utilization_hours) AS total_utilization_hours
-                     FROM dbo.Teams_profiles
-                     WHERE teamID != ?
-                       AND (SELECT archived FROM dbo.Profiles_data WHERE id = profileID) = 0
-                       AND archived = 0
-                     GROUP BY profileID
-                    ) AS total_sum ON p.id = total_sum.profileID
-                WHERE tp.archived = 1;
+                        profileId,
+                        allocated_rate AS total_utilization_rate,
+                        allocated_hours AS total_utilization_hours
+                     FROM dbo.Profile_allocations WITH (NOEXPAND)
+                    ) AS total_sum ON p.id = total_sum.profileId
+                WHERE tp.archived = 1
+                  AND pd.archived = 0;
                     """;
         try (Connection conn = dbConnector.connection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, teamId);
-            stmt.setInt(2, teamId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     BigDecimal utilizationRate = rs.getBigDecimal("utilization_rate");
@@ -619,7 +960,7 @@ public class TeamDAO implements ITeamDAO {
                     profiles.add(profile);
                 }
             } catch (Exception e) {
-                throw new Exception("Could not get Profiles to verify for unarchiving Team from Database.\n" + e.getMessage());
+                throw new Exception("Could not get Profiles to verify for unarchiving Team from Database.\n" + e.getMessage(), e);
             }
             return profiles;
         }
@@ -637,7 +978,7 @@ public class TeamDAO implements ITeamDAO {
             stmt.setInt(2, profileId);
             stmt.executeUpdate();
         } catch (Exception e) {
-            throw new Exception("Could not remove Profile from Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not remove Profile from Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
@@ -645,6 +986,7 @@ public class TeamDAO implements ITeamDAO {
     @Override
     public boolean removeProfileFromTeam(TransactionContext context, int teamId, int profileId) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        sqlContext.clearCache();
 
         String query = """
                        DELETE FROM Teams_profiles WHERE teamId = ? AND profileId = ?
@@ -655,14 +997,17 @@ public class TeamDAO implements ITeamDAO {
             stmt.setInt(2, profileId);
             stmt.executeUpdate();
         } catch (Exception e) {
-            throw new Exception("Could not remove Profile from Team in Database.\n" + e.getMessage());
+            throw new Exception("Could not remove Profile from Team in Database.\n" + e.getMessage(), e);
         }
         return true;
     }
 
     public List<Profile> getTeamProfiles(TransactionContext context, int teamId) throws Exception {
         SqlTransactionContext sqlContext = (SqlTransactionContext) context;
+        return sqlContext.cached("teamProfiles", teamId, () -> Collections.unmodifiableList(getTeamProfiles(sqlContext.connection(), teamId)));
+    }
 
+    private List<Profile> getTeamProfiles(Connection connection, int teamId) throws Exception {
         String query = """
                         SELECT * FROM dbo.Profiles
                         INNER JOIN dbo.Profiles_data ON dbo.Profiles.id = dbo.Profiles_data.id
@@ -670,7 +1015,7 @@ public class TeamDAO implements ITeamDAO {
                         WHERE dbo.Teams_profiles.teamId = ?;
                         """;
         List<Profile> profiles = new ArrayList<>();
-        try (PreparedStatement stmt = sqlContext.connection().prepareStatement(query)) {
+        try (PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setInt(1, teamId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -685,7 +1030,7 @@ public class TeamDAO implements ITeamDAO {
 
     public LocalDateTime getLastUpdated(int teamId) throws Exception {
         String query = """
-                SELECT TOP 1 updated_at FROM Teams_profiles_history WHERE team_id = ? ORDER BY updated_at DESC;
+                SELECT TOP 1 updated_at FROM Teams_history WHERE team_id = ? ORDER BY updated_at DESC;
                        """;
 
         try (Connection conn = dbConnector.connection();
@@ -697,7 +1042,7 @@ public class TeamDAO implements ITeamDAO {
                 }
             }
         } catch (Exception e) {
-            throw new Exception("Could not get last updated for Team from Database.\n" + e.getMessage());
+            throw new Exception("Could not get last updated for Team from Database.\n" + e.getMessage(), e);
         }
 
         return null;
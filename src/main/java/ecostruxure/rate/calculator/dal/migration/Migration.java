@@ -0,0 +1,18 @@
+package ecostruxure.rate.calculator.dal.migration;
+
+import java.util.Objects;
+
+/**
+ * A versioned schema change.
+ *
+ * @param version     unique, increasing version number. Applied versions are recorded in dbo.Schema_version.
+ * @param description short description stored together with the version.
+ * @param resource    classpath location of the SQL script, batches are separated by lines containing only GO.
+ */
+public record Migration(int version, String description, String resource) {
+    public Migration {
+        if (version < 1) throw new IllegalArgumentException("Version must be greater than 0");
+        Objects.requireNonNull(description, "Description cannot be null");
+        Objects.requireNonNull(resource, "Resource cannot be null");
+    }
+}
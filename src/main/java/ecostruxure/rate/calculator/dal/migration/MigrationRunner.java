@@ -0,0 +1,174 @@
+package ecostruxure.rate.calculator.dal.migration;
+
+import ecostruxure.rate.calculator.dal.db.DBConnector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings the database schema up to date at startup.<br>
+ * Every migration runs in its own transaction together with the row recording it in dbo.Schema_version, so a
+ * failing migration leaves the database at the previous version and is retried on next startup.
+ */
+public class MigrationRunner {
+    public static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Index team memberships by team and by profile", "/migrations/V1__teams_profiles_indexes.sql"),
+            new Migration(2, "Index team history by team and date", "/migrations/V2__teams_profiles_history_index.sql"),
+            new Migration(3, "Index profile history by profile and date", "/migrations/V3__profiles_history_index.sql"),
+            new Migration(4, "Materialize team metrics", "/migrations/V4__team_metrics_snapshot.sql"),
+            new Migration(5, "Materialize allocated utilization per profile", "/migrations/V5__profile_allocations.sql"),
+            new Migration(6, "Add id list table type", "/migrations/V6__id_list_type.sql"),
+            new Migration(7, "Store team history as snapshots of changed members", "/migrations/V7__team_history_snapshots.sql"),
+            new Migration(8, "Index active profiles and memberships", "/migrations/V8__active_rows_indexes.sql")
+    );
+
+    private static final String CREATE_VERSION_TABLE = """
+                                                       IF OBJECT_ID('dbo.Schema_version', 'U') IS NULL
+                                                       CREATE TABLE dbo.Schema_version (
+                                                           version     INT PRIMARY KEY NOT NULL,
+                                                           description NVARCHAR(200) NOT NULL,
+                                                           applied_at  DATETIME DEFAULT GETDATE() NOT NULL
+                                                       );
+                                                       """;
+
+    private final DBConnector dbConnector;
+    private final List<Migration> migrations;
+
+    public MigrationRunner(DBConnector dbConnector) {
+        this(dbConnector, MIGRATIONS);
+    }
+
+    public MigrationRunner(DBConnector dbConnector, List<Migration> migrations) {
+        this.dbConnector = dbConnector;
+        this.migrations = migrations.stream()
+                                    .sorted((a, b) -> Integer.compare(a.version(), b.version()))
+                                    .toList();
+    }
+
+    /**
+     * Applies every migration that has not been applied yet, in version order.
+     *
+     * @return the versions applied by this call.
+     * @throws Exception if a migration could not be applied. Migrations applied before it stay applied.
+     */
+    public List<Integer> migrate() throws Exception {
+        List<Integer> applied = new ArrayList<>();
+
+        try (Connection conn = dbConnector.connection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_VERSION_TABLE);
+            }
+
+            Set<Integer> existing = appliedVersions(conn);
+            for (Migration migration : migrations) {
+                if (existing.contains(migration.version())) continue;
+                if (apply(conn, migration)) applied.add(migration.version());
+            }
+
+            return applied;
+        } catch (SQLException e) {
+            throw new Exception("Could not migrate the Database.\n" + e.getMessage(), e);
+        }
+    }
+
+    private Set<Integer> appliedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM dbo.Schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt("version"));
+            }
+        }
+
+        return versions;
+    }
+
+    private boolean apply(Connection conn, Migration migration) throws Exception {
+        List<String> batches = splitBatches(readScript(migration.resource()));
+
+        conn.setAutoCommit(false);
+        try {
+            // Serializes migrations when several clients start at the same time, the lock is released on commit
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("EXEC sp_getapplock @Resource = 'Schema_version', @LockMode = 'Exclusive', @LockOwner = 'Transaction'");
+            }
+
+            if (isApplied(conn, migration.version())) {
+                conn.commit();
+                return false;
+            }
+
+            try (Statement stmt = conn.createStatement()) {
+                for (String batch : batches) {
+                    stmt.execute(batch);
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO dbo.Schema_version (version, description) VALUES (?, ?)")) {
+                stmt.setInt(1, migration.version());
+                stmt.setString(2, migration.description());
+                stmt.executeUpdate();
+            }
+
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new Exception("Migration " + migration.version() + " (" + migration.description() + ") failed.\n" + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private boolean isApplied(Connection conn, int version) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM dbo.Schema_version WHERE version = ?")) {
+            stmt.setInt(1, version);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    static String readScript(String resource) throws IOException {
+        try (InputStream in = MigrationRunner.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Migration script " + resource + " not found.");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Splits a script into batches on lines containing only GO, the same way SSMS does.
+     */
+    static List<String> splitBatches(String script) {
+        List<String> batches = new ArrayList<>();
+        StringBuilder batch = new StringBuilder();
+
+        for (String line : script.split("\\R")) {
+            if (line.strip().equalsIgnoreCase("GO")) {
+                addBatch(batches, batch);
+                batch.setLength(0);
+            } else {
+                batch.append(line).append('\n');
+            }
+        }
+        addBatch(batches, batch);
+
+        return batches;
+    }
+
+    private static void addBatch(List<String> batches, StringBuilder batch) {
+        String sql = batch.toString().strip();
+        if (!sql.isEmpty()) batches.add(sql);
+    }
+}
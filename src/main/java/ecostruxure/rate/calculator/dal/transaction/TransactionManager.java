@@ -4,4 +4,12 @@ import ecostruxure.rate.calculator.dal.transaction.TransactionCallback;
 
 public interface TransactionManager {
     <T> T executeTransaction(TransactionCallback<T> callback) throws Exception;
+
+    /**
+     * Runs the callback in a read-only transaction at the configured read isolation level, so it sees one consistent
+     * state of the database without waiting on writing transactions.
+     */
+    default <T> T executeReadOnly(TransactionCallback<T> callback) throws Exception {
+        return executeTransaction(callback);
+    }
 }
@@ -4,5 +4,13 @@ import javafx.scene.layout.Region;
 
 public interface Controller {
     void activate(Object data);
+
+    /**
+     * Called when the user navigates away from the view, e.g. to cancel work that is only needed while it is shown.
+     */
+    default void deactivate() {
+
+    }
+
     Region view();
 }
@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.currency;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.system.background.BackgroundTaskEvent;
 import ecostruxure.rate.calculator.gui.common.Controller;
 import ecostruxure.rate.calculator.gui.common.View;
@@ -17,9 +18,9 @@ public class CurrencyController implements Controller {
     private final View view;
     private final EventBus eventBus;
 
-    public CurrencyController(EventBus eventBus) {
+    public CurrencyController(EventBus eventBus, ApplicationContext context) {
         model = new CurrencyModel();
-        interactor = new CurrencyInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new CurrencyInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         view = new CurrencyView(model);
         this.eventBus = eventBus;
 
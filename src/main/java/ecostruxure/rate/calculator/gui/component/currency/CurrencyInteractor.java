@@ -1,6 +1,7 @@
 package ecostruxure.rate.calculator.gui.component.currency;
 
 import ecostruxure.rate.calculator.be.Currency;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.CurrencyService;
 import ecostruxure.rate.calculator.gui.common.CurrencyItemModel;
 
@@ -13,11 +14,11 @@ public class CurrencyInteractor {
     private CurrencyService currencyService;
     private List<CurrencyItemModel> currencyModels;
 
-    public CurrencyInteractor(CurrencyModel model, Runnable onFetchError) {
+    public CurrencyInteractor(CurrencyModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            currencyService = new CurrencyService();
+            currencyService = context.currencyService();
         } catch (Exception e) {
             onFetchError.run();
         }
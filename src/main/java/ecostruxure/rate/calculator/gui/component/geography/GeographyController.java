@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.geography;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.system.background.BackgroundTaskEvent;
 import ecostruxure.rate.calculator.gui.common.Controller;
 import ecostruxure.rate.calculator.gui.common.View;
@@ -24,13 +25,13 @@ public class GeographyController implements Controller {
     private final View view;
     private final ModalController addProfileController;
 
-    public GeographyController(EventBus eventBus) {
+    public GeographyController(EventBus eventBus, ApplicationContext context) {
         model = new GeographyModel();
-        countryInteractor = new CountryInteractor(model, this::connectionError);
-        geographyInteractor = new GeographyInteractor(countryInteractor, model, this::connectionError);
+        countryInteractor = new CountryInteractor(model, context, this::connectionError);
+        geographyInteractor = new GeographyInteractor(countryInteractor, model, context, this::connectionError);
         view = new GeographyView(model, this::addGeography);
         this.eventBus = eventBus;
-        this.addProfileController = new AddGeographyController(eventBus, this::refresh);
+        this.addProfileController = new AddGeographyController(eventBus, context, this::refresh);
 
         model.all().clear();
         fetchGeographies();
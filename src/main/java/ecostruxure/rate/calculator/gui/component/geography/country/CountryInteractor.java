@@ -1,6 +1,7 @@
 package ecostruxure.rate.calculator.gui.component.geography.country;
 
 import ecostruxure.rate.calculator.be.Country;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.CountryService;
 import ecostruxure.rate.calculator.gui.component.geography.GeographyModel;
 
@@ -12,11 +13,11 @@ public class CountryInteractor {
     private CountryService countryService;
     private List<CountryItemModel> countryItemModels;
 
-    public CountryInteractor(GeographyModel model, Runnable onFetchError) {
+    public CountryInteractor(GeographyModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            this.countryService = new CountryService();
+            this.countryService = context.countryService();
         } catch (Exception e) {
             onFetchError.run();
         }
@@ -2,6 +2,7 @@ package ecostruxure.rate.calculator.gui.component.geography.geograph;
 
 import ecostruxure.rate.calculator.be.Country;
 import ecostruxure.rate.calculator.be.Geography;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.CountryService;
 import ecostruxure.rate.calculator.bll.service.GeographyService;
 import ecostruxure.rate.calculator.gui.component.geography.GeographyModel;
@@ -9,6 +10,7 @@ import ecostruxure.rate.calculator.gui.component.geography.country.CountryIntera
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class GeographyInteractor {
     private final GeographyModel model;
@@ -17,13 +19,13 @@ public class GeographyInteractor {
     private CountryInteractor countryInteractor;
     private List<GeographyItemModel> geographyItemModels;
 
-    public GeographyInteractor(CountryInteractor countryInteractor, GeographyModel model, Runnable onFetchError) {
+    public GeographyInteractor(CountryInteractor countryInteractor, GeographyModel model, ApplicationContext context, Runnable onFetchError) {
         this.countryInteractor = countryInteractor;
         this.model = model;
 
         try {
-            this.geographyService = new GeographyService();
-            this.countryService = new CountryService();
+            this.geographyService = context.geographyService();
+            this.countryService = context.countryService();
         } catch (Exception e) {
             onFetchError.run();
         }
@@ -42,11 +44,12 @@ public class GeographyInteractor {
 
     private List<GeographyItemModel> convertToGeographiesModel(List<Geography> geographies) throws Exception {
         List<GeographyItemModel> geographyItemModels = new ArrayList<>();
+        Map<Integer, List<Country>> countriesByGeography = countryService.allGroupedByGeography();
 
         for (Geography geography : geographies) {
             GeographyItemModel geographyItemModel = new GeographyItemModel();
 
-            List<Country> countries = countryService.allByGeography(geography);
+            List<Country> countries = countriesByGeography.getOrDefault(geography.id(), List.of());
 
             geographyItemModel.idProperty().set(String.valueOf(geography.id()));
             geographyItemModel.nameProperty().set(geography.name());
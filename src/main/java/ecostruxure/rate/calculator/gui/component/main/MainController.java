@@ -1,6 +1,7 @@
 package ecostruxure.rate.calculator.gui.component.main;
 
 import atlantafx.base.theme.Theme;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.common.FetchError;
 import ecostruxure.rate.calculator.gui.component.modals.addprofile.AddProfileController;
 import ecostruxure.rate.calculator.gui.dragdrop.GlobalDragAndDrop;
@@ -43,10 +44,10 @@ public class MainController implements Controller {
     private final View view;
     private final EventBus eventBus;
 
-    public MainController(Stage stage) {
+    public MainController(Stage stage, ApplicationContext context) {
         model = new MainModel();
         eventBus = new ConcurrentEventBus();
-        interactor = new MainInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new MainInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
 
         var viewManager = new ViewManager(eventBus);
         var modalManager = new ModalManager(eventBus);
@@ -55,12 +56,12 @@ public class MainController implements Controller {
 
         stage.setOnCloseRequest(event -> backgroundManager.shutdown());
 
-        Controller geographyController = new GeographyController(eventBus);
-        Controller profilesController = new ProfilesController(eventBus);
-        Controller profileController = new ProfileController(eventBus);
-        Controller teamsController = new TeamsController(eventBus);
-        Controller teamController = new TeamController(eventBus);
-        Controller currencyController = new CurrencyController(eventBus);
+        Controller geographyController = new GeographyController(eventBus, context);
+        Controller profilesController = new ProfilesController(eventBus, context);
+        Controller profileController = new ProfileController(eventBus, context);
+        Controller teamsController = new TeamsController(eventBus, context);
+        Controller teamController = new TeamController(eventBus, context);
+        Controller currencyController = new CurrencyController(eventBus, context);
 
         viewManager.addController(geographyController.getClass(), geographyController);
         viewManager.addController(profilesController.getClass(), profilesController);
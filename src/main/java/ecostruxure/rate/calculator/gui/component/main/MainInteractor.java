@@ -1,6 +1,7 @@
 package ecostruxure.rate.calculator.gui.component.main;
 
 import atlantafx.base.theme.*;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.MissingCurrenciesException;
 import ecostruxure.rate.calculator.bll.service.CurrencyService;
 import ecostruxure.rate.calculator.gui.common.FetchError;
@@ -27,11 +28,11 @@ public class MainInteractor {
     private BigDecimal rate = BigDecimal.ONE;
     private Pair<Theme, Theme> savedTheme;
 
-    public MainInteractor(MainModel model, Runnable onFetchError) {
+    public MainInteractor(MainModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            currencyService = new CurrencyService();
+            currencyService = context.currencyService();
         } catch (Exception e) {
             onFetchError.run();
         }
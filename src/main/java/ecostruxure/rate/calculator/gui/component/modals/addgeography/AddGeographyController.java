@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.modals.addgeography;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.system.background.BackgroundTaskEvent;
 import ecostruxure.rate.calculator.gui.common.View;
 import ecostruxure.rate.calculator.gui.system.event.EventBus;
@@ -24,9 +25,9 @@ public class AddGeographyController implements ModalController {
 
     private List<Node> tabOrder;
 
-    public AddGeographyController(EventBus eventBus, Runnable outerLookupHandler) {
+    public AddGeographyController(EventBus eventBus, ApplicationContext context, Runnable outerLookupHandler) {
         model = new AddGeographyModel();
-        interactor = new AddGeographyInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new AddGeographyInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         view = new AddGeographyView(model, this::checkIfGeographyExists, this::setTabOrder);
         this.eventBus = eventBus;
         this.outerLookupHandler = outerLookupHandler;
@@ -2,12 +2,12 @@ package ecostruxure.rate.calculator.gui.component.modals.addgeography;
 
 import ecostruxure.rate.calculator.be.Country;
 import ecostruxure.rate.calculator.be.Geography;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.CountryService;
 import ecostruxure.rate.calculator.bll.service.GeographyService;
 import ecostruxure.rate.calculator.gui.util.constants.LocalizedText;
 import javafx.beans.binding.Bindings;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,13 +19,13 @@ public class AddGeographyInteractor {
     private boolean exists;
     private Geography geography;
 
-    public AddGeographyInteractor(AddGeographyModel model, Runnable onFetchError) {
+    public AddGeographyInteractor(AddGeographyModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            this.countryService = new CountryService();
-            this.geographyService = new GeographyService();
-        } catch (IOException e) {
+            this.countryService = context.countryService();
+            this.geographyService = context.geographyService();
+        } catch (Exception e) {
             onFetchError.run();
         }
 
@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.modals.addprofile;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.component.currency.CurrencyController;
 import ecostruxure.rate.calculator.gui.system.background.BackgroundTaskEvent;
 import ecostruxure.rate.calculator.gui.system.event.EventBus;
@@ -28,9 +29,9 @@ public class AddProfileController implements ModalController {
     private Region viewRegion;
     private boolean isViewInitialized = false;
 
-    public AddProfileController(EventBus eventBus, Runnable outerLookupHandler) {
+    public AddProfileController(EventBus eventBus, ApplicationContext context, Runnable outerLookupHandler) {
         model = new AddProfileModel();
-        interactor = new AddProfileInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new AddProfileInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         view = new AddProfileView(model, this::setTabOrder);
         this.eventBus = eventBus;
         this.outerLookupHandler = outerLookupHandler;
@@ -2,6 +2,7 @@ package ecostruxure.rate.calculator.gui.component.modals.addprofile;
 
 import ecostruxure.rate.calculator.be.*;
 import ecostruxure.rate.calculator.be.enums.ResourceType;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.CurrencyService;
 import ecostruxure.rate.calculator.bll.service.GeographyService;
 import ecostruxure.rate.calculator.bll.service.ProfileService;
@@ -21,13 +22,13 @@ public class AddProfileInteractor {
     private List<AddProfileGeographyItemModel> geographyModels;
     private List<CurrencyItemModel> currencyModels;
 
-    public AddProfileInteractor(AddProfileModel model, Runnable onFetchError) {
+    public AddProfileInteractor(AddProfileModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            profileService = new ProfileService();
-            currencyService = new CurrencyService();
-            geographyService = new GeographyService();
+            profileService = context.profileService();
+            currencyService = context.currencyService();
+            geographyService = context.geographyService();
         } catch (Exception e) {
             onFetchError.run();
         }
@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.modals.addteam;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.system.background.BackgroundTaskEvent;
 import ecostruxure.rate.calculator.gui.common.View;
 import ecostruxure.rate.calculator.gui.system.event.EventBus;
@@ -24,9 +25,9 @@ public class AddTeamController implements ModalController {
 
     private List<Node> tabOrder;
 
-    public AddTeamController(EventBus eventBus, Runnable outerLookupHandler) {
+    public AddTeamController(EventBus eventBus, ApplicationContext context, Runnable outerLookupHandler) {
         model = new AddTeamModel();
-        interactor = new AddTeamInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new AddTeamInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         this.view = new AddTeamView(model, this::setTabOrder);
         this.eventBus = eventBus;
         this.outerLookupHandler = outerLookupHandler;
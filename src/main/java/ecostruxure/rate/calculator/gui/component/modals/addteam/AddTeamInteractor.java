@@ -3,6 +3,7 @@ package ecostruxure.rate.calculator.gui.component.modals.addteam;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.ProfileData;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.GeographyService;
 import ecostruxure.rate.calculator.bll.service.ProfileService;
 import ecostruxure.rate.calculator.bll.service.TeamService;
@@ -22,13 +23,13 @@ public class AddTeamInteractor {
     private GeographyService geographyService;
     private List<AddProfileItemModel> profileItemModels;
 
-    public AddTeamInteractor(AddTeamModel model, Runnable onFetchError) {
+    public AddTeamInteractor(AddTeamModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            teamService = new TeamService();
-            profileService = new ProfileService();
-            geographyService = new GeographyService();
+            teamService = context.teamService();
+            profileService = context.profileService();
+            geographyService = context.geographyService();
         } catch (Exception e) {
             onFetchError.run();
         }
@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.modals.assignprofile;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.component.profiles.ProfilesController;
 import ecostruxure.rate.calculator.gui.system.background.BackgroundTaskEvent;
 import ecostruxure.rate.calculator.gui.common.View;
@@ -27,9 +28,9 @@ public class AssignProfileController implements ModalController {
 
     private List<Node> tabOrder;
 
-    public AssignProfileController(EventBus eventBus, Runnable outerLookupHandler) {
+    public AssignProfileController(EventBus eventBus, ApplicationContext context, Runnable outerLookupHandler) {
         model = new AssignProfileModel();
-        interactor = new AssignProfileInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new AssignProfileInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         this.eventBus = eventBus;
         this.outerLookupHandler = outerLookupHandler;
 
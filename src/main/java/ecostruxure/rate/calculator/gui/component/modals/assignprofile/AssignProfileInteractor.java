@@ -3,6 +3,7 @@ package ecostruxure.rate.calculator.gui.component.modals.assignprofile;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.ProfileData;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.GeographyService;
 import ecostruxure.rate.calculator.bll.service.ProfileService;
 import ecostruxure.rate.calculator.bll.service.TeamService;
@@ -21,13 +22,13 @@ public class AssignProfileInteractor {
     private GeographyService geographyService;
     private List<AddProfileItemModel> profileItemModels;
 
-    public AssignProfileInteractor(AssignProfileModel model, Runnable onFetchError) {
+    public AssignProfileInteractor(AssignProfileModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            teamService = new TeamService();
-            profileService = new ProfileService();
-            geographyService = new GeographyService();
+            teamService = context.teamService();
+            profileService = context.profileService();
+            geographyService = context.geographyService();
         } catch (Exception e) {
             onFetchError.run();
         }
@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.modals.teamedit;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.component.teams.TeamsController;
 import ecostruxure.rate.calculator.gui.system.background.BackgroundTaskEvent;
 import ecostruxure.rate.calculator.gui.system.event.EventBus;
@@ -25,9 +26,9 @@ public class TeamEditController implements ModalController {
 
     private List<Node> tabOrder;
 
-    public TeamEditController(EventBus eventBus, Runnable outerLookupHandler) {
+    public TeamEditController(EventBus eventBus, ApplicationContext context, Runnable outerLookupHandler) {
         model = new TeamEditModel();
-        interactor = new TeamEditInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new TeamEditInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         view = new TeamEditView(model, this::setTabOrder);
 
         this.eventBus = eventBus;
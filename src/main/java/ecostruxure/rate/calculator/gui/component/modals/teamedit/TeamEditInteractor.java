@@ -1,6 +1,7 @@
 package ecostruxure.rate.calculator.gui.component.modals.teamedit;
 
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.TeamService;
 import javafx.beans.binding.Bindings;
 
@@ -9,11 +10,11 @@ public class TeamEditInteractor {
     private TeamService teamService;
     private Team team;
 
-    public TeamEditInteractor(TeamEditModel model, Runnable onFetchError) {
+    public TeamEditInteractor(TeamEditModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            teamService = new TeamService();
+            teamService = context.teamService();
         } catch (Exception e) {
             onFetchError.run();
         }
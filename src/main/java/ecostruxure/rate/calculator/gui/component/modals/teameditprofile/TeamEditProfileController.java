@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.modals.teameditprofile;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.component.team.TeamController;
 import ecostruxure.rate.calculator.gui.component.teams.TeamsController;
 import ecostruxure.rate.calculator.gui.system.background.BackgroundTaskEvent;
@@ -27,9 +28,9 @@ public class TeamEditProfileController implements ModalController {
 
     private List<Node> tabOrder;
 
-    public TeamEditProfileController(EventBus eventBus, Runnable outerLookupHandler) {
+    public TeamEditProfileController(EventBus eventBus, ApplicationContext context, Runnable outerLookupHandler) {
         model = new TeamEditProfileModel();
-        interactor = new TeamEditProfileInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new TeamEditProfileInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         view = new TeamEditProfileView(model, this::setTabOrder);
 
         this.eventBus = eventBus;
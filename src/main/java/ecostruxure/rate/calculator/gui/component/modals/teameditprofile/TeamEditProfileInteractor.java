@@ -1,6 +1,7 @@
 package ecostruxure.rate.calculator.gui.component.modals.teameditprofile;
 
 import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.TeamService;
 import javafx.beans.binding.Bindings;
 
@@ -11,11 +12,11 @@ public class TeamEditProfileInteractor {
     private TeamService teamService;
     private Profile profile;
 
-    public TeamEditProfileInteractor(TeamEditProfileModel model, Runnable onFetchError) {
+    public TeamEditProfileInteractor(TeamEditProfileModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            teamService = new TeamService();
+            teamService = context.teamService();
         } catch (Exception e) {
             onFetchError.run();
         }
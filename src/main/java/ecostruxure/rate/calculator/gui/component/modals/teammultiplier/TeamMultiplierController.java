@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.modals.teammultiplier;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.component.teams.TeamsController;
 import ecostruxure.rate.calculator.gui.system.background.BackgroundTaskEvent;
 import ecostruxure.rate.calculator.gui.common.View;
@@ -26,9 +27,9 @@ public class TeamMultiplierController implements ModalController {
 
     private List<Node> tabOrder;
 
-    public TeamMultiplierController(EventBus eventBus, Runnable outerLookupHandler) {
+    public TeamMultiplierController(EventBus eventBus, ApplicationContext context, Runnable outerLookupHandler) {
         model = new TeamMultiplierModel();
-        interactor = new TeamMultiplierInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new TeamMultiplierInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         view = new TeamMultiplierView(model, this::setTabOrder);
         this.eventBus = eventBus;
         this.outerLookupHandler = outerLookupHandler;
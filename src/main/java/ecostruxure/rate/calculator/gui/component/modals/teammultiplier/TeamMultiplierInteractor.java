@@ -1,6 +1,7 @@
 package ecostruxure.rate.calculator.gui.component.modals.teammultiplier;
 
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.TeamService;
 import javafx.beans.binding.Bindings;
 
@@ -11,11 +12,11 @@ public class TeamMultiplierInteractor {
     private TeamService teamService;
     private Team team;
 
-    public TeamMultiplierInteractor(TeamMultiplierModel model, Runnable onFetchError) {
+    public TeamMultiplierInteractor(TeamMultiplierModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            teamService = new TeamService();
+            teamService = context.teamService();
         } catch (Exception e) {
             onFetchError.run();
         }
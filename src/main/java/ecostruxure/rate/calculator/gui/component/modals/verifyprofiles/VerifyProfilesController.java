@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.modals.verifyprofiles;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.gui.component.team.TeamController;
 import ecostruxure.rate.calculator.gui.component.teams.TeamsController;
@@ -29,9 +30,9 @@ public class VerifyProfilesController implements ModalController {
 
     private List<Node> tabOrder;
 
-    public VerifyProfilesController(EventBus eventBus, Runnable outerLookupHandler) {
+    public VerifyProfilesController(EventBus eventBus, ApplicationContext context, Runnable outerLookupHandler) {
         model = new VerifyProfilesModel();
-        interactor = new VerifyProfilesInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new VerifyProfilesInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         this.view = new VerifyProfilesView(model, this::setTabOrder);
         this.eventBus = eventBus;
         this.outerLookupHandler = outerLookupHandler;
@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.profile;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.gui.common.ProfileItemModel;
 import ecostruxure.rate.calculator.gui.component.profiles.ProfilesController;
 import ecostruxure.rate.calculator.gui.component.teams.TeamsController;
@@ -23,10 +24,10 @@ public class ProfileController implements Controller {
     private final EventBus eventBus;
 
 
-    public ProfileController(EventBus eventBus) {
+    public ProfileController(EventBus eventBus, ApplicationContext context) {
         model = new ProfileModel();
-        interactor = new ProfileInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
-        view = new ProfileView(model, this::showTeam, this::saveTask, this::selectHistoryItem, this::undoTask, this::checkoutTask, this::archiveProfile, this::unArchiveProfile);
+        interactor = new ProfileInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        view = new ProfileView(model, this::showTeam, this::saveTask, this::selectHistoryItem, this::undoTask, this::checkoutTask, this::archiveProfile, this::unArchiveProfile, this::fetchMoreHistory);
         this.eventBus = eventBus;
     }
 
@@ -59,6 +60,27 @@ public class ProfileController implements Controller {
         eventBus.publish(new BackgroundTaskEvent<>(fetchTask));
     }
 
+    private void fetchMoreHistory() {
+        if (model.historyLoadingProperty().get() || !model.hasMoreHistoryProperty().get()) return;
+        model.historyLoadingProperty().set(true);
+
+        Task<Boolean> fetchTask = new Task<>() {
+            @Override
+            protected Boolean call() {
+                return interactor.fetchMoreHistory();
+            }
+        };
+
+        fetchTask.setOnSucceeded(evt -> {
+            model.historyLoadingProperty().set(false);
+            if (fetchTask.getValue()) interactor.updateHistoryModel();
+            else eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_FETCH_PROFILE));
+        });
+        fetchTask.setOnFailed(evt -> model.historyLoadingProperty().set(false));
+
+        eventBus.publish(new BackgroundTaskEvent<>(fetchTask));
+    }
+
     private void showTeam(ProfileTeamItemModel data) {
         eventBus.publish(new ChangeViewEvent(TeamController.class, data.idProperty().get()));
     }
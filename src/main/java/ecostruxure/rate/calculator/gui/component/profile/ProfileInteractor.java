@@ -1,7 +1,10 @@
 package ecostruxure.rate.calculator.gui.component.profile;
 
 import ecostruxure.rate.calculator.be.*;
+import ecostruxure.rate.calculator.be.data.HistoryCursor;
+import ecostruxure.rate.calculator.be.data.HistoryPage;
 import ecostruxure.rate.calculator.be.enums.ResourceType;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.GeographyService;
 import ecostruxure.rate.calculator.bll.service.HistoryService;
 import ecostruxure.rate.calculator.bll.service.ProfileService;
@@ -20,6 +23,7 @@ import java.util.List;
 
 public class ProfileInteractor {
     private static final BigDecimal INITIAL_VALUE = new BigDecimal("0.00");
+    private static final int HISTORY_PAGE_SIZE = 50;
 
     private final ProfileModel model;
 
@@ -31,6 +35,8 @@ public class ProfileInteractor {
     private List<AddProfileGeographyItemModel> addProfileGeographyItemModels;
     private List<ProfileTeamItemModel> teamItemModels;
     private List<ProfileHistoryItemModel> historyItemModels;
+    private List<ProfileHistoryItemModel> moreHistoryItemModels;
+    private HistoryCursor historyCursor;
     private BigDecimal contributedHours = INITIAL_VALUE;
     private BigDecimal totalHourlyRate = INITIAL_VALUE;
     private BigDecimal totalDayRate = INITIAL_VALUE;
@@ -38,13 +44,13 @@ public class ProfileInteractor {
     private ProfileSaveModel originalSaveModel;
     private LocalDateTime currentDateTime = LocalDateTime.now();
 
-    public ProfileInteractor(ProfileModel model, Runnable onFetchError) {
+    public ProfileInteractor(ProfileModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            profileService = new ProfileService();
-            geographyService = new GeographyService();
-            historyService = new HistoryService();
+            profileService = context.profileService();
+            geographyService = context.geographyService();
+            historyService = context.historyService();
         } catch (Exception e) {
             onFetchError.run();
         }
@@ -60,7 +66,9 @@ public class ProfileInteractor {
             totalDayRate = INITIAL_VALUE;
             totalAnnualCost = INITIAL_VALUE;
             profile = profileService.get(id);
-            historyItemModels = convertToHistoryModels(historyService.getProfileHistory(id));
+            HistoryPage<ProfileHistory> historyPage = historyService.getProfileHistory(id, null, HISTORY_PAGE_SIZE);
+            historyItemModels = convertToHistoryModels(historyPage.items());
+            historyCursor = historyPage.next();
             historyItemModels.addFirst(convertProfileToHistory(profile));
             addProfileGeographyItemModels = convertToGeographyModels(geographyService.all());
             teamItemModels = convertToTeamModels(profileService.getTeams(profile));
@@ -86,6 +94,7 @@ public class ProfileInteractor {
         model.saveModel().locations().setAll(addProfileGeographyItemModels);
         model.teams().setAll(teamItemModels);
         model.history().setAll(historyItemModels);
+        model.hasMoreHistoryProperty().set(historyCursor != null);
 
         if (contributedHours == null) contributedHours = INITIAL_VALUE;
         if (totalHourlyRate == null) totalHourlyRate = INITIAL_VALUE;
@@ -102,6 +111,27 @@ public class ProfileInteractor {
         setupBindings();
     }
 
+    public boolean fetchMoreHistory() {
+        try {
+            if (historyCursor == null) {
+                moreHistoryItemModels = List.of();
+                return true;
+            }
+
+            HistoryPage<ProfileHistory> historyPage = historyService.getProfileHistory(profile.id(), historyCursor, HISTORY_PAGE_SIZE);
+            moreHistoryItemModels = convertToHistoryModels(historyPage.items());
+            historyCursor = historyPage.next();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public void updateHistoryModel() {
+        model.history().addAll(moreHistoryItemModels);
+        model.hasMoreHistoryProperty().set(historyCursor != null);
+    }
+
     public boolean saveProfile() {
         try {
             boolean saved = profileService.update(profile, createProfileFromModel());
@@ -163,6 +193,7 @@ public class ProfileInteractor {
         model.selectedTableTypeProperty().set(ProfileTableType.TEAM);
         model.selectedHistoryItemProperty().set(null);
         model.historySelectedProperty().set(false);
+        model.hasMoreHistoryProperty().set(false);
     }
 
     public void undoChanges() {
@@ -36,6 +36,8 @@ public class ProfileModel {
 
     private final StringProperty searchTeam = new SimpleStringProperty("");
     private final BooleanProperty archived = new SimpleBooleanProperty();
+    private final BooleanProperty hasMoreHistory = new SimpleBooleanProperty();
+    private final BooleanProperty historyLoading = new SimpleBooleanProperty();
 
     public IntegerProperty idProperty() {
         return id;
@@ -121,4 +123,12 @@ public class ProfileModel {
     public BooleanProperty archivedProperty() {
         return archived;
     }
-}
\ No newline at end of file
+
+    public BooleanProperty hasMoreHistoryProperty() {
+        return hasMoreHistory;
+    }
+
+    public BooleanProperty historyLoadingProperty() {
+        return historyLoading;
+    }
+}
@@ -53,6 +53,7 @@ public class ProfileView implements View {
     private final Consumer<Runnable> onCheckout;
     private final Runnable onArchiveProfile;
     private final Runnable onUnArchiveProfile;
+    private final Runnable onLoadMoreHistory;
 
     private final FilteredList<ProfileTeamItemModel> filteredProfileTeams;
     private final SortedList<ProfileTeamItemModel> tableItems;
@@ -66,7 +67,8 @@ public class ProfileView implements View {
                        Consumer<Runnable> onUndoChanges,
                        Consumer<Runnable> onCheckout,
                        Runnable onArchiveProfile,
-                       Runnable onUnArchiveProfile) {
+                       Runnable onUnArchiveProfile,
+                       Runnable onLoadMoreHistory) {
         this.model = model;
         this.onShowTeam = onShowTeam;
         this.onSaveProfile = onSaveProfile;
@@ -75,6 +77,7 @@ public class ProfileView implements View {
         this.onCheckout = onCheckout;
         this.onArchiveProfile = onArchiveProfile;
         this.onUnArchiveProfile = onUnArchiveProfile;
+        this.onLoadMoreHistory = onLoadMoreHistory;
 
         this.filteredProfileTeams = new FilteredList<>(model.teams());
         this.tableItems = new SortedList<>(filteredProfileTeams);
@@ -315,6 +318,7 @@ public class ProfileView implements View {
         var sortedHistory = new SortedList<>(model.history());
         sortedHistory.comparatorProperty().bind(tableView.comparatorProperty());
         tableView.setItems(sortedHistory);
+        NodeUtils.onScrolledToBottom(tableView, onLoadMoreHistory);
 
         List<MenuItemInfo<ProfileHistoryItemModel>> menuItemInfos = List.of(new MenuItemInfo<>(Icons.TEAMS, LocalizedText.SHOW, profileHistoryItemModel -> {}));
         ContextMenu contextMenu = CustomContextMenu.createContextMenu(menuItemInfos, tableView);
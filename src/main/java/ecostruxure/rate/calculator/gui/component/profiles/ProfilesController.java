@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.profiles;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.gui.component.teams.TeamItemModel;
 import ecostruxure.rate.calculator.gui.component.teams.TeamsController;
@@ -30,13 +31,13 @@ public class ProfilesController implements Controller {
 
     private final ModalController addProfileController;
 
-    public ProfilesController(EventBus eventBus) {
+    public ProfilesController(EventBus eventBus, ApplicationContext context) {
         model = new ProfilesModel();
-        interactor = new ProfilesInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new ProfilesInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         view = new ProfilesView(model, this::addProfile, this::showProfile, this::archiveProfile, this::unArchiveProfile, this::archiveProfiles);
         this.eventBus = eventBus;
 
-        this.addProfileController = new AddProfileController(eventBus, this::refresh);
+        this.addProfileController = new AddProfileController(eventBus, context, this::refresh);
 
         fetchProfiles();
 
@@ -3,7 +3,8 @@ package ecostruxure.rate.calculator.gui.component.profiles;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.ProfileData;
 import ecostruxure.rate.calculator.be.Team;
-import ecostruxure.rate.calculator.bll.service.GeographyService;
+import ecostruxure.rate.calculator.be.data.ProfileOverview;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.ProfileService;
 import ecostruxure.rate.calculator.bll.service.TeamService;
 import ecostruxure.rate.calculator.bll.utils.RateUtils;
@@ -20,19 +21,17 @@ import java.util.Set;
 public class ProfilesInteractor {
     private final ProfilesModel model;
     private ProfileService profileService;
-    private GeographyService geographyService;
     private TeamService teamService;
     private List<ProfileItemModel> profileItemModels;
 
     private Profile profile;
 
-    public ProfilesInteractor(ProfilesModel model, Runnable onFetchError) {
+    public ProfilesInteractor(ProfilesModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            profileService = new ProfileService();
-            geographyService = new GeographyService();
-            teamService = new TeamService();
+            profileService = context.profileService();
+            teamService = context.teamService();
         } catch (Exception e) {
             onFetchError.run();
         }
@@ -40,7 +39,7 @@ public class ProfilesInteractor {
 
     public boolean fetchProfiles() {
         try {
-            List<Profile> profiles = profileService.all();
+            List<ProfileOverview> profiles = profileService.allOverviews();
             profileItemModels = convertToProfileItemModels(profiles);
             return true;
         } catch (Exception e) {
@@ -48,16 +47,18 @@ public class ProfilesInteractor {
         }
     }
 
-    private List<ProfileItemModel> convertToProfileItemModels(List<Profile> profiles) throws Exception {
+    private List<ProfileItemModel> convertToProfileItemModels(List<ProfileOverview> overviews) {
         List<ProfileItemModel> profileItemModels = new ArrayList<>();
 
-        for (Profile profile : profiles) {
+        for (ProfileOverview overview : overviews) {
+            Profile profile = overview.profile();
+
             ProfileItemModel profileItemModel = new ProfileItemModel();
             profileItemModel.idProperty().set(profile.id());
             profileItemModel.nameProperty().set(profile.profileData().name());
 
-            BigDecimal utilizationRate = profileService.getTotalRateUtilization(profile.id());
-            BigDecimal utilizationHours = profileService.getTotalHourUtilization(profile.id());
+            BigDecimal utilizationRate = profile.utilizationRate();
+            BigDecimal utilizationHours = profile.utilizationHours();
 
             profileItemModel.utilizationHoursProperty().set(utilizationHours);
             profileItemModel.hoursProperty().set(RateUtils.utilizedHours(profile, utilizationHours));
@@ -67,8 +68,8 @@ public class ProfilesInteractor {
             profileItemModel.setDayRate(RateUtils.dayRate(profile, utilizationRate));
             profileItemModel.setAnnualCost(RateUtils.annualCost(profile, utilizationRate));
 
-            profileItemModel.teamsProperty().set(String.valueOf(profileService.getTeams(profile).size()));
-            profileItemModel.locationProperty().set(geographyService.get(profile.profileData().geography()).name());
+            profileItemModel.teamsProperty().set(String.valueOf(overview.teamCount()));
+            profileItemModel.locationProperty().set(overview.geographyName());
             profileItemModel.archivedProperty().set(profile.profileData().archived());
 
 
@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.team;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.gui.component.profiles.ProfilesController;
 import ecostruxure.rate.calculator.gui.util.ExportToExcel;
@@ -42,19 +43,19 @@ public class TeamController implements Controller {
     private final ModalController teamEditController;
     private final ModalController verifyProfilesController;
 
-    public TeamController(EventBus eventBus) {
+    public TeamController(EventBus eventBus, ApplicationContext context) {
         model = new TeamModel();
-        interactor = new TeamInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new TeamInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
         view = new TeamView(model, this::adjustMultipliers, this::assignProfiles, this::teamEditProfile,
                             this::showProfile, this::teamRemoveProfile, this::refresh, this::exportTeam, this::editTeam,
-                            this::archiveTeam, this::unArchiveTeam);
+                            this::archiveTeam, this::unArchiveTeam, this::fetchMoreHistory);
         this.eventBus = eventBus;
 
-        this.teamMultiplierController = new TeamMultiplierController(eventBus, this::refresh);
-        this.assignProfileController = new AssignProfileController(eventBus, this::refresh);
-        this.editTeamProfileController = new TeamEditProfileController(eventBus, this::refresh);
-        this.teamEditController = new TeamEditController(eventBus, this::refresh);
-        this.verifyProfilesController = new VerifyProfilesController(eventBus, this::refresh);
+        this.teamMultiplierController = new TeamMultiplierController(eventBus, context, this::refresh);
+        this.assignProfileController = new AssignProfileController(eventBus, context, this::refresh);
+        this.editTeamProfileController = new TeamEditProfileController(eventBus, context, this::refresh);
+        this.teamEditController = new TeamEditController(eventBus, context, this::refresh);
+        this.verifyProfilesController = new VerifyProfilesController(eventBus, context, this::refresh);
 
     }
 
@@ -89,6 +90,27 @@ public class TeamController implements Controller {
         eventBus.publish(new BackgroundTaskEvent<>(fetchTask));
     }
 
+    private void fetchMoreHistory() {
+        if (model.historyLoadingProperty().get() || !model.hasMoreHistoryProperty().get()) return;
+        model.historyLoadingProperty().set(true);
+
+        Task<Boolean> fetchTask = new Task<>() {
+            @Override
+            protected Boolean call() {
+                return interactor.fetchMoreHistory();
+            }
+        };
+
+        fetchTask.setOnSucceeded(evt -> {
+            model.historyLoadingProperty().set(false);
+            if (fetchTask.getValue()) interactor.updateHistoryModel();
+            else eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_FETCH_TEAM));
+        });
+        fetchTask.setOnFailed(evt -> model.historyLoadingProperty().set(false));
+
+        eventBus.publish(new BackgroundTaskEvent<>(fetchTask));
+    }
+
     private void teamRemoveProfile(ProfileItemModel profileItemModel) {
         Task<Boolean> fetchTask = new Task<>() {
             @Override
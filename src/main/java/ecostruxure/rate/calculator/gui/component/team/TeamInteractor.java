@@ -3,14 +3,17 @@ package ecostruxure.rate.calculator.gui.component.team;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.Team;
 import ecostruxure.rate.calculator.be.TeamHistory;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.RateService;
 import ecostruxure.rate.calculator.be.enums.RateType;
+import ecostruxure.rate.calculator.be.data.HistoryCursor;
+import ecostruxure.rate.calculator.be.data.HistoryPage;
 import ecostruxure.rate.calculator.be.data.Rates;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
 import ecostruxure.rate.calculator.gui.util.ExportToExcel;
 import ecostruxure.rate.calculator.be.TeamProfileHistory;
 import ecostruxure.rate.calculator.bll.service.GeographyService;
 import ecostruxure.rate.calculator.bll.service.HistoryService;
-import ecostruxure.rate.calculator.bll.service.ProfileService;
 import ecostruxure.rate.calculator.bll.service.TeamService;
 import ecostruxure.rate.calculator.bll.utils.RateUtils;
 import ecostruxure.rate.calculator.gui.component.geography.IGeographyItemModel;
@@ -24,13 +27,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class TeamInteractor {
+    private static final int HISTORY_PAGE_SIZE = 50;
+
     private final TeamModel model;
 
     private TeamService teamService;
     private GeographyService geographyService;
     private HistoryService historyService;
-    private ProfileService profileService;
     private RateService rateService;
+    private ExportToExcel exportToExcel;
     private Team team;
     private LocalDateTime currentDateTime = LocalDateTime.now();
     private LocalDateTime lastUpdate = LocalDateTime.now();
@@ -38,6 +43,8 @@ public class TeamInteractor {
     private List<ProfileItemModel> profileItemModels;
     private List<IGeographyItemModel> geographyItemModels = new ArrayList<>();
     private List<TeamHistoryItemModel> historyItemModels;
+    private List<TeamHistoryItemModel> moreHistoryItemModels;
+    private HistoryCursor historyCursor;
     private LocalDateTime updatedAt;
 
     private Rates hourlyRates;
@@ -45,15 +52,15 @@ public class TeamInteractor {
     private Rates annualRates;
     private BigDecimal totalHorus = BigDecimal.ZERO;
 
-    public TeamInteractor(TeamModel model,Runnable onFetchError) {
+    public TeamInteractor(TeamModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            teamService = new TeamService();
-            geographyService = new GeographyService();
-            historyService = new HistoryService();
-            profileService = new ProfileService();
-            rateService = new RateService();
+            teamService = context.teamService();
+            geographyService = context.geographyService();
+            historyService = context.historyService();
+            rateService = context.rateService();
+            exportToExcel = new ExportToExcel(context);
         } catch (Exception e) {
             onFetchError.run();
         }
@@ -65,11 +72,14 @@ public class TeamInteractor {
             totalHorus = BigDecimal.ZERO;
             team = teamService.get(id);
             updatedAt = teamService.getLastUpdated(id);
-            historyItemModels = convertToHistoryModels(historyService.getTeamHistory(id));
+            HistoryPage<TeamHistory> historyPage = historyService.getTeamHistory(id, null, HISTORY_PAGE_SIZE);
+            historyItemModels = convertToHistoryModels(historyPage.items());
+            historyCursor = historyPage.next();
             profileItemModels = fetchTeamMembers(id);
-            hourlyRates = rateService.calculateRates(team, RateType.HOURLY);
-            dayRates = rateService.calculateRates(team, RateType.DAY);
-            annualRates = rateService.calculateRates(team, RateType.ANNUAL);
+            TeamMetrics metrics = rateService.teamMetrics(team);
+            hourlyRates = rateService.calculateRates(team, metrics, RateType.HOURLY);
+            dayRates = rateService.calculateRates(team, metrics, RateType.DAY);
+            annualRates = rateService.calculateRates(team, metrics, RateType.ANNUAL);
             return true;
         } catch (Exception e) {
             System.out.println(e.getMessage());
@@ -94,10 +104,9 @@ public class TeamInteractor {
                 TeamHistoryProfileItemModel profileItemModel = new TeamHistoryProfileItemModel();
                 if (teamProfileHistory.profileId() == 0) continue;
 
-                Profile profile = profileService.get(teamProfileHistory.profileId());
-
-                profileItemModel.nameProperty().set(profile.profileData().name());
-                profileItemModel.profileIdProperty().set(teamProfileHistory.profileHistoryId());
+                profileItemModel.nameProperty().set(teamProfileHistory.profileName());
+                if (teamProfileHistory.profileHistoryId() != null)
+                    profileItemModel.profileIdProperty().set(teamProfileHistory.profileHistoryId());
                 profileItemModel.utilizationRateProperty().set(teamProfileHistory.utilizationRate());
                 profileItemModel.utilizationHoursProperty().set(teamProfileHistory.utilizationHours());
                 profileItemModel.setHourlyRate(teamProfileHistory.hourlyRate());
@@ -151,6 +160,27 @@ public class TeamInteractor {
         return profileItemModels;
     }
 
+    public boolean fetchMoreHistory() {
+        try {
+            if (historyCursor == null) {
+                moreHistoryItemModels = List.of();
+                return true;
+            }
+
+            HistoryPage<TeamHistory> historyPage = historyService.getTeamHistory(team.id(), historyCursor, HISTORY_PAGE_SIZE);
+            moreHistoryItemModels = convertToHistoryModels(historyPage.items());
+            historyCursor = historyPage.next();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public void updateHistoryModel() {
+        model.history().addAll(moreHistoryItemModels);
+        model.hasMoreHistoryProperty().set(historyCursor != null);
+    }
+
     public boolean removeTeamMember(ProfileItemModel profileItemModel) {
         try {
             return teamService.removeProfileFromTeam(model.idProperty().get(), profileItemModel.idProperty().get());
@@ -167,6 +197,7 @@ public class TeamInteractor {
         model.profiles().setAll(profileItemModels);
         model.geographies().setAll(geographyItemModels);
         model.history().setAll(historyItemModels);
+        model.hasMoreHistoryProperty().set(historyCursor != null);
         model.profilesFetchedProperty().set(true);
         model.numProfilesProperty().set("" + profileItemModels.size());
 
@@ -179,7 +210,6 @@ public class TeamInteractor {
     }
 
     public boolean exportTeamToExcel(File file, int teamId) {
-        ExportToExcel exportToExcel = new ExportToExcel();
         try {
             exportToExcel.exportTeam(teamId, file);
         } catch (Exception e) {
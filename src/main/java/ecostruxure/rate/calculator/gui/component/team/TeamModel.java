@@ -38,6 +38,8 @@ public class TeamModel {
     private final ObjectProperty<LocalDateTime> currentDate = new SimpleObjectProperty<>();
     private final ObjectProperty<TeamHistoryItemModel> selectedHistoryItem = new SimpleObjectProperty<>();
     private final BooleanProperty historySelected = new SimpleBooleanProperty();
+    private final BooleanProperty hasMoreHistory = new SimpleBooleanProperty();
+    private final BooleanProperty historyLoading = new SimpleBooleanProperty();
 
     public IntegerProperty idProperty() {
         return id;
@@ -130,4 +132,12 @@ public class TeamModel {
     public BooleanProperty historySelectedProperty() {
         return historySelected;
     }
-}
\ No newline at end of file
+
+    public BooleanProperty hasMoreHistoryProperty() {
+        return hasMoreHistory;
+    }
+
+    public BooleanProperty historyLoadingProperty() {
+        return historyLoading;
+    }
+}
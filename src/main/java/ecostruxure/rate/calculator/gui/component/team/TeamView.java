@@ -27,6 +27,7 @@ import javafx.beans.binding.Bindings;
 import javafx.beans.binding.StringBinding;
 import javafx.beans.property.StringProperty;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
 import javafx.event.ActionEvent;
@@ -98,10 +99,11 @@ public class TeamView implements View {
     private SortedList<TeamHistoryProfileItemModel> historyItemModels;
 
     private final Consumer<ProfileItemModel> onShowProfile;
+    private final Runnable onLoadMoreHistory;
 
     public TeamView(TeamModel model, Runnable onAdjustMultipliers, Runnable onAssignProfiles, Consumer<ProfileItemModel> onTeamEditProfile,
                     Consumer<ProfileItemModel> onShowProfile, Consumer<ProfileItemModel> onTeamRemoveProfile, Runnable onTeamRefresh, Runnable onExportTeam,
-                    Runnable onEditTeam, Runnable onArchiveTeam, Runnable onUnarchiveTeam) {
+                    Runnable onEditTeam, Runnable onArchiveTeam, Runnable onUnarchiveTeam, Runnable onLoadMoreHistory) {
         this.model = model;
         this.onAdjustMultipliers = onAdjustMultipliers;
         this.onAssignProfiles = onAssignProfiles;
@@ -112,6 +114,7 @@ public class TeamView implements View {
         this.onEditTeam = onEditTeam;
         this.onArchiveTeam = onArchiveTeam;
         this.onUnarchiveTeam = onUnarchiveTeam;
+        this.onLoadMoreHistory = onLoadMoreHistory;
 
         this.filteredProfileItems = new FilteredList<>(model.profiles());
         this.profileItemModels = new SortedList<>(filteredProfileItems);
@@ -484,9 +487,21 @@ public class TeamView implements View {
         VBox.setVgrow(tableViewWithPaginationHistory, Priority.ALWAYS);
         VBox.setVgrow(pagination, Priority.ALWAYS);
 
+        // History is fetched in pages, the next one is requested once the last loaded page is shown
+        model.history().addListener((ListChangeListener<TeamHistoryItemModel>) change -> customTableViewHistory.updatePaginationTable(pagination.getCurrentPageIndex()));
+        pagination.currentPageIndexProperty().addListener((obs, ov, nv) -> loadMoreHistoryOnLastPage(pagination));
+        pagination.pageCountProperty().addListener((obs, ov, nv) -> loadMoreHistoryOnLastPage(pagination));
+        model.hasMoreHistoryProperty().addListener((obs, ov, nv) -> loadMoreHistoryOnLastPage(pagination));
+
         return pagination;
     }
 
+    private void loadMoreHistoryOnLastPage(Pagination pagination) {
+        if (model.hasMoreHistoryProperty().get() && pagination.getCurrentPageIndex() >= pagination.getPageCount() - 1) {
+            onLoadMoreHistory.run();
+        }
+    }
+
     private void profileHistoryConfigureTableColumns() {
         TableColumn<TeamHistoryItemModel, LocalDateTime> dateColumn = customTableViewHistory.createColumn(LocalizedText.DATE, TeamHistoryItemModel::updatedAtProperty, new LocalDateTimeCellFactory<>(model.currentDateProperty()));
         TableColumn<TeamHistoryItemModel, Reason> reasonColumn = customTableViewHistory.createColumn(LocalizedText.REASON, TeamHistoryItemModel::reasonProperty, new ReasonCellFactory<>());
@@ -1,5 +1,6 @@
 package ecostruxure.rate.calculator.gui.component.teams;
 
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.gui.component.profiles.ProfilesController;
 import ecostruxure.rate.calculator.gui.util.ExportToExcel;
@@ -25,6 +26,7 @@ import javafx.scene.layout.Region;
 import java.io.File;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public class TeamsController implements Controller {
     private final TeamsModel model;
@@ -38,21 +40,23 @@ public class TeamsController implements Controller {
     private final ModalController assignProfileController;
     private final ModalController teamEditController;
 
-    public TeamsController(EventBus eventBus) {
+    private Task<TeamsInteractor.FetchedTeams> fetchTask;
+
+    public TeamsController(EventBus eventBus, ApplicationContext context) {
         model = new TeamsModel();
-        interactor = new TeamsInteractor(model, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
+        interactor = new TeamsInteractor(model, context, () -> eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_CONNECTION)));
 
         view = new TeamsView(model, this::showTeam, this::adjustMultipliers, this::adjustMarkup,
                             this::assignProfiles, this::editTeam, this::addTeam, this::archiveTeam,
                             this::unArchiveTeam, this::refresh, this::exportTeam, this::changeRateType,
-                            this::archiveTeams, this::exportTeams);
+                            this::archiveTeams, this::unArchiveTeams, this::exportTeams);
         this.eventBus = eventBus;
 
-        this.teamMultiplierController = new TeamMultiplierController(eventBus, this::refresh);
-        this.addTeamController = new AddTeamController(eventBus, this::refresh);
-        this.verifyProfilesController = new VerifyProfilesController(eventBus, this::refresh);
-        this.assignProfileController = new AssignProfileController(eventBus, this::refresh);
-        this.teamEditController = new TeamEditController(eventBus, this::refresh);
+        this.teamMultiplierController = new TeamMultiplierController(eventBus, context, this::refresh);
+        this.addTeamController = new AddTeamController(eventBus, context, this::refresh);
+        this.verifyProfilesController = new VerifyProfilesController(eventBus, context, this::refresh);
+        this.assignProfileController = new AssignProfileController(eventBus, context, this::refresh);
+        this.teamEditController = new TeamEditController(eventBus, context, this::refresh);
 
         fetchTeams();
 
@@ -63,7 +67,13 @@ public class TeamsController implements Controller {
 
     @Override
     public void activate(Object data) {
+        // The previous fetch was cancelled when the user left the page
+        if (!model.teamsFetchedProperty().get() && (fetchTask == null || fetchTask.isDone())) fetchTeams();
+    }
 
+    @Override
+    public void deactivate() {
+        if (fetchTask != null && !fetchTask.isDone()) fetchTask.cancel(true);
     }
 
     @Override
@@ -165,6 +175,34 @@ public class TeamsController implements Controller {
         }
     }
 
+    /**
+     * Checks all the teams together, so profiles that only exceed 100% across two of the selected teams are found
+     * too. Nothing is unarchived while a conflict is left, the first conflicting team is shown to be resolved.
+     */
+    private void unArchiveTeams(List<TeamItemModel> teamItemModels) {
+        List<TeamItemModel> teams = List.copyOf(teamItemModels);
+        Map<Integer, List<Profile>> conflicts = interactor.canUnarchiveTeams(teams);
+        if (conflicts == null) {
+            eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_TEAMS_UNARCHIVE));
+            return;
+        }
+
+        for (TeamItemModel teamItemModel : teams) {
+            List<Profile> profilesToVerify = conflicts.get(teamItemModel.idProperty().get());
+            if (profilesToVerify != null) {
+                showVerifyProfiles(teamItemModel, profilesToVerify);
+                return;
+            }
+        }
+
+        if (interactor.unArchiveTeams(teams)) {
+            eventBus.publish(new NotificationEvent(NotificationType.SUCCESS, LocalizedText.SUCCESS_TEAMS_UNARCHIVE));
+            eventBus.publish(new RefreshEvent(ProfilesController.class));
+        } else {
+            eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_TEAMS_UNARCHIVE));
+        }
+    }
+
     private void changeRateType() {
         interactor.swapRateType();
     }
@@ -208,17 +246,22 @@ public class TeamsController implements Controller {
     }
 
     private void fetchTeams() {
-        Task<Boolean> fetchTask = new Task<>() {
-            protected Boolean call() {
+        // Cancelling interrupts the background thread, which cancels the team rate calculations still running. The
+        // cancelled fetch may still be finishing, but its result is dropped as only a succeeded task hands it over
+        if (fetchTask != null && !fetchTask.isDone()) fetchTask.cancel(true);
+
+        Task<TeamsInteractor.FetchedTeams> task = new Task<>() {
+            protected TeamsInteractor.FetchedTeams call() {
                 return interactor.fetchTeams();
             }
         };
 
-        fetchTask.setOnSucceeded(evt -> {
-            if (fetchTask.getValue()) interactor.updateModel();
+        task.setOnSucceeded(evt -> {
+            if (task.getValue() != null) interactor.updateModel(task.getValue());
             else eventBus.publish(new NotificationEvent(NotificationType.FAILURE, LocalizedText.ERROR_FETCH_TEAMS));
         });
 
-        eventBus.publish(new BackgroundTaskEvent<>(fetchTask));
+        fetchTask = task;
+        eventBus.publish(new BackgroundTaskEvent<>(task));
     }
 }
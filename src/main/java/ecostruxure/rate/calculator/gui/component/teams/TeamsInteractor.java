@@ -5,6 +5,8 @@ import ecostruxure.rate.calculator.be.Team;
 import ecostruxure.rate.calculator.bll.*;
 import ecostruxure.rate.calculator.be.enums.RateType;
 import ecostruxure.rate.calculator.be.data.Rates;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.be.data.TeamRates;
 import ecostruxure.rate.calculator.bll.service.TeamService;
 import ecostruxure.rate.calculator.gui.util.ExportToExcel;
 import ecostruxure.rate.calculator.gui.util.constants.LocalizedText;
@@ -20,35 +22,48 @@ public class TeamsInteractor {
     private final TeamsModel model;
     private TeamService teamService;
     private RateService rateService;
-    private List<TeamItemModel> teamItemModels;
-    private Map<Integer, Rates> hourlyRates = new HashMap<>();
-    private Map<Integer, Rates> dayRates = new HashMap<>();
-    private Map<Integer, Rates> annualRates = new HashMap<>();
+    private ExportToExcel exportToExcel;
+    // Only read and replaced on the FX thread, fetches running in the background hand their results over in FetchedTeams
+    private List<TeamItemModel> teamItemModels = new ArrayList<>();
+    private Map<Integer, TeamRates> teamRates = new HashMap<>();
+    private int maxConcurrency = 1;
+
+    /**
+     * The teams read by a fetch along with the rates of every rate type, by team id.
+     */
+    public record FetchedTeams(List<TeamItemModel> teams, Map<Integer, TeamRates> rates) {
+    }
 
-    public TeamsInteractor(TeamsModel model, Runnable onFetchError) {
+    public TeamsInteractor(TeamsModel model, ApplicationContext context, Runnable onFetchError) {
         this.model = model;
 
         try {
-            this.teamService = new TeamService();
-            this.rateService = new RateService();
+            this.teamService = context.teamService();
+            this.rateService = context.rateService();
+            this.exportToExcel = new ExportToExcel(context);
+            this.maxConcurrency = context.dbConnector().maxPoolSize();
         } catch (Exception e) {
             onFetchError.run();
         }
     }
 
-    public boolean fetchTeams() {
+    /**
+     * Reads the teams and calculates their rates without touching the interactor, so a fetch that was cancelled but is
+     * still finishing cannot overwrite the results of the fetch that replaced it.
+     *
+     * @return the fetched teams to pass to {@link #updateModel(FetchedTeams)}, or null if fetching failed.
+     */
+    public FetchedTeams fetchTeams() {
         try {
             List<Team> teams = teamService.all();
-            teamItemModels = convertToTeamItemModels(teams);
-            return true;
+            return convertToTeamItemModels(teams);
         } catch (Exception e) {
             System.out.println(e);
-            return false;
+            return null;
         }
     }
 
     public boolean exportTeamToExcel(File file, TeamItemModel teamItemModel) {
-        ExportToExcel exportToExcel = new ExportToExcel();
         try {
             exportToExcel.exportTeam(teamItemModel.idProperty().get(), file);
         } catch (Exception e) {
@@ -58,7 +73,6 @@ public class TeamsInteractor {
     }
 
     public boolean exportTeamsToExcel(File file, List<TeamItemModel> teams) {
-        ExportToExcel exportToExcel = new ExportToExcel();
         try {
             List<Team> teamList = convertModelsToEntity(teams, false);
             exportToExcel.exportTeams(teamList, file);
@@ -68,6 +82,12 @@ public class TeamsInteractor {
         return true;
     }
 
+    public void updateModel(FetchedTeams fetchedTeams) {
+        teamItemModels = fetchedTeams.teams();
+        teamRates = fetchedTeams.rates();
+        updateModel();
+    }
+
     public void updateModel() {
         model.teams().setAll(teamItemModels);
         model.numTeamsProperty().set(String.valueOf(model.teams().size()));
@@ -75,27 +95,27 @@ public class TeamsInteractor {
         updateColumnNames(model.selectedRateTypeProperty().get());
     }
 
-    List<TeamItemModel> convertToTeamItemModels(List<Team> teams) throws Exception {
+    FetchedTeams convertToTeamItemModels(List<Team> teams) throws Exception {
         List<TeamItemModel> teamItemModels = new ArrayList<>();
+        Map<Integer, TeamRates> ratesByTeam = new HashMap<>();
+        Map<Integer, TeamMetrics> metrics = teamService.allTeamMetrics();
+
+        // Teams created after the metrics were read are calculated from their members, those queries run in parallel
+        List<TeamRates> calculatedRates = rateService.calculateRates(teams, metrics, maxConcurrency);
+
+        for (int i = 0; i < teams.size(); i++) {
+            Team team = teams.get(i);
+            TeamRates rates = calculatedRates.get(i);
 
-        for (Team team : teams) {
             TeamItemModel teamItemModel = new TeamItemModel();
             teamItemModel.idProperty().set(team.id());
 
-            hourlyRates.put(team.id(), rateService.calculateRates(team, RateType.HOURLY));
-            dayRates.put(team.id(), rateService.calculateRates(team, RateType.DAY));
-            annualRates.put(team.id(), rateService.calculateRates(team, RateType.ANNUAL));
-
-            Rates rates;
-            switch (model.selectedRateTypeProperty().get()) {
-                case DAY -> rates = dayRates.get(team.id());
-                case ANNUAL -> rates = annualRates.get(team.id());
-                default -> rates = hourlyRates.get(team.id());
-            }
+            ratesByTeam.put(team.id(), rates);
 
-            teamItemModel.setRawRate(rates.rawRate());
-            teamItemModel.setMarkupRate(rates.markupRate());
-            teamItemModel.setGrossMarginRate(rates.grossMarginRate());
+            Rates selectedRates = rates.of(model.selectedRateTypeProperty().get());
+            teamItemModel.setRawRate(selectedRates.rawRate());
+            teamItemModel.setMarkupRate(selectedRates.markupRate());
+            teamItemModel.setGrossMarginRate(selectedRates.grossMarginRate());
 
             teamItemModel.nameProperty().set(team.name());
             teamItemModel.markupProperty().set(team.markup());
@@ -105,7 +125,7 @@ public class TeamsInteractor {
             teamItemModels.add(teamItemModel);
         }
 
-        return teamItemModels;
+        return new FetchedTeams(teamItemModels, ratesByTeam);
     }
 
     private List<Team> convertModelsToEntity(List<TeamItemModel> teamItemModels, boolean checkArchived) {
@@ -128,12 +148,7 @@ public class TeamsInteractor {
     public void swapRateType() {
         RateType rateType = model.selectedRateTypeProperty().get();
         for (TeamItemModel team : model.teams()) {
-            Rates rates;
-            switch (rateType) {
-                case DAY -> rates = dayRates.get(team.idProperty().get());
-                case ANNUAL -> rates = annualRates.get(team.idProperty().get());
-                default -> rates = hourlyRates.get(team.idProperty().get());
-            }
+            Rates rates = teamRates.get(team.idProperty().get()).of(rateType);
 
             team.setRawRate(rates.rawRate());
             team.setMarkupRate(rates.markupRate());
@@ -209,6 +224,28 @@ public class TeamsInteractor {
         }
     }
 
+    public Map<Integer, List<Profile>> canUnarchiveTeams(List<TeamItemModel> teamItemModels) {
+        try {
+            return teamService.canUnarchive(convertModelsToEntity(teamItemModels, false));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public boolean unArchiveTeams(List<TeamItemModel> teamItemModels) {
+        try {
+            boolean unArchived = teamService.archive(convertModelsToEntity(teamItemModels, false), false);
+            if (unArchived) {
+                for (TeamItemModel teamItemModel : teamItemModels)
+                    teamItemModel.archivedProperty().set(false);
+            }
+
+            return unArchived;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     public boolean archiveTeams() {
         try {
             List<Team> teams = convertModelsToEntity(model.teamsToArchive(), true);
@@ -55,6 +55,7 @@ public class TeamsView implements View {
     private final Runnable onChangeRateType;
     private final Runnable onRefresh;
     private final Consumer<List<TeamItemModel>> archiveTeams;
+    private final Consumer<List<TeamItemModel>> unArchiveTeams;
     private final Consumer<List<TeamItemModel>> onExportTeams;
 
     private final FilteredList<TeamItemModel> filteredTeamItemModels;
@@ -68,7 +69,8 @@ public class TeamsView implements View {
     public TeamsView(TeamsModel model, Consumer<TeamItemModel> onShowTeam, Consumer<TeamItemModel> onAdjustMultipliers, BiConsumer<TeamItemModel, BigDecimal> onAdjustMarkup,
                         Consumer<TeamItemModel> onAssignProfiles, Consumer<TeamItemModel> onEditTeam,
                      Runnable addTeam, Consumer<TeamItemModel> onArchiveTeam, Consumer<TeamItemModel> onUnArchiveTeam, Runnable onRefresh,
-                     Consumer<TeamItemModel> onExportTeam, Runnable onChangeRateType, Consumer<List<TeamItemModel>> archiveTeams, Consumer<List<TeamItemModel>> onExportTeams) {
+                     Consumer<TeamItemModel> onExportTeam, Runnable onChangeRateType, Consumer<List<TeamItemModel>> archiveTeams, Consumer<List<TeamItemModel>> unArchiveTeams,
+                     Consumer<List<TeamItemModel>> onExportTeams) {
         this.model = model;
         this.onShowTeam = onShowTeam;
         this.onAdjustMultipliers = onAdjustMultipliers;
@@ -82,6 +84,7 @@ public class TeamsView implements View {
         this.onExportTeam = onExportTeam;
         this.onChangeRateType = onChangeRateType;
         this.archiveTeams = archiveTeams;
+        this.unArchiveTeams = unArchiveTeams;
         this.onExportTeams = onExportTeams;
 
         this.filteredTeamItemModels = new FilteredList<>(model.teams());
@@ -381,6 +384,8 @@ public class TeamsView implements View {
 
                 if (countNotArchived > 1 && filterIndex == 0 || countNotArchived > 1 && filterIndex == 1)
                     return LocalizedText.ARCHIVE.get() + " " + countNotArchived + " " + LocalizedText.TEAMS.get();
+                if (countNotArchived == 0 && teams.size() > 1)
+                    return LocalizedText.UNARCHIVE.get() + " " + teams.size() + " " + LocalizedText.TEAMS.get();
 
                 return selected != null && selected.archivedProperty().get() ? LocalizedText.UNARCHIVE.get() : LocalizedText.ARCHIVE.get();
             }
@@ -450,6 +455,10 @@ public class TeamsView implements View {
             archiveTeams.accept(selected);
             return;
         }
+        if (countNotArchived == 0 && selected.size() > 1) {
+            unArchiveTeams.accept(selected);
+            return;
+        }
         if (teamItemModel.archivedProperty().get())
             onUnArchiveTeam.accept(teamItemModel);
         else
@@ -41,6 +41,7 @@ public class ViewManager {
         Controller controller = controllers.get(controllerClass);
         if (controller == null) return;
 
+        deactivateCurrent();
         controller.activate(data);
         activeControllerClass.set(controllerClass);
         currentData.set(data);
@@ -51,6 +52,7 @@ public class ViewManager {
 
         ViewSnapshot snapshot = history.pop();
         forwardHistory.push(new ViewSnapshot(controllers.get(activeControllerClass.get()), currentData.get()));
+        deactivateCurrent();
         activeControllerClass.set(snapshot.controller.getClass());
         snapshot.controller().activate(snapshot.data());
         currentData.set(snapshot.data());
@@ -61,11 +63,19 @@ public class ViewManager {
 
         ViewSnapshot snapshot = forwardHistory.pop();
         history.push(new ViewSnapshot(controllers.get(activeControllerClass.get()), currentData.get()));
+        deactivateCurrent();
         activeControllerClass.set(snapshot.controller.getClass());
         snapshot.controller.activate(snapshot.data);
         currentData.set(snapshot.data);
     }
 
+    private void deactivateCurrent() {
+        if (activeControllerClass.get() == null) return;
+
+        Controller current = controllers.get(activeControllerClass.get());
+        if (current != null) current.deactivate();
+    }
+
     Stack<ViewSnapshot> history() {
         return history;
     }
@@ -2,9 +2,11 @@ package ecostruxure.rate.calculator.gui.util;
 
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.RateService;
 import ecostruxure.rate.calculator.be.enums.RateType;
 import ecostruxure.rate.calculator.be.data.Rates;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
 import ecostruxure.rate.calculator.bll.service.GeographyService;
 import ecostruxure.rate.calculator.bll.service.ProfileService;
 import ecostruxure.rate.calculator.bll.service.TeamService;
@@ -30,12 +32,12 @@ public class ExportToExcel {
     private GeographyService geographyService;
     private RateService rateService;
 
-    public ExportToExcel() {
+    public ExportToExcel(ApplicationContext context) {
         try {
-            teamService = new TeamService();
-            profileService = new ProfileService();
-            geographyService = new GeographyService();
-            rateService = new RateService();
+            teamService = context.teamService();
+            profileService = context.profileService();
+            geographyService = context.geographyService();
+            rateService = context.rateService();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -143,9 +145,10 @@ public class ExportToExcel {
                 "EcoStruxure Rate Calculator",
                 "Schneider Electric");
 
-        Rates hourlyRates = rateService.calculateRates(getTeam, RateType.HOURLY);
-        Rates dayRates = rateService.calculateRates(getTeam, RateType.DAY);
-        Rates annualRates = rateService.calculateRates(getTeam, RateType.ANNUAL);
+        TeamMetrics metrics = rateService.teamMetrics(getTeam);
+        Rates hourlyRates = rateService.calculateRates(getTeam, metrics, RateType.HOURLY);
+        Rates dayRates = rateService.calculateRates(getTeam, metrics, RateType.DAY);
+        Rates annualRates = rateService.calculateRates(getTeam, metrics, RateType.ANNUAL);
 
         String[] header1 = {"Team Name", "Markup", "Gross Margin", "Profiles", "Archived", "Currency"};
         String[] data1 = {getTeam.name(), getTeam.markup() != null ? getTeam.markup().toString() : "", getTeam.grossMargin() != null ? getTeam.grossMargin().toString() : "", String.valueOf(profiles.size()), getTeam.archived() ? "Yes" : "No", "EURO"};
@@ -210,9 +213,10 @@ public class ExportToExcel {
                         "EcoStruxure Rate Calculator",
                         "Schneider Electric");
 
-                Rates hourlyRates = rateService.calculateRates(getTeam, RateType.HOURLY);
-                Rates dayRates = rateService.calculateRates(getTeam, RateType.DAY);
-                Rates annualRates = rateService.calculateRates(getTeam, RateType.ANNUAL);
+                TeamMetrics metrics = rateService.teamMetrics(getTeam);
+                Rates hourlyRates = rateService.calculateRates(getTeam, metrics, RateType.HOURLY);
+                Rates dayRates = rateService.calculateRates(getTeam, metrics, RateType.DAY);
+                Rates annualRates = rateService.calculateRates(getTeam, metrics, RateType.ANNUAL);
 
                 String[] header1 = {"Team Name", "Markup", "Gross Margin", "Profiles", "Archived", "Currency"};
                 String[] data1 = {getTeam.name(), getTeam.markup() != null ? getTeam.markup().toString() : "", getTeam.grossMargin() != null ? getTeam.grossMargin().toString() : "", String.valueOf(profiles.size()), getTeam.archived() ? "Yes" : "No", "EURO"};
@@ -1,9 +1,12 @@
 package ecostruxure.rate.calculator.gui.util;
 
 import javafx.beans.value.ObservableValue;
+import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.SeparatorMenuItem;
+import javafx.scene.control.TableView;
 
 public class NodeUtils {
     public static void bindVisibility(Node node, ObservableValue<Boolean> condition) {
@@ -22,4 +25,19 @@ public class NodeUtils {
     public static void bindVisibility(SeparatorMenuItem separatorMenuItem, ObservableValue<Boolean> condition) {
         separatorMenuItem.visibleProperty().bind(condition);
     }
+
+    /**
+     * Runs the action whenever the table is scrolled to its last row, used for fetching the next page of data.
+     */
+    public static void onScrolledToBottom(TableView<?> tableView, Runnable action) {
+        tableView.skinProperty().addListener((obs, ov, nv) -> {
+            for (Node node : tableView.lookupAll(".scroll-bar")) {
+                if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                    scrollBar.valueProperty().addListener((o, oldValue, newValue) -> {
+                        if (newValue.doubleValue() >= scrollBar.getMax()) action.run();
+                    });
+                }
+            }
+        });
+    }
 }
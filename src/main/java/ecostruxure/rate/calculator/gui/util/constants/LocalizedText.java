@@ -127,6 +127,7 @@ public class LocalizedText {
     public static final StringProperty ALREADY_EXISTS = new SimpleStringProperty("already exists");
     public static final StringProperty GEOGRAPHY_DOES_NOT_EXIST = new SimpleStringProperty("Geography doesn't exist");
     public static final StringProperty ERROR_CONNECTION = new SimpleStringProperty("Connection error. Please contact support.");
+    public static final StringProperty ERROR_MIGRATION = new SimpleStringProperty("The database could not be updated. Please contact support.");
     public static final StringProperty ERROR_FETCH_TEAMS = new SimpleStringProperty("Failed to fetch teams");
     public static final StringProperty ERROR_FETCH_TEAM = new SimpleStringProperty("Failed to fetch team");
     public static final StringProperty ERROR_FETCH_LOCATIONS = new SimpleStringProperty("Failed to fetch locations");
@@ -155,6 +156,7 @@ public class LocalizedText {
     public static final StringProperty ERROR_TEAM_PROFILE_REMOVE = new SimpleStringProperty("Failed to remove team profile");
     public static final StringProperty ERROR_FETCH_CURRENCIES = new SimpleStringProperty("Failed to fetch currencies");
     public static final StringProperty ERROR_TEAM_UNARCHIVE = new SimpleStringProperty("Failed to unarchive team");
+    public static final StringProperty ERROR_TEAMS_UNARCHIVE = new SimpleStringProperty("Failed to unarchive teams");
     public static final StringProperty ERROR_IMPORT_CURRENCIES = new SimpleStringProperty("Failed to import currencies");
     public static final StringProperty ERROR_MISSING_CURRENCIES = new SimpleStringProperty("CSV must contain both EUR and USD entries.");
     public static final StringProperty SUCCESS_PROFILE_CREATED = new SimpleStringProperty("Profile created successfully");
@@ -174,6 +176,7 @@ public class LocalizedText {
     public static final StringProperty SUCCESS_TEAM_ARCHIVE = new SimpleStringProperty("Team archived successfully");
     public static final StringProperty SUCCESS_TEAM_UNARCHIVE = new SimpleStringProperty("Team unarchived successfully");
     public static final StringProperty SUCCESS_TEAMS_ARCHIVE = new SimpleStringProperty("Teams archived successfully");
+    public static final StringProperty SUCCESS_TEAMS_UNARCHIVE = new SimpleStringProperty("Teams unarchived successfully");
     public static final StringProperty SUCCESS_EXPORT_TEAM = new SimpleStringProperty("Team successfully exported");
     public static final StringProperty SUCCESS_EXPORT_TEAMS = new SimpleStringProperty("Teams successfully exported");
     public static final StringProperty SUCCESS_IMPORT_CURRENCIES = new SimpleStringProperty("Currencies imported successfully!");
@@ -302,6 +305,7 @@ public class LocalizedText {
         ALREADY_EXISTS.set(bundle.getString("ALREADY_EXISTS"));
         GEOGRAPHY_DOES_NOT_EXIST.set(bundle.getString("GEOGRAPHY_DOES_NOT_EXIST"));
         ERROR_CONNECTION.set(bundle.getString("ERROR_CONNECTION"));
+        ERROR_MIGRATION.set(bundle.getString("ERROR_MIGRATION"));
         ERROR_FETCH_TEAMS.set(bundle.getString("ERROR_FETCH_TEAMS"));
         ERROR_FETCH_TEAM.set(bundle.getString("ERROR_FETCH_TEAM"));
         ERROR_FETCH_LOCATIONS.set(bundle.getString("ERROR_FETCH_LOCATIONS"));
@@ -330,6 +334,7 @@ public class LocalizedText {
         ERROR_TEAM_PROFILE_REMOVE.set(bundle.getString("ERROR_TEAM_PROFILE_REMOVE"));
         ERROR_FETCH_CURRENCIES.set(bundle.getString("ERROR_FETCH_CURRENCIES"));
         ERROR_TEAM_UNARCHIVE.set(bundle.getString("ERROR_TEAM_UNARCHIVE"));
+        ERROR_TEAMS_UNARCHIVE.set(bundle.getString("ERROR_TEAMS_UNARCHIVE"));
         ERROR_IMPORT_CURRENCIES.set(bundle.getString("ERROR_IMPORT_CURRENCIES"));
         ERROR_MISSING_CURRENCIES.set(bundle.getString("ERROR_MISSING_CURRENCIES"));
         SUCCESS_PROFILE_CREATED.set(bundle.getString("SUCCESS_PROFILE_CREATED"));
@@ -349,6 +354,7 @@ public class LocalizedText {
         SUCCESS_TEAM_ARCHIVE.set(bundle.getString("SUCCESS_TEAM_ARCHIVE"));
         SUCCESS_TEAM_UNARCHIVE.set(bundle.getString("SUCCESS_TEAM_UNARCHIVE"));
         SUCCESS_TEAMS_ARCHIVE.set(bundle.getString("SUCCESS_TEAMS_ARCHIVE"));
+        SUCCESS_TEAMS_UNARCHIVE.set(bundle.getString("SUCCESS_TEAMS_UNARCHIVE"));
         SUCCESS_EXPORT_TEAM.set(bundle.getString("SUCCESS_EXPORT_TEAM"));
         SUCCESS_EXPORT_TEAMS.set(bundle.getString("SUCCESS_EXPORT_TEAMS"));
         SUCCESS_IMPORT_CURRENCIES.set(bundle.getString("SUCCESS_IMPORT_CURRENCIES"));
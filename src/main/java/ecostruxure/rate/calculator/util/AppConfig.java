@@ -16,6 +16,17 @@ public class AppConfig {
     public static final String DB_PASSWORD = "db.password";
     public static final String DB_USE_INTEGRATED_SECURITY = "db.use_integrated_security";
 
+    public static final String DB_POOL_MIN_SIZE = "db.pool.min_size";
+    public static final String DB_POOL_MAX_SIZE = "db.pool.max_size";
+    public static final String DB_POOL_IDLE_TIMEOUT_MS = "db.pool.idle_timeout_ms";
+    public static final String DB_POOL_ACQUIRE_TIMEOUT_MS = "db.pool.acquire_timeout_ms";
+
+    public static final String DB_RETRY_MAX_ATTEMPTS = "db.retry.max_attempts";
+    public static final String DB_RETRY_BASE_DELAY_MS = "db.retry.base_delay_ms";
+    public static final String DB_RETRY_MAX_DELAY_MS = "db.retry.max_delay_ms";
+
+    public static final String DB_READ_ISOLATION = "db.read_isolation";
+
     public static final String USER_LANGUAGE = "user.language";
     public static final String USER_LANGUAGE_EN = "en";
     public static final String USER_LANGUAGE_DA = "da";
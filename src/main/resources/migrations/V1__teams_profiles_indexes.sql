@@ -0,0 +1,12 @@
+-- Team members are looked up by team (team page, rate calculations) and teams by member (profile page)
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_profiles_teamId' AND object_id = OBJECT_ID('dbo.Teams_profiles'))
+CREATE NONCLUSTERED INDEX IX_Teams_profiles_teamId
+    ON dbo.Teams_profiles (teamId)
+    INCLUDE (profileId, utilization_rate, utilization_hours, archived);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_profiles_profileId' AND object_id = OBJECT_ID('dbo.Teams_profiles'))
+CREATE NONCLUSTERED INDEX IX_Teams_profiles_profileId
+    ON dbo.Teams_profiles (profileId)
+    INCLUDE (teamId, utilization_rate, utilization_hours, archived);
+GO
@@ -0,0 +1,7 @@
+-- Team history is read newest first per team, paged on (updated_at, id)
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_profiles_history_team_updated' AND object_id = OBJECT_ID('dbo.Teams_profiles_history'))
+CREATE NONCLUSTERED INDEX IX_Teams_profiles_history_team_updated
+    ON dbo.Teams_profiles_history (team_id, updated_at DESC, id DESC)
+    INCLUDE (profile_id, profile_history_id, reason, hourly_rate, day_rate, annual_cost, total_hours,
+             utilization_rate, utilization_hours, profile_hourly_rate, profile_day_rate, profile_annual_cost, profile_total_hours);
+GO
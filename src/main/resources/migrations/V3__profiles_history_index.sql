@@ -0,0 +1,7 @@
+-- Profile history is read newest first per profile, paged on (updated_at, history_id), and the latest entry is
+-- looked up whenever a team history row is written
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Profiles_history_profile_updated' AND object_id = OBJECT_ID('dbo.Profiles_history'))
+CREATE NONCLUSTERED INDEX IX_Profiles_history_profile_updated
+    ON dbo.Profiles_history (profile_id, updated_at DESC, history_id DESC)
+    INCLUDE (overhead, annual_salary, fixed_annual_amount, overhead_multiplier, effective_work_hours, hours_per_day);
+GO
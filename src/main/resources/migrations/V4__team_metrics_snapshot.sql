@@ -0,0 +1,36 @@
+-- Raw utilized totals per team, kept up to date by every write that changes them, read by the Teams list,
+-- the team page and the Excel export. Rebuilt from Teams_profiles with TeamService.rebuildTeamMetrics()
+IF OBJECT_ID('dbo.Team_metrics', 'U') IS NULL
+CREATE TABLE dbo.Team_metrics (
+    team_id     INT PRIMARY KEY NOT NULL,
+    hourly_rate DECIMAL(38, 8) NOT NULL,
+    day_rate    DECIMAL(38, 8) NOT NULL,
+    annual_cost DECIMAL(38, 8) NOT NULL,
+    total_hours DECIMAL(38, 8) NOT NULL,
+    updated_at  DATETIME DEFAULT GETDATE() NOT NULL,
+    FOREIGN KEY (team_id) REFERENCES Teams(id)
+);
+GO
+
+INSERT INTO dbo.Team_metrics (team_id, hourly_rate, day_rate, annual_cost, total_hours)
+SELECT t.id,
+       ISNULL(SUM(m.hourly_rate * m.rate_factor), 0),
+       ISNULL(SUM(m.hourly_rate * m.hours_per_day * m.rate_factor), 0),
+       ISNULL(SUM(m.annual_cost * m.rate_factor), 0),
+       ISNULL(SUM(m.effective_work_hours * m.hour_factor), 0)
+FROM dbo.Teams t
+LEFT JOIN (
+    SELECT tp.teamId,
+           p.annual_salary * p.overhead_multiplier + p.fixed_annual_amount AS annual_cost,
+           CAST(ROUND((p.annual_salary * p.overhead_multiplier + p.fixed_annual_amount) / p.effective_work_hours, 2) AS DECIMAL(38, 2)) AS hourly_rate,
+           p.hours_per_day,
+           p.effective_work_hours,
+           CAST(ROUND(ISNULL(tp.utilization_rate, 0) / 100.00, 2) AS DECIMAL(5, 2)) AS rate_factor,
+           CAST(ROUND(ISNULL(tp.utilization_hours, 0) / 100.00, 2) AS DECIMAL(5, 2)) AS hour_factor
+    FROM dbo.Teams_profiles tp
+    INNER JOIN dbo.Profiles p ON p.id = tp.profileId
+    INNER JOIN dbo.Profiles_data pd ON pd.id = p.id AND pd.archived = 0
+) m ON m.teamId = t.id
+WHERE NOT EXISTS (SELECT 1 FROM dbo.Team_metrics tm WHERE tm.team_id = t.id)
+GROUP BY t.id;
+GO
@@ -0,0 +1,30 @@
+-- Allocated utilization per profile over its active team memberships. As an indexed view SQL Server keeps it up to
+-- date on every assignment, utilization change and team archive, in the same transaction as the write
+SET ANSI_NULLS ON;
+SET QUOTED_IDENTIFIER ON;
+GO
+
+IF OBJECT_ID('dbo.Profile_allocations', 'V') IS NULL
+EXEC('
+CREATE VIEW dbo.Profile_allocations WITH SCHEMABINDING AS
+SELECT profileId,
+       SUM(utilization_rate) AS allocated_rate,
+       SUM(utilization_hours) AS allocated_hours,
+       COUNT_BIG(*) AS assignments
+FROM dbo.Teams_profiles
+WHERE archived = 0
+GROUP BY profileId
+');
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Profile_allocations_profileId' AND object_id = OBJECT_ID('dbo.Profile_allocations'))
+CREATE UNIQUE CLUSTERED INDEX IX_Profile_allocations_profileId
+    ON dbo.Profile_allocations (profileId);
+GO
+
+-- Free capacity lookups seek on the allocated rate, 100 - allocated_rate >= X becomes allocated_rate <= 100 - X
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Profile_allocations_rate' AND object_id = OBJECT_ID('dbo.Profile_allocations'))
+CREATE NONCLUSTERED INDEX IX_Profile_allocations_rate
+    ON dbo.Profile_allocations (allocated_rate)
+    INCLUDE (allocated_hours);
+GO
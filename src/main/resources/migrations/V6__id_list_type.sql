@@ -0,0 +1,6 @@
+-- Table-valued parameter for set-based statements over many ids, e.g. archiving a selection of teams
+IF TYPE_ID('dbo.Id_list') IS NULL
+CREATE TYPE dbo.Id_list AS TABLE (
+    id INT PRIMARY KEY NOT NULL
+);
+GO
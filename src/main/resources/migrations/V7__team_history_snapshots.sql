@@ -0,0 +1,86 @@
+-- One row per team history entry holding the team totals. Member rows in Teams_profiles_history only record the
+-- members that changed in the entry, except for full snapshots, which hold every member at that point.
+-- Entries converted from the old history are legacy entries, see below, and may lack totals
+IF OBJECT_ID('dbo.Teams_history', 'U') IS NULL
+CREATE TABLE dbo.Teams_history (
+    id            INT PRIMARY KEY IDENTITY(1,1) NOT NULL,
+    team_id       INT NOT NULL,
+    reason        NVARCHAR(50) NOT NULL,
+    hourly_rate   DECIMAL(10, 2) NULL,
+    day_rate      DECIMAL(12, 2) NULL,
+    annual_cost   DECIMAL(19, 2) NULL,
+    total_hours   DECIMAL(10, 2) NULL,
+    full_snapshot BIT DEFAULT 0 NOT NULL,
+    legacy        BIT DEFAULT 0 NOT NULL,
+    updated_at    DATETIME DEFAULT GETDATE() NOT NULL,
+    FOREIGN KEY (team_id) REFERENCES Teams(id)
+);
+GO
+
+IF COL_LENGTH('dbo.Teams_profiles_history', 'team_history_id') IS NULL
+ALTER TABLE dbo.Teams_profiles_history ADD
+    team_history_id INT NULL FOREIGN KEY REFERENCES dbo.Teams_history(id),
+    removed         BIT DEFAULT 0 NOT NULL;
+GO
+
+-- Existing entries are every row written at the same updated_at. The old code wrote every member on some changes
+-- and only the changed member on others, so they become legacy entries: each shows the rows it was written with,
+-- and no later entry is replayed onto them. Totals that were never recorded stay NULL rather than reading as zero
+INSERT INTO dbo.Teams_history (team_id, reason, hourly_rate, day_rate, annual_cost, total_hours, full_snapshot, legacy, updated_at)
+SELECT team_id, reason, hourly_rate, day_rate, annual_cost, total_hours, 0, 1, updated_at
+FROM (
+    SELECT team_id, reason, hourly_rate, day_rate, annual_cost, total_hours, updated_at, id,
+           ROW_NUMBER() OVER (PARTITION BY team_id, updated_at ORDER BY CASE WHEN hourly_rate IS NULL THEN 1 ELSE 0 END, id DESC) AS row_num
+    FROM dbo.Teams_profiles_history
+    WHERE team_history_id IS NULL
+) AS entries
+WHERE row_num = 1
+ORDER BY updated_at, id;
+GO
+
+UPDATE tph
+SET tph.team_history_id = th.id
+FROM dbo.Teams_profiles_history tph
+JOIN dbo.Teams_history th ON th.team_id = tph.team_id AND th.updated_at = tph.updated_at
+WHERE tph.team_history_id IS NULL;
+GO
+
+-- Rows without a profile only carried the totals of an entry, and the totals now live on Teams_history
+DELETE FROM dbo.Teams_profiles_history WHERE profile_id IS NULL;
+
+UPDATE dbo.Teams_profiles_history
+SET hourly_rate = NULL, day_rate = NULL, annual_cost = NULL, total_hours = NULL
+WHERE hourly_rate IS NOT NULL OR day_rate IS NOT NULL OR annual_cost IS NOT NULL OR total_hours IS NOT NULL;
+GO
+
+-- Entries are paged newest first per team, and rebuilt by replaying member rows from the latest full snapshot
+DROP INDEX IF EXISTS IX_Teams_profiles_history_team_updated ON dbo.Teams_profiles_history;
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_history_team_updated' AND object_id = OBJECT_ID('dbo.Teams_history'))
+CREATE NONCLUSTERED INDEX IX_Teams_history_team_updated
+    ON dbo.Teams_history (team_id, updated_at DESC, id DESC)
+    INCLUDE (reason, hourly_rate, day_rate, annual_cost, total_hours, full_snapshot, legacy);
+
+-- A utilization change builds on the totals of the team's latest entry, found by id as updated_at is the writer's clock
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_history_team_latest' AND object_id = OBJECT_ID('dbo.Teams_history'))
+CREATE NONCLUSTERED INDEX IX_Teams_history_team_latest
+    ON dbo.Teams_history (team_id, id DESC)
+    INCLUDE (hourly_rate, day_rate, annual_cost, total_hours);
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_history_team_full' AND object_id = OBJECT_ID('dbo.Teams_history'))
+CREATE NONCLUSTERED INDEX IX_Teams_history_team_full
+    ON dbo.Teams_history (team_id, id)
+    WHERE full_snapshot = 1;
+
+-- Reading a page starts at the latest full snapshot or legacy entry at or before its oldest entry
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_history_team_legacy' AND object_id = OBJECT_ID('dbo.Teams_history'))
+CREATE NONCLUSTERED INDEX IX_Teams_history_team_legacy
+    ON dbo.Teams_history (team_id, id)
+    WHERE legacy = 1;
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_profiles_history_team_entry' AND object_id = OBJECT_ID('dbo.Teams_profiles_history'))
+CREATE NONCLUSTERED INDEX IX_Teams_profiles_history_team_entry
+    ON dbo.Teams_profiles_history (team_id, team_history_id, id)
+    INCLUDE (profile_id, profile_history_id, removed, utilization_rate, utilization_hours,
+             profile_hourly_rate, profile_day_rate, profile_annual_cost, profile_total_hours, updated_at);
+GO
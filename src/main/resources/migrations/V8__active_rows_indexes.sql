@@ -0,0 +1,40 @@
+-- Active rows only. The list screens, team pages and rate calculations all filter on archived = 0, so with these
+-- indexes they read a structure that grows with the active data while archived rows accumulate in the base tables.
+-- Archiving or unarchiving moves a row out of or back into the indexes as part of the same UPDATE. Teams gets none, as
+-- it is clustered on id, so a filtered copy would only let a scan skip archived teams, and the teams list reads them all
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Profiles_data_active' AND object_id = OBJECT_ID('dbo.Profiles_data'))
+CREATE NONCLUSTERED INDEX IX_Profiles_data_active
+    ON dbo.Profiles_data (id)
+    INCLUDE (name, currency, geography, overhead, archived, updated_at)
+    WHERE archived = 0;
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_profiles_active_teamId' AND object_id = OBJECT_ID('dbo.Teams_profiles'))
+CREATE NONCLUSTERED INDEX IX_Teams_profiles_active_teamId
+    ON dbo.Teams_profiles (teamId, profileId)
+    INCLUDE (utilization_rate, utilization_hours, archived)
+    WHERE archived = 0;
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_profiles_active_profileId' AND object_id = OBJECT_ID('dbo.Teams_profiles'))
+CREATE NONCLUSTERED INDEX IX_Teams_profiles_active_profileId
+    ON dbo.Teams_profiles (profileId, teamId)
+    INCLUDE (utilization_rate, utilization_hours, archived)
+    WHERE archived = 0;
+GO
+
+-- The V1 indexes are kept for the statements that reach archived memberships or do not filter on archived: unarchiving
+-- a team, checking if teams can be unarchived, updating utilizations and removing members. Those only need to locate
+-- the rows, so the indexes are rebuilt on the keys alone and are no longer written when a utilization or the archived
+-- flag changes
+IF EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_profiles_teamId' AND object_id = OBJECT_ID('dbo.Teams_profiles'))
+CREATE NONCLUSTERED INDEX IX_Teams_profiles_teamId
+    ON dbo.Teams_profiles (teamId, profileId)
+    WITH (DROP_EXISTING = ON);
+GO
+
+IF EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Teams_profiles_profileId' AND object_id = OBJECT_ID('dbo.Teams_profiles'))
+CREATE NONCLUSTERED INDEX IX_Teams_profiles_profileId
+    ON dbo.Teams_profiles (profileId, teamId)
+    WITH (DROP_EXISTING = ON);
+GO
@@ -0,0 +1,57 @@
+package ecostruxure.rate.calculator.bll;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ApplicationContextTest {
+    private ApplicationContext context;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        File config = File.createTempFile("config", ".properties");
+        config.deleteOnExit();
+
+        try (FileWriter writer = new FileWriter(config)) {
+            writer.write("""
+                         db.server=localhost
+                         db.database=EcoStruxure
+                         db.port=1433
+                         db.use_integrated_security=true
+                         db.pool.min_size=0
+                         """);
+        }
+
+        context = new ApplicationContext(config.getPath());
+    }
+
+    @Test
+    void servicesAreCreatedOnce() throws Exception {
+        assertThat(context.profileService()).isSameInstanceAs(context.profileService());
+        assertThat(context.teamService()).isSameInstanceAs(context.teamService());
+        assertThat(context.rateService()).isSameInstanceAs(context.rateService());
+        assertThat(context.scenarioService()).isSameInstanceAs(context.scenarioService());
+    }
+
+    @Test
+    void daosShareOneConnector() throws Exception {
+        context.rateService();
+
+        assertThat(context.dbConnector()).isSameInstanceAs(context.dbConnector());
+        assertThat(context.profileDAO()).isSameInstanceAs(context.profileDAO());
+        assertThat(context.teamProfileManagementService()).isSameInstanceAs(context.teamProfileManagementService());
+    }
+
+    @Test
+    void missingConfigurationFailsOnAccess() {
+        ApplicationContext missing = new ApplicationContext("does/not/exist.properties");
+
+        assertThrows(Exception.class, missing::profileService);
+    }
+}
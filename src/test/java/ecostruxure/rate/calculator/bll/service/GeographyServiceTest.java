@@ -0,0 +1,100 @@
+package ecostruxure.rate.calculator.bll.service;
+
+import ecostruxure.rate.calculator.be.Country;
+import ecostruxure.rate.calculator.be.Geography;
+import ecostruxure.rate.calculator.dal.dao.ICountryDAO;
+import ecostruxure.rate.calculator.dal.dao.IGeographyDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GeographyServiceTest {
+    private IGeographyDAO geographyDAO;
+    private ICountryDAO countryDAO;
+    private CountryService countryService;
+    private GeographyService geographyService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        geographyDAO = mock(IGeographyDAO.class);
+        countryDAO = mock(ICountryDAO.class);
+
+        when(geographyDAO.all()).thenAnswer(invocation -> new ArrayList<>(List.of(
+                new Geography(1, "Europe", true),
+                new Geography(2, "Denmark", true))));
+        when(geographyDAO.allExceptCountries()).thenAnswer(invocation -> List.of(new Geography(1, "Europe", true)));
+        when(countryDAO.all()).thenAnswer(invocation -> List.of(new Country("DK"), new Country("SE")));
+
+        countryService = new CountryService(countryDAO);
+        geographyService = new GeographyService(geographyDAO, countryService);
+    }
+
+    @Test
+    void lookupsAreServedFromMemory() throws Exception {
+        assertThat(geographyService.get(1).name()).isEqualTo("Europe");
+        assertThat(geographyService.get("denmark").id()).isEqualTo(2);
+        assertThat(geographyService.all()).hasSize(2);
+        assertThat(geographyService.allExceptCountries()).hasSize(1);
+
+        verify(geographyDAO, times(1)).all();
+        verify(geographyDAO, never()).get(anyInt());
+        assertThat(geographyService.cacheStats().misses()).isEqualTo(1);
+        assertThat(geographyService.cacheStats().hits()).isEqualTo(3);
+    }
+
+    @Test
+    void unknownNameReturnsNull() throws Exception {
+        assertThat(geographyService.get("Atlantis")).isNull();
+    }
+
+    @Test
+    void returnedGeographiesCannotChangeCache() throws Exception {
+        geographyService.get(1).name("Changed");
+
+        assertThat(geographyService.get(1).name()).isEqualTo("Europe");
+    }
+
+    @Test
+    void createInvalidatesGeographiesAndCountries() throws Exception {
+        when(geographyDAO.create(any(), any())).thenReturn(new Geography(3, "Nordics", false));
+
+        geographyService.all();
+        countryService.all();
+        geographyService.create(new Geography("Nordics"), List.of(new Country("DK"), new Country("SE")));
+        geographyService.all();
+        countryService.all();
+
+        verify(geographyDAO, times(2)).all();
+        verify(countryDAO, times(2)).all();
+        assertThat(geographyService.cacheStats().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownIdReloadsBeforeFallingBackToDatabase() throws Exception {
+        when(geographyDAO.get(9)).thenReturn(new Geography(9, "New", false));
+
+        assertThat(geographyService.get(9).name()).isEqualTo("New");
+
+        verify(geographyDAO, times(2)).all();
+        verify(geographyDAO).get(9);
+    }
+
+    @Test
+    void groupedCountriesAreLoadedOnceForAllGeographies() throws Exception {
+        when(countryDAO.allGroupedByGeography()).thenReturn(Map.of(1, List.of(new Country("DK"), new Country("SE"))));
+
+        assertThat(countryService.allGroupedByGeography().get(1)).hasSize(2);
+        assertThat(countryService.allByGeography(new Geography(1, "Europe", true))).hasSize(2);
+        assertThat(countryService.allByGeography(new Geography(2, "Denmark", true))).isEmpty();
+
+        verify(countryDAO, times(1)).allGroupedByGeography();
+        verify(countryDAO, never()).allByGeography(any());
+    }
+}
@@ -0,0 +1,84 @@
+package ecostruxure.rate.calculator.bll.service;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
+import ecostruxure.rate.calculator.bll.RateService;
+import ecostruxure.rate.calculator.bll.ScenarioConflictException;
+import ecostruxure.rate.calculator.bll.utils.Scenario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ScenarioServiceTest {
+    private TeamService teamService;
+    private TeamProfileManagementService teamProfileManagementService;
+    private ScenarioService scenarioService;
+
+    @BeforeEach
+    void setUp() {
+        teamService = mock(TeamService.class);
+        teamProfileManagementService = mock(TeamProfileManagementService.class);
+        scenarioService = new ScenarioService(teamService, new RateService(null, null), teamProfileManagementService);
+    }
+
+    private static Team team(int id, boolean archived) {
+        return new Team(id, "Team " + id, new BigDecimal("10"), new BigDecimal("20"), archived);
+    }
+
+    private static Profile profile(int id) {
+        return new Profile(id, "Profile " + id, "EUR", new BigDecimal("60000"), BigDecimal.ZERO, BigDecimal.ONE, 1,
+                           new BigDecimal("1600"), new BigDecimal("50"), new BigDecimal("50"), false, new BigDecimal("8"), false);
+    }
+
+    @Test
+    void scenarioLeavesOutArchivedTeams() throws Exception {
+        when(teamService.all()).thenReturn(List.of(team(1, false), team(2, true)));
+        when(teamProfileManagementService.getTeamMembers(List.of(1))).thenReturn(Map.of(1, List.of(profile(1))));
+
+        Scenario scenario = scenarioService.create();
+
+        assertThat(scenario.teamIds()).containsExactly(1);
+        assertThat(scenario.members(1)).hasSize(1);
+        assertThat(scenario.hasChanges()).isFalse();
+    }
+
+    @Test
+    void applyingWritesChangesWithTheirOriginalValues() throws Exception {
+        when(teamProfileManagementService.getTeamMembers(List.of(1))).thenReturn(Map.of(1, List.of(profile(1))));
+        when(teamProfileManagementService.applyScenario(any())).thenReturn(true);
+
+        Scenario scenario = scenarioService.create(List.of(team(1, false)));
+        scenario.setAnnualSalary(1, new BigDecimal("65000"));
+        scenario.setUtilization(1, 1, new BigDecimal("60"), new BigDecimal("60"));
+
+        assertThat(scenarioService.apply(scenario)).isTrue();
+
+        ArgumentCaptor<ScenarioChanges> changes = ArgumentCaptor.forClass(ScenarioChanges.class);
+        verify(teamProfileManagementService).applyScenario(changes.capture());
+        assertThat(changes.getValue().salaries().getFirst().originalAnnualSalary()).isEqualTo(new BigDecimal("60000"));
+        assertThat(changes.getValue().teams().getFirst().originalUtilizations())
+                .containsExactly(1, new TeamUtilization(new BigDecimal("50"), new BigDecimal("50")));
+    }
+
+    @Test
+    void conflictIsPassedOn() throws Exception {
+        when(teamProfileManagementService.getTeamMembers(List.of(1))).thenReturn(Map.of(1, List.of(profile(1))));
+        when(teamProfileManagementService.applyScenario(any())).thenThrow(new ScenarioConflictException("Profile 1 changed since the scenario was created"));
+
+        Scenario scenario = scenarioService.create(List.of(team(1, false)));
+        scenario.setAnnualSalary(1, new BigDecimal("65000"));
+
+        assertThrows(ScenarioConflictException.class, () -> scenarioService.apply(scenario));
+    }
+}
@@ -0,0 +1,503 @@
+package ecostruxure.rate.calculator.bll.service;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.be.TeamHistory.Reason;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges.SalaryChange;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges.TeamChanges;
+import ecostruxure.rate.calculator.be.data.TeamMemberHistory;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
+import ecostruxure.rate.calculator.bll.ScenarioConflictException;
+import ecostruxure.rate.calculator.dal.dao.IHistoryDAO;
+import ecostruxure.rate.calculator.dal.dao.IProfileDAO;
+import ecostruxure.rate.calculator.dal.dao.ITeamDAO;
+import ecostruxure.rate.calculator.dal.transaction.TransactionCallback;
+import ecostruxure.rate.calculator.dal.transaction.TransactionContext;
+import ecostruxure.rate.calculator.dal.transaction.TransactionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TeamProfileManagementServiceTest {
+    private final TransactionContext context = mock(TransactionContext.class);
+    private IHistoryDAO historyDAO;
+    private IProfileDAO profileDAO;
+    private ITeamDAO teamDAO;
+    private TeamProfileManagementService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        historyDAO = mock(IHistoryDAO.class);
+        profileDAO = mock(IProfileDAO.class);
+        teamDAO = mock(ITeamDAO.class);
+
+        TransactionManager transactionManager = mock(TransactionManager.class);
+        when(transactionManager.executeTransaction(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(context);
+        });
+
+        service = new TeamProfileManagementService(historyDAO, profileDAO, teamDAO, transactionManager);
+    }
+
+    private static Profile profile(int id) {
+        return new Profile(id, "Profile " + id, "EUR", new BigDecimal("60000"), BigDecimal.ZERO, BigDecimal.ZERO, 1,
+                           new BigDecimal("1600"), false, new BigDecimal("8"), false);
+    }
+
+    @Test
+    void assigningProfilesWritesHistoryInOneBatch() throws Exception {
+        Team team = new Team(1, "Team", new BigDecimal("0"), new BigDecimal("0"), false);
+        List<Profile> members = new ArrayList<>();
+        for (int id = 1; id <= 25; id++) members.add(profile(id));
+
+        when(teamDAO.assignProfiles(context, team, members)).thenReturn(true);
+        when(teamDAO.getTeamProfiles(context, team.id())).thenReturn(members);
+        when(profileDAO.getTeamUtilizations(context, team.id())).thenReturn(Map.of(1, new TeamUtilization(new BigDecimal("50"), new BigDecimal("50"))));
+        when(historyDAO.getLatestProfileHistoryIds(eq(context), anyCollection())).thenReturn(Map.of(1, 10));
+
+        assertThat(service.assignProfilesToTeam(team, members)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TeamMemberHistory>> rows = ArgumentCaptor.forClass(List.class);
+        verify(historyDAO).getLatestProfileHistoryIds(eq(context), anyCollection());
+        verify(historyDAO).insertTeamHistory(eq(context), eq(team.id()), any(), eq(Reason.ASSIGNED_PROFILE), eq(false), rows.capture(), any());
+        verify(historyDAO, never()).getLatestProfileHistoryId(any(), anyInt());
+        verify(profileDAO, never()).getProfileRateUtilizationForTeam(any(), anyInt(), anyInt());
+        verify(teamDAO).refreshTeamMetrics(context, team.id());
+
+        assertThat(rows.getValue()).hasSize(25);
+        assertThat(rows.getValue().getFirst().profileHistoryId()).isEqualTo(10);
+        assertThat(rows.getValue().getFirst().profileMetrics().utilizationRate()).isEqualTo(new BigDecimal("50"));
+        assertThat(rows.getValue().get(1).profileHistoryId()).isNull();
+    }
+
+    @Test
+    void updatingOneMemberAdjustsPreviousTeamTotals() throws Exception {
+        // 60000 a year over 1600 hours is 37.50 an hour and 300.00 a day
+        Profile stored = new Profile(1, "Profile 1", "EUR", new BigDecimal("60000"), BigDecimal.ZERO, BigDecimal.ONE, 1,
+                                     new BigDecimal("1600"), false, new BigDecimal("8"), false);
+        Profile member = profile(1);
+        member.utilizationRate(new BigDecimal("80"));
+        member.utilizationHours(new BigDecimal("80"));
+
+        TeamMetrics previous = new TeamMetrics(new BigDecimal("100.00"), new BigDecimal("800.00"), new BigDecimal("90000.00"), new BigDecimal("1000.00"));
+        when(historyDAO.getLatestTeamMetrics(context, 1)).thenReturn(previous);
+        when(teamDAO.updateProfileUtilization(context, 1, member)).thenReturn(new TeamUtilization(new BigDecimal("50"), new BigDecimal("50")));
+        when(profileDAO.get(context, 1)).thenReturn(stored);
+        when(teamDAO.adjustTeamMetrics(eq(context), eq(1), any())).thenReturn(true);
+
+        assertThat(service.updateTeamProfile(1, member)).isTrue();
+
+        ArgumentCaptor<TeamMetrics> metrics = ArgumentCaptor.forClass(TeamMetrics.class);
+        ArgumentCaptor<TeamMetrics> snapshotDelta = ArgumentCaptor.forClass(TeamMetrics.class);
+        InOrder order = inOrder(teamDAO, historyDAO);
+        order.verify(teamDAO).lockTeamMetrics(context, 1);
+        order.verify(historyDAO).getLatestTeamMetrics(context, 1);
+        verify(historyDAO).insertTeamHistory(eq(context), eq(1), metrics.capture(), eq(Reason.UTILIZATION_CHANGE), eq(false), anyList(), any());
+        verify(teamDAO).adjustTeamMetrics(eq(context), eq(1), snapshotDelta.capture());
+        verify(teamDAO, never()).getTeamProfiles(any(), anyInt());
+        verify(teamDAO, never()).refreshTeamMetrics(any(), anyInt());
+
+        // Going from 50% to 80% adds 30% of the member's rates and hours
+        assertThat(metrics.getValue().hourlyRate()).isEquivalentAccordingToCompareTo(new BigDecimal("111.25"));
+        assertThat(metrics.getValue().dayRate()).isEquivalentAccordingToCompareTo(new BigDecimal("890.00"));
+        assertThat(metrics.getValue().annualCost()).isEquivalentAccordingToCompareTo(new BigDecimal("108000.00"));
+        assertThat(metrics.getValue().totalHours()).isEquivalentAccordingToCompareTo(new BigDecimal("1480.00"));
+        assertThat(snapshotDelta.getValue().hourlyRate()).isEquivalentAccordingToCompareTo(new BigDecimal("11.25"));
+        assertThat(snapshotDelta.getValue().totalHours()).isEquivalentAccordingToCompareTo(new BigDecimal("480.00"));
+    }
+
+    @Test
+    void assigningProfilesOnlyWritesNewMembers() throws Exception {
+        Team team = new Team(1, "Team", new BigDecimal("0"), new BigDecimal("0"), false);
+        List<Profile> assigned = List.of(profile(3));
+
+        when(teamDAO.assignProfiles(context, team, assigned)).thenReturn(true);
+        when(teamDAO.getTeamProfiles(context, team.id())).thenReturn(List.of(profile(1), profile(2), profile(3)));
+        when(profileDAO.getTeamUtilizations(context, team.id())).thenReturn(Map.of());
+        when(historyDAO.changesSinceFullSnapshot(context, team.id())).thenReturn(3);
+
+        assertThat(service.assignProfilesToTeam(team, assigned)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TeamMemberHistory>> rows = ArgumentCaptor.forClass(List.class);
+        verify(historyDAO).insertTeamHistory(eq(context), eq(team.id()), any(), eq(Reason.ASSIGNED_PROFILE), eq(false), rows.capture(), any());
+        assertThat(rows.getValue()).hasSize(1);
+        assertThat(rows.getValue().getFirst().profileId()).isEqualTo(3);
+    }
+
+    @Test
+    void removingProfileWritesRemovalRow() throws Exception {
+        when(teamDAO.removeProfileFromTeam(context, 1, 2)).thenReturn(true);
+        when(teamDAO.getTeamProfiles(context, 1)).thenReturn(List.of(profile(1)));
+        when(profileDAO.getTeamUtilizations(context, 1)).thenReturn(Map.of());
+
+        assertThat(service.removeProfileFromTeam(1, 2)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TeamMemberHistory>> rows = ArgumentCaptor.forClass(List.class);
+        verify(historyDAO).insertTeamHistory(eq(context), eq(1), any(), eq(Reason.REMOVED_PROFILE), eq(false), rows.capture(), any());
+        assertThat(rows.getValue()).hasSize(1);
+        assertThat(rows.getValue().getFirst().profileId()).isEqualTo(2);
+        assertThat(rows.getValue().getFirst().removed()).isTrue();
+    }
+
+    @Test
+    void fullSnapshotIsWrittenAfterInterval() throws Exception {
+        when(teamDAO.removeProfileFromTeam(context, 1, 2)).thenReturn(true);
+        when(teamDAO.getTeamProfiles(context, 1)).thenReturn(List.of(profile(1), profile(3)));
+        when(profileDAO.getTeamUtilizations(context, 1)).thenReturn(Map.of());
+        when(historyDAO.changesSinceFullSnapshot(context, 1)).thenReturn(TeamProfileManagementService.FULL_SNAPSHOT_INTERVAL - 1);
+
+        assertThat(service.removeProfileFromTeam(1, 2)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TeamMemberHistory>> rows = ArgumentCaptor.forClass(List.class);
+        verify(historyDAO).insertTeamHistory(eq(context), eq(1), any(), eq(Reason.REMOVED_PROFILE), eq(true), rows.capture(), any());
+        assertThat(rows.getValue().stream().map(TeamMemberHistory::profileId).toList()).containsExactly(1, 3);
+    }
+
+    @Test
+    void firstEntryAfterLegacyHistoryIsFullSnapshot() throws Exception {
+        // Legacy entries are not full snapshots, so a team with only those has none yet
+        when(teamDAO.removeProfileFromTeam(context, 1, 2)).thenReturn(true);
+        when(teamDAO.getTeamProfiles(context, 1)).thenReturn(List.of(profile(1), profile(3)));
+        when(profileDAO.getTeamUtilizations(context, 1)).thenReturn(Map.of());
+        when(historyDAO.changesSinceFullSnapshot(context, 1)).thenReturn(-1);
+
+        assertThat(service.removeProfileFromTeam(1, 2)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TeamMemberHistory>> rows = ArgumentCaptor.forClass(List.class);
+        verify(historyDAO).insertTeamHistory(eq(context), eq(1), any(), eq(Reason.REMOVED_PROFILE), eq(true), rows.capture(), any());
+        assertThat(rows.getValue().stream().map(TeamMemberHistory::profileId).toList()).containsExactly(1, 3);
+    }
+
+    @Test
+    void teamWithoutHistoryIsRecomputed() throws Exception {
+        Profile member = profile(1);
+        member.utilizationRate(new BigDecimal("50"));
+        member.utilizationHours(new BigDecimal("50"));
+
+        when(teamDAO.updateProfileUtilization(context, 1, member)).thenReturn(TeamUtilization.NONE);
+        when(teamDAO.getTeamProfiles(context, 1)).thenReturn(List.of(profile(1)));
+        when(profileDAO.getTeamUtilizations(context, 1)).thenReturn(Map.of());
+
+        assertThat(service.updateTeamProfile(1, member)).isTrue();
+
+        verify(teamDAO).getTeamProfiles(context, 1);
+    }
+
+    @Test
+    void updatingProfileNotOnTeamWritesNothing() throws Exception {
+        Profile member = profile(1);
+        member.utilizationRate(new BigDecimal("50"));
+        member.utilizationHours(new BigDecimal("50"));
+
+        when(teamDAO.updateProfileUtilization(context, 1, member)).thenReturn(null);
+
+        assertThat(service.updateTeamProfile(1, member)).isFalse();
+
+        verify(historyDAO, never()).insertProfileHistory(any(), any());
+        verify(historyDAO, never()).insertTeamHistory(any(), anyInt(), any(), any(), anyBoolean(), anyList(), any());
+        verify(teamDAO, never()).refreshTeamMetrics(any(), anyInt());
+        verify(teamDAO, never()).adjustTeamMetrics(any(), anyInt(), any());
+    }
+
+    @Test
+    void incrementalUpdatesArePeriodicallyVerified() throws Exception {
+        Profile member = profile(1);
+        member.utilizationRate(new BigDecimal("50"));
+        member.utilizationHours(new BigDecimal("50"));
+
+        TeamMetrics drifted = new TeamMetrics(new BigDecimal("999"), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        when(historyDAO.getLatestTeamMetrics(context, 1)).thenReturn(drifted);
+        when(teamDAO.updateProfileUtilization(context, 1, member)).thenReturn(new TeamUtilization(new BigDecimal("50"), new BigDecimal("50")));
+        when(teamDAO.getTeamProfiles(context, 1)).thenReturn(List.of(profile(1)));
+        when(profileDAO.getTeamUtilizations(context, 1)).thenReturn(Map.of());
+
+        for (int i = 0; i < TeamProfileManagementService.CONSISTENCY_CHECK_INTERVAL; i++) {
+            service.updateTeamProfile(1, member);
+        }
+
+        verify(teamDAO, times(1)).getTeamProfiles(context, 1);
+        assertThat(service.metricsMismatches()).isEqualTo(1);
+    }
+
+    private static final BigDecimal FIFTY = new BigDecimal("50");
+
+    private static TeamChanges memberChanges(Team team, List<Profile> assigned, List<Profile> updated, Map<Integer, TeamUtilization> original) {
+        return new TeamChanges(team, team.markup(), team.grossMargin(), assigned, updated, List.of(), original);
+    }
+
+    private static Profile utilized(int id, String utilization) {
+        Profile profile = profile(id);
+        profile.utilizationRate(new BigDecimal(utilization));
+        profile.utilizationHours(new BigDecimal(utilization));
+        return profile;
+    }
+
+    @Test
+    void applyingScenarioWritesHistoryOnlyForTeamsWithChangedMembers() throws Exception {
+        Profile raised = profile(1);
+        raised.annualSalary(new BigDecimal("70000"));
+        Team team1 = new Team(1, "Team 1", new BigDecimal("0"), new BigDecimal("0"), false);
+        Team team2 = new Team(2, "Team 2", new BigDecimal("15"), new BigDecimal("0"), false);
+
+        ScenarioChanges changes = new ScenarioChanges(
+                List.of(new SalaryChange(1, new BigDecimal("60000"), new BigDecimal("70000"))),
+                List.of(new TeamChanges(team2, BigDecimal.ZERO, BigDecimal.ZERO, List.of(), List.of(), List.of(), Map.of())));
+        when(profileDAO.updateAnnualSalary(context, 1, new BigDecimal("60000"), new BigDecimal("70000"))).thenReturn(true);
+        when(profileDAO.get(context, 1)).thenReturn(raised);
+        when(teamDAO.updateMultipliers(context, team2, BigDecimal.ZERO, BigDecimal.ZERO)).thenReturn(true);
+        when(profileDAO.getTeams(context, raised)).thenReturn(List.of(team1));
+        when(teamDAO.getTeamProfiles(context, 1)).thenReturn(List.of(raised));
+        when(profileDAO.getTeamUtilizations(context, 1)).thenReturn(Map.of(1, new TeamUtilization(new BigDecimal("50"), new BigDecimal("50"))));
+        when(historyDAO.getLatestProfileHistoryIds(eq(context), anyCollection())).thenReturn(Map.of(1, 10));
+
+        assertThat(service.applyScenario(changes)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TeamMemberHistory>> rows = ArgumentCaptor.forClass(List.class);
+        verify(historyDAO).insertProfileHistory(context, raised);
+        verify(profileDAO, never()).update(any(), any());
+        verify(teamDAO).updateMultipliers(context, team2, BigDecimal.ZERO, BigDecimal.ZERO);
+        verify(historyDAO).insertTeamHistory(eq(context), eq(1), any(), eq(Reason.UPDATED_PROFILE), eq(false), rows.capture(), any());
+        verify(historyDAO, never()).insertTeamHistory(any(), eq(2), any(), any(), anyBoolean(), anyList(), any());
+        verify(teamDAO).refreshTeamMetrics(context, 1);
+        verify(teamDAO, never()).refreshTeamMetrics(context, 2);
+
+        assertThat(rows.getValue()).hasSize(1);
+        assertThat(rows.getValue().getFirst().profileHistoryId()).isEqualTo(10);
+    }
+
+    @Test
+    void applyingScenarioRejectsChangedSalary() throws Exception {
+        ScenarioChanges changes = new ScenarioChanges(List.of(new SalaryChange(1, new BigDecimal("60000"), new BigDecimal("70000"))), List.of());
+        when(profileDAO.updateAnnualSalary(context, 1, new BigDecimal("60000"), new BigDecimal("70000"))).thenReturn(false);
+
+        assertThrows(ScenarioConflictException.class, () -> service.applyScenario(changes));
+
+        verifyNoInteractions(historyDAO);
+    }
+
+    @Test
+    void applyingScenarioRejectsChangedMultipliers() throws Exception {
+        Team team = new Team(1, "Team 1", new BigDecimal("15"), BigDecimal.ZERO, false);
+        ScenarioChanges changes = new ScenarioChanges(List.of(), List.of(new TeamChanges(team, BigDecimal.ZERO, BigDecimal.ZERO, List.of(), List.of(), List.of(), Map.of())));
+        when(teamDAO.updateMultipliers(context, team, BigDecimal.ZERO, BigDecimal.ZERO)).thenReturn(false);
+
+        assertThrows(ScenarioConflictException.class, () -> service.applyScenario(changes));
+    }
+
+    @Test
+    void applyingScenarioRejectsChangedUtilization() throws Exception {
+        Team team = new Team(1, "Team 1", BigDecimal.ZERO, BigDecimal.ZERO, false);
+        ScenarioChanges changes = new ScenarioChanges(List.of(), List.of(
+                memberChanges(team, List.of(), List.of(utilized(1, "60")), Map.of(1, new TeamUtilization(FIFTY, FIFTY)))));
+        when(profileDAO.lockTeamUtilizations(context, 1)).thenReturn(Map.of(1, new TeamUtilization(new BigDecimal("40"), FIFTY)));
+
+        assertThrows(ScenarioConflictException.class, () -> service.applyScenario(changes));
+
+        verify(teamDAO, never()).updateProfiles(any(), any(), anyList());
+    }
+
+    @Test
+    void applyingScenarioRejectsProfileAssignedSinceCreated() throws Exception {
+        Team team = new Team(1, "Team 1", BigDecimal.ZERO, BigDecimal.ZERO, false);
+        ScenarioChanges changes = new ScenarioChanges(List.of(), List.of(memberChanges(team, List.of(utilized(1, "50")), List.of(), Map.of())));
+        when(profileDAO.lockTeamUtilizations(context, 1)).thenReturn(Map.of(1, new TeamUtilization(FIFTY, FIFTY)));
+
+        assertThrows(ScenarioConflictException.class, () -> service.applyScenario(changes));
+
+        verify(teamDAO, never()).assignProfiles(any(), any(), anyList());
+    }
+
+    @Test
+    void applyingScenarioRejectsProfileAllocatedOverHundredPercent() throws Exception {
+        Team team = new Team(1, "Team 1", BigDecimal.ZERO, BigDecimal.ZERO, false);
+        ScenarioChanges changes = new ScenarioChanges(List.of(), List.of(memberChanges(team, List.of(utilized(1, "50")), List.of(), Map.of())));
+        when(profileDAO.lockTeamUtilizations(context, 1)).thenReturn(Map.of());
+        when(profileDAO.getTotalUtilizations(context, Set.of(1))).thenReturn(Map.of(1, new TeamUtilization(new BigDecimal("100.01"), FIFTY)));
+
+        assertThrows(ScenarioConflictException.class, () -> service.applyScenario(changes));
+
+        verify(historyDAO, never()).insertTeamHistory(any(), anyInt(), any(), any(), anyBoolean(), anyList(), any());
+        verify(teamDAO, never()).refreshTeamMetrics(any(), anyInt());
+    }
+
+    @Test
+    void applyingScenarioChecksAllocationOfAssignedAndUpdatedProfiles() throws Exception {
+        Team team = new Team(1, "Team 1", BigDecimal.ZERO, BigDecimal.ZERO, false);
+        ScenarioChanges changes = new ScenarioChanges(List.of(), List.of(
+                memberChanges(team, List.of(utilized(2, "50")), List.of(utilized(1, "60")), Map.of(1, new TeamUtilization(FIFTY, FIFTY)))));
+        when(profileDAO.lockTeamUtilizations(context, 1)).thenReturn(Map.of(1, new TeamUtilization(new BigDecimal("50.00"), FIFTY)));
+        when(profileDAO.getTotalUtilizations(context, Set.of(1, 2))).thenReturn(Map.of(
+                1, new TeamUtilization(new BigDecimal("100"), new BigDecimal("100")),
+                2, new TeamUtilization(FIFTY, FIFTY)));
+
+        assertThat(service.applyScenario(changes)).isTrue();
+
+        verify(teamDAO).assignProfiles(eq(context), eq(team), anyList());
+        verify(teamDAO).updateProfiles(eq(context), eq(team), anyList());
+        verify(teamDAO).refreshTeamMetrics(context, 1);
+    }
+
+    @Test
+    void applyingEmptyScenarioDoesNothing() throws Exception {
+        assertThat(service.applyScenario(new ScenarioChanges(List.of(), List.of()))).isFalse();
+
+        verifyNoInteractions(historyDAO, profileDAO, teamDAO);
+    }
+
+    @Test
+    void creatingTeamRefreshesMetricsSnapshot() throws Exception {
+        Team team = new Team(1, "Team", new BigDecimal("0"), new BigDecimal("0"), false);
+        when(teamDAO.create(context, team)).thenReturn(team);
+        when(teamDAO.getTeamProfiles(context, team.id())).thenReturn(List.of(profile(1)));
+        when(profileDAO.getTeamUtilizations(context, team.id())).thenReturn(Map.of());
+
+        service.createTeam(team, List.of(profile(1)));
+
+        verify(teamDAO).refreshTeamMetrics(context, team.id());
+    }
+
+    @Test
+    void removingProfilesRefreshesMetricsSnapshot() throws Exception {
+        Team team = new Team(1, "Team", new BigDecimal("0"), new BigDecimal("0"), false);
+        when(teamDAO.removeAssignedProfiles(context, team, List.of(profile(2)))).thenReturn(true);
+        when(teamDAO.getTeamProfiles(context, team.id())).thenReturn(List.of(profile(1)));
+        when(profileDAO.getTeamUtilizations(context, team.id())).thenReturn(Map.of());
+
+        assertThat(service.removeProfilesFromTeam(team, List.of(profile(2)))).isTrue();
+
+        verify(teamDAO).refreshTeamMetrics(context, team.id());
+    }
+
+    @Test
+    void removingProfileRefreshesMetricsSnapshot() throws Exception {
+        when(teamDAO.removeProfileFromTeam(context, 1, 2)).thenReturn(true);
+        when(teamDAO.getTeamProfiles(context, 1)).thenReturn(List.of(profile(1)));
+        when(profileDAO.getTeamUtilizations(context, 1)).thenReturn(Map.of());
+
+        assertThat(service.removeProfileFromTeam(1, 2)).isTrue();
+
+        verify(teamDAO).refreshTeamMetrics(context, 1);
+    }
+
+    @Test
+    void failedWritesLeaveMetricsSnapshot() throws Exception {
+        Team team = new Team(1, "Team", new BigDecimal("0"), new BigDecimal("0"), false);
+
+        assertThat(service.assignProfilesToTeam(team, List.of(profile(1)))).isFalse();
+        assertThat(service.removeProfilesFromTeam(team, List.of(profile(1)))).isFalse();
+        assertThat(service.removeProfileFromTeam(1, 1)).isFalse();
+        assertThat(service.updateTeamProfiles(team, List.of(profile(1)))).isFalse();
+
+        verify(teamDAO, never()).refreshTeamMetrics(any(), anyInt());
+        verify(teamDAO, never()).adjustTeamMetrics(any(), anyInt(), any());
+    }
+
+    @Test
+    void updatingUtilizationAdjustsMetricsSnapshotByMemberChange() throws Exception {
+        Profile member = profile(1);
+        member.utilizationRate(new BigDecimal("100"));
+        member.utilizationHours(new BigDecimal("100"));
+
+        Profile stored = profile(1);
+        stored.overheadMultiplier(new BigDecimal("1.25"));
+
+        when(historyDAO.getLatestTeamMetrics(context, 1)).thenReturn(TeamMetrics.ZERO);
+        when(teamDAO.updateProfileUtilization(context, 1, member)).thenReturn(new TeamUtilization(new BigDecimal("50"), new BigDecimal("50")));
+        when(profileDAO.get(context, 1)).thenReturn(stored);
+        when(teamDAO.adjustTeamMetrics(eq(context), eq(1), any())).thenReturn(true);
+
+        assertThat(service.updateTeamProfile(1, member)).isTrue();
+
+        ArgumentCaptor<TeamMetrics> delta = ArgumentCaptor.forClass(TeamMetrics.class);
+        verify(teamDAO).adjustTeamMetrics(eq(context), eq(1), delta.capture());
+        verify(teamDAO, never()).refreshTeamMetrics(any(), anyInt());
+
+        // Going from 50% to 100% adds the other half of the profile's annual cost of 75000
+        assertThat(delta.getValue().annualCost()).isEquivalentAccordingToCompareTo(new BigDecimal("37500"));
+        assertThat(delta.getValue().totalHours()).isEquivalentAccordingToCompareTo(new BigDecimal("800"));
+    }
+
+    @Test
+    void updatingUtilizationOfTeamMissingFromSnapshotRefreshesIt() throws Exception {
+        Profile member = profile(1);
+        member.utilizationRate(new BigDecimal("100"));
+        member.utilizationHours(new BigDecimal("100"));
+
+        when(historyDAO.getLatestTeamMetrics(context, 1)).thenReturn(TeamMetrics.ZERO);
+        when(teamDAO.updateProfileUtilization(context, 1, member)).thenReturn(new TeamUtilization(new BigDecimal("50"), new BigDecimal("50")));
+        when(profileDAO.get(context, 1)).thenReturn(profile(1));
+        when(teamDAO.adjustTeamMetrics(eq(context), eq(1), any())).thenReturn(false);
+
+        assertThat(service.updateTeamProfile(1, member)).isTrue();
+
+        verify(teamDAO).refreshTeamMetrics(context, 1);
+    }
+
+    @Test
+    void updatingUtilizationOfArchivedProfileLeavesMetricsSnapshot() throws Exception {
+        Profile member = profile(1);
+        member.utilizationRate(new BigDecimal("100"));
+        member.utilizationHours(new BigDecimal("100"));
+        Profile archived = profile(1);
+        archived.profileData().archived(true);
+
+        when(historyDAO.getLatestTeamMetrics(context, 1)).thenReturn(TeamMetrics.ZERO);
+        when(teamDAO.updateProfileUtilization(context, 1, member)).thenReturn(new TeamUtilization(new BigDecimal("50"), new BigDecimal("50")));
+        when(profileDAO.get(context, 1)).thenReturn(archived);
+
+        assertThat(service.updateTeamProfile(1, member)).isTrue();
+
+        verify(teamDAO, never()).adjustTeamMetrics(any(), anyInt(), any());
+        verify(teamDAO, never()).refreshTeamMetrics(any(), anyInt());
+    }
+
+    @Test
+    void updatingTeamProfilesRefreshesMetricsSnapshot() throws Exception {
+        Team team = new Team(1, "Team", new BigDecimal("0"), new BigDecimal("0"), false);
+        when(teamDAO.updateProfiles(context, team, List.of(profile(1)))).thenReturn(true);
+        when(teamDAO.getTeamProfiles(context, team.id())).thenReturn(List.of(profile(1)));
+        when(profileDAO.getTeamUtilizations(context, team.id())).thenReturn(Map.of());
+        when(historyDAO.insertProfileHistories(eq(context), anyCollection())).thenReturn(Map.of());
+
+        assertThat(service.updateTeamProfiles(team, List.of(profile(1)))).isTrue();
+
+        verify(teamDAO).refreshTeamMetrics(context, team.id());
+    }
+
+    @Test
+    void updatingProfileRefreshesMetricsSnapshotOfEveryTeam() throws Exception {
+        Profile profile = profile(1);
+        when(profileDAO.getTeams(context, profile)).thenReturn(List.of(
+                new Team(1, "Team 1", new BigDecimal("0"), new BigDecimal("0"), false),
+                new Team(2, "Team 2", new BigDecimal("0"), new BigDecimal("0"), false)
+        ));
+        when(profileDAO.getProfileRateUtilizationForTeam(eq(context), eq(1), anyInt())).thenReturn(new BigDecimal("50"));
+        when(profileDAO.getProfileHourUtilizationForTeam(eq(context), eq(1), anyInt())).thenReturn(new BigDecimal("50"));
+
+        assertThat(service.updateProfile(profile)).isTrue();
+
+        verify(teamDAO).refreshTeamMetrics(context, 1);
+        verify(teamDAO).refreshTeamMetrics(context, 2);
+    }
+}
@@ -0,0 +1,60 @@
+package ecostruxure.rate.calculator.bll.service;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.dal.dao.ITeamDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class TeamServiceArchiveTest {
+    private ITeamDAO teamDAO;
+    private TeamService teamService;
+
+    @BeforeEach
+    void setUp() {
+        teamDAO = mock(ITeamDAO.class);
+        teamService = new TeamService(teamDAO, mock(TeamProfileManagementService.class));
+    }
+
+    private static Team team(int id) {
+        return new Team(id, "Team " + id, BigDecimal.ZERO, BigDecimal.ZERO, true);
+    }
+
+    @Test
+    void unarchivingTeamsIsOneBulkCall() throws Exception {
+        List<Team> teams = List.of(team(3), team(5));
+        when(teamDAO.archive(teams, false)).thenReturn(true);
+
+        assertThat(teamService.archive(teams, false)).isTrue();
+
+        verify(teamDAO).archive(teams, false);
+        verify(teamDAO, never()).archive(anyInt(), anyBoolean());
+    }
+
+    @Test
+    void teamsAreCheckedTogether() throws Exception {
+        Profile shared = new Profile(8, "Profile 8", "EUR", new BigDecimal("60000"), BigDecimal.ZERO, BigDecimal.ZERO, 1,
+                                     new BigDecimal("1600"), new BigDecimal("120"), new BigDecimal("120"), false, new BigDecimal("8"), false);
+        Map<Integer, List<Profile>> conflicts = Map.of(3, List.of(shared), 5, List.of(shared));
+        when(teamDAO.canUnarchive(List.of(3, 5))).thenReturn(conflicts);
+
+        assertThat(teamService.canUnarchive(List.of(team(3), team(5)))).isEqualTo(conflicts);
+
+        verify(teamDAO, never()).canUnarchive(anyInt());
+    }
+
+    @Test
+    void nullTeamsAreRejected() {
+        assertThrows(NullPointerException.class, () -> teamService.archive((List<Team>) null, false));
+        assertThrows(NullPointerException.class, () -> teamService.canUnarchive((List<Team>) null));
+        verifyNoInteractions(teamDAO);
+    }
+}
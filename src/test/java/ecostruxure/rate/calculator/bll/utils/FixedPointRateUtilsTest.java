@@ -0,0 +1,126 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import ecostruxure.rate.calculator.be.Profile;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Property tests: for randomly generated profiles and utilizations within the ranges of the database columns, every
+ * calculation gives the same value as {@link RateUtils}. The seeds are fixed so a failure can be reproduced.
+ */
+class FixedPointRateUtilsTest {
+    private static final int SAMPLES = 20_000;
+
+    private static BigDecimal decimal(Random random, long maxUnits, int scale, boolean signed) {
+        long units = Math.floorMod(random.nextLong(), maxUnits + 1);
+        if (signed && random.nextBoolean()) units = -units;
+
+        BigDecimal value = BigDecimal.valueOf(units, scale);
+        // Values typed in the UI often come without trailing decimals
+        return random.nextInt(4) == 0 ? value.stripTrailingZeros() : value;
+    }
+
+    private static Profile profile(Random random) {
+        BigDecimal annualSalary = decimal(random, 10_000_000_000_000L, 4, false);  // up to 999,999,999.9999
+        BigDecimal fixedAnnualAmount = decimal(random, 10_000_000_000L, 4, false);
+        BigDecimal overheadMultiplier = decimal(random, 99_999, 2, true);
+        BigDecimal effectiveWorkHours = decimal(random, 99_999, 2, false).add(new BigDecimal("0.01"));
+        BigDecimal hoursPerDay = decimal(random, 9_999, 2, true);
+
+        return new Profile(1, "Profile", "EUR", annualSalary, fixedAnnualAmount, overheadMultiplier, 1,
+                           effectiveWorkHours, false, hoursPerDay, false);
+    }
+
+    private static BigDecimal utilization(Random random) {
+        // Ties such as 12.50 and 0.50 are the interesting cases for HALF_UP, so pick them often
+        if (random.nextInt(3) == 0) return BigDecimal.valueOf(random.nextInt(200) * 100L + 50, 2).divide(BigDecimal.TEN);
+        return decimal(random, 99_999, 2, true);
+    }
+
+    private static void assertParity(long seed, Function<Profile, BigDecimal> expected, Function<Profile, BigDecimal> actual) {
+        Random random = new Random(seed);
+        for (int i = 0; i < SAMPLES; i++) {
+            Profile profile = profile(random);
+            assertThat(actual.apply(profile)).isEquivalentAccordingToCompareTo(expected.apply(profile));
+        }
+    }
+
+    private static void assertUtilizedParity(long seed, BiFunction<Profile, BigDecimal, BigDecimal> expected, BiFunction<Profile, BigDecimal, BigDecimal> actual) {
+        Random random = new Random(seed);
+        for (int i = 0; i < SAMPLES; i++) {
+            Profile profile = profile(random);
+            BigDecimal utilization = utilization(random);
+            assertThat(actual.apply(profile, utilization)).isEquivalentAccordingToCompareTo(expected.apply(profile, utilization));
+        }
+    }
+
+    @Test
+    void annualCostMatches() {
+        assertParity(1, RateUtils::annualCost, FixedPointRateUtils::annualCost);
+    }
+
+    @Test
+    void hourlyRateMatches() {
+        assertParity(2, RateUtils::hourlyRate, FixedPointRateUtils::hourlyRate);
+    }
+
+    @Test
+    void dayRateMatches() {
+        assertParity(3, RateUtils::dayRate, FixedPointRateUtils::dayRate);
+    }
+
+    @Test
+    void utilizedRatesMatch() {
+        assertUtilizedParity(4, RateUtils::hourlyRate, FixedPointRateUtils::hourlyRate);
+        assertUtilizedParity(5, RateUtils::dayRate, FixedPointRateUtils::dayRate);
+        assertUtilizedParity(6, RateUtils::annualCost, FixedPointRateUtils::annualCost);
+        assertUtilizedParity(7, RateUtils::utilizedHours, FixedPointRateUtils::utilizedHours);
+        assertUtilizedParity(8, RateUtils::utilizedHoursPerDay, FixedPointRateUtils::utilizedHoursPerDay);
+    }
+
+    @Test
+    void divisionRoundsHalfUp() {
+        for (String quotient : new String[]{"0.5", "-0.5", "1.5", "-1.5", "2.49", "-2.51", "0.49"}) {
+            long expected = new BigDecimal(quotient).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            long dividend = new BigDecimal(quotient).movePointRight(2).longValueExact();
+
+            assertThat(FixedPointRateUtils.divideHalfUp(dividend, 100)).isEqualTo(expected);
+            assertThat(FixedPointRateUtils.divideHalfUp(-dividend, -100)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void overflowFallsBackToBigDecimal() {
+        Profile profile = new Profile(1, "Profile", "EUR", new BigDecimal("999999999999999.9999"), BigDecimal.ZERO,
+                                      new BigDecimal("999.99"), 1, new BigDecimal("1600"), false, new BigDecimal("8"), false);
+        long fallbacks = FixedPointRateUtils.fallbacks();
+
+        assertThrows(ArithmeticException.class, () -> FixedPointRateUtils.Rates.of(profile));
+        assertThat(FixedPointRateUtils.annualCost(profile)).isEquivalentAccordingToCompareTo(RateUtils.annualCost(profile));
+        assertThat(FixedPointRateUtils.fallbacks()).isGreaterThan(fallbacks);
+    }
+
+    @Test
+    void extraDecimalsFallBackToBigDecimal() {
+        Profile profile = new Profile(1, "Profile", "EUR", new BigDecimal("60000.123456"), BigDecimal.ZERO,
+                                      new BigDecimal("1.5"), 1, new BigDecimal("1600"), false, new BigDecimal("8"), false);
+
+        assertThat(FixedPointRateUtils.hourlyRate(profile, new BigDecimal("33.333"))).isEquivalentAccordingToCompareTo(RateUtils.hourlyRate(profile, new BigDecimal("33.333")));
+    }
+
+    @Test
+    void zeroWorkHoursFailsLikeBigDecimal() {
+        Profile profile = new Profile(1, "Profile", "EUR", new BigDecimal("60000"), BigDecimal.ZERO,
+                                      new BigDecimal("1.5"), 1, BigDecimal.ZERO, false, new BigDecimal("8"), false);
+
+        assertThrows(ArithmeticException.class, () -> FixedPointRateUtils.hourlyRate(profile));
+    }
+}
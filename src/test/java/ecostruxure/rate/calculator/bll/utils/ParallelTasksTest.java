@@ -0,0 +1,124 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelTasksTest {
+    @Test
+    void resultsAreInItemOrder() throws Exception {
+        List<Integer> items = IntStream.range(0, 200).boxed().toList();
+
+        List<Integer> results = ParallelTasks.map(items, 8, item -> {
+            Thread.sleep((200 - item) % 7);
+            return item * 2;
+        });
+
+        assertThat(results).isEqualTo(items.stream().map(item -> item * 2).toList());
+    }
+
+    @Test
+    void concurrencyIsCapped() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        ParallelTasks.map(IntStream.range(0, 100).boxed().toList(), 3, item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            running.decrementAndGet();
+            return item;
+        });
+
+        assertThat(maxRunning.get()).isAtMost(3);
+        assertThat(maxRunning.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void failureCancelsRemainingTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(3);
+        AtomicInteger interrupted = new AtomicInteger();
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> ParallelTasks.map(List.of(0, 1, 2, 3), 4, item -> {
+            if (item == 0) {
+                // Fail only once the others are running, tasks cancelled before they start are never interrupted
+                started.await();
+                throw new IllegalStateException("Team 0");
+            }
+
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+            return item;
+        }));
+
+        assertThat(exception).hasMessageThat().isEqualTo("Team 0");
+        // Every task has finished when map returns
+        assertThat(interrupted.get()).isEqualTo(3);
+    }
+
+    @Test
+    void failureOfLastItemDoesNotWaitForFirstItem() {
+        AtomicInteger interrupted = new AtomicInteger();
+        long start = System.nanoTime();
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> ParallelTasks.map(List.of(0, 1, 2), 3, item -> {
+            if (item == 2) throw new IllegalStateException("Team 2");
+            if (item == 0) {
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException e) {
+                    interrupted.incrementAndGet();
+                    throw e;
+                }
+            }
+            return item;
+        }));
+
+        assertThat(exception).hasMessageThat().isEqualTo("Team 2");
+        assertThat(interrupted.get()).isEqualTo(1);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    void interruptCancelsTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicReference<Exception> thrown = new AtomicReference<>();
+        AtomicInteger interrupted = new AtomicInteger();
+
+        Thread caller = Thread.ofPlatform().start(() -> {
+            try {
+                ParallelTasks.map(List.of(1, 2), 2, item -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                    } catch (InterruptedException e) {
+                        interrupted.incrementAndGet();
+                        throw e;
+                    }
+                    return item;
+                });
+            } catch (Exception e) {
+                thrown.set(e);
+            }
+        });
+
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        caller.interrupt();
+        caller.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(thrown.get()).isInstanceOf(InterruptedException.class);
+        assertThat(interrupted.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,67 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import ecostruxure.rate.calculator.be.Profile;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class ProfileRateCacheTest {
+    private final ProfileRateCache cache = new ProfileRateCache();
+
+    private static Profile profile(int id, String annualSalary) {
+        return new Profile(id, "Profile", "EUR", new BigDecimal(annualSalary), new BigDecimal("5000.50"),
+                           new BigDecimal("1.25"), 1, new BigDecimal("1650.75"), false, new BigDecimal("7.5"), false);
+    }
+
+    @Test
+    void ratesMatchRateUtils() {
+        Profile profile = profile(1, "61234.5678");
+        BigDecimal utilization = new BigDecimal("33.335");
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(cache.get(profile).annualCost()).isEqualTo(RateUtils.annualCost(profile));
+            assertThat(cache.get(profile).hourlyRate()).isEqualTo(RateUtils.hourlyRate(profile));
+            assertThat(cache.get(profile).dayRate()).isEqualTo(RateUtils.dayRate(profile));
+            assertThat(cache.hourlyRate(profile, utilization)).isEqualTo(RateUtils.hourlyRate(profile, utilization));
+            assertThat(cache.dayRate(profile, utilization)).isEqualTo(RateUtils.dayRate(profile, utilization));
+            assertThat(cache.annualCost(profile, utilization)).isEqualTo(RateUtils.annualCost(profile, utilization));
+        }
+
+        assertThat(cache.cacheStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void changedValuesAreRecalculated() {
+        Profile before = profile(1, "60000");
+        Profile after = profile(1, "90000");
+
+        cache.get(before);
+
+        assertThat(cache.get(after).annualCost()).isEqualTo(RateUtils.annualCost(after));
+        assertThat(cache.cacheStats().hits()).isEqualTo(0);
+    }
+
+    @Test
+    void invalidateRemovesProfile() {
+        Profile profile = profile(1, "60000");
+        cache.get(profile);
+        cache.get(profile);
+
+        cache.invalidate(1);
+        cache.get(profile);
+
+        assertThat(cache.cacheStats()).isEqualTo(new CacheStats(1, 2, 1));
+    }
+
+    @Test
+    void profilesWithoutIdAreNotCached() {
+        Profile profile = profile(0, "60000");
+
+        cache.get(profile);
+        cache.get(profile);
+
+        assertThat(cache.cacheStats()).isEqualTo(new CacheStats(0, 0, 0));
+    }
+}
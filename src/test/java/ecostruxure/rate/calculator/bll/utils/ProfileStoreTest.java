@@ -0,0 +1,141 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.data.ProfileColumns;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.bll.utils.ProfileStore.Filter;
+import ecostruxure.rate.calculator.bll.utils.ProfileStore.GroupBy;
+import ecostruxure.rate.calculator.bll.utils.ProfileStore.Totals;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class ProfileStoreTest {
+    private static final String[] CURRENCIES = {"EUR", "USD", "DKK"};
+
+    private final ProfileColumns columns = new ProfileColumns();
+
+    private static BigDecimal decimal(Random random, int maxUnits, int scale) {
+        return BigDecimal.valueOf(random.nextInt(maxUnits) + 1, scale);
+    }
+
+    private static TeamMetrics add(TeamMetrics metrics, Profile profile, BigDecimal utilizationRate, BigDecimal utilizationHours) {
+        return new TeamMetrics(
+                metrics.hourlyRate().add(RateUtils.hourlyRate(profile, utilizationRate)),
+                metrics.dayRate().add(RateUtils.dayRate(profile, utilizationRate)),
+                metrics.annualCost().add(RateUtils.annualCost(profile, utilizationRate)),
+                metrics.totalHours().add(RateUtils.utilizedHours(profile, utilizationHours))
+        );
+    }
+
+    private static void assertEquivalent(TeamMetrics actual, TeamMetrics expected) {
+        assertThat(actual.hourlyRate()).isEquivalentAccordingToCompareTo(expected.hourlyRate());
+        assertThat(actual.dayRate()).isEquivalentAccordingToCompareTo(expected.dayRate());
+        assertThat(actual.annualCost()).isEquivalentAccordingToCompareTo(expected.annualCost());
+        assertThat(actual.totalHours()).isEquivalentAccordingToCompareTo(expected.totalHours());
+    }
+
+    @Test
+    void teamTotalsMatchRateUtils() {
+        Random random = new Random(42);
+        Map<Integer, TeamMetrics> expected = new HashMap<>();
+
+        for (int id = 1; id <= 5_000; id++) {
+            Profile profile = new Profile(id, "Profile " + id, CURRENCIES[random.nextInt(CURRENCIES.length)],
+                                          decimal(random, 2_000_000_000, 4), decimal(random, 100_000_000, 4),
+                                          decimal(random, 300, 2), random.nextInt(5), decimal(random, 200_000, 2),
+                                          random.nextBoolean(), decimal(random, 1_000, 2), false);
+            columns.addProfile(id, profile.profileData().geography(), profile.profileData().currency(), profile.profileData().overhead(),
+                               profile.annualSalary(), profile.fixedAnnualAmount(), profile.overheadMultiplier(),
+                               profile.effectiveWorkHours(), profile.hoursPerDay());
+
+            int teams = random.nextInt(4);
+            for (int team = 0; team < teams; team++) {
+                BigDecimal utilizationRate = decimal(random, 10_000, 2);
+                BigDecimal utilizationHours = decimal(random, 10_000, 2);
+                int teamId = random.nextInt(20) * 4 + team;  // never the same team twice for one profile
+
+                columns.addAllocation(teamId, utilizationRate, utilizationHours);
+                expected.merge(teamId, add(TeamMetrics.ZERO, profile, utilizationRate, utilizationHours),
+                               (a, b) -> new TeamMetrics(a.hourlyRate().add(b.hourlyRate()), a.dayRate().add(b.dayRate()),
+                                                         a.annualCost().add(b.annualCost()), a.totalHours().add(b.totalHours())));
+            }
+        }
+
+        Map<Integer, Totals> totals = new ProfileStore(columns).sum(Filter.ALL, GroupBy.TEAM);
+
+        assertThat(totals.keySet()).isEqualTo(expected.keySet());
+        expected.forEach((teamId, metrics) -> assertEquivalent(totals.get(teamId).metrics(), metrics));
+    }
+
+    @Test
+    void profilesWithoutAllocationsAreCountedButNotInTeams() {
+        columns.addProfile(1, 1, "EUR", false, new BigDecimal("60000"), BigDecimal.ZERO, new BigDecimal("1"), new BigDecimal("1600"), new BigDecimal("8"));
+        columns.addAllocation(10, new BigDecimal("50"), new BigDecimal("50"));
+        columns.addAllocation(11, new BigDecimal("50"), new BigDecimal("50"));
+        columns.addProfile(2, 1, "EUR", true, new BigDecimal("80000"), BigDecimal.ZERO, new BigDecimal("1"), new BigDecimal("1600"), new BigDecimal("8"));
+        columns.addProfile(3, 2, "USD", false, new BigDecimal("70000"), BigDecimal.ZERO, new BigDecimal("1"), new BigDecimal("1600"), new BigDecimal("8"));
+        columns.addAllocation(10, new BigDecimal("100"), new BigDecimal("100"));
+
+        ProfileStore store = new ProfileStore(columns);
+
+        Map<Integer, Totals> byGeography = store.sum(Filter.ALL, GroupBy.GEOGRAPHY);
+        assertThat(byGeography.get(1).profiles()).isEqualTo(2);
+        assertThat(byGeography.get(1).metrics().hourlyRate()).isEquivalentAccordingToCompareTo(new BigDecimal("37.50"));
+        assertThat(byGeography.get(2).profiles()).isEqualTo(1);
+
+        Map<Integer, Totals> byTeam = store.sum(Filter.ALL, GroupBy.TEAM);
+        assertThat(byTeam.keySet()).containsExactly(10, 11);
+        assertThat(byTeam.get(10).profiles()).isEqualTo(2);
+
+        Totals usd = store.sum(Filter.currency("USD"));
+        assertThat(usd.profiles()).isEqualTo(1);
+        assertThat(usd.metrics().totalHours()).isEquivalentAccordingToCompareTo(new BigDecimal("1600"));
+
+        assertThat(store.sum(Filter.overhead(true).and(Filter.geography(2))).profiles()).isEqualTo(0);
+    }
+
+    @Test
+    void profilesThatDoNotFitTheColumnsAreSummedExactly() {
+        // DECIMAL(19, 4) holds salaries far above Long.MAX_VALUE units at 4 decimals
+        Profile profile = new Profile(1, "", "EUR", new BigDecimal("999999999999999.9999"), new BigDecimal("1000.5"),
+                                      new BigDecimal("1.25"), 1, new BigDecimal("1600"), false, new BigDecimal("8"), false);
+        columns.addProfile(1, 1, "EUR", false, profile.annualSalary(), profile.fixedAnnualAmount(), profile.overheadMultiplier(),
+                           profile.effectiveWorkHours(), profile.hoursPerDay());
+        columns.addAllocation(10, new BigDecimal("50"), new BigDecimal("25"));
+        columns.addProfile(2, 1, "EUR", false, new BigDecimal("60000"), BigDecimal.ZERO, BigDecimal.ONE, new BigDecimal("1600"), new BigDecimal("8"));
+        columns.addAllocation(10, new BigDecimal("100"), new BigDecimal("100"));
+
+        assertThat(columns.exactValues(0).annualSalary()).isEqualTo(profile.annualSalary());
+        assertThat(columns.exactValues(1)).isNull();
+
+        Profile other = new Profile(2, "", "EUR", new BigDecimal("60000"), BigDecimal.ZERO, BigDecimal.ONE, 1,
+                                    new BigDecimal("1600"), false, new BigDecimal("8"), false);
+        TeamMetrics expected = add(add(TeamMetrics.ZERO, profile, new BigDecimal("50"), new BigDecimal("25")),
+                                   other, new BigDecimal("100"), new BigDecimal("100"));
+
+        Totals team = new ProfileStore(columns).sum(Filter.ALL, GroupBy.TEAM).get(10);
+        assertThat(team.profiles()).isEqualTo(2);
+        assertEquivalent(team.metrics(), expected);
+    }
+
+    @Test
+    void allocationsBelongToTheirProfile() {
+        columns.addProfile(1, 1, "EUR", false, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+        columns.addAllocation(5, BigDecimal.TEN, BigDecimal.TEN);
+        columns.addProfile(2, 1, "EUR", false, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+        columns.addProfile(3, 1, "EUR", false, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+        columns.addAllocation(6, BigDecimal.TEN, BigDecimal.TEN);
+        columns.addAllocation(7, BigDecimal.TEN, BigDecimal.TEN);
+
+        assertThat(columns.allocationEnd(0) - columns.allocationStart(0)).isEqualTo(1);
+        assertThat(columns.allocationEnd(1) - columns.allocationStart(1)).isEqualTo(0);
+        assertThat(columns.allocationTeam(columns.allocationStart(2))).isEqualTo(6);
+        assertThat(columns.allocationEnd(2)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,240 @@
+package ecostruxure.rate.calculator.bll.utils;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.be.data.ScenarioChanges;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import ecostruxure.rate.calculator.be.data.TeamRates;
+import ecostruxure.rate.calculator.be.data.TeamUtilization;
+import ecostruxure.rate.calculator.bll.RateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScenarioTest {
+    private final RateService rateService = new RateService(null, null);
+    private Scenario scenario;
+
+    private static Profile profile(int id, String annualSalary, String utilization) {
+        return new Profile(id, "Profile " + id, "EUR", new BigDecimal(annualSalary), new BigDecimal("5000.50"),
+                           new BigDecimal("1.25"), 1, new BigDecimal("1650.75"), new BigDecimal(utilization),
+                           new BigDecimal(utilization), false, new BigDecimal("7.5"), false);
+    }
+
+    private static Team team(int id) {
+        return new Team(id, "Team " + id, new BigDecimal("10"), new BigDecimal("20"), false);
+    }
+
+    @BeforeEach
+    void setUp() {
+        scenario = new Scenario(rateService, List.of(team(1), team(2)), Map.of(
+                1, List.of(profile(1, "60000", "50"), profile(2, "72000.25", "100")),
+                2, List.of(profile(1, "60000", "25"), profile(3, "48000", "75"))
+        ));
+    }
+
+    private static TeamMetrics recalculated(List<Profile> members) {
+        BigDecimal hourlyRate = BigDecimal.ZERO;
+        BigDecimal dayRate = BigDecimal.ZERO;
+        BigDecimal annualCost = BigDecimal.ZERO;
+        BigDecimal totalHours = BigDecimal.ZERO;
+
+        for (Profile profile : members) {
+            hourlyRate = hourlyRate.add(RateUtils.hourlyRate(profile, profile.utilizationRate()));
+            dayRate = dayRate.add(RateUtils.dayRate(profile, profile.utilizationRate()));
+            annualCost = annualCost.add(RateUtils.annualCost(profile, profile.utilizationRate()));
+            totalHours = totalHours.add(RateUtils.utilizedHours(profile, profile.utilizationHours()));
+        }
+
+        return new TeamMetrics(hourlyRate, dayRate, annualCost, totalHours);
+    }
+
+    private void assertMatchesRecalculation() {
+        for (int teamId : scenario.teamIds()) {
+            TeamMetrics expected = recalculated(scenario.members(teamId));
+            TeamMetrics actual = scenario.metrics(teamId);
+
+            assertThat(actual.hourlyRate()).isEquivalentAccordingToCompareTo(expected.hourlyRate());
+            assertThat(actual.dayRate()).isEquivalentAccordingToCompareTo(expected.dayRate());
+            assertThat(actual.annualCost()).isEquivalentAccordingToCompareTo(expected.annualCost());
+            assertThat(actual.totalHours()).isEquivalentAccordingToCompareTo(expected.totalHours());
+        }
+    }
+
+    @Test
+    void incrementalChangesMatchRecalculation() {
+        assertMatchesRecalculation();
+
+        Random random = new Random(25);
+        for (int i = 0; i < 500; i++) {
+            int teamId = 1 + random.nextInt(2);
+            List<Profile> members = scenario.members(teamId);
+            BigDecimal utilization = BigDecimal.valueOf(random.nextInt(10001), 2);
+
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (!members.isEmpty()) scenario.setUtilization(teamId, members.get(random.nextInt(members.size())).id(), utilization, utilization);
+                }
+                case 1 -> scenario.setAnnualSalary(1 + random.nextInt(3), BigDecimal.valueOf(30000 + random.nextInt(90000), 2));
+                case 2 -> {
+                    int profileId = 1 + random.nextInt(5);
+                    if (members.stream().noneMatch(profile -> profile.id() == profileId)) {
+                        scenario.assign(teamId, profile(profileId, "55000", "0"), utilization, utilization);
+                    }
+                }
+                default -> {
+                    if (!members.isEmpty()) scenario.remove(teamId, members.get(random.nextInt(members.size())).id());
+                }
+            }
+        }
+
+        assertMatchesRecalculation();
+    }
+
+    @Test
+    void salaryChangeUpdatesEveryTeamOfProfile() {
+        TeamMetrics team1 = scenario.metrics(1);
+        TeamMetrics team2 = scenario.metrics(2);
+
+        scenario.setAnnualSalary(1, new BigDecimal("90000"));
+
+        assertThat(scenario.metrics(1).annualCost()).isGreaterThan(team1.annualCost());
+        assertThat(scenario.metrics(2).annualCost()).isGreaterThan(team2.annualCost());
+        assertMatchesRecalculation();
+    }
+
+    @Test
+    void multipliersChangeRatesButNotMetrics() throws Exception {
+        TeamMetrics metrics = scenario.metrics(1);
+        TeamRates before = scenario.rates(1);
+
+        scenario.setMultipliers(1, new BigDecimal("30"), new BigDecimal("20"));
+
+        Team expected = team(1);
+        expected.markup(new BigDecimal("30"));
+        assertThat(scenario.metrics(1)).isEqualTo(metrics);
+        assertThat(scenario.rates(1)).isEqualTo(rateService.calculateRates(expected, metrics));
+        assertThat(scenario.rates(1).hourly().markupRate()).isGreaterThan(before.hourly().markupRate());
+    }
+
+    @Test
+    void changesOnlyHoldWhatDiffers() {
+        assertThat(scenario.hasChanges()).isFalse();
+
+        scenario.setMultipliers(1, new BigDecimal("15"), new BigDecimal("20"));
+        scenario.setUtilization(1, 2, new BigDecimal("60"), new BigDecimal("60"));
+        scenario.remove(2, 3);
+        scenario.assign(2, profile(4, "50000", "0"), new BigDecimal("40"), new BigDecimal("40"));
+        scenario.setAnnualSalary(1, new BigDecimal("65000"));
+
+        ScenarioChanges changes = scenario.changes();
+        assertThat(changes.salaries()).hasSize(1);
+        assertThat(changes.salaries().getFirst().annualSalary()).isEqualTo(new BigDecimal("65000"));
+        assertThat(changes.salaries().getFirst().originalAnnualSalary()).isEqualTo(new BigDecimal("60000"));
+
+        ScenarioChanges.TeamChanges team1 = changes.teams().getFirst();
+        assertThat(team1.multipliersChanged()).isTrue();
+        assertThat(team1.team().markup()).isEqualTo(new BigDecimal("15"));
+        assertThat(team1.originalMarkup()).isEqualTo(new BigDecimal("10"));
+        assertThat(team1.updated()).hasSize(1);
+        assertThat(team1.updated().getFirst().utilizationRate()).isEqualTo(new BigDecimal("60"));
+        assertThat(team1.originalUtilizations()).containsExactly(2, new TeamUtilization(new BigDecimal("100"), new BigDecimal("100")));
+
+        ScenarioChanges.TeamChanges team2 = changes.teams().get(1);
+        assertThat(team2.multipliersChanged()).isFalse();
+        assertThat(team2.removed().getFirst().id()).isEqualTo(3);
+        assertThat(team2.assigned().getFirst().id()).isEqualTo(4);
+        assertThat(team2.originalUtilizations()).containsExactly(3, new TeamUtilization(new BigDecimal("75"), new BigDecimal("75")));
+
+        // Undoing every change leaves nothing to apply
+        scenario.setMultipliers(1, new BigDecimal("10.00"), new BigDecimal("20"));
+        scenario.setUtilization(1, 2, new BigDecimal("100"), new BigDecimal("100"));
+        scenario.remove(2, 4);
+        scenario.assign(2, profile(3, "48000", "0"), new BigDecimal("75"), new BigDecimal("75"));
+        scenario.setAnnualSalary(1, new BigDecimal("60000"));
+
+        assertThat(scenario.hasChanges()).isFalse();
+    }
+
+    @Test
+    void changeOnlyMovesTotalsOfAffectedTeams() {
+        List<Team> teams = new ArrayList<>();
+        Map<Integer, List<Profile>> members = new HashMap<>();
+        Map<Integer, Set<Integer>> teamsByProfile = new HashMap<>();
+        for (int teamId = 1; teamId <= 20; teamId++) {
+            teams.add(team(teamId));
+            List<Profile> profiles = new ArrayList<>();
+            // Every profile is on 5 teams, so a salary change moves 5 team totals
+            for (int i = 0; i < 100; i++) {
+                int profileId = 1 + (teamId * 100 + i) % 400;
+                profiles.add(profile(profileId, "60000", "20"));
+                teamsByProfile.computeIfAbsent(profileId, id -> new HashSet<>()).add(teamId);
+            }
+            members.put(teamId, profiles);
+        }
+        Scenario large = new Scenario(rateService, teams, members);
+
+        Random random = new Random(25);
+        for (int i = 0; i < 200; i++) {
+            int teamId = 1 + random.nextInt(20);
+            int profileId = 1 + (teamId * 100 + random.nextInt(100)) % 400;
+            BigDecimal utilization = BigDecimal.valueOf(random.nextInt(2001), 2);
+
+            Map<Integer, TeamMetrics> before = new HashMap<>();
+            for (int id : large.teamIds()) before.put(id, large.metrics(id));
+
+            Set<Integer> affected;
+            if (random.nextBoolean()) {
+                large.setUtilization(teamId, profileId, utilization, utilization);
+                affected = Set.of(teamId);
+            } else {
+                large.setAnnualSalary(profileId, BigDecimal.valueOf(30000 + random.nextInt(90000)));
+                affected = teamsByProfile.get(profileId);
+                assertThat(affected).hasSize(5);
+            }
+
+            for (int id : large.teamIds()) {
+                if (!affected.contains(id)) {
+                    assertThat(large.metrics(id)).isSameInstanceAs(before.get(id));
+                    continue;
+                }
+
+                TeamMetrics expected = recalculated(large.members(id));
+                TeamMetrics actual = large.metrics(id);
+                assertThat(actual.hourlyRate()).isEquivalentAccordingToCompareTo(expected.hourlyRate());
+                assertThat(actual.dayRate()).isEquivalentAccordingToCompareTo(expected.dayRate());
+                assertThat(actual.annualCost()).isEquivalentAccordingToCompareTo(expected.annualCost());
+                assertThat(actual.totalHours()).isEquivalentAccordingToCompareTo(expected.totalHours());
+            }
+        }
+    }
+
+    @Test
+    void invalidChangesAreRejected() {
+        List<Runnable> changes = new ArrayList<>();
+        changes.add(() -> scenario.setMultipliers(1, new BigDecimal("101"), BigDecimal.ZERO));
+        changes.add(() -> scenario.setMultipliers(3, BigDecimal.ZERO, BigDecimal.ZERO));
+        changes.add(() -> scenario.setUtilization(1, 3, BigDecimal.ONE, BigDecimal.ONE));
+        changes.add(() -> scenario.setUtilization(1, 1, new BigDecimal("-1"), BigDecimal.ONE));
+        changes.add(() -> scenario.setAnnualSalary(1, new BigDecimal("1.00001")));
+        changes.add(() -> scenario.setAnnualSalary(9, BigDecimal.ONE));
+        changes.add(() -> scenario.assign(1, profile(1, "60000", "0"), BigDecimal.ONE, BigDecimal.ONE));
+        changes.add(() -> scenario.remove(1, 3));
+
+        for (Runnable change : changes) {
+            assertThrows(IllegalArgumentException.class, change::run);
+        }
+        assertThat(scenario.hasChanges()).isFalse();
+    }
+}
@@ -1,10 +1,14 @@
 package ecostruxure.rate.calculator.dal.dao;
 
+import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.dal.db.ProfileDAO;
 import ecostruxure.rate.calculator.dal.db.TeamDAO;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -74,4 +78,35 @@ class TeamDAOTest {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void it_canUnarchiveTeamsThatOnlyConflictTogether() throws Exception {
+        // Setup
+        IProfileDAO profileDAO = new ProfileDAO();
+        Profile profile = profileDAO.create(new Profile("Test profile - unarchive together", "EUR", new BigDecimal("60000"),
+                BigDecimal.ZERO, BigDecimal.ZERO, 1, new BigDecimal("1600"), BigDecimal.ZERO, BigDecimal.ZERO, false,
+                new BigDecimal("8"), false));
+        profile.utilizationRate(new BigDecimal("60"));
+        profile.utilizationHours(new BigDecimal("60"));
+
+        Team first = teamDAO.create(new Team("Test team - unarchive together 1", BigDecimal.ZERO, BigDecimal.ZERO));
+        Team second = teamDAO.create(new Team("Test team - unarchive together 2", BigDecimal.ZERO, BigDecimal.ZERO));
+        teamDAO.assignProfiles(first, List.of(profile));
+        teamDAO.archive(List.of(first), true);
+        teamDAO.assignProfiles(second, List.of(profile));
+        teamDAO.archive(List.of(second), true);
+
+        // Call
+        Map<Integer, List<Profile>> alone = teamDAO.canUnarchive(List.of(first.id()));
+        Map<Integer, List<Profile>> together = teamDAO.canUnarchive(List.of(first.id(), second.id()));
+
+        // Check
+        assertThat(alone).isEmpty();
+        assertThat(together.keySet()).containsExactly(first.id(), second.id());
+        assertThat(together.get(first.id()).getFirst().utilizationRate()).isEquivalentAccordingToCompareTo(new BigDecimal("120"));
+
+        assertThat(teamDAO.archive(List.of(first, second), false)).isTrue();
+        assertThat(teamDAO.get(first.id()).archived()).isFalse();
+        assertThat(teamDAO.get(second.id()).archived()).isFalse();
+    }
+}
@@ -0,0 +1,135 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ConnectionPoolTest {
+    private final List<Connection> opened = new CopyOnWriteArrayList<>();
+    private DataSource dataSource;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> newPhysicalConnection());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) pool.close();
+    }
+
+    private Connection newPhysicalConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(connection.getAutoCommit()).thenReturn(true);
+        opened.add(connection);
+        return connection;
+    }
+
+    @Test
+    void closingBorrowedConnectionReturnsItToPool() throws SQLException {
+        pool = new ConnectionPool(dataSource, 0, 2, 60_000, 1_000, 1);
+
+        Connection first = pool.borrow();
+        assertThat(pool.stats().active()).isEqualTo(1);
+        first.close();
+
+        assertThat(first.isClosed()).isTrue();
+        assertThat(pool.stats().active()).isEqualTo(0);
+        assertThat(pool.stats().idle()).isEqualTo(1);
+
+        try (Connection second = pool.borrow()) {
+            assertThat(second.isClosed()).isFalse();
+        }
+
+        verify(dataSource, times(1)).getConnection();
+        assertThat(pool.stats().totalBorrowed()).isEqualTo(2);
+        assertThat(pool.stats().created()).isEqualTo(1);
+    }
+
+    @Test
+    void usingConnectionAfterCloseFails() throws SQLException {
+        pool = new ConnectionPool(dataSource, 0, 1, 60_000, 1_000, 1);
+
+        Connection connection = pool.borrow();
+        connection.close();
+        connection.close();
+
+        assertThrows(SQLException.class, () -> connection.prepareStatement("SELECT 1"));
+        assertThat(pool.stats().idle()).isEqualTo(1);
+    }
+
+    @Test
+    void borrowTimesOutWhenPoolIsExhausted() throws SQLException {
+        pool = new ConnectionPool(dataSource, 0, 1, 60_000, 50, 1);
+
+        try (Connection borrowed = pool.borrow()) {
+            assertThat(borrowed.isClosed()).isFalse();
+            assertThrows(SQLTransientConnectionException.class, () -> pool.borrow());
+        }
+
+        assertThat(pool.stats().timeouts()).isEqualTo(1);
+        assertThat(pool.stats().active()).isEqualTo(0);
+    }
+
+    @Test
+    void invalidIdleConnectionIsReplacedOnBorrow() throws SQLException {
+        pool = new ConnectionPool(dataSource, 0, 1, 60_000, 1_000, 1);
+
+        pool.borrow().close();
+        Connection physical = opened.get(0);
+        when(physical.isValid(anyInt())).thenReturn(false);
+
+        try (Connection replacement = pool.borrow()) {
+            assertThat(replacement.isClosed()).isFalse();
+            verify(physical).close();
+        }
+
+        assertThat(pool.stats().created()).isEqualTo(2);
+        assertThat(pool.stats().destroyed()).isEqualTo(1);
+    }
+
+    @Test
+    void openTransactionIsRolledBackOnReturn() throws SQLException {
+        pool = new ConnectionPool(dataSource, 0, 1, 60_000, 1_000, 1);
+
+        Connection physical;
+        try (Connection borrowed = pool.borrow()) {
+            assertThat(borrowed.isClosed()).isFalse();
+            physical = opened.get(0);
+            when(physical.getAutoCommit()).thenReturn(false);
+        }
+
+        verify(physical).rollback();
+        verify(physical).setAutoCommit(true);
+    }
+
+    @Test
+    void idleConnectionsAboveMinimumAreEvicted() throws SQLException {
+        pool = new ConnectionPool(dataSource, 0, 2, 0, 1_000, 1);
+
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        first.close();
+        second.close();
+
+        pool.housekeep();
+
+        assertThat(pool.stats().idle()).isEqualTo(0);
+        assertThat(pool.stats().destroyed()).isEqualTo(2);
+    }
+}
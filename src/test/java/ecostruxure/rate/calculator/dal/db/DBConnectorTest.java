@@ -0,0 +1,98 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+import ecostruxure.rate.calculator.util.AppConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DBConnectorTest {
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement snapshotQuery = mock(PreparedStatement.class);
+    private final ResultSet snapshotState = mock(ResultSet.class);
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(contains("snapshot_isolation_state"))).thenReturn(snapshotQuery);
+        when(snapshotQuery.executeQuery()).thenReturn(snapshotState);
+        pool = new ConnectionPool(dataSource, 0, 1, 60_000, 1_000, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private void snapshotIsolationState(int state) throws SQLException {
+        when(snapshotState.next()).thenReturn(true);
+        when(snapshotState.getInt("snapshot_isolation_state")).thenReturn(state);
+    }
+
+    @Test
+    void snapshotIsUsedWhenEnabled() throws SQLException {
+        snapshotIsolationState(1);
+        DBConnector dbConnector = new DBConnector(pool, RetryPolicy.DEFAULT, ReadIsolation.SNAPSHOT);
+
+        try (Connection ignored = dbConnector.readConnection()) {
+            verify(connection).setTransactionIsolation(SQLServerConnection.TRANSACTION_SNAPSHOT);
+        }
+        assertThat(dbConnector.readIsolation()).isEqualTo(ReadIsolation.SNAPSHOT);
+    }
+
+    @Test
+    void fallsBackToReadCommittedWhenSnapshotIsNotEnabled() throws SQLException {
+        snapshotIsolationState(0);
+        DBConnector dbConnector = new DBConnector(pool, RetryPolicy.DEFAULT, ReadIsolation.SNAPSHOT);
+
+        assertThat(dbConnector.readIsolation()).isEqualTo(ReadIsolation.READ_COMMITTED);
+        assertThat(dbConnector.configuredReadIsolation()).isEqualTo(ReadIsolation.SNAPSHOT);
+        try (Connection ignored = dbConnector.readConnection()) {
+            verify(connection).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        }
+        // Checked once per DBConnector
+        verify(snapshotQuery).executeQuery();
+    }
+
+    @Test
+    void availabilityIsCheckedPerDBConnector() throws SQLException {
+        snapshotIsolationState(0);
+        assertThat(new DBConnector(pool, RetryPolicy.DEFAULT, ReadIsolation.SNAPSHOT).readIsolation()).isEqualTo(ReadIsolation.READ_COMMITTED);
+
+        snapshotIsolationState(1);
+        assertThat(new DBConnector(pool, RetryPolicy.DEFAULT, ReadIsolation.SNAPSHOT).readIsolation()).isEqualTo(ReadIsolation.SNAPSHOT);
+    }
+
+    @Test
+    void otherLevelsDoNotCheckTheDatabase() throws SQLException {
+        DBConnector dbConnector = new DBConnector(pool, RetryPolicy.DEFAULT, ReadIsolation.READ_UNCOMMITTED);
+
+        assertThat(dbConnector.readIsolation()).isEqualTo(ReadIsolation.READ_UNCOMMITTED);
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void readIsolationIsParsedFromConfig() {
+        assertThat(DBConnector.parseReadIsolation(null)).isEqualTo(ReadIsolation.READ_COMMITTED);
+        assertThat(DBConnector.parseReadIsolation(" snapshot ")).isEqualTo(ReadIsolation.SNAPSHOT);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> DBConnector.parseReadIsolation("SERIALIZABLE"));
+        assertThat(e).hasMessageThat().contains(AppConfig.DB_READ_ISOLATION);
+        assertThat(e).hasMessageThat().contains("SERIALIZABLE");
+    }
+}
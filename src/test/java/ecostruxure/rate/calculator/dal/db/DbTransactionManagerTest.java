@@ -0,0 +1,115 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class DbTransactionManagerTest {
+    private final AtomicInteger attempts = new AtomicInteger();
+    private DBConnector dbConnector;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dbConnector = mock(DBConnector.class);
+        when(dbConnector.connection()).thenAnswer(invocation -> mock(Connection.class));
+        when(dbConnector.readConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    private static Exception deadlock() {
+        // DAOs wrap the driver exception, the error code is found through the cause
+        return new Exception("Could not update Team in Database.", new SQLException("Chosen as deadlock victim", "40001", RetryPolicy.DEADLOCK_VICTIM));
+    }
+
+    @Test
+    void deadlockVictimIsRetried() throws Exception {
+        DbTransactionManager manager = new DbTransactionManager(dbConnector, new RetryPolicy(3, 1, 2));
+
+        String result = manager.executeTransaction(context -> {
+            if (attempts.incrementAndGet() < 3) throw deadlock();
+            return "saved";
+        });
+
+        assertThat(result).isEqualTo("saved");
+        assertThat(manager.retries()).isEqualTo(2);
+        assertThat(manager.failures()).isEqualTo(0);
+        verify(dbConnector, times(3)).connection();
+    }
+
+    @Test
+    void lockTimeoutIsRolledBackBeforeRetry() throws Exception {
+        // A lock timeout only aborts the statement, the open transaction has to be rolled back before running again
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        when(dbConnector.connection()).thenReturn(first, second);
+        DbTransactionManager manager = new DbTransactionManager(dbConnector, new RetryPolicy(2, 0, 0));
+
+        manager.executeTransaction(context -> {
+            if (attempts.incrementAndGet() == 1) throw new SQLException("Lock request time out period exceeded", "HYT00", RetryPolicy.LOCK_TIMEOUT);
+            return null;
+        });
+
+        InOrder order = inOrder(first, dbConnector, second);
+        order.verify(first).rollback();
+        order.verify(first).close();
+        order.verify(dbConnector).connection();
+        order.verify(second).commit();
+        verify(first, never()).commit();
+        assertThat(manager.retries()).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        DbTransactionManager manager = new DbTransactionManager(dbConnector, new RetryPolicy(2, 0, 0));
+
+        assertThrows(Exception.class, () -> manager.executeTransaction(context -> {
+            attempts.incrementAndGet();
+            throw deadlock();
+        }));
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(manager.retries()).isEqualTo(1);
+        assertThat(manager.failures()).isEqualTo(1);
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        DbTransactionManager manager = new DbTransactionManager(dbConnector, RetryPolicy.DEFAULT);
+
+        assertThrows(Exception.class, () -> manager.executeTransaction(context -> {
+            attempts.incrementAndGet();
+            throw new SQLException("Violation of PRIMARY KEY constraint", "23000", 2627);
+        }));
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(manager.retries()).isEqualTo(0);
+    }
+
+    @Test
+    void readOnlyTransactionUsesReadConnection() throws Exception {
+        DbTransactionManager manager = new DbTransactionManager(dbConnector, RetryPolicy.DEFAULT);
+
+        manager.executeReadOnly(context -> null);
+
+        verify(dbConnector).readConnection();
+        verify(dbConnector, never()).connection();
+    }
+
+    @Test
+    void delayStaysWithinExponentialBound() {
+        RetryPolicy policy = new RetryPolicy(10, 10, 50);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.delayMillis(1)).isAtMost(10);
+            assertThat(policy.delayMillis(2)).isAtMost(20);
+            assertThat(policy.delayMillis(9)).isAtMost(50);
+        }
+    }
+}
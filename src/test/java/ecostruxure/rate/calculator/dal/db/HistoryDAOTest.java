@@ -0,0 +1,184 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import ecostruxure.rate.calculator.be.TeamHistory;
+import ecostruxure.rate.calculator.be.TeamProfileHistory;
+import ecostruxure.rate.calculator.dal.db.HistoryDAO.MemberChange;
+import ecostruxure.rate.calculator.dal.db.HistoryDAO.TeamHistoryEntry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+class HistoryDAOTest {
+    private static TeamHistoryEntry entry(int id, boolean fullSnapshot) {
+        return new TeamHistoryEntry(id, fullSnapshot, false, new TeamHistory());
+    }
+
+    private static TeamHistoryEntry legacyEntry(int id) {
+        return new TeamHistoryEntry(id, false, true, new TeamHistory());
+    }
+
+    private static TeamProfileHistory member(int profileId, String utilization) {
+        TeamProfileHistory member = new TeamProfileHistory();
+        member.profileId(profileId);
+        member.utilizationRate(new BigDecimal(utilization));
+        return member;
+    }
+
+    private static MemberChange change(int teamHistoryId, boolean fullSnapshot, int profileId, String utilization) {
+        return new MemberChange(teamHistoryId, fullSnapshot, false, false, member(profileId, utilization));
+    }
+
+    private static MemberChange legacyChange(int teamHistoryId, int profileId, String utilization) {
+        return new MemberChange(teamHistoryId, false, true, false, member(profileId, utilization));
+    }
+
+    private static MemberChange removal(int teamHistoryId, int profileId) {
+        TeamProfileHistory member = new TeamProfileHistory();
+        member.profileId(profileId);
+        return new MemberChange(teamHistoryId, false, false, true, member);
+    }
+
+    private static List<Integer> profileIds(TeamHistoryEntry entry) {
+        return entry.history().teamProfileHistories().stream().map(TeamProfileHistory::profileId).toList();
+    }
+
+    @Test
+    void entriesCarryOverUnchangedMembers() {
+        TeamHistoryEntry created = entry(1, true);
+        TeamHistoryEntry assigned = entry(2, false);
+        TeamHistoryEntry updated = entry(3, false);
+        TeamHistoryEntry removed = entry(4, false);
+
+        HistoryDAO.rebuildMembers(List.of(removed, updated, assigned, created), List.of(
+                change(1, true, 1, "50"),
+                change(1, true, 2, "50"),
+                change(2, false, 3, "100"),
+                change(3, false, 1, "25"),
+                removal(4, 2)
+        ));
+
+        assertThat(profileIds(created)).containsExactly(1, 2).inOrder();
+        assertThat(profileIds(assigned)).containsExactly(1, 2, 3).inOrder();
+        assertThat(profileIds(removed)).containsExactly(1, 3).inOrder();
+        assertThat(updated.history().teamProfileHistories().getFirst().utilizationRate()).isEqualTo(new BigDecimal("25"));
+        assertThat(assigned.history().teamProfileHistories().getFirst().utilizationRate()).isEqualTo(new BigDecimal("50"));
+    }
+
+    @Test
+    void fullSnapshotReplacesMembers() {
+        TeamHistoryEntry delta = entry(6, false);
+        TeamHistoryEntry emptied = entry(7, true);
+
+        // The page starts after the full snapshot at 5, its rows are still replayed
+        HistoryDAO.rebuildMembers(List.of(emptied, delta), List.of(
+                change(5, true, 1, "50"),
+                change(5, true, 2, "50"),
+                change(6, false, 3, "50")
+        ));
+
+        assertThat(profileIds(delta)).containsExactly(1, 2, 3).inOrder();
+        assertThat(profileIds(emptied)).isEmpty();
+    }
+
+    @Test
+    void legacyEntriesKeepTheirOwnRowsUntilFirstFullSnapshot() {
+        // 1 and 2 were written before snapshots: 1 listed the whole team, 2 only the member whose utilization changed
+        TeamHistoryEntry created = legacyEntry(1);
+        TeamHistoryEntry utilizationChanged = legacyEntry(2);
+        TeamHistoryEntry firstSnapshot = entry(3, true);
+        TeamHistoryEntry removed = entry(4, false);
+
+        HistoryDAO.rebuildMembers(List.of(removed, firstSnapshot, utilizationChanged, created), List.of(
+                legacyChange(1, 1, "50"),
+                legacyChange(1, 2, "50"),
+                legacyChange(2, 1, "25"),
+                change(3, true, 1, "25"),
+                change(3, true, 2, "50"),
+                change(3, true, 3, "25"),
+                removal(4, 2)
+        ));
+
+        assertThat(profileIds(created)).containsExactly(1, 2).inOrder();
+        assertThat(profileIds(utilizationChanged)).containsExactly(1);
+        assertThat(profileIds(firstSnapshot)).containsExactly(1, 2, 3).inOrder();
+        assertThat(profileIds(removed)).containsExactly(1, 3).inOrder();
+    }
+
+    @Test
+    void teamWithOnlyLegacyHistoryHasNoFullSnapshot() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        // MAX(id) over no full snapshots is NULL
+        when(rs.next()).thenReturn(true);
+        when(rs.wasNull()).thenReturn(true);
+
+        int changes = new HistoryDAO(mock(DBConnector.class)).changesSinceFullSnapshot(new SqlTransactionContext(connection), 7);
+
+        assertThat(changes).isEqualTo(-1);
+        verify(connection).prepareStatement(contains("full_snapshot = 1"));
+    }
+
+    @Test
+    void legacyEntryWithoutTotalsHasNoLatestMetrics() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getBigDecimal("hourly_rate")).thenReturn(null);
+        when(rs.getBigDecimal("day_rate")).thenReturn(new BigDecimal("800.00"));
+        when(rs.getBigDecimal("annual_cost")).thenReturn(new BigDecimal("100000.00"));
+        when(rs.getBigDecimal("total_hours")).thenReturn(new BigDecimal("1600.00"));
+
+        var metrics = new HistoryDAO(mock(DBConnector.class)).getLatestTeamMetrics(new SqlTransactionContext(connection), 7);
+
+        assertThat(metrics).isNull();
+        verify(connection).prepareStatement(contains("ORDER BY id DESC"));
+        verify(rs).close();
+    }
+
+    @Test
+    void missingProfileHistoryIsReadAsNull() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet entries = mock(ResultSet.class);
+        ResultSet members = mock(ResultSet.class);
+        DBConnector dbConnector = mock(DBConnector.class);
+        when(dbConnector.readConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(entries, members);
+
+        when(entries.next()).thenReturn(true, false);
+        when(entries.getInt("id")).thenReturn(5);
+        when(entries.getString("reason")).thenReturn("ASSIGNED_PROFILE");
+        when(entries.getBoolean("full_snapshot")).thenReturn(true);
+        when(entries.getTimestamp("updated_at")).thenReturn(Timestamp.valueOf("2024-05-01 10:00:00"));
+
+        when(members.next()).thenReturn(true, false);
+        when(members.getInt("team_history_id")).thenReturn(5);
+        when(members.getBoolean("full_snapshot")).thenReturn(true);
+        when(members.getInt("profile_id")).thenReturn(3);
+        when(members.getObject("profile_history_id", Integer.class)).thenReturn(null);
+        when(members.getTimestamp("updated_at")).thenReturn(Timestamp.valueOf("2024-05-01 10:00:00"));
+
+        List<TeamHistory> history = new HistoryDAO(dbConnector).getTeamHistory(7);
+
+        TeamProfileHistory member = history.getFirst().teamProfileHistories().getFirst();
+        assertThat(member.profileId()).isEqualTo(3);
+        assertThat(member.profileHistoryId()).isNull();
+    }
+}
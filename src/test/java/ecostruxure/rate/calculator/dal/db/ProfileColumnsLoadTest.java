@@ -0,0 +1,47 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import ecostruxure.rate.calculator.be.data.ProfileColumns;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProfileColumnsLoadTest {
+    @Test
+    void profilesMissingRateValuesAreSkippedWithTheirAllocations() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        DBConnector dbConnector = mock(DBConnector.class);
+        when(dbConnector.readConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+
+        // Profile 1 has no salary and two allocations, profile 2 has one allocation
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getInt("id")).thenReturn(1, 1, 2);
+        when(rs.getString("currency")).thenReturn("EUR");
+        when(rs.getBigDecimal("annual_salary")).thenReturn(null, new BigDecimal("60000.0000"));
+        when(rs.getBigDecimal("fixed_annual_amount")).thenReturn(new BigDecimal("0.0000"));
+        when(rs.getBigDecimal("overhead_multiplier")).thenReturn(new BigDecimal("1.00"));
+        when(rs.getBigDecimal("effective_work_hours")).thenReturn(new BigDecimal("1600.00"));
+        when(rs.getBigDecimal("hours_per_day")).thenReturn(new BigDecimal("8.00"));
+        when(rs.getInt("teamId")).thenReturn(11);
+        when(rs.getBigDecimal("utilization_rate")).thenReturn(new BigDecimal("50.00"));
+        when(rs.getBigDecimal("utilization_hours")).thenReturn(new BigDecimal("50.00"));
+
+        ProfileColumns columns = new ProfileDAO(dbConnector).activeProfileColumns();
+
+        assertThat(columns.size()).isEqualTo(1);
+        assertThat(columns.skippedProfiles()).isEqualTo(1);
+        assertThat(columns.id(0)).isEqualTo(2);
+        assertThat(columns.allocationCount()).isEqualTo(1);
+        assertThat(columns.allocationTeam(0)).isEqualTo(11);
+    }
+}
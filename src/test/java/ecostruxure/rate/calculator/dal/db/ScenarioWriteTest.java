@@ -0,0 +1,75 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import ecostruxure.rate.calculator.be.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScenarioWriteTest {
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement stmt = mock(PreparedStatement.class);
+    private final SqlTransactionContext context = new SqlTransactionContext(connection);
+    private DBConnector dbConnector;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbConnector = mock(DBConnector.class);
+        when(connection.prepareStatement(anyString())).thenReturn(stmt);
+    }
+
+    @Test
+    void salaryUpdateOnlyWritesAnnualSalaryWhenUnchanged() throws Exception {
+        ProfileDAO profileDAO = new ProfileDAO(dbConnector);
+
+        when(stmt.executeUpdate()).thenReturn(1);
+        assertThat(profileDAO.updateAnnualSalary(context, 3, new BigDecimal("60000"), new BigDecimal("65000"))).isTrue();
+
+        when(stmt.executeUpdate()).thenReturn(0);
+        assertThat(profileDAO.updateAnnualSalary(context, 3, new BigDecimal("60000"), new BigDecimal("65000"))).isFalse();
+
+        verify(connection, times(2)).prepareStatement(argThat(sql -> sql.contains("SET annual_salary = ?")
+                && sql.contains("WHERE id = ? AND annual_salary = ?")
+                && !sql.contains("fixed_annual_amount")
+                && !sql.contains("Profiles_data")));
+        verify(stmt, times(2)).setBigDecimal(1, new BigDecimal("65000"));
+        verify(stmt, times(2)).setInt(2, 3);
+        verify(stmt, times(2)).setBigDecimal(3, new BigDecimal("60000"));
+    }
+
+    @Test
+    void multipliersAreOnlyUpdatedWhenUnchanged() throws Exception {
+        Team team = new Team(7, "Team 7", new BigDecimal("15"), new BigDecimal("20"), false);
+
+        when(stmt.executeUpdate()).thenReturn(0);
+        assertThat(new TeamDAO(dbConnector).updateMultipliers(context, team, new BigDecimal("10"), new BigDecimal("20"))).isFalse();
+
+        verify(connection).prepareStatement(contains("WHERE id = ? AND markup = ? AND gross_margin = ?"));
+        verify(stmt).setBigDecimal(4, new BigDecimal("10"));
+        verify(stmt).setBigDecimal(5, new BigDecimal("20"));
+    }
+
+    @Test
+    void lockingUtilizationsHoldsLocksOnTeamRows() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getInt("profileId")).thenReturn(3);
+        when(rs.getBigDecimal("utilization_rate")).thenReturn(new BigDecimal("50"));
+        when(rs.getBigDecimal("utilization_hours")).thenReturn(null);
+
+        var utilizations = new ProfileDAO(dbConnector).lockTeamUtilizations(context, 7);
+
+        verify(connection).prepareStatement(contains("WITH (UPDLOCK, HOLDLOCK)"));
+        verify(stmt).setInt(1, 7);
+        assertThat(utilizations.get(3).utilizationRate()).isEqualTo(new BigDecimal("50"));
+        assertThat(utilizations.get(3).utilizationHours()).isEqualTo(BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,53 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SqlTransactionContextTest {
+    private final SqlTransactionContext context = new SqlTransactionContext(mock(Connection.class));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load() {
+        return "value " + loads.incrementAndGet();
+    }
+
+    @Test
+    void repeatedReadIsServedFromCache() throws Exception {
+        assertThat(context.<String>cached("profile", 1, this::load)).isEqualTo("value 1");
+        assertThat(context.<String>cached("profile", 1, this::load)).isEqualTo("value 1");
+        assertThat(context.<String>cached("profile", 2, this::load)).isEqualTo("value 2");
+        assertThat(context.<String>cached("team", 1, this::load)).isEqualTo("value 3");
+
+        assertThat(context.cacheHits()).isEqualTo(1);
+        assertThat(context.cacheMisses()).isEqualTo(3);
+    }
+
+    @Test
+    void writeCommitAndRollbackClearCache() throws Exception {
+        context.cached("profile", 1, this::load);
+        context.clearCache();
+        context.cached("profile", 1, this::load);
+        context.commit();
+        context.cached("profile", 1, this::load);
+        context.rollback();
+        context.cached("profile", 1, this::load);
+
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    void nullResultIsCachedToo() throws Exception {
+        context.cached("latest", 1, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        context.cached("latest", 1, this::load);
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,144 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import com.microsoft.sqlserver.jdbc.SQLServerDataTable;
+import com.microsoft.sqlserver.jdbc.SQLServerPreparedStatement;
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TeamArchiveTest {
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement teamsStmt = mock(PreparedStatement.class);
+    private final PreparedStatement membersStmt = mock(PreparedStatement.class);
+    private final PreparedStatement checkStmt = mock(PreparedStatement.class);
+    private final SQLServerPreparedStatement teamsIds = mock(SQLServerPreparedStatement.class);
+    private final SQLServerPreparedStatement membersIds = mock(SQLServerPreparedStatement.class);
+    private final SQLServerPreparedStatement checkIds = mock(SQLServerPreparedStatement.class);
+    private TeamDAO teamDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DBConnector dbConnector = mock(DBConnector.class);
+        when(dbConnector.connection()).thenReturn(connection);
+        when(connection.prepareStatement(contains("UPDATE t SET archived"))).thenReturn(teamsStmt);
+        when(connection.prepareStatement(contains("UPDATE tp SET archived"))).thenReturn(membersStmt);
+        when(connection.prepareStatement(contains("total_utilization_rate"))).thenReturn(checkStmt);
+        when(teamsStmt.unwrap(SQLServerPreparedStatement.class)).thenReturn(teamsIds);
+        when(membersStmt.unwrap(SQLServerPreparedStatement.class)).thenReturn(membersIds);
+        when(checkStmt.unwrap(SQLServerPreparedStatement.class)).thenReturn(checkIds);
+        teamDAO = new TeamDAO(dbConnector);
+    }
+
+    private static Team team(int id) {
+        return new Team(id, "Team " + id, BigDecimal.ZERO, BigDecimal.ZERO, true);
+    }
+
+    private static List<Object> ids(SQLServerPreparedStatement stmt, int index) throws SQLException {
+        ArgumentCaptor<SQLServerDataTable> table = ArgumentCaptor.forClass(SQLServerDataTable.class);
+        verify(stmt).setStructured(eq(index), eq("dbo.Id_list"), table.capture());
+
+        List<Object> ids = new ArrayList<>();
+        var iterator = table.getValue().getIterator();
+        while (iterator.hasNext()) ids.add(iterator.next().getValue()[0]);
+        return ids;
+    }
+
+    @Test
+    void unarchivingTeamsUpdatesTeamsAndMembersInOneTransaction() throws Exception {
+        assertThat(teamDAO.archive(List.of(team(3), team(5), team(3)), false)).isTrue();
+
+        verify(teamsStmt).setBoolean(1, false);
+        verify(membersStmt).setBoolean(1, false);
+        assertThat(ids(teamsIds, 2)).containsExactly(3, 5).inOrder();
+        assertThat(ids(membersIds, 2)).containsExactly(3, 5).inOrder();
+        verify(teamsStmt).executeUpdate();
+        verify(membersStmt).executeUpdate();
+        verify(connection).setAutoCommit(false);
+        verify(connection).commit();
+    }
+
+    @Test
+    void failedArchiveRollsBackBothUpdates() throws Exception {
+        when(membersStmt.executeUpdate()).thenThrow(new SQLException("Lock request time out period exceeded"));
+
+        assertThrows(Exception.class, () -> teamDAO.archive(List.of(team(3), team(5))));
+
+        verify(teamsStmt).setBoolean(1, true);
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    void noTeamsTouchNothing() throws Exception {
+        assertThat(teamDAO.archive(List.of(), true)).isTrue();
+        assertThat(teamDAO.canUnarchive(List.<Integer>of())).isEmpty();
+
+        verifyNoInteractions(connection);
+    }
+
+    @Test
+    void teamsAreCheckedTogetherInOneQuery() throws Exception {
+        // Profile 8 is on both requested teams, 60% each, and only exceeds 100% when they are unarchived together
+        ResultSet rs = mock(ResultSet.class);
+        when(checkStmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getInt("requested_team_id")).thenReturn(3, 5);
+        when(rs.getInt("id")).thenReturn(8);
+        when(rs.getBigDecimal("total_utilization_rate")).thenReturn(new BigDecimal("120"));
+        when(rs.getBigDecimal("total_utilization_hours")).thenReturn(new BigDecimal("120"));
+
+        Map<Integer, List<Profile>> conflicts = teamDAO.canUnarchive(List.of(3, 5));
+
+        // The requested teams are passed both as the teams to check and as the teams added to each total
+        assertThat(ids(checkIds, 1)).containsExactly(3, 5);
+        assertThat(ids(checkIds, 2)).containsExactly(3, 5);
+        verify(checkStmt).executeQuery();
+
+        assertThat(conflicts.keySet()).containsExactly(3, 5).inOrder();
+        for (List<Profile> profiles : conflicts.values()) {
+            assertThat(profiles).hasSize(1);
+            assertThat(profiles.getFirst().id()).isEqualTo(8);
+            assertThat(profiles.getFirst().utilizationRate()).isEqualTo(new BigDecimal("120"));
+        }
+    }
+
+    @Test
+    void conflictQueryAddsAllRequestedTeamsToActiveAllocation() {
+        // Guards the part of the query that finds conflicts between the requested teams themselves
+        String query = captureCheckQuery();
+
+        assertThat(query).contains("INNER JOIN ? rids ON rids.id = rtp.teamId");
+        assertThat(query).contains("GROUP BY rtp.profileId");
+        assertThat(query).contains("LEFT JOIN dbo.Profile_allocations");
+        assertThat(query).contains("COALESCE(pa.allocated_rate, 0) + requested.utilization_rate > 100");
+    }
+
+    private String captureCheckQuery() {
+        try {
+            when(checkStmt.executeQuery()).thenReturn(mock(ResultSet.class));
+            teamDAO.canUnarchive(List.of(3));
+
+            ArgumentCaptor<String> query = ArgumentCaptor.forClass(String.class);
+            verify(connection).prepareStatement(query.capture());
+            return query.getValue();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
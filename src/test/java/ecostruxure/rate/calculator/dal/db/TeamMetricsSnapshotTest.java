@@ -0,0 +1,110 @@
+package ecostruxure.rate.calculator.dal.db;
+
+import ecostruxure.rate.calculator.be.Profile;
+import ecostruxure.rate.calculator.be.data.TeamMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TeamMetricsSnapshotTest {
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement update = mock(PreparedStatement.class);
+    private final PreparedStatement refresh = mock(PreparedStatement.class);
+    private DBConnector dbConnector;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbConnector = mock(DBConnector.class);
+        when(dbConnector.connection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(update);
+        when(connection.prepareStatement(contains("MERGE dbo.Team_metrics"))).thenReturn(refresh);
+    }
+
+    private static Profile profile(int id) {
+        return new Profile(id, "Profile " + id, "EUR", new BigDecimal("60000"), BigDecimal.ZERO, BigDecimal.ZERO, 1,
+                           new BigDecimal("1600"), false, new BigDecimal("8"), false);
+    }
+
+    @Test
+    void rebuildingMetricsMergesEveryTeam() throws Exception {
+        when(refresh.executeUpdate()).thenReturn(12);
+
+        assertThat(new TeamDAO(dbConnector).rebuildTeamMetrics()).isEqualTo(12);
+
+        verify(connection).prepareStatement(contains("WHERE 1 = 1"));
+        verify(refresh, never()).setInt(anyInt(), anyInt());
+    }
+
+    @Test
+    void refreshingTeamMergesItsRow() throws Exception {
+        new TeamDAO(dbConnector).refreshTeamMetrics(new SqlTransactionContext(connection), 7);
+
+        verify(connection).prepareStatement(contains("WHERE t.id = ?"));
+        verify(refresh).setInt(1, 7);
+        verify(refresh).executeUpdate();
+    }
+
+    @Test
+    void adjustingTeamMissingFromSnapshotReportsIt() throws Exception {
+        TeamMetrics delta = new TeamMetrics(new BigDecimal("1.50"), new BigDecimal("12.00"), new BigDecimal("2400"), new BigDecimal("-80"));
+        TeamDAO teamDAO = new TeamDAO(dbConnector);
+
+        when(update.executeUpdate()).thenReturn(1);
+        assertThat(teamDAO.adjustTeamMetrics(new SqlTransactionContext(connection), 7, delta)).isTrue();
+
+        when(update.executeUpdate()).thenReturn(0);
+        assertThat(teamDAO.adjustTeamMetrics(new SqlTransactionContext(connection), 7, delta)).isFalse();
+
+        verify(update, times(2)).setBigDecimal(1, delta.hourlyRate());
+        verify(update, times(2)).setBigDecimal(2, delta.dayRate());
+        verify(update, times(2)).setBigDecimal(3, delta.annualCost());
+        verify(update, times(2)).setBigDecimal(4, delta.totalHours());
+        verify(update, times(2)).setInt(5, 7);
+    }
+
+    @Test
+    void archivingProfileRefreshesItsTeamsInSameTransaction() throws Exception {
+        assertThat(new ProfileDAO(dbConnector).archive(profile(3), true)).isTrue();
+
+        InOrder order = inOrder(connection, update, refresh);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(update).executeUpdate();
+        order.verify(refresh).setInt(1, 3);
+        order.verify(refresh).executeUpdate();
+        order.verify(connection).commit();
+    }
+
+    @Test
+    void unarchivingProfileAddsItBackToItsTeams() throws Exception {
+        assertThat(new ProfileDAO(dbConnector).archive(profile(3), false)).isTrue();
+
+        InOrder order = inOrder(update, refresh, connection);
+        order.verify(update).setBoolean(1, false);
+        order.verify(update).executeUpdate();
+        order.verify(refresh).setInt(1, 3);
+        order.verify(refresh).executeUpdate();
+        order.verify(connection).commit();
+    }
+
+    @Test
+    void archivingProfilesRefreshesTheirTeamsInSameTransaction() throws Exception {
+        assertThat(new ProfileDAO(dbConnector).archive(List.of(profile(3), profile(4)))).isTrue();
+
+        verify(refresh).setInt(1, 3);
+        verify(refresh).setInt(1, 4);
+        InOrder order = inOrder(connection, update, refresh);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(update).executeBatch();
+        order.verify(refresh).executeBatch();
+        order.verify(connection).commit();
+    }
+}
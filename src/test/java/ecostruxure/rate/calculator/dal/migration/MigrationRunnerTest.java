@@ -0,0 +1,36 @@
+package ecostruxure.rate.calculator.dal.migration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class MigrationRunnerTest {
+    @Test
+    void splitBatchesOnGoLines() {
+        String script = """
+                        CREATE INDEX a ON t (x);
+                        GO
+                          go
+                        CREATE INDEX b ON t (y);
+                        SELECT 'GO' AS keyword;
+                        """;
+
+        List<String> batches = MigrationRunner.splitBatches(script);
+
+        assertThat(batches).containsExactly("CREATE INDEX a ON t (x);", "CREATE INDEX b ON t (y);\nSELECT 'GO' AS keyword;").inOrder();
+    }
+
+    @Test
+    void everyMigrationHasUniqueVersionAndScript() throws Exception {
+        Set<Integer> versions = new HashSet<>();
+
+        for (Migration migration : MigrationRunner.MIGRATIONS) {
+            assertThat(versions.add(migration.version())).isTrue();
+            assertThat(MigrationRunner.splitBatches(MigrationRunner.readScript(migration.resource()))).isNotEmpty();
+        }
+    }
+}
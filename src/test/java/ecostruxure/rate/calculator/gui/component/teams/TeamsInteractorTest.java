@@ -2,6 +2,7 @@ package ecostruxure.rate.calculator.gui.component.teams;
 
 import ecostruxure.rate.calculator.be.Profile;
 import ecostruxure.rate.calculator.be.Team;
+import ecostruxure.rate.calculator.bll.ApplicationContext;
 import ecostruxure.rate.calculator.bll.service.ProfileService;
 import org.junit.jupiter.api.Test;
 
@@ -15,7 +16,7 @@ class TeamsInteractorTest {
     @Test
     void it_convertToTeamItemModels2() throws Exception {
         // Setup
-        TeamsInteractor teamsInteractor = new TeamsInteractor(new TeamsModel(), () -> {});
+        TeamsInteractor teamsInteractor = new TeamsInteractor(new TeamsModel(), new ApplicationContext(), () -> {});
 
         Team team1 = new Team(1, "North American Operations Center", new BigDecimal("10.00"), new BigDecimal("20.00"), false);
         Team team2 = new Team(2, "EMEA Market Growth Team", new BigDecimal("25.00"), new BigDecimal("40.00"), false);
@@ -82,6 +82,19 @@ class ViewManagerTest {
         assertThat(viewManager.forwardHistory()).isEmpty();
     }
 
+    @Test
+    void it_shouldDeactivateViewThatIsLeft() {
+        viewManager.changeView(ControllerA.class, "Data for A");
+        viewManager.changeView(ControllerB.class, "Data for B");
+
+        Mockito.verify(controllerA, times(1)).deactivate();
+        Mockito.verify(controllerB, times(0)).deactivate();
+
+        viewManager.previousView();
+
+        Mockito.verify(controllerB, times(1)).deactivate();
+    }
+
     @Test
     void it_shouldGotoPreviousView() {
         viewManager.changeView(ControllerA.class, "Data for A");